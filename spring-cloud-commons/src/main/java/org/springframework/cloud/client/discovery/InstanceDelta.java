@@ -0,0 +1,161 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.client.discovery;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * A change to the {@link ServiceInstance ServiceInstances} registered for a service, as
+ * emitted by {@link ReactiveDiscoveryClient#watchInstances(String, java.time.Duration)}.
+ *
+ * @since 5.0.3
+ */
+public final class InstanceDelta {
+
+	private final Type type;
+
+	private final ServiceInstance instance;
+
+	private InstanceDelta(Type type, ServiceInstance instance) {
+		this.type = type;
+		this.instance = instance;
+	}
+
+	public static InstanceDelta added(ServiceInstance instance) {
+		return new InstanceDelta(Type.ADDED, instance);
+	}
+
+	public static InstanceDelta removed(ServiceInstance instance) {
+		return new InstanceDelta(Type.REMOVED, instance);
+	}
+
+	public static InstanceDelta modified(ServiceInstance instance) {
+		return new InstanceDelta(Type.MODIFIED, instance);
+	}
+
+	/**
+	 * Returns the key identifying the instance across updates: the instance ID or, if not
+	 * set, the host and port.
+	 * @param instance the service instance
+	 * @return the key of the instance
+	 */
+	public static String key(ServiceInstance instance) {
+		String instanceId = instance.getInstanceId();
+		return instanceId != null ? instanceId : instance.getHost() + ":" + instance.getPort();
+	}
+
+	/**
+	 * Computes the changes between the known instances and the current ones, and updates
+	 * the known instances accordingly. Can be used by registries that do not support
+	 * watches to compute the deltas from periodically retrieved instance lists.
+	 * @param knownInstances the previously known instances by {@link #key(ServiceInstance)
+	 * key}, updated to the current instances
+	 * @param currentInstances the current instances
+	 * @return the changes, or an empty list if there are none
+	 */
+	public static List<InstanceDelta> diff(Map<String, ServiceInstance> knownInstances,
+			List<ServiceInstance> currentInstances) {
+		List<InstanceDelta> deltas = new ArrayList<>();
+		Set<String> currentKeys = new HashSet<>();
+		for (ServiceInstance instance : currentInstances) {
+			String key = key(instance);
+			currentKeys.add(key);
+			ServiceInstance knownInstance = knownInstances.put(key, instance);
+			if (knownInstance == null) {
+				deltas.add(added(instance));
+			}
+			else if (isModified(knownInstance, instance)) {
+				deltas.add(modified(instance));
+			}
+		}
+		if (currentKeys.size() < knownInstances.size()) {
+			knownInstances.entrySet().removeIf(entry -> {
+				if (currentKeys.contains(entry.getKey())) {
+					return false;
+				}
+				deltas.add(removed(entry.getValue()));
+				return true;
+			});
+		}
+		return deltas;
+	}
+
+	private static boolean isModified(ServiceInstance known, ServiceInstance current) {
+		return !Objects.equals(known.getHost(), current.getHost()) || known.getPort() != current.getPort()
+				|| known.isSecure() != current.isSecure()
+				|| !Objects.equals(known.getMetadata(), current.getMetadata());
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public ServiceInstance getInstance() {
+		return instance;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof InstanceDelta that)) {
+			return false;
+		}
+		return type == that.type && Objects.equals(instance, that.instance);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, instance);
+	}
+
+	@Override
+	public String toString() {
+		return "InstanceDelta{" + "type=" + type + ", instance=" + instance + '}';
+	}
+
+	/**
+	 * The type of the change.
+	 */
+	public enum Type {
+
+		/**
+		 * A new instance has been registered.
+		 */
+		ADDED,
+
+		/**
+		 * An instance has been deregistered.
+		 */
+		REMOVED,
+
+		/**
+		 * The host, port or metadata of a registered instance has changed.
+		 */
+		MODIFIED
+
+	}
+
+}
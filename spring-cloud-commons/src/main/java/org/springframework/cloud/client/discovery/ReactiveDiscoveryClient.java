@@ -16,6 +16,10 @@
 
 package org.springframework.cloud.client.discovery;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import reactor.core.publisher.Flux;
@@ -58,6 +62,38 @@ public interface ReactiveDiscoveryClient extends Ordered {
 	 */
 	Flux<String> getServices();
 
+	/**
+	 * Watches the ServiceInstances associated with a particular serviceId. An
+	 * {@link InstanceDelta.Type#ADDED} delta is emitted for each of the registered
+	 * instances once it is first observed, followed by deltas for any subsequent changes.
+	 * <p>
+	 * The default implementation polls {@link #getInstances(String)} with the given
+	 * interval, starting after the first interval, and computes the deltas locally, so
+	 * callers that need the instances right away are expected to retrieve them with
+	 * {@link #getInstances(String)} first and to apply the deltas on top of them.
+	 * Implementations backed by registries that support watches should override it to
+	 * emit the changes as soon as they are received, in which case the poll interval may
+	 * be ignored.
+	 * @param serviceId The serviceId to watch.
+	 * @param pollInterval The interval between polls, if polling is required.
+	 * @return A {@link Flux} of instance changes.
+	 * @since 5.0.3
+	 */
+	default Flux<InstanceDelta> watchInstances(String serviceId, Duration pollInterval) {
+		return Flux.defer(() -> {
+			Map<String, ServiceInstance> knownInstances = new HashMap<>();
+			return Flux.interval(pollInterval)
+				.onBackpressureDrop()
+				.concatMap(tick -> getInstances(serviceId).collectList().onErrorResume(error -> {
+					if (LOG.isWarnEnabled()) {
+						LOG.warn("Exception occurred while polling instances for service " + serviceId, error);
+					}
+					return Mono.empty();
+				}), 1)
+				.concatMapIterable(instances -> InstanceDelta.diff(knownInstances, instances));
+		});
+	}
+
 	/**
 	 * Can be used to verify the client is still valid and able to make calls.
 	 * <p>
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.client.discovery.caching;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+/**
+ * A {@link DiscoveryClient} that caches the instances and services returned by its
+ * delegate for the configured time. If the delegate fails, the last retrieved results are
+ * returned, even if expired, if {@link CachingDiscoveryClientProperties#isStaleOnError()}
+ * is set, and the delegate is not called again until the configured retry interval has
+ * elapsed. Concurrent cache misses for the same key share a single call to the delegate.
+ * The order of the delegate is retained, so that the caching discovery clients are
+ * queried in the same order as the delegates by the composite discovery client.
+ *
+ * @since 5.0.3
+ */
+public class CachingDiscoveryClient implements DiscoveryClient, DiscoveryClientCacheStatistics {
+
+	private static final Log LOG = LogFactory.getLog(CachingDiscoveryClient.class);
+
+	private static final String SERVICES_KEY = "services";
+
+	private final DiscoveryClient delegate;
+
+	private final CachingDiscoveryClientProperties properties;
+
+	private final DiscoveryResultCache<List<ServiceInstance>> instances;
+
+	private final DiscoveryResultCache<List<String>> services;
+
+	private final Map<String, CompletableFuture<List<ServiceInstance>>> inFlightInstances = new ConcurrentHashMap<>();
+
+	private final Map<String, CompletableFuture<List<String>>> inFlightServices = new ConcurrentHashMap<>();
+
+	public CachingDiscoveryClient(DiscoveryClient delegate, CachingDiscoveryClientProperties properties) {
+		this(delegate, properties, Clock.systemUTC());
+	}
+
+	CachingDiscoveryClient(DiscoveryClient delegate, CachingDiscoveryClientProperties properties, Clock clock) {
+		this.delegate = delegate;
+		this.properties = properties;
+		this.instances = new DiscoveryResultCache<>(properties.getMaxSize(), clock);
+		this.services = new DiscoveryResultCache<>(1, clock);
+	}
+
+	@Override
+	public String description() {
+		return delegate.description();
+	}
+
+	@Override
+	public List<ServiceInstance> getInstances(String serviceId) {
+		List<ServiceInstance> cachedInstances = instances.get(serviceId);
+		if (cachedInstances != null) {
+			return cachedInstances;
+		}
+		return retrieve(instances, inFlightInstances, serviceId, () -> delegate.getInstances(serviceId),
+				properties.getTtl(serviceId), "instances of service " + serviceId);
+	}
+
+	@Override
+	public List<String> getServices() {
+		List<String> cachedServices = services.get(SERVICES_KEY);
+		if (cachedServices != null) {
+			return cachedServices;
+		}
+		return retrieve(services, inFlightServices, SERVICES_KEY, delegate::getServices, properties.getTtl(),
+				"services");
+	}
+
+	@Override
+	public void probe() {
+		delegate.probe();
+	}
+
+	@Override
+	public int getOrder() {
+		return delegate.getOrder();
+	}
+
+	/**
+	 * Removes all the cached results.
+	 */
+	public void clear() {
+		instances.clear();
+		services.clear();
+	}
+
+	public DiscoveryClient getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public long getHitCount() {
+		return instances.getHitCount() + services.getHitCount();
+	}
+
+	@Override
+	public long getMissCount() {
+		return instances.getMissCount() + services.getMissCount();
+	}
+
+	@Override
+	public long getStaleHitCount() {
+		return instances.getStaleHitCount() + services.getStaleHitCount();
+	}
+
+	private <T> List<T> retrieve(DiscoveryResultCache<List<T>> cache, Map<String, CompletableFuture<List<T>>> inFlight,
+			String key, Supplier<List<T>> retrieval, Duration ttl, String results) {
+		CompletableFuture<List<T>> retrieving = new CompletableFuture<>();
+		CompletableFuture<List<T>> existing = inFlight.putIfAbsent(key, retrieving);
+		if (existing != null) {
+			return join(existing);
+		}
+		try {
+			List<T> retrievedResults = retrieveOrStale(cache, key, retrieval, ttl, results);
+			retrieving.complete(retrievedResults);
+			return retrievedResults;
+		}
+		catch (RuntimeException | Error e) {
+			retrieving.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			inFlight.remove(key, retrieving);
+		}
+	}
+
+	private <T> List<T> retrieveOrStale(DiscoveryResultCache<List<T>> cache, String key,
+			Supplier<List<T>> retrieval, Duration ttl, String results) {
+		// a retrieval for the same key may have completed since the cache was checked
+		List<T> cachedResults = cache.peek(key);
+		if (cachedResults != null) {
+			return cachedResults;
+		}
+		try {
+			List<T> retrievedResults = retrieval.get();
+			cache.put(key, retrievedResults, ttl);
+			return retrievedResults;
+		}
+		catch (RuntimeException e) {
+			List<T> staleResults = properties.isStaleOnError()
+					? cache.getStale(key, properties.getStaleRetryInterval()) : null;
+			if (staleResults == null) {
+				throw e;
+			}
+			logStaleResults(results, e);
+			return staleResults;
+		}
+	}
+
+	private static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	private void logStaleResults(String results, Exception e) {
+		if (LOG.isWarnEnabled()) {
+			LOG.warn(String.format("Discovery client %s failed, returning previously retrieved %s",
+					delegate.description(), results), e);
+		}
+	}
+
+}
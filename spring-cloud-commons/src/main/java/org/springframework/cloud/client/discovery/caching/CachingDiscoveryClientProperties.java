@@ -0,0 +1,127 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.client.discovery.caching;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties for caching the results of the discovery clients.
+ *
+ * @since 5.0.3
+ */
+@ConfigurationProperties("spring.cloud.discovery.client.caching")
+public class CachingDiscoveryClientProperties {
+
+	/**
+	 * Whether the results of each discovery client used by the composite discovery
+	 * clients should be cached.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * The time after which cached results expire.
+	 */
+	private Duration ttl = Duration.ofSeconds(30);
+
+	/**
+	 * The time after which cached instances expire, by service ID. Services that are not
+	 * listed use {@code ttl}.
+	 */
+	private Map<String, Duration> serviceTtl = new HashMap<>();
+
+	/**
+	 * The maximum number of services for which instances are cached by each discovery
+	 * client.
+	 */
+	private int maxSize = 1000;
+
+	/**
+	 * Whether the last retrieved results should be returned, even if expired, when the
+	 * discovery client fails.
+	 */
+	private boolean staleOnError = true;
+
+	/**
+	 * The time for which the last retrieved results are returned after the discovery
+	 * client fails, before it is called again.
+	 */
+	private Duration staleRetryInterval = Duration.ofSeconds(5);
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Duration getTtl() {
+		return ttl;
+	}
+
+	public void setTtl(Duration ttl) {
+		this.ttl = ttl;
+	}
+
+	public Map<String, Duration> getServiceTtl() {
+		return serviceTtl;
+	}
+
+	public void setServiceTtl(Map<String, Duration> serviceTtl) {
+		this.serviceTtl = serviceTtl;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public boolean isStaleOnError() {
+		return staleOnError;
+	}
+
+	public void setStaleOnError(boolean staleOnError) {
+		this.staleOnError = staleOnError;
+	}
+
+	public Duration getStaleRetryInterval() {
+		return staleRetryInterval;
+	}
+
+	public void setStaleRetryInterval(Duration staleRetryInterval) {
+		this.staleRetryInterval = staleRetryInterval;
+	}
+
+	Duration getTtl(String serviceId) {
+		return serviceTtl.getOrDefault(serviceId, ttl);
+	}
+
+	@Override
+	public String toString() {
+		return "CachingDiscoveryClientProperties{" + "enabled=" + enabled + ", ttl=" + ttl + ", serviceTtl="
+				+ serviceTtl + ", maxSize=" + maxSize + , staleOnError=" + staleOnError
+				+ ", staleRetryInterval=" + staleRetryInterval + '}';
+	}
+
+}
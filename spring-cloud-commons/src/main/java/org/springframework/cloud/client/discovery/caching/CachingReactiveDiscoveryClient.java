@@ -0,0 +1,170 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.client.discovery.caching;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+
+/**
+ * A {@link ReactiveDiscoveryClient} that caches the instances and services returned by
+ * its delegate for the configured time. Concurrent cache misses for the same key share a
+ * single subscription to the delegate. See {@link CachingDiscoveryClient} for details.
+ *
+ * @since 5.0.3
+ */
+public class CachingReactiveDiscoveryClient implements ReactiveDiscoveryClient, DiscoveryClientCacheStatistics {
+
+	private static final Log LOG = LogFactory.getLog(CachingReactiveDiscoveryClient.class);
+
+	private static final String SERVICES_KEY = "services";
+
+	private final ReactiveDiscoveryClient delegate;
+
+	private final CachingDiscoveryClientProperties properties;
+
+	private final DiscoveryResultCache<List<ServiceInstance>> instances;
+
+	private final DiscoveryResultCache<List<String>> services;
+
+	private final Map<String, Mono<List<ServiceInstance>>> inFlightInstances = new ConcurrentHashMap<>();
+
+	private final Map<String, Mono<List<String>>> inFlightServices = new ConcurrentHashMap<>();
+
+	public CachingReactiveDiscoveryClient(ReactiveDiscoveryClient delegate,
+			CachingDiscoveryClientProperties properties) {
+		this(delegate, properties, Clock.systemUTC());
+	}
+
+	CachingReactiveDiscoveryClient(ReactiveDiscoveryClient delegate, CachingDiscoveryClientProperties properties,
+			Clock clock) {
+		this.delegate = delegate;
+		this.properties = properties;
+		this.instances = new DiscoveryResultCache<>(properties.getMaxSize(), clock);
+		this.services = new DiscoveryResultCache<>(1, clock);
+	}
+
+	@Override
+	public String description() {
+		return delegate.description();
+	}
+
+	@Override
+	public Flux<ServiceInstance> getInstances(String serviceId) {
+		return Flux.defer(() -> {
+			List<ServiceInstance> cachedInstances = instances.get(serviceId);
+			if (cachedInstances != null) {
+				return Flux.fromIterable(cachedInstances);
+			}
+			return retrieve(instances, inFlightInstances, serviceId, () -> delegate.getInstances(serviceId),
+					properties.getTtl(serviceId), "instances of service " + serviceId)
+				.flatMapIterable(retrievedInstances -> retrievedInstances);
+		});
+	}
+
+	@Override
+	public Flux<String> getServices() {
+		return Flux.defer(() -> {
+			List<String> cachedServices = services.get(SERVICES_KEY);
+			if (cachedServices != null) {
+				return Flux.fromIterable(cachedServices);
+			}
+			return retrieve(services, inFlightServices, SERVICES_KEY, delegate::getServices, properties.getTtl(),
+					"services")
+				.flatMapIterable(retrievedServices -> retrievedServices);
+		});
+	}
+
+	@Override
+	public void probe() {
+		delegate.probe();
+	}
+
+	@Override
+	public int getOrder() {
+		return delegate.getOrder();
+	}
+
+	/**
+	 * Removes all the cached results.
+	 */
+	public void clear() {
+		instances.clear();
+		services.clear();
+	}
+
+	public ReactiveDiscoveryClient getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public long getHitCount() {
+		return instances.getHitCount() + services.getHitCount();
+	}
+
+	@Override
+	public long getMissCount() {
+		return instances.getMissCount() + services.getMissCount();
+	}
+
+	@Override
+	public long getStaleHitCount() {
+		return instances.getStaleHitCount() + services.getStaleHitCount();
+	}
+
+	private <T> Mono<List<T>> retrieve(DiscoveryResultCache<List<T>> cache, Map<String, Mono<List<T>>> inFlight,
+			String key, Supplier<Flux<T>> retrieval, Duration ttl, String results) {
+		// concurrent subscribers share the retrieval until it terminates
+		return inFlight.computeIfAbsent(key, inFlightKey -> Mono.defer(() -> {
+			// a retrieval for the same key may have completed since the cache was checked
+			List<T> cachedResults = cache.peek(inFlightKey);
+			if (cachedResults != null) {
+				return Mono.just(cachedResults);
+			}
+			return retrieval.get()
+				.collectList()
+				.doOnNext(retrievedResults -> cache.put(inFlightKey, retrievedResults, ttl))
+				.onErrorResume(e -> staleOrError(cache, inFlightKey, results, e));
+		}).doFinally(signal -> inFlight.remove(inFlightKey)).share());
+	}
+
+	private <T> Mono<List<T>> staleOrError(DiscoveryResultCache<List<T>> cache, String key, String results,
+			Throwable error) {
+		List<T> staleResults = properties.isStaleOnError()
+				? cache.getStale(key, properties.getStaleRetryInterval()) : null;
+		if (staleResults == null) {
+			return Mono.error(error);
+		}
+		if (LOG.isWarnEnabled()) {
+			LOG.warn(String.format("Discovery client %s failed, returning previously retrieved %s",
+					delegate.description(), results), error);
+		}
+		return Mono.just(staleResults);
+	}
+
+}
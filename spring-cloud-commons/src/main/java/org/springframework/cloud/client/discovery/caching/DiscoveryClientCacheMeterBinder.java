@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.client.discovery.caching;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+
+/**
+ * Registers the {@code spring.cloud.discovery.client.cache.requests} counters of the
+ * caching discovery clients, tagged with the discovery client description, whether it
+ * is reactive and the {@code hit}, {@code miss} or {@code stale} result.
+ *
+ * @since 5.0.3
+ */
+public class DiscoveryClientCacheMeterBinder implements MeterBinder {
+
+	static final String METER_NAME = "spring.cloud.discovery.client.cache.requests";
+
+	private final List<? extends DiscoveryClientCacheStatistics> discoveryClients;
+
+	public DiscoveryClientCacheMeterBinder(List<? extends DiscoveryClientCacheStatistics> discoveryClients) {
+		this.discoveryClients = discoveryClients;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		for (DiscoveryClientCacheStatistics discoveryClient : discoveryClients) {
+			register(registry, discoveryClient, "hit", DiscoveryClientCacheStatistics::getHitCount);
+			register(registry, discoveryClient, "miss", DiscoveryClientCacheStatistics::getMissCount);
+			register(registry, discoveryClient, "stale", DiscoveryClientCacheStatistics::getStaleHitCount);
+		}
+	}
+
+	private static void register(MeterRegistry registry, DiscoveryClientCacheStatistics discoveryClient,
+			String result, ToLongFunction<DiscoveryClientCacheStatistics> count) {
+		FunctionCounter.builder(METER_NAME, discoveryClient, client -> count.applyAsLong(client))
+			.description("Discovery client lookups by cache result")
+			.tag("client", discoveryClient.description())
+			.tag("reactive", String.valueOf(discoveryClient instanceof ReactiveDiscoveryClient))
+			.tag("result", result)
+			.register(registry);
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.client.discovery.caching;
+
+/**
+ * Exposes the cache statistics of a caching discovery client.
+ *
+ * @since 5.0.3
+ */
+public interface DiscoveryClientCacheStatistics {
+
+	/**
+	 * Returns the description of the cached discovery client.
+	 * @return the description of the discovery client
+	 */
+	String description();
+
+	/**
+	 * Returns the number of lookups answered from the cache.
+	 * @return the number of cache hits
+	 */
+	long getHitCount();
+
+	/**
+	 * Returns the number of lookups passed on to the delegate.
+	 * @return the number of cache misses
+	 */
+	long getMissCount();
+
+	/**
+	 * Returns the number of lookups answered with expired results after the delegate
+	 * failed.
+	 * @return the number of stale results returned
+	 */
+	long getStaleHitCount();
+
+}
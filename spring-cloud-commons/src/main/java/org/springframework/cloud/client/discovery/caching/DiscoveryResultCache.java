@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.client.discovery.caching;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Holds the results of a single discovery client by key, along with the hit and miss
+ * counts. Expired entries are kept, so that they can be returned if the discovery client
+ * fails, until the number of entries exceeds the maximum size.
+ *
+ * @param <T> the type of the cached results
+ * @since 5.0.3
+ */
+final class DiscoveryResultCache<T> {
+
+	private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+
+	private final int maxSize;
+
+	private final Clock clock;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder staleHits = new LongAdder();
+
+	DiscoveryResultCache(int maxSize, Clock clock) {
+		this.maxSize = maxSize;
+		this.clock = clock;
+	}
+
+	@Nullable T get(String key) {
+		Entry<T> entry = entries.get(key);
+		if (entry != null && entry.expiresAt > clock.millis()) {
+			hits.increment();
+			return entry.value;
+		}
+		misses.increment();
+		return null;
+	}
+
+	/**
+	 * Returns the unexpired value for the key, without counting a hit or a miss. Used to
+	 * check whether a concurrent retrieval has just completed.
+	 */
+	@Nullable T peek(String key) {
+		Entry<T> entry = entries.get(key);
+		return entry != null && entry.expiresAt > clock.millis() ? entry.value : null;
+	}
+
+	/**
+	 * Returns the value for the key, even if expired, and keeps returning it as a hit for
+	 * the given retry interval, so that a failing discovery client is not called on every
+	 * lookup.
+	 */
+	@Nullable T getStale(String key, Duration retryInterval) {
+		Entry<T> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		staleHits.increment();
+		entries.replace(key, entry, new Entry<>(entry.value, clock.millis() + retryInterval.toMillis()));
+		return entry.value;
+	}
+
+	void put(String key, T value, Duration ttl) {
+		long now = clock.millis();
+		entries.put(key, new Entry<>(value, now + ttl.toMillis()));
+		if (entries.size() > maxSize) {
+			evict(now);
+		}
+	}
+
+	private void evict(long now) {
+		entries.values().removeIf(entry -> entry.expiresAt <= now);
+		while (entries.size() > maxSize) {
+			String eldestKey = null;
+			long eldestExpiry = Long.MAX_VALUE;
+			for (Map.Entry<String, Entry<T>> entry : entries.entrySet()) {
+				if (entry.getValue().expiresAt < eldestExpiry) {
+					eldestKey = entry.getKey();
+					eldestExpiry = entry.getValue().expiresAt;
+				}
+			}
+			if (eldestKey == null) {
+				return;
+			}
+			entries.remove(eldestKey);
+		}
+	}
+
+	void clear() {
+		entries.clear();
+	}
+
+	int size() {
+		return entries.size();
+	}
+
+	long getHitCount() {
+		return hits.sum();
+	}
+
+	long getMissCount() {
+		return misses.sum();
+	}
+
+	long getStaleHitCount() {
+		return staleHits.sum();
+	}
+
+	private record Entry<T>(T value, long expiresAt) {
+	}
+
+}
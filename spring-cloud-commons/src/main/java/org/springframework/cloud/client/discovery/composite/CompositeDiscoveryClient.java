@@ -16,10 +16,21 @@
 
 package org.springframework.cloud.client.discovery.composite;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
@@ -28,6 +39,12 @@ import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 /**
  * A {@link DiscoveryClient} that is composed of other discovery clients and delegates
  * calls to each of them in order.
+ * <p>
+ * If created with an {@link Executor}, the delegates are queried concurrently. The
+ * instances returned by the first delegate, in order, that returns any are used, without
+ * waiting for the lower-priority delegates. Delegates that do not respond within the
+ * optional timeout are treated as if they had returned no results. Calls whose results
+ * are no longer needed are cancelled, which interrupts the threads running them.
  *
  * @author Biju Kunjummen
  * @author Olga Maciaszek-Sharma
@@ -35,11 +52,33 @@ import org.springframework.core.annotation.AnnotationAwareOrderComparator;
  */
 public class CompositeDiscoveryClient implements DiscoveryClient {
 
+	private static final Log LOG = LogFactory.getLog(CompositeDiscoveryClient.class);
+
 	private final List<DiscoveryClient> discoveryClients;
 
+	private final @Nullable Executor executor;
+
+	private final @Nullable Duration timeout;
+
 	public CompositeDiscoveryClient(List<DiscoveryClient> discoveryClients) {
+		this(discoveryClients, null, null);
+	}
+
+	/**
+	 * Creates a composite discovery client.
+	 * @param discoveryClients the delegate discovery clients
+	 * @param executor the executor used to query the delegates concurrently, or
+	 * {@code null} to query them one after another
+	 * @param timeout the maximum time to wait for a single delegate when querying
+	 * concurrently, or {@code null} to wait indefinitely
+	 * @since 5.0.3
+	 */
+	public CompositeDiscoveryClient(List<DiscoveryClient> discoveryClients, @Nullable Executor executor,
+			@Nullable Duration timeout) {
 		AnnotationAwareOrderComparator.sort(discoveryClients);
 		this.discoveryClients = discoveryClients;
+		this.executor = executor;
+		this.timeout = timeout;
 	}
 
 	@Override
@@ -49,6 +88,9 @@ public class CompositeDiscoveryClient implements DiscoveryClient {
 
 	@Override
 	public List<ServiceInstance> getInstances(String serviceId) {
+		if (this.executor != null && this.discoveryClients != null && this.discoveryClients.size() > 1) {
+			return getInstancesConcurrently(serviceId, this.executor);
+		}
 		if (this.discoveryClients != null) {
 			for (DiscoveryClient discoveryClient : this.discoveryClients) {
 				List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
@@ -62,6 +104,9 @@ public class CompositeDiscoveryClient implements DiscoveryClient {
 
 	@Override
 	public List<String> getServices() {
+		if (this.executor != null && this.discoveryClients != null && this.discoveryClients.size() > 1) {
+			return getServicesConcurrently(this.executor);
+		}
 		LinkedHashSet<String> services = new LinkedHashSet<>();
 		if (this.discoveryClients != null) {
 			for (DiscoveryClient discoveryClient : this.discoveryClients) {
@@ -87,4 +132,87 @@ public class CompositeDiscoveryClient implements DiscoveryClient {
 		return this.discoveryClients;
 	}
 
+	private List<ServiceInstance> getInstancesConcurrently(String serviceId, Executor executor) {
+		List<FutureTask<List<ServiceInstance>>> futures = submit(executor,
+				discoveryClient -> discoveryClient.getInstances(serviceId));
+		long deadline = deadline();
+		try {
+			for (int i = 0; i < futures.size(); i++) {
+				List<ServiceInstance> instances = await(futures.get(i), deadline, i);
+				if (instances != null && !instances.isEmpty()) {
+					return instances;
+				}
+			}
+			return Collections.emptyList();
+		}
+		finally {
+			// lower-priority delegates are no longer needed
+			futures.forEach(future -> future.cancel(true));
+		}
+	}
+
+	private List<String> getServicesConcurrently(Executor executor) {
+		List<FutureTask<List<String>>> futures = submit(executor, DiscoveryClient::getServices);
+		long deadline = deadline();
+		LinkedHashSet<String> services = new LinkedHashSet<>();
+		try {
+			for (int i = 0; i < futures.size(); i++) {
+				List<String> serviceForClient = await(futures.get(i), deadline, i);
+				if (serviceForClient != null) {
+					services.addAll(serviceForClient);
+				}
+			}
+		}
+		finally {
+			futures.forEach(future -> future.cancel(true));
+		}
+		return new ArrayList<>(services);
+	}
+
+	private <T> List<FutureTask<T>> submit(Executor executor, Function<DiscoveryClient, T> call) {
+		List<FutureTask<T>> futures = new ArrayList<>(this.discoveryClients.size());
+		for (DiscoveryClient discoveryClient : this.discoveryClients) {
+			// unlike a CompletableFuture, a FutureTask interrupts its thread when cancelled
+			FutureTask<T> future = new FutureTask<>(() -> call.apply(discoveryClient));
+			executor.execute(future);
+			futures.add(future);
+		}
+		return futures;
+	}
+
+	private long deadline() {
+		return this.timeout != null ? System.nanoTime() + this.timeout.toNanos() : Long.MAX_VALUE;
+	}
+
+	private <T> @Nullable T await(FutureTask<T> future, long deadline, int index) {
+		try {
+			if (deadline == Long.MAX_VALUE) {
+				return future.get();
+			}
+			return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException e) {
+			if (LOG.isWarnEnabled()) {
+				LOG.warn(String.format("Discovery client %s did not respond within %s, ignoring it",
+						this.discoveryClients.get(index).description(), this.timeout));
+			}
+			return null;
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(cause);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for discovery client "
+					+ this.discoveryClients.get(index).description(), e);
+		}
+	}
+
 }
@@ -16,14 +16,26 @@
 
 package org.springframework.cloud.client.discovery.composite;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.caching.CachingDiscoveryClient;
+import org.springframework.cloud.client.discovery.caching.CachingDiscoveryClientProperties;
+import org.springframework.cloud.client.discovery.caching.DiscoveryClientCacheMeterBinder;
 import org.springframework.cloud.client.discovery.simple.SimpleDiscoveryClientAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 /**
  * Auto-configuration for composite discovery client.
@@ -33,12 +45,53 @@ import org.springframework.context.annotation.Primary;
 
 @Configuration(proxyBeanMethods = false)
 @AutoConfigureBefore(SimpleDiscoveryClientAutoConfiguration.class)
+@EnableConfigurationProperties({ CompositeDiscoveryClientProperties.class, CachingDiscoveryClientProperties.class })
 public class CompositeDiscoveryClientAutoConfiguration {
 
 	@Bean
 	@Primary
-	public CompositeDiscoveryClient compositeDiscoveryClient(List<DiscoveryClient> discoveryClients) {
-		return new CompositeDiscoveryClient(discoveryClients);
+	public CompositeDiscoveryClient compositeDiscoveryClient(List<DiscoveryClient> discoveryClients,
+			CompositeDiscoveryClientProperties properties, CachingDiscoveryClientProperties cachingProperties,
+			Environment environment) {
+		if (cachingProperties.isEnabled()) {
+			discoveryClients = withCaching(discoveryClients, cachingProperties);
+		}
+		if (!properties.isParallel()) {
+			return new CompositeDiscoveryClient(discoveryClients);
+		}
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("composite-discovery-");
+		// a delegate that does not respond must not prevent the application from stopping
+		executor.setDaemon(true);
+		executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+		// bounds the threads left behind by delegates that ignore interruption
+		executor.setConcurrencyLimit(properties.getMaxConcurrency());
+		return new CompositeDiscoveryClient(discoveryClients, executor, properties.getTimeout());
+	}
+
+	private static List<DiscoveryClient> withCaching(List<DiscoveryClient> discoveryClients,
+			CachingDiscoveryClientProperties cachingProperties) {
+		List<DiscoveryClient> cachingDiscoveryClients = new ArrayList<>(discoveryClients.size());
+		for (DiscoveryClient discoveryClient : discoveryClients) {
+			cachingDiscoveryClients.add(discoveryClient instanceof CachingDiscoveryClient ? discoveryClient
+					: new CachingDiscoveryClient(discoveryClient, cachingProperties));
+		}
+		return cachingDiscoveryClients;
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterBinder.class)
+	@ConditionalOnProperty(value = "spring.cloud.discovery.client.caching.enabled", havingValue = "true")
+	static class CachingDiscoveryClientMetricsConfiguration {
+
+		@Bean
+		DiscoveryClientCacheMeterBinder discoveryClientCacheMeterBinder(CompositeDiscoveryClient discoveryClient) {
+			return new DiscoveryClientCacheMeterBinder(discoveryClient.getDiscoveryClients()
+				.stream()
+				.filter(CachingDiscoveryClient.class::isInstance)
+				.map(CachingDiscoveryClient.class::cast)
+				.toList());
+		}
+
 	}
 
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.client.discovery.composite;
+
+import java.time.Duration;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties for the composite discovery clients.
+ *
+ * @since 5.0.3
+ */
+@ConfigurationProperties("spring.cloud.discovery.client.composite")
+public class CompositeDiscoveryClientProperties {
+
+	/**
+	 * Whether the blocking {@link CompositeDiscoveryClient} should query its delegate
+	 * discovery clients concurrently instead of one after another. Virtual threads are
+	 * used if enabled with {@code spring.threads.virtual.enabled}.
+	 */
+	private boolean parallel = false;
+
+	/**
+	 * The maximum time to wait for a single delegate discovery client. A client that does
+	 * not respond in time is treated as if it had returned no results. Only applied by
+	 * the blocking {@link CompositeDiscoveryClient} in parallel mode and by the reactive
+	 * composite discovery client. No timeout is applied if not set.
+	 */
+	private @Nullable Duration timeout;
+
+	/**
+	 * The maximum number of delegate calls the blocking {@link CompositeDiscoveryClient}
+	 * runs concurrently in parallel mode. Once reached, further queries wait until a
+	 * running call completes or is cancelled.
+	 */
+	private int maxConcurrency = 64;
+
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	public @Nullable Duration getTimeout() {
+		return timeout;
+	}
+
+	public void setTimeout(@Nullable Duration timeout) {
+		this.timeout = timeout;
+	}
+
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	public void setMaxConcurrency(int maxConcurrency) {
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	@Override
+	public String toString() {
+		return "CompositeDiscoveryClientProperties{" + "parallel=" + parallel + ", timeout=" + timeout
+				+ ", maxConcurrency=" + maxConcurrency + '}';
+	}
+
+}
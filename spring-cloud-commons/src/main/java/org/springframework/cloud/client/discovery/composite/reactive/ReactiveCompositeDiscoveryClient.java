@@ -16,9 +16,14 @@
 
 package org.springframework.cloud.client.discovery.composite.reactive;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Flux;
 
 import org.springframework.cloud.client.ServiceInstance;
@@ -29,16 +34,37 @@ import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 /**
  * A {@link ReactiveDiscoveryClient} that is composed of other discovery clients and
  * delegates calls to each of them in order.
+ * <p>
+ * If a timeout is set, delegates that do not emit within that time are treated as if
+ * they had returned no results, so that a delegate that does not respond cannot hold up
+ * the results of the others.
  *
  * @author Tim Ysewyn
  */
 public class ReactiveCompositeDiscoveryClient implements ReactiveDiscoveryClient {
 
+	private static final Log LOG = LogFactory.getLog(ReactiveCompositeDiscoveryClient.class);
+
 	private final List<ReactiveDiscoveryClient> discoveryClients;
 
+	private final @Nullable Duration timeout;
+
 	public ReactiveCompositeDiscoveryClient(List<ReactiveDiscoveryClient> discoveryClients) {
+		this(discoveryClients, null);
+	}
+
+	/**
+	 * Creates a composite reactive discovery client.
+	 * @param discoveryClients the delegate discovery clients
+	 * @param timeout the maximum time to wait for each signal of a single delegate, or
+	 * {@code null} to wait indefinitely
+	 * @since 5.0.3
+	 */
+	public ReactiveCompositeDiscoveryClient(List<ReactiveDiscoveryClient> discoveryClients,
+			@Nullable Duration timeout) {
 		AnnotationAwareOrderComparator.sort(discoveryClients);
 		this.discoveryClients = discoveryClients;
+		this.timeout = timeout;
 	}
 
 	@Override
@@ -53,7 +79,7 @@ public class ReactiveCompositeDiscoveryClient implements ReactiveDiscoveryClient
 		}
 		List<Flux<ServiceInstance>> serviceInstances = new ArrayList<>();
 		for (ReactiveDiscoveryClient discoveryClient : discoveryClients) {
-			serviceInstances.add(discoveryClient.getInstances(serviceId));
+			serviceInstances.add(withTimeout(discoveryClient, discoveryClient.getInstances(serviceId)));
 		}
 		return CloudFlux.firstNonEmpty(serviceInstances);
 	}
@@ -63,11 +89,25 @@ public class ReactiveCompositeDiscoveryClient implements ReactiveDiscoveryClient
 		if (discoveryClients == null || discoveryClients.isEmpty()) {
 			return Flux.empty();
 		}
-		return Flux.fromIterable(discoveryClients).flatMap(ReactiveDiscoveryClient::getServices);
+		return Flux.fromIterable(discoveryClients)
+			.flatMap(discoveryClient -> withTimeout(discoveryClient, discoveryClient.getServices()));
 	}
 
 	public List<ReactiveDiscoveryClient> getDiscoveryClients() {
 		return discoveryClients;
 	}
 
+	private <T> Flux<T> withTimeout(ReactiveDiscoveryClient discoveryClient, Flux<T> results) {
+		if (timeout == null) {
+			return results;
+		}
+		return results.timeout(timeout).onErrorResume(TimeoutException.class, e -> {
+			if (LOG.isWarnEnabled()) {
+				LOG.warn(String.format("Discovery client %s did not respond within %s, ignoring it",
+						discoveryClient.description(), timeout));
+			}
+			return Flux.empty();
+		});
+	}
+
 }
@@ -16,11 +16,21 @@
 
 package org.springframework.cloud.client.discovery.composite.reactive;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.ConditionalOnDiscoveryEnabled;
 import org.springframework.cloud.client.ConditionalOnReactiveDiscoveryEnabled;
 import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.discovery.caching.CachingDiscoveryClientProperties;
+import org.springframework.cloud.client.discovery.caching.CachingReactiveDiscoveryClient;
+import org.springframework.cloud.client.discovery.caching.DiscoveryClientCacheMeterBinder;
+import org.springframework.cloud.client.discovery.composite.CompositeDiscoveryClientProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -34,13 +44,45 @@ import org.springframework.context.annotation.Primary;
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnDiscoveryEnabled
 @ConditionalOnReactiveDiscoveryEnabled
+@EnableConfigurationProperties({ CompositeDiscoveryClientProperties.class, CachingDiscoveryClientProperties.class })
 public class ReactiveCompositeDiscoveryClientAutoConfiguration {
 
 	@Bean
 	@Primary
 	public ReactiveCompositeDiscoveryClient reactiveCompositeDiscoveryClient(
-			List<ReactiveDiscoveryClient> discoveryClients) {
-		return new ReactiveCompositeDiscoveryClient(discoveryClients);
+			List<ReactiveDiscoveryClient> discoveryClients, CompositeDiscoveryClientProperties properties,
+			CachingDiscoveryClientProperties cachingProperties) {
+		if (cachingProperties.isEnabled()) {
+			discoveryClients = withCaching(discoveryClients, cachingProperties);
+		}
+		return new ReactiveCompositeDiscoveryClient(discoveryClients, properties.getTimeout());
+	}
+
+	private static List<ReactiveDiscoveryClient> withCaching(List<ReactiveDiscoveryClient> discoveryClients,
+			CachingDiscoveryClientProperties cachingProperties) {
+		List<ReactiveDiscoveryClient> cachingDiscoveryClients = new ArrayList<>(discoveryClients.size());
+		for (ReactiveDiscoveryClient discoveryClient : discoveryClients) {
+			cachingDiscoveryClients.add(discoveryClient instanceof CachingReactiveDiscoveryClient ? discoveryClient
+					: new CachingReactiveDiscoveryClient(discoveryClient, cachingProperties));
+		}
+		return cachingDiscoveryClients;
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterBinder.class)
+	@ConditionalOnProperty(value = "spring.cloud.discovery.client.caching.enabled", havingValue = "true")
+	static class CachingReactiveDiscoveryClientMetricsConfiguration {
+
+		@Bean
+		DiscoveryClientCacheMeterBinder reactiveDiscoveryClientCacheMeterBinder(
+				ReactiveCompositeDiscoveryClient discoveryClient) {
+			return new DiscoveryClientCacheMeterBinder(discoveryClient.getDiscoveryClients()
+				.stream()
+				.filter(CachingReactiveDiscoveryClient.class::isInstance)
+				.map(CachingReactiveDiscoveryClient.class::cast)
+				.toList());
+		}
+
 	}
 
 }
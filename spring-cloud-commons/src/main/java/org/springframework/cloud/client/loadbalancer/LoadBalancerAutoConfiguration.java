@@ -219,9 +219,10 @@ public class LoadBalancerAutoConfiguration {
 		@ConditionalOnMissingBean
 		public RetryLoadBalancerInterceptor loadBalancerInterceptor(LoadBalancerClient loadBalancerClient,
 				LoadBalancerRequestFactory requestFactory, LoadBalancedRetryFactory loadBalancedRetryFactory,
-				ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory) {
+				ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
+				ObjectProvider<LoadBalancerMetadataCache> metadataCache) {
 			return new RetryLoadBalancerInterceptor(loadBalancerClient, requestFactory, loadBalancedRetryFactory,
-					loadBalancerFactory);
+					metadataCache.getIfAvailable(() -> LoadBalancerMetadataCache.nonCaching(loadBalancerFactory)));
 		}
 
 		@Bean
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.client.loadbalancer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+
+/**
+ * Caches the per-service metadata that load-balanced clients resolve for each request,
+ * such as the {@link LoadBalancerProperties}, the hint and the supported
+ * {@link LoadBalancerLifecycle} beans, so that the bean lookups and filtering are only
+ * done once per service ID. Clients can also cache values derived from the properties,
+ * for example, retry specifications, with {@link #computeIfAbsent(String, Object,
+ * Function)}.
+ * <p>
+ * Cached entries are not updated automatically. {@link #clear()} has to be called
+ * whenever the underlying properties or beans may have changed, for example, on
+ * environment changes or refresh.
+ *
+ * @since 5.0.3
+ */
+public class LoadBalancerMetadataCache {
+
+	private final ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory;
+
+	private final boolean cachingEnabled;
+
+	private final Map<String, ServiceMetadata> metadata = new ConcurrentHashMap<>();
+
+	public LoadBalancerMetadataCache(ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory) {
+		this(loadBalancerFactory, true);
+	}
+
+	private LoadBalancerMetadataCache(ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
+			boolean cachingEnabled) {
+		this.loadBalancerFactory = loadBalancerFactory;
+		this.cachingEnabled = cachingEnabled;
+	}
+
+	/**
+	 * Creates an instance that resolves the metadata on each call, for clients that
+	 * cannot be notified when the underlying properties or beans change.
+	 * @param loadBalancerFactory the factory used to resolve the metadata
+	 * @return a non-caching {@link LoadBalancerMetadataCache} instance
+	 */
+	public static LoadBalancerMetadataCache nonCaching(
+			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory) {
+		return new LoadBalancerMetadataCache(loadBalancerFactory, false);
+	}
+
+	public @Nullable LoadBalancerProperties getProperties(String serviceId) {
+		return getMetadata(serviceId).properties;
+	}
+
+	public String getHint(String serviceId) {
+		return getMetadata(serviceId).hint;
+	}
+
+	@SuppressWarnings("rawtypes")
+	public Set<LoadBalancerLifecycle> getSupportedLifecycleProcessors(String serviceId, Class requestContextClass,
+			Class clientResponseClass, Class serverTypeClass) {
+		return getSupportedLifecycleProcessors(serviceId,
+				new LifecycleTypes(requestContextClass, clientResponseClass, serverTypeClass));
+	}
+
+	/**
+	 * Returns the {@link LoadBalancerLifecycle} beans of the given service that support
+	 * the given types. Callers on a hot path should keep the {@link LifecycleTypes} in a
+	 * constant, so that looking up cached beans does not allocate.
+	 * @param serviceId the service ID
+	 * @param types the request context, client response and server types
+	 * @return the supported lifecycle beans
+	 */
+	@SuppressWarnings("rawtypes")
+	public Set<LoadBalancerLifecycle> getSupportedLifecycleProcessors(String serviceId, LifecycleTypes types) {
+		ServiceMetadata serviceMetadata = getMetadata(serviceId);
+		if (cachingEnabled) {
+			Set<LoadBalancerLifecycle> cached = serviceMetadata.lifecycleProcessors.get(types);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		// resolved outside of the map, as resolving beans may create the service's
+		// LoadBalancer context
+		Set<LoadBalancerLifecycle> supportedLifecycleProcessors = Collections
+			.unmodifiableSet(LoadBalancerLifecycleValidator.getSupportedLifecycleProcessors(
+					loadBalancerFactory.getInstances(serviceId, LoadBalancerLifecycle.class),
+					types.requestContextClass(), types.clientResponseClass(), types.serverTypeClass()));
+		if (!cachingEnabled) {
+			return supportedLifecycleProcessors;
+		}
+		Set<LoadBalancerLifecycle> existing = serviceMetadata.lifecycleProcessors.putIfAbsent(types,
+				supportedLifecycleProcessors);
+		return existing != null ? existing : supportedLifecycleProcessors;
+	}
+
+	/**
+	 * Returns the value cached for the given service ID and key, computing it from the
+	 * service's {@link LoadBalancerProperties} if not present.
+	 * @param serviceId the service ID
+	 * @param key the key of the value, unique among the values cached for a service
+	 * @param mappingFunction the function computing the value
+	 * @param <T> the type of the value
+	 * @return the cached value
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T computeIfAbsent(String serviceId, Object key,
+			Function<@Nullable LoadBalancerProperties, T> mappingFunction) {
+		ServiceMetadata serviceMetadata = getMetadata(serviceId);
+		if (!cachingEnabled) {
+			return mappingFunction.apply(serviceMetadata.properties);
+		}
+		Object value = serviceMetadata.values.get(key);
+		if (value == null) {
+			// computed outside of the map, as resolving beans may create the service's
+			// LoadBalancer context
+			value = mappingFunction.apply(serviceMetadata.properties);
+			Object existing = serviceMetadata.values.putIfAbsent(key, value);
+			if (existing != null) {
+				value = existing;
+			}
+		}
+		return (T) value;
+	}
+
+	/**
+	 * Removes all the cached entries.
+	 */
+	public void clear() {
+		metadata.clear();
+	}
+
+	private ServiceMetadata getMetadata(String serviceId) {
+		if (!cachingEnabled) {
+			return new ServiceMetadata(serviceId, loadBalancerFactory.getProperties(serviceId));
+		}
+		ServiceMetadata serviceMetadata = metadata.get(serviceId);
+		if (serviceMetadata == null) {
+			serviceMetadata = metadata.computeIfAbsent(serviceId,
+					id -> new ServiceMetadata(id, loadBalancerFactory.getProperties(id)));
+		}
+		return serviceMetadata;
+	}
+
+	private static final class ServiceMetadata {
+
+		private final @Nullable LoadBalancerProperties properties;
+
+		private final String hint;
+
+		private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+		@SuppressWarnings("rawtypes")
+		private final Map<LifecycleTypes, Set<LoadBalancerLifecycle>> lifecycleProcessors = new ConcurrentHashMap<>();
+
+		private ServiceMetadata(String serviceId, @Nullable LoadBalancerProperties properties) {
+			this.properties = properties;
+			this.hint = resolveHint(serviceId, properties);
+		}
+
+		private static String resolveHint(String serviceId, @Nullable LoadBalancerProperties properties) {
+			if (properties == null) {
+				return "default";
+			}
+			Map<String, String> hint = properties.getHint();
+			String defaultHint = hint.getOrDefault("default", "default");
+			String hintPropertyValue = hint.get(serviceId);
+			return hintPropertyValue != null ? hintPropertyValue : defaultHint;
+		}
+
+	}
+
+	/**
+	 * The types a {@link LoadBalancerLifecycle} bean has to support.
+	 *
+	 * @param requestContextClass the request context type
+	 * @param clientResponseClass the client response type
+	 * @param serverTypeClass the server type
+	 */
+	public record LifecycleTypes(Class<?> requestContextClass, Class<?> clientResponseClass,
+			Class<?> serverTypeClass) {
+
+	}
+
+}
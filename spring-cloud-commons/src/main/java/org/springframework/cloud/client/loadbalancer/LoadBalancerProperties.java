@@ -114,6 +114,26 @@ public class LoadBalancerProperties {
 	 */
 	private ApiVersion apiVersion = new ApiVersion();
 
+	/**
+	 * Properties for consistent-hash-based load-balancing.
+	 */
+	private ConsistentHash consistentHash = new ConsistentHash();
+
+	/**
+	 * Properties for weighted load-balancing.
+	 */
+	private Weighted weighted = new Weighted();
+
+	/**
+	 * Properties for slow-start of newly discovered instances.
+	 */
+	private SlowStart slowStart = new SlowStart();
+
+	/**
+	 * Properties for passive outlier ejection.
+	 */
+	private OutlierEjection outlierEjection = new OutlierEjection();
+
 	public HealthCheck getHealthCheck() {
 		return healthCheck;
 	}
@@ -194,6 +214,38 @@ public class LoadBalancerProperties {
 		this.apiVersion = apiVersion;
 	}
 
+	public ConsistentHash getConsistentHash() {
+		return consistentHash;
+	}
+
+	public void setConsistentHash(ConsistentHash consistentHash) {
+		this.consistentHash = consistentHash;
+	}
+
+	public Weighted getWeighted() {
+		return weighted;
+	}
+
+	public void setWeighted(Weighted weighted) {
+		this.weighted = weighted;
+	}
+
+	public SlowStart getSlowStart() {
+		return slowStart;
+	}
+
+	public void setSlowStart(SlowStart slowStart) {
+		this.slowStart = slowStart;
+	}
+
+	public OutlierEjection getOutlierEjection() {
+		return outlierEjection;
+	}
+
+	public void setOutlierEjection(OutlierEjection outlierEjection) {
+		this.outlierEjection = outlierEjection;
+	}
+
 	public static class StickySession {
 
 		/**
@@ -690,4 +742,311 @@ public class LoadBalancerProperties {
 
 	}
 
+	public static class SlowStart {
+
+		/**
+		 * Time over which the share of traffic sent to a newly discovered instance is
+		 * ramped up to full.
+		 */
+		private Duration window = Duration.ofSeconds(30);
+
+		/**
+		 * Fraction of its regular share of traffic that a newly discovered instance
+		 * receives at the beginning of the slow-start window.
+		 */
+		private double minWeightFactor = 0.1d;
+
+		public Duration getWindow() {
+			return window;
+		}
+
+		public void setWindow(Duration window) {
+			this.window = window;
+		}
+
+		public double getMinWeightFactor() {
+			return minWeightFactor;
+		}
+
+		public void setMinWeightFactor(double minWeightFactor) {
+			this.minWeightFactor = minWeightFactor;
+		}
+
+	}
+
+	public static class OutlierEjection {
+
+		/**
+		 * Number of consecutive failed requests after which an instance is ejected. A
+		 * value lower than 1 disables ejection based on consecutive failures.
+		 */
+		private int consecutiveFailures = 5;
+
+		/**
+		 * Share of failed requests within the sliding window above which an instance is
+		 * ejected. Requests that end with a 5xx status are considered failed. A value
+		 * greater than 1 disables ejection based on the failure rate.
+		 */
+		private double failureRateThreshold = 0.5d;
+
+		/**
+		 * Factor by which the average latency of an instance within the sliding window
+		 * has to exceed the median of the average latencies of all instances for the
+		 * instance to be ejected. A value lower than or equal to 1 disables ejection
+		 * based on latency.
+		 */
+		private double latencyFactor = 3d;
+
+		/**
+		 * Minimal number of requests within the sliding window required to evaluate the
+		 * failure rate and latency of an instance.
+		 */
+		private int minimumRequests = 10;
+
+		/**
+		 * Length of the sliding window over which request outcomes are aggregated.
+		 */
+		private Duration window = Duration.ofSeconds(10);
+
+		/**
+		 * Time for which an instance is ejected for the first time. Each subsequent
+		 * ejection doubles it, up to {@link #maxEjectionTime}.
+		 */
+		private Duration baseEjectionTime = Duration.ofSeconds(30);
+
+		/**
+		 * Maximal time for which an instance can be ejected.
+		 */
+		private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+		/**
+		 * Maximal percentage of the available instances that can be ejected at the same
+		 * time.
+		 */
+		private int maxEjectionPercent = 50;
+
+		public int getConsecutiveFailures() {
+			return consecutiveFailures;
+		}
+
+		public void setConsecutiveFailures(int consecutiveFailures) {
+			this.consecutiveFailures = consecutiveFailures;
+		}
+
+		public double getFailureRateThreshold() {
+			return failureRateThreshold;
+		}
+
+		public void setFailureRateThreshold(double failureRateThreshold) {
+			this.failureRateThreshold = failureRateThreshold;
+		}
+
+		public double getLatencyFactor() {
+			return latencyFactor;
+		}
+
+		public void setLatencyFactor(double latencyFactor) {
+			this.latencyFactor = latencyFactor;
+		}
+
+		public int getMinimumRequests() {
+			return minimumRequests;
+		}
+
+		public void setMinimumRequests(int minimumRequests) {
+			this.minimumRequests = minimumRequests;
+		}
+
+		public Duration getWindow() {
+			return window;
+		}
+
+		public void setWindow(Duration window) {
+			this.window = window;
+		}
+
+		public Duration getBaseEjectionTime() {
+			return baseEjectionTime;
+		}
+
+		public void setBaseEjectionTime(Duration baseEjectionTime) {
+			this.baseEjectionTime = baseEjectionTime;
+		}
+
+		public Duration getMaxEjectionTime() {
+			return maxEjectionTime;
+		}
+
+		public void setMaxEjectionTime(Duration maxEjectionTime) {
+			this.maxEjectionTime = maxEjectionTime;
+		}
+
+		public int getMaxEjectionPercent() {
+			return maxEjectionPercent;
+		}
+
+		public void setMaxEjectionPercent(int maxEjectionPercent) {
+			this.maxEjectionPercent = maxEjectionPercent;
+		}
+
+	}
+
+	public static class Weighted {
+
+		/**
+		 * The strategy used to select instances according to their weights.
+		 */
+		private SelectionMode selectionMode = SelectionMode.EXPANDED;
+
+		public SelectionMode getSelectionMode() {
+			return selectionMode;
+		}
+
+		public void setSelectionMode(SelectionMode selectionMode) {
+			this.selectionMode = selectionMode;
+		}
+
+		/**
+		 * Strategies used to select instances according to their weights.
+		 */
+		public enum SelectionMode {
+
+			/**
+			 * Each instance is repeated in the instance list proportionally to its weight.
+			 * Memory use grows with the sum of the weights divided by their greatest
+			 * common divisor.
+			 */
+			EXPANDED,
+
+			/**
+			 * Instances are selected via an alias table. Memory use is constant per
+			 * instance, regardless of the weights. Only load balancers that support
+			 * weighted sampling, such as the round-robin and random ones, take the
+			 * weights into account.
+			 */
+			ALIAS
+
+		}
+
+	}
+
+	public static class ConsistentHash {
+
+		/**
+		 * The default name of the header holding the hash key.
+		 */
+		public static final String DEFAULT_HEADER_NAME = "X-SC-LB-Hash-Key";
+
+		/**
+		 * Uses the HTTP header with the given name to obtain the hash key.
+		 */
+		private @Nullable String header = DEFAULT_HEADER_NAME;
+
+		/**
+		 * Uses the cookie with the given name to obtain the hash key.
+		 */
+		private @Nullable String cookie;
+
+		/**
+		 * Uses the path segment at the given index to obtain the hash key.
+		 */
+		private @Nullable Integer pathSegment;
+
+		/**
+		 * Indicates whether the request hint should be used as the hash key if no key
+		 * has been found in the request.
+		 */
+		private boolean useHint = false;
+
+		/**
+		 * The lookup structure the hash keys are mapped onto.
+		 */
+		private Table table = Table.RING;
+
+		/**
+		 * Number of points placed on the hash ring for each instance.
+		 */
+		private int virtualNodes = 100;
+
+		/**
+		 * Size of the Maglev lookup table. Should be a prime number significantly larger
+		 * than the number of instances.
+		 */
+		private int maglevTableSize = 65537;
+
+		public @Nullable String getHeader() {
+			return header;
+		}
+
+		public void setHeader(@Nullable String header) {
+			this.header = header;
+		}
+
+		public @Nullable String getCookie() {
+			return cookie;
+		}
+
+		public void setCookie(@Nullable String cookie) {
+			this.cookie = cookie;
+		}
+
+		public @Nullable Integer getPathSegment() {
+			return pathSegment;
+		}
+
+		public void setPathSegment(@Nullable Integer pathSegment) {
+			this.pathSegment = pathSegment;
+		}
+
+		public boolean isUseHint() {
+			return useHint;
+		}
+
+		public void setUseHint(boolean useHint) {
+			this.useHint = useHint;
+		}
+
+		public Table getTable() {
+			return table;
+		}
+
+		public void setTable(Table table) {
+			this.table = table;
+		}
+
+		public int getVirtualNodes() {
+			return virtualNodes;
+		}
+
+		public void setVirtualNodes(int virtualNodes) {
+			this.virtualNodes = virtualNodes;
+		}
+
+		public int getMaglevTableSize() {
+			return maglevTableSize;
+		}
+
+		public void setMaglevTableSize(int maglevTableSize) {
+			this.maglevTableSize = maglevTableSize;
+		}
+
+		/**
+		 * Lookup structures supported by consistent-hash-based load-balancing.
+		 */
+		public enum Table {
+
+			/**
+			 * A hash ring with a configurable number of virtual nodes per instance.
+			 */
+			RING,
+
+			/**
+			 * A Maglev lookup table.
+			 */
+			MAGLEV
+
+		}
+
+	}
+
 }
@@ -18,7 +18,6 @@ package org.springframework.cloud.client.loadbalancer;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.logging.Log;
@@ -26,6 +25,7 @@ import org.apache.commons.logging.LogFactory;
 import org.jspecify.annotations.Nullable;
 
 import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerMetadataCache.LifecycleTypes;
 import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
@@ -36,7 +36,6 @@ import org.springframework.retry.backoff.NoBackOffPolicy;
 import org.springframework.retry.policy.NeverRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.util.Assert;
-import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.springframework.util.StreamUtils;
 
 /**
@@ -50,21 +49,38 @@ public class RetryLoadBalancerInterceptor implements BlockingLoadBalancerInterce
 
 	private static final Log LOG = LogFactory.getLog(RetryLoadBalancerInterceptor.class);
 
+	private static final LifecycleTypes LIFECYCLE_TYPES = new LifecycleTypes(RetryableRequestContext.class,
+			ResponseData.class, ServiceInstance.class);
+
 	private final LoadBalancerClient loadBalancer;
 
 	private final LoadBalancerRequestFactory requestFactory;
 
 	private final LoadBalancedRetryFactory lbRetryFactory;
 
-	private final ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory;
+	private final LoadBalancerMetadataCache metadataCache;
 
 	public RetryLoadBalancerInterceptor(LoadBalancerClient loadBalancer, LoadBalancerRequestFactory requestFactory,
 			LoadBalancedRetryFactory lbRetryFactory,
 			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory) {
+		this(loadBalancer, requestFactory, lbRetryFactory, LoadBalancerMetadataCache.nonCaching(loadBalancerFactory));
+	}
+
+	/**
+	 * @param loadBalancer the {@link LoadBalancerClient} used to choose and call
+	 * instances
+	 * @param requestFactory the factory used to create load-balanced requests
+	 * @param lbRetryFactory the factory used to create retry policies
+	 * @param metadataCache the cache used to resolve per-service properties, hints and
+	 * lifecycle beans
+	 * @since 5.0.3
+	 */
+	public RetryLoadBalancerInterceptor(LoadBalancerClient loadBalancer, LoadBalancerRequestFactory requestFactory,
+			LoadBalancedRetryFactory lbRetryFactory, LoadBalancerMetadataCache metadataCache) {
 		this.loadBalancer = loadBalancer;
 		this.requestFactory = requestFactory;
 		this.lbRetryFactory = lbRetryFactory;
-		this.loadBalancerFactory = loadBalancerFactory;
+		this.metadataCache = metadataCache;
 	}
 
 	@Override
@@ -84,11 +100,9 @@ public class RetryLoadBalancerInterceptor implements BlockingLoadBalancerInterce
 							serviceInstance));
 				}
 			}
-			Set<LoadBalancerLifecycle> supportedLifecycleProcessors = LoadBalancerLifecycleValidator
-				.getSupportedLifecycleProcessors(
-						loadBalancerFactory.getInstances(serviceName, LoadBalancerLifecycle.class),
-						RetryableRequestContext.class, ResponseData.class, ServiceInstance.class);
-			String hint = getHint(serviceName);
+			Set<LoadBalancerLifecycle> supportedLifecycleProcessors = metadataCache
+				.getSupportedLifecycleProcessors(serviceName, LIFECYCLE_TYPES);
+			String hint = metadataCache.getHint(serviceName);
 			if (serviceInstance == null) {
 				if (LOG.isDebugEnabled()) {
 					LOG.debug("Service instance retrieved from LoadBalancedRetryContext: was null. "
@@ -153,19 +167,11 @@ public class RetryLoadBalancerInterceptor implements BlockingLoadBalancerInterce
 		if (retryListeners != null && retryListeners.length != 0) {
 			template.setListeners(retryListeners);
 		}
-		LoadBalancerProperties properties = loadBalancerFactory.getProperties(serviceName);
+		LoadBalancerProperties properties = metadataCache.getProperties(serviceName);
 		boolean retryEnabled = properties == null || properties.getRetry().isEnabled();
 		template.setRetryPolicy(!retryEnabled || retryPolicy == null ? new NeverRetryPolicy()
 				: new InterceptorRetryPolicy(request, retryPolicy, loadBalancer, serviceName));
 		return template;
 	}
 
-	private String getHint(String serviceId) {
-		LoadBalancerProperties properties = loadBalancerFactory.getProperties(serviceId);
-		Map<String, String> hint = (properties != null) ? properties.getHint() : new LinkedCaseInsensitiveMap<>();
-		String defaultHint = hint.getOrDefault("default", "default");
-		String hintPropertyValue = hint.get(serviceId);
-		return hintPropertyValue != null ? hintPropertyValue : defaultHint;
-	}
-
 }
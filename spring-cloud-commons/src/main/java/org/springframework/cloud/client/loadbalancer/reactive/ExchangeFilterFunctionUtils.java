@@ -18,7 +18,6 @@ package org.springframework.cloud.client.loadbalancer.reactive;
 
 import java.net.URI;
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
@@ -37,12 +36,6 @@ public final class ExchangeFilterFunctionUtils {
 		throw new IllegalStateException("Can't instantiate a utility class.");
 	}
 
-	static String getHint(String serviceId, Map<String, String> hints) {
-		String defaultHint = hints.getOrDefault("default", "default");
-		String hintPropertyValue = hints.get(serviceId);
-		return hintPropertyValue != null ? hintPropertyValue : defaultHint;
-	}
-
 	static ClientRequest buildClientRequest(ClientRequest request, ServiceInstance serviceInstance,
 			String instanceIdCookieName, boolean addServiceInstanceCookie,
 			List<LoadBalancerClientRequestTransformer> transformers) {
@@ -28,6 +28,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerClientsProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerMetadataCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -52,9 +53,11 @@ public class ReactorLoadBalancerClientAutoConfiguration {
 	@Bean
 	public ReactorLoadBalancerExchangeFilterFunction loadBalancerExchangeFilterFunction(
 			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
-			ObjectProvider<List<LoadBalancerClientRequestTransformer>> transformers) {
+			ObjectProvider<List<LoadBalancerClientRequestTransformer>> transformers,
+			ObjectProvider<LoadBalancerMetadataCache> metadataCache) {
 		return new ReactorLoadBalancerExchangeFilterFunction(loadBalancerFactory,
-				transformers.getIfAvailable(Collections::emptyList));
+				transformers.getIfAvailable(Collections::emptyList),
+				metadataCache.getIfAvailable(() -> LoadBalancerMetadataCache.nonCaching(loadBalancerFactory)));
 	}
 
 	@ConditionalOnMissingBean
@@ -63,9 +66,11 @@ public class ReactorLoadBalancerClientAutoConfiguration {
 	public RetryableLoadBalancerExchangeFilterFunction retryableLoadBalancerExchangeFilterFunction(
 			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
 			LoadBalancerRetryPolicy.Factory retryPolicyFactory,
-			ObjectProvider<List<LoadBalancerClientRequestTransformer>> transformers) {
+			ObjectProvider<List<LoadBalancerClientRequestTransformer>> transformers,
+			ObjectProvider<LoadBalancerMetadataCache> metadataCache) {
 		return new RetryableLoadBalancerExchangeFilterFunction(retryPolicyFactory, loadBalancerFactory,
-				transformers.getIfAvailable(Collections::emptyList));
+				transformers.getIfAvailable(Collections::emptyList),
+				metadataCache.getIfAvailable(() -> LoadBalancerMetadataCache.nonCaching(loadBalancerFactory)));
 	}
 
 	@ConditionalOnMissingBean
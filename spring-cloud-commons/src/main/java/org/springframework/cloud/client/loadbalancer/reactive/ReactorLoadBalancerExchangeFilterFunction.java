@@ -29,7 +29,8 @@ import org.springframework.cloud.client.loadbalancer.CompletionContext;
 import org.springframework.cloud.client.loadbalancer.DefaultRequest;
 import org.springframework.cloud.client.loadbalancer.EmptyResponse;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
-import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycleValidator;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerMetadataCache;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerMetadataCache.LifecycleTypes;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
 import org.springframework.cloud.client.loadbalancer.Request;
 import org.springframework.cloud.client.loadbalancer.RequestData;
@@ -43,7 +44,6 @@ import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
 
 import static org.springframework.cloud.client.loadbalancer.reactive.ExchangeFilterFunctionUtils.buildClientRequest;
-import static org.springframework.cloud.client.loadbalancer.reactive.ExchangeFilterFunctionUtils.getHint;
 import static org.springframework.cloud.client.loadbalancer.reactive.ExchangeFilterFunctionUtils.serviceInstanceUnavailableMessage;
 
 /**
@@ -58,14 +58,32 @@ public class ReactorLoadBalancerExchangeFilterFunction implements LoadBalancedEx
 
 	private static final Log LOG = LogFactory.getLog(ReactorLoadBalancerExchangeFilterFunction.class);
 
+	private static final LifecycleTypes LIFECYCLE_TYPES = new LifecycleTypes(RequestDataContext.class,
+			ResponseData.class, ServiceInstance.class);
+
 	private final ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory;
 
 	private final List<LoadBalancerClientRequestTransformer> transformers;
 
+	private final LoadBalancerMetadataCache metadataCache;
+
 	public ReactorLoadBalancerExchangeFilterFunction(ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
 			List<LoadBalancerClientRequestTransformer> transformers) {
+		this(loadBalancerFactory, transformers, LoadBalancerMetadataCache.nonCaching(loadBalancerFactory));
+	}
+
+	/**
+	 * @param loadBalancerFactory the factory used to access the load balancers
+	 * @param transformers the transformers applied to load-balanced requests
+	 * @param metadataCache the cache used to resolve per-service properties, hints and
+	 * lifecycle beans
+	 * @since 5.0.3
+	 */
+	public ReactorLoadBalancerExchangeFilterFunction(ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
+			List<LoadBalancerClientRequestTransformer> transformers, LoadBalancerMetadataCache metadataCache) {
 		this.loadBalancerFactory = loadBalancerFactory;
 		this.transformers = transformers;
+		this.metadataCache = metadataCache;
 	}
 
 	@Override
@@ -79,10 +97,9 @@ public class ReactorLoadBalancerExchangeFilterFunction implements LoadBalancedEx
 			}
 			return Mono.just(ClientResponse.create(HttpStatus.BAD_REQUEST).body(message).build());
 		}
-		Set<LoadBalancerLifecycle> supportedLifecycleProcessors = LoadBalancerLifecycleValidator
-			.getSupportedLifecycleProcessors(loadBalancerFactory.getInstances(serviceId, LoadBalancerLifecycle.class),
-					RequestDataContext.class, ResponseData.class, ServiceInstance.class);
-		String hint = getHint(serviceId, loadBalancerFactory.getProperties(serviceId).getHint());
+		Set<LoadBalancerLifecycle> supportedLifecycleProcessors = metadataCache
+			.getSupportedLifecycleProcessors(serviceId, LIFECYCLE_TYPES);
+		String hint = metadataCache.getHint(serviceId);
 		RequestData requestData = new RequestData(clientRequest);
 		DefaultRequest<RequestDataContext> lbRequest = new DefaultRequest<>(new RequestDataContext(requestData, hint));
 		supportedLifecycleProcessors.forEach(lifecycle -> lifecycle.onStart(lbRequest));
@@ -104,7 +121,7 @@ public class ReactorLoadBalancerExchangeFilterFunction implements LoadBalancedEx
 				LOG.debug(String.format("LoadBalancer has retrieved the instance for service %s: %s", serviceId,
 						instance.getUri()));
 			}
-			LoadBalancerProperties.StickySession stickySessionProperties = loadBalancerFactory.getProperties(serviceId)
+			LoadBalancerProperties.StickySession stickySessionProperties = metadataCache.getProperties(serviceId)
 				.getStickySession();
 			ClientRequest newRequest = buildClientRequest(clientRequest, instance,
 					stickySessionProperties.getInstanceIdCookieName(),
@@ -32,7 +32,8 @@ import org.springframework.cloud.client.loadbalancer.CompletionContext;
 import org.springframework.cloud.client.loadbalancer.DefaultRequest;
 import org.springframework.cloud.client.loadbalancer.EmptyResponse;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
-import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycleValidator;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerMetadataCache;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerMetadataCache.LifecycleTypes;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
 import org.springframework.cloud.client.loadbalancer.Request;
 import org.springframework.cloud.client.loadbalancer.RequestData;
@@ -46,7 +47,6 @@ import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
 
 import static org.springframework.cloud.client.loadbalancer.reactive.ExchangeFilterFunctionUtils.buildClientRequest;
-import static org.springframework.cloud.client.loadbalancer.reactive.ExchangeFilterFunctionUtils.getHint;
 import static org.springframework.cloud.client.loadbalancer.reactive.ExchangeFilterFunctionUtils.serviceInstanceUnavailableMessage;
 
 /**
@@ -62,18 +62,39 @@ public class RetryableLoadBalancerExchangeFilterFunction implements LoadBalanced
 
 	private static final Log LOG = LogFactory.getLog(RetryableLoadBalancerExchangeFilterFunction.class);
 
+	private static final LifecycleTypes LIFECYCLE_TYPES = new LifecycleTypes(RetryableRequestContext.class,
+			ResponseData.class, ServiceInstance.class);
+
 	private final LoadBalancerRetryPolicy.Factory retryPolicyFactory;
 
 	private final ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory;
 
 	private final List<LoadBalancerClientRequestTransformer> transformers;
 
+	private final LoadBalancerMetadataCache metadataCache;
+
 	public RetryableLoadBalancerExchangeFilterFunction(LoadBalancerRetryPolicy.Factory retryPolicyFactory,
 			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
 			List<LoadBalancerClientRequestTransformer> transformers) {
+		this(retryPolicyFactory, loadBalancerFactory, transformers,
+				LoadBalancerMetadataCache.nonCaching(loadBalancerFactory));
+	}
+
+	/**
+	 * @param retryPolicyFactory the factory used to create retry policies
+	 * @param loadBalancerFactory the factory used to access the load balancers
+	 * @param transformers the transformers applied to load-balanced requests
+	 * @param metadataCache the cache used to resolve per-service properties, hints,
+	 * lifecycle beans and retry specifications
+	 * @since 5.0.3
+	 */
+	public RetryableLoadBalancerExchangeFilterFunction(LoadBalancerRetryPolicy.Factory retryPolicyFactory,
+			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
+			List<LoadBalancerClientRequestTransformer> transformers, LoadBalancerMetadataCache metadataCache) {
 		this.retryPolicyFactory = retryPolicyFactory;
 		this.loadBalancerFactory = loadBalancerFactory;
 		this.transformers = transformers;
+		this.metadataCache = metadataCache;
 	}
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
@@ -89,18 +110,17 @@ public class RetryableLoadBalancerExchangeFilterFunction implements LoadBalanced
 			return Mono.just(ClientResponse.create(HttpStatus.BAD_REQUEST).body(message).build());
 		}
 		LoadBalancerRetryContext loadBalancerRetryContext = new LoadBalancerRetryContext(clientRequest);
-		LoadBalancerProperties properties = loadBalancerFactory.getProperties(serviceId);
+		LoadBalancerProperties properties = metadataCache.getProperties(serviceId);
 
-		LoadBalancerRetryPolicy retryPolicy = retryPolicyFactory.apply(serviceId);
-		Retry exchangeRetry = buildRetrySpec(properties.getRetry().getMaxRetriesOnSameServiceInstance(), true,
-				properties.getRetry(), retryPolicy);
-		Retry filterRetry = buildRetrySpec(properties.getRetry().getMaxRetriesOnNextServiceInstance(), false,
-				properties.getRetry(), retryPolicy);
+		RetrySpecs retrySpecs = metadataCache.computeIfAbsent(serviceId, RetrySpecs.class,
+				serviceProperties -> buildRetrySpecs(serviceId, serviceProperties));
+		LoadBalancerRetryPolicy retryPolicy = retrySpecs.retryPolicy();
+		Retry exchangeRetry = retrySpecs.exchangeRetry();
+		Retry filterRetry = retrySpecs.filterRetry();
 
-		Set<LoadBalancerLifecycle> supportedLifecycleProcessors = LoadBalancerLifecycleValidator
-			.getSupportedLifecycleProcessors(loadBalancerFactory.getInstances(serviceId, LoadBalancerLifecycle.class),
-					RetryableRequestContext.class, ResponseData.class, ServiceInstance.class);
-		String hint = getHint(serviceId, properties.getHint());
+		Set<LoadBalancerLifecycle> supportedLifecycleProcessors = metadataCache
+			.getSupportedLifecycleProcessors(serviceId, LIFECYCLE_TYPES);
+		String hint = metadataCache.getHint(serviceId);
 		RequestData requestData = new RequestData(clientRequest);
 		DefaultRequest<RetryableRequestContext> lbRequest = new DefaultRequest<>(
 				new RetryableRequestContext(null, requestData, hint));
@@ -162,6 +182,15 @@ public class RetryableLoadBalancerExchangeFilterFunction implements LoadBalanced
 		}).retryWhen(exchangeRetry)).retryWhen(filterRetry);
 	}
 
+	private RetrySpecs buildRetrySpecs(String serviceId, LoadBalancerProperties properties) {
+		LoadBalancerRetryPolicy retryPolicy = retryPolicyFactory.apply(serviceId);
+		Retry exchangeRetry = buildRetrySpec(properties.getRetry().getMaxRetriesOnSameServiceInstance(), true,
+				properties.getRetry(), retryPolicy);
+		Retry filterRetry = buildRetrySpec(properties.getRetry().getMaxRetriesOnNextServiceInstance(), false,
+				properties.getRetry(), retryPolicy);
+		return new RetrySpecs(retryPolicy, exchangeRetry, filterRetry);
+	}
+
 	private Retry buildRetrySpec(int max, boolean transientErrors, LoadBalancerProperties.Retry retry,
 			LoadBalancerRetryPolicy retryPolicy) {
 		if (!retry.isEnabled()) {
@@ -219,4 +248,12 @@ public class RetryableLoadBalancerExchangeFilterFunction implements LoadBalanced
 		return Mono.from(loadBalancer.choose(request));
 	}
 
+	/**
+	 * The retry policy and the Reactor retry specifications built for a service. Both
+	 * specifications keep their state per subscription, so they can be shared between
+	 * requests.
+	 */
+	private record RetrySpecs(LoadBalancerRetryPolicy retryPolicy, Retry exchangeRetry, Retry filterRetry) {
+	}
+
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.client.discovery;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InstanceDelta} and the default
+ * {@link ReactiveDiscoveryClient#watchInstances(String, Duration)} implementation.
+ */
+class InstanceDeltaTests {
+
+	private final ServiceInstance first = instance("test-1", "host1", Map.of());
+
+	private final ServiceInstance second = instance("test-2", "host2", Map.of());
+
+	@Test
+	void shouldComputeAddedRemovedAndModifiedInstances() {
+		Map<String, ServiceInstance> knownInstances = new HashMap<>();
+		assertThat(InstanceDelta.diff(knownInstances, List.of(first, second)))
+			.containsExactly(InstanceDelta.added(first), InstanceDelta.added(second));
+
+		ServiceInstance modifiedSecond = instance("test-2", "host2", Map.of("zone", "zone-a"));
+		ServiceInstance third = instance("test-3", "host3", Map.of());
+
+		assertThat(InstanceDelta.diff(knownInstances, List.of(modifiedSecond, third))).containsExactly(
+				InstanceDelta.modified(modifiedSecond), InstanceDelta.added(third), InstanceDelta.removed(first));
+		assertThat(knownInstances).containsOnlyKeys("test-2", "test-3");
+	}
+
+	@Test
+	void shouldReturnNoDeltasIfInstancesUnchanged() {
+		Map<String, ServiceInstance> knownInstances = new HashMap<>();
+		InstanceDelta.diff(knownInstances, List.of(first, second));
+
+		assertThat(InstanceDelta.diff(knownInstances,
+				List.of(instance("test-1", "host1", Map.of()), instance("test-2", "host2", Map.of()))))
+			.isEmpty();
+	}
+
+	@Test
+	void shouldUseHostAndPortAsKeyWithoutInstanceId() {
+		assertThat(InstanceDelta.key(new DefaultServiceInstance(null, "test", "host", 8080, false)))
+			.isEqualTo("host:8080");
+	}
+
+	@Test
+	void shouldPollForChangesByDefault() {
+		TestReactiveDiscoveryClient discoveryClient = new TestReactiveDiscoveryClient(List.of(first));
+
+		StepVerifier.withVirtualTime(() -> discoveryClient.watchInstances("test", Duration.ofSeconds(30)))
+			.expectSubscription()
+			.expectNoEvent(Duration.ofSeconds(29))
+			.thenAwait(Duration.ofSeconds(1))
+			.expectNext(InstanceDelta.added(first))
+			.then(() -> discoveryClient.instances = List.of(first, second))
+			.thenAwait(Duration.ofSeconds(30))
+			.expectNext(InstanceDelta.added(second))
+			.then(() -> discoveryClient.instances = List.of(second))
+			.thenAwait(Duration.ofSeconds(30))
+			.expectNext(InstanceDelta.removed(first))
+			.thenAwait(Duration.ofSeconds(30))
+			.expectNoEvent(Duration.ofSeconds(10))
+			.thenCancel()
+			.verify(Duration.ofSeconds(10));
+	}
+
+	private static ServiceInstance instance(String instanceId, String host, Map<String, String> metadata) {
+		return new DefaultServiceInstance(instanceId, "test", host, 8080, false, metadata);
+	}
+
+	private static class TestReactiveDiscoveryClient implements ReactiveDiscoveryClient {
+
+		private volatile List<ServiceInstance> instances;
+
+		TestReactiveDiscoveryClient(List<ServiceInstance> instances) {
+			this.instances = instances;
+		}
+
+		@Override
+		public String description() {
+			return "test";
+		}
+
+		@Override
+		public Flux<ServiceInstance> getInstances(String serviceId) {
+			return Flux.defer(() -> Flux.fromIterable(instances));
+		}
+
+		@Override
+		public Flux<String> getServices() {
+			return Flux.just("test");
+		}
+
+	}
+
+}
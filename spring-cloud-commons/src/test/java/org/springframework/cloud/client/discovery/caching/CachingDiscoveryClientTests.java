@@ -0,0 +1,205 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.client.discovery.caching;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.composite.CompositeDiscoveryClient;
+import org.springframework.cloud.client.discovery.composite.CompositeDiscoveryClientAutoConfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link CachingDiscoveryClient}.
+ */
+class CachingDiscoveryClientTests {
+
+	private final DiscoveryClient delegate = mock(DiscoveryClient.class);
+
+	private final Clock clock = mock(Clock.class);
+
+	private final CachingDiscoveryClientProperties properties = new CachingDiscoveryClientProperties();
+
+	private final ServiceInstance instance = new DefaultServiceInstance("test-1", "test", "host1", 8080, false);
+
+	@BeforeEach
+	void setUp() {
+		properties.setTtl(Duration.ofSeconds(30));
+		when(clock.millis()).thenReturn(0L);
+		when(delegate.getInstances("test")).thenReturn(List.of(instance));
+		when(delegate.getServices()).thenReturn(List.of("test"));
+	}
+
+	@Test
+	void shouldReturnCachedResultsUntilExpired() {
+		CachingDiscoveryClient discoveryClient = new CachingDiscoveryClient(delegate, properties, clock);
+
+		assertThat(discoveryClient.getInstances("test")).containsExactly(instance);
+		assertThat(discoveryClient.getServices()).containsExactly("test");
+		when(clock.millis()).thenReturn(29000L);
+		assertThat(discoveryClient.getInstances("test")).containsExactly(instance);
+		assertThat(discoveryClient.getServices()).containsExactly("test");
+		verify(delegate).getInstances("test");
+		verify(delegate).getServices();
+
+		when(clock.millis()).thenReturn(30000L);
+		discoveryClient.getInstances("test");
+		discoveryClient.getServices();
+
+		verify(delegate, times(2)).getInstances("test");
+		verify(delegate, times(2)).getServices();
+		assertThat(discoveryClient.getHitCount()).isEqualTo(2);
+		assertThat(discoveryClient.getMissCount()).isEqualTo(4);
+	}
+
+	@Test
+	void shouldUseServiceTtl() {
+		properties.getServiceTtl().put("test", Duration.ofSeconds(5));
+		CachingDiscoveryClient discoveryClient = new CachingDiscoveryClient(delegate, properties, clock);
+
+		discoveryClient.getInstances("test");
+		when(clock.millis()).thenReturn(5000L);
+		discoveryClient.getInstances("test");
+
+		verify(delegate, times(2)).getInstances("test");
+	}
+
+	@Test
+	void shouldReturnStaleResultsOnError() {
+		CachingDiscoveryClient discoveryClient = new CachingDiscoveryClient(delegate, properties, clock);
+		discoveryClient.getInstances("test");
+
+		when(clock.millis()).thenReturn(60000L);
+		when(delegate.getInstances("test")).thenThrow(new IllegalStateException("Registry unavailable"));
+
+		assertThat(discoveryClient.getInstances("test")).containsExactly(instance);
+		assertThat(discoveryClient.getStaleHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldNotCallFailingDelegateUntilStaleRetryIntervalElapsed() {
+		CachingDiscoveryClient discoveryClient = new CachingDiscoveryClient(delegate, properties, clock);
+		discoveryClient.getInstances("test");
+
+		when(clock.millis()).thenReturn(60000L);
+		when(delegate.getInstances("test")).thenThrow(new IllegalStateException("Registry unavailable"));
+		discoveryClient.getInstances("test");
+		when(clock.millis()).thenReturn(64000L);
+
+		assertThat(discoveryClient.getInstances("test")).containsExactly(instance);
+		verify(delegate, times(2)).getInstances("test");
+
+		when(clock.millis()).thenReturn(65000L);
+
+		assertThat(discoveryClient.getInstances("test")).containsExactly(instance);
+		verify(delegate, times(3)).getInstances("test");
+		assertThat(discoveryClient.getStaleHitCount()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldPropagateErrorIfStaleOnErrorDisabled() {
+		properties.setStaleOnError(false);
+		CachingDiscoveryClient discoveryClient = new CachingDiscoveryClient(delegate, properties, clock);
+		discoveryClient.getInstances("test");
+
+		when(clock.millis()).thenReturn(60000L);
+		when(delegate.getInstances("test")).thenThrow(new IllegalStateException("Registry unavailable"));
+
+		assertThatIllegalStateException().isThrownBy(() -> discoveryClient.getInstances("test"));
+	}
+
+	@Test
+	void shouldEvictEldestEntriesWhenFull() {
+		properties.setMaxSize(1);
+		when(delegate.getInstances("other")).thenReturn(List.of());
+		CachingDiscoveryClient discoveryClient = new CachingDiscoveryClient(delegate, properties, clock);
+
+		discoveryClient.getInstances("test");
+		when(clock.millis()).thenReturn(1000L);
+		discoveryClient.getInstances("other");
+		discoveryClient.getInstances("test");
+
+		verify(delegate, times(2)).getInstances("test");
+	}
+
+	@Test
+	void shouldShareConcurrentRetrievalOfSameService() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		when(delegate.getInstances("test")).thenAnswer(invocation -> {
+			release.await();
+			return List.of(instance);
+		});
+		CachingDiscoveryClient discoveryClient = new CachingDiscoveryClient(delegate, properties, clock);
+		List<List<ServiceInstance>> results = new CopyOnWriteArrayList<>();
+		Thread first = new Thread(() -> results.add(discoveryClient.getInstances("test")));
+		Thread second = new Thread(() -> results.add(discoveryClient.getInstances("test")));
+
+		first.start();
+		second.start();
+		awaitWaiting(first);
+		awaitWaiting(second);
+		release.countDown();
+		first.join(5000);
+		second.join(5000);
+
+		assertThat(results).containsExactly(List.of(instance), List.of(instance));
+		verify(delegate).getInstances("test");
+	}
+
+	@Test
+	void shouldRetainDelegateOrder() {
+		when(delegate.getOrder()).thenReturn(5);
+
+		assertThat(new CachingDiscoveryClient(delegate, properties).getOrder()).isEqualTo(5);
+	}
+
+	@Test
+	void shouldWrapCompositeDelegatesWhenEnabled() {
+		new ApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(CompositeDiscoveryClientAutoConfiguration.class))
+			.withBean(DiscoveryClient.class, () -> delegate)
+			.withPropertyValues("spring.cloud.discovery.client.caching.enabled=true")
+			.run(context -> assertThat(context.getBean(CompositeDiscoveryClient.class).getDiscoveryClients())
+				.singleElement()
+				.isInstanceOf(CachingDiscoveryClient.class));
+	}
+
+	private static void awaitWaiting(Thread thread) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+}
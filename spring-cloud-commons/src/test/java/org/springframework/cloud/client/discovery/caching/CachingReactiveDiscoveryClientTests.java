@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.client.discovery.caching;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link CachingReactiveDiscoveryClient}.
+ */
+class CachingReactiveDiscoveryClientTests {
+
+	private final ReactiveDiscoveryClient delegate = mock(ReactiveDiscoveryClient.class);
+
+	private final Clock clock = mock(Clock.class);
+
+	private final CachingDiscoveryClientProperties properties = new CachingDiscoveryClientProperties();
+
+	private final ServiceInstance instance = new DefaultServiceInstance("test-1", "test", "host1", 8080, false);
+
+	@BeforeEach
+	void setUp() {
+		properties.setTtl(Duration.ofSeconds(30));
+		when(clock.millis()).thenReturn(0L);
+		when(delegate.getInstances("test")).thenReturn(Flux.just(instance));
+		when(delegate.getServices()).thenReturn(Flux.just("test"));
+	}
+
+	@Test
+	void shouldReturnCachedResultsUntilExpired() {
+		CachingReactiveDiscoveryClient discoveryClient = new CachingReactiveDiscoveryClient(delegate, properties,
+				clock);
+
+		StepVerifier.create(discoveryClient.getInstances("test")).expectNext(instance).verifyComplete();
+		StepVerifier.create(discoveryClient.getInstances("test")).expectNext(instance).verifyComplete();
+		StepVerifier.create(discoveryClient.getServices()).expectNext("test").verifyComplete();
+		StepVerifier.create(discoveryClient.getServices()).expectNext("test").verifyComplete();
+		verify(delegate).getInstances("test");
+		verify(delegate).getServices();
+
+		when(clock.millis()).thenReturn(30000L);
+		StepVerifier.create(discoveryClient.getInstances("test")).expectNext(instance).verifyComplete();
+
+		verify(delegate, times(2)).getInstances("test");
+	}
+
+	@Test
+	void shouldShareConcurrentRetrievalOfSameService() {
+		when(delegate.getInstances("test")).thenReturn(Flux.just(instance).delayElements(Duration.ofMillis(100)));
+		CachingReactiveDiscoveryClient discoveryClient = new CachingReactiveDiscoveryClient(delegate, properties,
+				clock);
+
+		StepVerifier.create(Flux.merge(discoveryClient.getInstances("test"), discoveryClient.getInstances("test")))
+			.expectNext(instance, instance)
+			.verifyComplete();
+
+		verify(delegate).getInstances("test");
+	}
+
+	@Test
+	void shouldReturnStaleResultsOnError() {
+		CachingReactiveDiscoveryClient discoveryClient = new CachingReactiveDiscoveryClient(delegate, properties,
+				clock);
+		StepVerifier.create(discoveryClient.getInstances("test")).expectNext(instance).verifyComplete();
+
+		when(clock.millis()).thenReturn(60000L);
+		when(delegate.getInstances("test")).thenReturn(Flux.error(new IllegalStateException("Registry unavailable")));
+
+		StepVerifier.create(discoveryClient.getInstances("test")).expectNext(instance).verifyComplete();
+	}
+
+	@Test
+	void shouldNotCallFailingDelegateUntilStaleRetryIntervalElapsed() {
+		CachingReactiveDiscoveryClient discoveryClient = new CachingReactiveDiscoveryClient(delegate, properties,
+				clock);
+		StepVerifier.create(discoveryClient.getInstances("test")).expectNext(instance).verifyComplete();
+
+		when(clock.millis()).thenReturn(60000L);
+		when(delegate.getInstances("test")).thenReturn(Flux.error(new IllegalStateException("Registry unavailable")));
+		StepVerifier.create(discoveryClient.getInstances("test")).expectNext(instance).verifyComplete();
+		when(clock.millis()).thenReturn(64000L);
+
+		StepVerifier.create(discoveryClient.getInstances("test")).expectNext(instance).verifyComplete();
+		verify(delegate, times(2)).getInstances("test");
+
+		when(clock.millis()).thenReturn(65000L);
+
+		StepVerifier.create(discoveryClient.getInstances("test")).expectNext(instance).verifyComplete();
+		verify(delegate, times(3)).getInstances("test");
+	}
+
+	@Test
+	void shouldPropagateErrorWithoutStaleResults() {
+		when(delegate.getInstances("test")).thenReturn(Flux.error(new IllegalStateException("Registry unavailable")));
+		CachingReactiveDiscoveryClient discoveryClient = new CachingReactiveDiscoveryClient(delegate, properties,
+				clock);
+
+		StepVerifier.create(discoveryClient.getInstances("test")).verifyError(IllegalStateException.class);
+	}
+
+}
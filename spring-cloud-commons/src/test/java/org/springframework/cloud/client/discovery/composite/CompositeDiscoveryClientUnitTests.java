@@ -16,9 +16,12 @@
 
 package org.springframework.cloud.client.discovery.composite;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,8 +32,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cloud.client.DefaultServiceInstance;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -98,4 +103,91 @@ public class CompositeDiscoveryClientUnitTests {
 		verify(client2, times(0)).getServices();
 	}
 
+	@Test
+	void shouldNotWaitForLowerPriorityClientsWhenQueryingConcurrently() {
+		ServiceInstance serviceInstance1 = new DefaultServiceInstance("instance1", "serviceId", "s1", 8443, true);
+		when(client1.getInstances("serviceId")).thenReturn(Collections.singletonList(serviceInstance1));
+		CountDownLatch release = new CountDownLatch(1);
+		lenient().when(client2.getInstances("serviceId")).thenAnswer(invocation -> {
+			release.await();
+			return Collections.emptyList();
+		});
+		CompositeDiscoveryClient concurrentClient = new CompositeDiscoveryClient(Arrays.asList(client1, client2),
+				executor(), null);
+
+		try {
+			// returns while the lower priority client is still blocked
+			List<ServiceInstance> serviceInstances = concurrentClient.getInstances("serviceId");
+
+			then(serviceInstances).containsExactly(serviceInstance1);
+		}
+		finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	void shouldSkipClientsThatTimeOutWhenQueryingConcurrently() {
+		ServiceInstance serviceInstance2 = new DefaultServiceInstance("instance2", "serviceId", "s2", 8443, true);
+		when(client1.getInstances("serviceId")).thenAnswer(invocation -> {
+			new CountDownLatch(1).await();
+			return Collections.emptyList();
+		});
+		when(client2.getInstances("serviceId")).thenReturn(Collections.singletonList(serviceInstance2));
+		CompositeDiscoveryClient concurrentClient = new CompositeDiscoveryClient(Arrays.asList(client1, client2),
+				executor(), Duration.ofMillis(100));
+
+		List<ServiceInstance> serviceInstances = concurrentClient.getInstances("serviceId");
+
+		then(serviceInstances).containsExactly(serviceInstance2);
+	}
+
+	@Test
+	void shouldInterruptClientsThatTimeOutWhenQueryingConcurrently() throws InterruptedException {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		when(client1.getInstances("serviceId")).thenAnswer(invocation -> {
+			try {
+				// blocks until interrupted
+				new CountDownLatch(1).await();
+			}
+			catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return Collections.emptyList();
+		});
+		when(client2.getInstances("serviceId")).thenReturn(Collections.emptyList());
+		CompositeDiscoveryClient concurrentClient = new CompositeDiscoveryClient(Arrays.asList(client1, client2),
+				executor(), Duration.ofMillis(100));
+
+		concurrentClient.getInstances("serviceId");
+
+		then(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void shouldReturnServiceIdsInOrderWhenQueryingConcurrently() {
+		CountDownLatch secondReturned = new CountDownLatch(1);
+		when(client1.getServices()).thenAnswer(invocation -> {
+			// the higher priority client returns last
+			secondReturned.await();
+			return Arrays.asList("serviceId1", "serviceId2");
+		});
+		when(client2.getServices()).thenAnswer(invocation -> {
+			secondReturned.countDown();
+			return Arrays.asList("serviceId2", "serviceId3");
+		});
+		CompositeDiscoveryClient concurrentClient = new CompositeDiscoveryClient(Arrays.asList(client1, client2),
+				executor(), null);
+
+		List<String> services = concurrentClient.getServices();
+
+		then(services).containsExactly("serviceId1", "serviceId2", "serviceId3");
+	}
+
+	private static SimpleAsyncTaskExecutor executor() {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+		executor.setDaemon(true);
+		return executor;
+	}
+
 }
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.client.discovery.composite.reactive;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -121,4 +123,33 @@ class ReactiveCompositeDiscoveryClientTests {
 			.verify();
 	}
 
+	@Test
+	void shouldIgnoreServicesOfClientThatTimesOut() {
+		when(discoveryClient1.getServices()).thenReturn(Flux.never());
+		when(discoveryClient2.getServices()).thenReturn(Flux.just("serviceFromClient2"));
+
+		StepVerifier
+			.withVirtualTime(() -> new ReactiveCompositeDiscoveryClient(asList(discoveryClient1, discoveryClient2),
+					Duration.ofSeconds(1))
+				.getServices())
+			.expectNext("serviceFromClient2")
+			.thenAwait(Duration.ofSeconds(1))
+			.expectComplete()
+			.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	void shouldCompleteIfClientTimesOutWhileOthersReturnNoInstances() {
+		when(discoveryClient1.getInstances("service")).thenReturn(Flux.never());
+		when(discoveryClient2.getInstances("service")).thenReturn(Flux.empty());
+
+		StepVerifier
+			.withVirtualTime(() -> new ReactiveCompositeDiscoveryClient(asList(discoveryClient1, discoveryClient2),
+					Duration.ofSeconds(1))
+				.getInstances("service"))
+			.thenAwait(Duration.ofSeconds(1))
+			.expectComplete()
+			.verify(Duration.ofSeconds(5));
+	}
+
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.client.loadbalancer;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link LoadBalancerMetadataCache}.
+ */
+@SuppressWarnings("unchecked")
+class LoadBalancerMetadataCacheTests {
+
+	private final ReactiveLoadBalancer.Factory<ServiceInstance> factory = mock(ReactiveLoadBalancer.Factory.class);
+
+	private final LoadBalancerLifecycle supportedLifecycle = mock(LoadBalancerLifecycle.class);
+
+	private final LoadBalancerLifecycle unsupportedLifecycle = mock(LoadBalancerLifecycle.class);
+
+	private final LoadBalancerProperties properties = new LoadBalancerProperties();
+
+	@BeforeEach
+	void setUp() {
+		properties.getHint().put("default", "zone-a");
+		properties.getHint().put("test", "zone-b");
+		when(factory.getProperties(any())).thenReturn(properties);
+		when(factory.getInstances("test", LoadBalancerLifecycle.class))
+			.thenReturn(Map.of("supported", supportedLifecycle, "unsupported", unsupportedLifecycle));
+		when(supportedLifecycle.supports(any(), any(), any())).thenReturn(true);
+		when(unsupportedLifecycle.supports(any(), any(), any())).thenReturn(false);
+	}
+
+	@Test
+	void shouldResolveMetadataOncePerService() {
+		LoadBalancerMetadataCache cache = new LoadBalancerMetadataCache(factory);
+
+		for (int i = 0; i < 3; i++) {
+			Set<LoadBalancerLifecycle> lifecycles = cache.getSupportedLifecycleProcessors("test",
+					DefaultRequestContext.class, Object.class, ServiceInstance.class);
+			assertThat(lifecycles).containsExactly(supportedLifecycle);
+			assertThat(cache.getHint("test")).isEqualTo("zone-b");
+			assertThat(cache.getProperties("test")).isSameAs(properties);
+		}
+
+		verify(factory).getInstances("test", LoadBalancerLifecycle.class);
+		verify(factory).getProperties("test");
+	}
+
+	@Test
+	void shouldUseDefaultHint() {
+		LoadBalancerMetadataCache cache = new LoadBalancerMetadataCache(factory);
+
+		assertThat(cache.getHint("other")).isEqualTo("zone-a");
+	}
+
+	@Test
+	void shouldCacheLifecyclesPerRequestType() {
+		when(supportedLifecycle.supports(eq(RetryableRequestContext.class), any(), any())).thenReturn(false);
+		LoadBalancerMetadataCache cache = new LoadBalancerMetadataCache(factory);
+
+		assertThat(cache.getSupportedLifecycleProcessors("test", DefaultRequestContext.class, Object.class,
+				ServiceInstance.class))
+			.containsExactly(supportedLifecycle);
+		assertThat(cache.getSupportedLifecycleProcessors("test", RetryableRequestContext.class, ResponseData.class,
+				ServiceInstance.class))
+			.isEmpty();
+	}
+
+	@Test
+	void shouldCacheLifecyclesPerLifecycleTypes() {
+		LoadBalancerMetadataCache cache = new LoadBalancerMetadataCache(factory);
+		LoadBalancerMetadataCache.LifecycleTypes types = new LoadBalancerMetadataCache.LifecycleTypes(
+				DefaultRequestContext.class, Object.class, ServiceInstance.class);
+
+		Set<LoadBalancerLifecycle> first = cache.getSupportedLifecycleProcessors("test", types);
+
+		assertThat(first).containsExactly(supportedLifecycle);
+		assertThat(cache.getSupportedLifecycleProcessors("test", DefaultRequestContext.class, Object.class,
+				ServiceInstance.class))
+			.isSameAs(first);
+		verify(factory).getInstances("test", LoadBalancerLifecycle.class);
+	}
+
+	@Test
+	void shouldCacheComputedValues() {
+		LoadBalancerMetadataCache cache = new LoadBalancerMetadataCache(factory);
+
+		Object first = cache.computeIfAbsent("test", "key", serviceProperties -> new Object());
+		Object second = cache.computeIfAbsent("test", "key", serviceProperties -> new Object());
+
+		assertThat(second).isSameAs(first);
+	}
+
+	@Test
+	void shouldResolveMetadataAgainAfterClear() {
+		LoadBalancerMetadataCache cache = new LoadBalancerMetadataCache(factory);
+		assertThat(cache.getHint("test")).isEqualTo("zone-b");
+
+		properties.getHint().put("test", "zone-c");
+		cache.clear();
+
+		assertThat(cache.getHint("test")).isEqualTo("zone-c");
+	}
+
+	@Test
+	void shouldNotCacheWhenNonCaching() {
+		LoadBalancerMetadataCache cache = LoadBalancerMetadataCache.nonCaching(factory);
+
+		cache.getSupportedLifecycleProcessors("test", DefaultRequestContext.class, Object.class,
+				ServiceInstance.class);
+		cache.getSupportedLifecycleProcessors("test", DefaultRequestContext.class, Object.class,
+				ServiceInstance.class);
+		Object first = cache.computeIfAbsent("test", "key", serviceProperties -> new Object());
+		Object second = cache.computeIfAbsent("test", "key", serviceProperties -> new Object());
+
+		verify(factory, times(2)).getInstances("test", LoadBalancerLifecycle.class);
+		assertThat(second).isNotSameAs(first);
+	}
+
+}
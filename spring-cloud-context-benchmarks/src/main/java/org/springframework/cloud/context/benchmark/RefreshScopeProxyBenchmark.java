@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.context.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Measures calls to a refresh scope bean through its scoped proxy, with the default
+ * locking proxies and with {@code spring.cloud.refresh.lock-free-proxies}, both on their
+ * own and while the scope is refreshed concurrently.
+ *
+ * @since 5.0.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RefreshScopeProxyBenchmark {
+
+	@Param({ "false", "true" })
+	boolean lockFreeProxies;
+
+	private AnnotationConfigApplicationContext context;
+
+	private Greeter greeter;
+
+	private RefreshScope refreshScope;
+
+	@Setup
+	public void setUp() {
+		context = new AnnotationConfigApplicationContext();
+		context.getEnvironment()
+			.getPropertySources()
+			.addFirst(new MapPropertySource("benchmark",
+					Map.of("spring.cloud.refresh.lock-free-proxies", lockFreeProxies)));
+		context.register(BenchmarkConfiguration.class);
+		context.refresh();
+		greeter = context.getBean(Greeter.class);
+		refreshScope = context.getBean(RefreshScope.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public String call() {
+		return greeter.greet();
+	}
+
+	@Benchmark
+	@Group("refresh")
+	@GroupThreads(3)
+	public String callWhileRefreshing() {
+		return greeter.greet();
+	}
+
+	@Benchmark
+	@Group("refresh")
+	@GroupThreads(1)
+	public void refresh() {
+		refreshScope.refreshAll();
+	}
+
+	public static class Greeter {
+
+		public String greet() {
+			return "Hello";
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class BenchmarkConfiguration {
+
+		@Bean
+		static RefreshScope refreshScope() {
+			return new RefreshScope();
+		}
+
+		@Bean
+		@org.springframework.cloud.context.config.annotation.RefreshScope
+		Greeter greeter() {
+			return new Greeter();
+		}
+
+	}
+
+}
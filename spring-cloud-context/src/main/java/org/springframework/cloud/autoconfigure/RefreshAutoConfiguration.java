@@ -16,17 +16,20 @@
 
 package org.springframework.cloud.autoconfigure;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.jspecify.annotations.Nullable;
 
 import org.springframework.aop.scope.ScopedProxyUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
@@ -40,12 +43,15 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.context.properties.bind.Bindable;
 import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
 import org.springframework.cloud.context.refresh.ConfigDataContextRefresher;
 import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.cloud.context.refresh.ContextRefresherMeterBinder;
 import org.springframework.cloud.context.refresh.LegacyContextRefresher;
 import org.springframework.cloud.context.refresh.RefreshScopeLifecycle;
 import org.springframework.cloud.context.scope.refresh.RefreshScope;
 import org.springframework.cloud.endpoint.event.RefreshEventListener;
+import org.springframework.cloud.endpoint.event.RefreshEventMeterBinder;
 import org.springframework.cloud.logging.LoggingRebinder;
 import org.springframework.cloud.util.ConditionalOnBootstrapDisabled;
 import org.springframework.cloud.util.ConditionalOnBootstrapEnabled;
@@ -125,8 +131,25 @@ public class RefreshAutoConfiguration {
 	}
 
 	@Bean
-	public RefreshEventListener refreshEventListener(ContextRefresher contextRefresher) {
-		return new RefreshEventListener(contextRefresher);
+	public RefreshEventListener refreshEventListener(ContextRefresher contextRefresher, RefreshProperties properties) {
+		return new RefreshEventListener(contextRefresher, properties.getDebounce());
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterBinder.class)
+	static class RefreshMetricsConfiguration {
+
+		@Bean
+		RefreshEventMeterBinder refreshEventMeterBinder(RefreshEventListener refreshEventListener) {
+			return new RefreshEventMeterBinder(refreshEventListener);
+		}
+
+		@Bean
+		ContextRefresherMeterBinder contextRefresherMeterBinder(ContextRefresher contextRefresher,
+				RefreshScope refreshScope, ObjectProvider<ConfigurationPropertiesRebinder> rebinder) {
+			return new ContextRefresherMeterBinder(contextRefresher, refreshScope, rebinder.getIfAvailable());
+		}
+
 	}
 
 	@ConfigurationProperties(REFRESH_SCOPE_PREFIX)
@@ -149,6 +172,41 @@ public class RefreshAutoConfiguration {
 		 */
 		private Set<String> neverResetNestedTypes = new LinkedHashSet<>();
 
+		/**
+		 * Whether only the configuration properties beans whose prefix matches one of the
+		 * changed keys should be rebound when the environment changes, instead of all of
+		 * them. Beans that are bound to other properties through placeholders (for
+		 * example {@code my.url=${other.host}}) are not rebound when only the referenced
+		 * properties change, so only enable this if you do not rely on that.
+		 */
+		private boolean rebindChangedOnly = false;
+
+		/**
+		 * Whether only the refresh scope beans that resolved one of the changed keys
+		 * while they were created should be refreshed, instead of all of them. The keys
+		 * resolved through the Environment, including nested placeholders, and the
+		 * prefix of configuration properties beans are tracked. Beans that read their
+		 * configuration in any other way are not refreshed when it changes.
+		 */
+		private boolean refreshChangedOnly = false;
+
+		/**
+		 * Whether the refresh scope proxies should track the in-flight calls of each bean
+		 * instance with striped counters, instead of taking a shared read lock on every
+		 * call. Calls made while a bean is being destroyed are routed to a new instance,
+		 * and the destruction waits for the calls still using the previous one.
+		 */
+		private boolean lockFreeProxies = false;
+
+		/**
+		 * Time window during which the refresh events are coalesced into a single
+		 * refresh, run asynchronously on a dedicated thread once the window has elapsed.
+		 * The events received while a refresh is in progress are coalesced into at most
+		 * one follow-up refresh. If not set, each refresh event triggers a refresh
+		 * synchronously.
+		 */
+		private @Nullable Duration debounce;
+
 		public List<String> getAdditionalPropertySourcesToRetain() {
 			return this.additionalPropertySourcesToRetain;
 		}
@@ -165,11 +223,47 @@ public class RefreshAutoConfiguration {
 			this.neverResetNestedTypes = neverResetNestedTypes;
 		}
 
+		public boolean isRebindChangedOnly() {
+			return this.rebindChangedOnly;
+		}
+
+		public void setRebindChangedOnly(boolean rebindChangedOnly) {
+			this.rebindChangedOnly = rebindChangedOnly;
+		}
+
+		public boolean isRefreshChangedOnly() {
+			return this.refreshChangedOnly;
+		}
+
+		public void setRefreshChangedOnly(boolean refreshChangedOnly) {
+			this.refreshChangedOnly = refreshChangedOnly;
+		}
+
+		public boolean isLockFreeProxies() {
+			return this.lockFreeProxies;
+		}
+
+		public void setLockFreeProxies(boolean lockFreeProxies) {
+			this.lockFreeProxies = lockFreeProxies;
+		}
+
+		public @Nullable Duration getDebounce() {
+			return this.debounce;
+		}
+
+		public void setDebounce(@Nullable Duration debounce) {
+			this.debounce = debounce;
+		}
+
 		@Override
 		public String toString() {
 			return new ToStringCreator(this)
 				.append("additionalPropertySourcesToRetain", additionalPropertySourcesToRetain)
 				.append("neverResetNestedTypes", neverResetNestedTypes)
+				.append("rebindChangedOnly", rebindChangedOnly)
+				.append("refreshChangedOnly", refreshChangedOnly)
+				.append("lockFreeProxies", lockFreeProxies)
+				.append("debounce", debounce)
 				.toString();
 
 		}
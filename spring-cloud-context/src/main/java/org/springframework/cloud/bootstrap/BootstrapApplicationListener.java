@@ -59,6 +59,7 @@ import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.PropertySource.StubPropertySource;
 import org.springframework.core.env.SystemEnvironmentPropertySource;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -113,7 +114,16 @@ public class BootstrapApplicationListener implements ApplicationListener<Applica
 			}
 		}
 		if (context == null) {
-			context = bootstrapServiceContext(environment, event.getSpringApplication(), configName);
+			StartupStep step = event.getSpringApplication()
+				.getApplicationStartup()
+				.start("spring.cloud.bootstrap.context.create");
+			try {
+				context = bootstrapServiceContext(environment, event.getSpringApplication(), configName);
+				step.tag("beans", String.valueOf(context.getBeanDefinitionCount()));
+			}
+			finally {
+				step.end();
+			}
 			event.getSpringApplication().addListeners(new CloseContextOnFailureApplicationListener(context));
 		}
 
@@ -78,6 +78,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
@@ -208,7 +209,14 @@ public class BootstrapConfigFileApplicationListener
 	@Override
 	public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
 		if (PropertyUtils.bootstrapEnabled(environment)) {
-			addPropertySources(environment, application.getResourceLoader());
+			StartupStep step = application.getApplicationStartup().start("spring.cloud.bootstrap.config-file.load");
+			try {
+				addPropertySources(environment, application.getResourceLoader());
+				step.tag("propertySources", String.valueOf(environment.getPropertySources().size()));
+			}
+			finally {
+				step.end();
+			}
 		}
 	}
 
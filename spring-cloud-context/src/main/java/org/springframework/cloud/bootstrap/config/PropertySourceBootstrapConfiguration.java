@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.bootstrap.config;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -24,13 +26,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.config.Profiles;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.context.properties.bind.Bindable;
 import org.springframework.boot.context.properties.bind.Binder;
@@ -39,11 +50,14 @@ import org.springframework.boot.logging.LoggingInitializationContext;
 import org.springframework.boot.logging.LoggingSystem;
 import org.springframework.cloud.bootstrap.BootstrapApplicationListener;
 import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.endpoint.event.RefreshEvent;
 import org.springframework.cloud.logging.LoggingRebinder;
 import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
@@ -54,6 +68,9 @@ import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
 import org.springframework.util.StringUtils;
 
 import static org.springframework.cloud.bootstrap.encrypt.AbstractEnvironmentDecrypt.DECRYPTED_PROPERTY_SOURCE_NAME;
@@ -74,6 +91,8 @@ public class PropertySourceBootstrapConfiguration implements ApplicationListener
 	public static final String BOOTSTRAP_PROPERTY_SOURCE_NAME = BootstrapApplicationListener.BOOTSTRAP_PROPERTY_SOURCE_NAME
 			+ "Properties";
 
+	private static final String REFRESH_ARGS_PROPERTY_SOURCE_NAME = "refreshArgs";
+
 	private static Log logger = LogFactory.getLog(PropertySourceBootstrapConfiguration.class);
 
 	private int order = Ordered.HIGHEST_PRECEDENCE + 10;
@@ -84,6 +103,9 @@ public class PropertySourceBootstrapConfiguration implements ApplicationListener
 	@Autowired
 	private PropertySourceBootstrapProperties bootstrapProperties;
 
+	@Autowired(required = false)
+	private @Nullable TextEncryptor textEncryptor;
+
 	@Override
 	public int getOrder() {
 		return this.order;
@@ -117,8 +139,7 @@ public class PropertySourceBootstrapConfiguration implements ApplicationListener
 		AnnotationAwareOrderComparator.sort(this.propertySourceLocators);
 		boolean empty = true;
 		ConfigurableEnvironment environment = applicationContext.getEnvironment();
-		for (PropertySourceLocator locator : this.propertySourceLocators) {
-			Collection<PropertySource<?>> source = locator.locateCollection(environment);
+		for (Collection<PropertySource<?>> source : locateOrLoadSnapshot(applicationContext)) {
 			if (source == null || source.size() == 0) {
 				continue;
 			}
@@ -151,6 +172,175 @@ public class PropertySourceBootstrapConfiguration implements ApplicationListener
 		}
 	}
 
+	/**
+	 * Loads the property sources from the snapshot if
+	 * {@link PropertySourceBootstrapProperties#getSnapshotLocation()} is set and there is
+	 * one, in which case the property source locators are invoked in the background once
+	 * the application is ready. Otherwise, invokes the property source locators and
+	 * stores their property sources in the snapshot, if configured. As the snapshot may
+	 * contain secrets, it is only used if there is a {@link TextEncryptor} to encrypt it.
+	 * @param applicationContext the application context being initialized
+	 * @return the property sources located by each locator, in the order of the locators
+	 */
+	private List<@Nullable Collection<PropertySource<?>>> locateOrLoadSnapshot(
+			ConfigurableApplicationContext applicationContext) {
+		String snapshotLocation = this.bootstrapProperties.getSnapshotLocation();
+		if (!StringUtils.hasText(snapshotLocation)) {
+			return locate(applicationContext);
+		}
+		if (this.textEncryptor == null) {
+			logger.warn("Not using a property source snapshot in " + snapshotLocation
+					+ " as there is no encryption key to encrypt it (set encrypt.key or encrypt.key-store.*)");
+			return locate(applicationContext);
+		}
+		ConfigurableEnvironment environment = applicationContext.getEnvironment();
+		PropertySourceSnapshotStore snapshotStore = new PropertySourceSnapshotStore(Path.of(snapshotLocation),
+				this.textEncryptor);
+		String snapshotKey = getSnapshotKey(environment);
+		// a refresh always has to locate the current property sources
+		if (!environment.getPropertySources().contains(REFRESH_ARGS_PROPERTY_SOURCE_NAME)) {
+			List<PropertySource<?>> snapshot = snapshotStore.load(snapshotKey);
+			if (snapshot != null) {
+				logger.info("Using property source snapshot from " + snapshotLocation);
+				applicationContext.addApplicationListener(
+						new SnapshotRevalidationListener(applicationContext, snapshotStore, snapshotKey));
+				return List.of(snapshot);
+			}
+		}
+		List<@Nullable Collection<PropertySource<?>>> sources = locate(applicationContext);
+		saveSnapshot(snapshotStore, snapshotKey, sources);
+		return sources;
+	}
+
+	/**
+	 * Returns the key of the snapshot for the given environment. Besides the application
+	 * name and active profiles, it includes the label and the config server, so that a
+	 * snapshot located for one of them is not used for another.
+	 * @param environment the environment
+	 * @return the snapshot key
+	 */
+	static String getSnapshotKey(Environment environment) {
+		return String.join(":", environment.getProperty("spring.application.name", "application"),
+				StringUtils.arrayToCommaDelimitedString(environment.getActiveProfiles()),
+				environment.getProperty("spring.cloud.config.label", ""),
+				environment.getProperty("spring.cloud.config.uri", ""));
+	}
+
+	private boolean saveSnapshot(PropertySourceSnapshotStore snapshotStore, String snapshotKey,
+			List<@Nullable Collection<PropertySource<?>>> sources) {
+		List<PropertySource<?>> located = new ArrayList<>();
+		for (Collection<PropertySource<?>> source : sources) {
+			if (source == null) {
+				// a locator timed out, the snapshot would be incomplete
+				return false;
+			}
+			located.addAll(source);
+		}
+		return snapshotStore.save(snapshotKey, located);
+	}
+
+	/**
+	 * Invokes the property source locators, concurrently if
+	 * {@link PropertySourceBootstrapProperties#isParallelLocators()} is set.
+	 * @param applicationContext the application context being initialized
+	 * @return the property sources located by each locator, in the order of the locators,
+	 * or {@code null} for the locators that timed out, if
+	 * {@link PropertySourceBootstrapProperties#isFailOnLocatorTimeout()} is not set
+	 */
+	private List<@Nullable Collection<PropertySource<?>>> locate(ConfigurableApplicationContext applicationContext) {
+		ConfigurableEnvironment environment = applicationContext.getEnvironment();
+		ApplicationStartup applicationStartup = applicationContext.getApplicationStartup();
+		List<@Nullable Collection<PropertySource<?>>> sources = new ArrayList<>();
+		if (!this.bootstrapProperties.isParallelLocators() || this.propertySourceLocators.size() < 2) {
+			for (PropertySourceLocator locator : this.propertySourceLocators) {
+				StartupStep step = applicationStartup.start("spring.cloud.bootstrap.property-source-locator")
+					.tag("locator", locator.getClass().getName());
+				try {
+					Collection<PropertySource<?>> source = locator.locateCollection(environment);
+					step.tag("sources", String.valueOf(source != null ? source.size() : 0));
+					sources.add(source != null ? source : Collections.emptyList());
+				}
+				finally {
+					step.end();
+				}
+			}
+			return sources;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(this.propertySourceLocators.size(), runnable -> {
+			Thread thread = new Thread(runnable, "property-source-locator");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// the locators run concurrently, so a single step records the time spent by each
+		StartupStep step = applicationStartup.start("spring.cloud.bootstrap.property-source-locators")
+			.tag("locators", String.valueOf(this.propertySourceLocators.size()));
+		try {
+			List<Future<LocatedPropertySources>> futures = new ArrayList<>();
+			for (PropertySourceLocator locator : this.propertySourceLocators) {
+				futures.add(executor.submit(() -> {
+					long start = System.nanoTime();
+					Collection<PropertySource<?>> source = locator.locateCollection(environment);
+					return new LocatedPropertySources(source, System.nanoTime() - start);
+				}));
+			}
+			// the locators run concurrently, so they all share the same deadline
+			Duration timeout = this.bootstrapProperties.getLocatorTimeout();
+			long deadline = timeout != null ? System.nanoTime() + timeout.toNanos() : 0;
+			for (int i = 0; i < futures.size(); i++) {
+				PropertySourceLocator locator = this.propertySourceLocators.get(i);
+				LocatedPropertySources located = getLocatedPropertySources(locator, futures.get(i), timeout, deadline);
+				if (located != null) {
+					Collection<PropertySource<?>> source = located.sources();
+					step.tag(locator.getClass().getName(), (source != null ? source.size() : 0) + " sources in "
+							+ TimeUnit.NANOSECONDS.toMillis(located.elapsed()) + "ms");
+					sources.add(source != null ? source : Collections.emptyList());
+				}
+				else {
+					step.tag(locator.getClass().getName(), "timeout");
+					sources.add(null);
+				}
+			}
+			return sources;
+		}
+		finally {
+			step.end();
+			executor.shutdownNow();
+		}
+	}
+
+	private @Nullable LocatedPropertySources getLocatedPropertySources(PropertySourceLocator locator,
+			Future<LocatedPropertySources> future, @Nullable Duration timeout, long deadline) {
+		try {
+			if (timeout == null) {
+				return future.get();
+			}
+			return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException e) {
+			future.cancel(true);
+			String message = "Property source locator " + locator.getClass().getName() + " did not complete within "
+					+ timeout;
+			if (this.bootstrapProperties.isFailOnLocatorTimeout()) {
+				throw new IllegalStateException(message, e);
+			}
+			logger.warn(message + ", skipping it");
+			return null;
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while locating property sources", e);
+		}
+	}
+
 	private void reinitializeLoggingSystem(ConfigurableEnvironment environment) {
 		Map<String, Object> props = Binder.get(environment)
 			.bind("logging", Bindable.mapOf(String.class, Object.class))
@@ -336,4 +526,85 @@ public class PropertySourceBootstrapConfiguration implements ApplicationListener
 		}
 	}
 
+	/**
+	 * Invokes the property source locators in the background once the application is
+	 * ready, updating the snapshot and refreshing the application if the located
+	 * property sources changed. The revalidation is interrupted when the application
+	 * context is closed.
+	 */
+	private final class SnapshotRevalidationListener implements ApplicationListener<ApplicationEvent> {
+
+		private final ConfigurableApplicationContext applicationContext;
+
+		private final PropertySourceSnapshotStore snapshotStore;
+
+		private final String snapshotKey;
+
+		private final AtomicBoolean started = new AtomicBoolean();
+
+		private volatile boolean closed;
+
+		private volatile @Nullable Thread thread;
+
+		private SnapshotRevalidationListener(ConfigurableApplicationContext applicationContext,
+				PropertySourceSnapshotStore snapshotStore, String snapshotKey) {
+			this.applicationContext = applicationContext;
+			this.snapshotStore = snapshotStore;
+			this.snapshotKey = snapshotKey;
+		}
+
+		@Override
+		public void onApplicationEvent(ApplicationEvent event) {
+			if (event instanceof ApplicationReadyEvent readyEvent) {
+				start(readyEvent.getApplicationContext());
+			}
+			else if (event instanceof ContextClosedEvent closedEvent
+					&& closedEvent.getApplicationContext() == this.applicationContext) {
+				stop();
+			}
+		}
+
+		private void start(ConfigurableApplicationContext readyContext) {
+			if (this.closed || !this.started.compareAndSet(false, true)) {
+				return;
+			}
+			String applicationName = this.applicationContext.getEnvironment()
+				.getProperty("spring.application.name", "application");
+			Thread thread = new Thread(() -> revalidate(readyContext), "property-source-snapshot-" + applicationName);
+			thread.setDaemon(true);
+			this.thread = thread;
+			thread.start();
+		}
+
+		private void stop() {
+			this.closed = true;
+			Thread thread = this.thread;
+			if (thread != null) {
+				thread.interrupt();
+			}
+		}
+
+		private void revalidate(ConfigurableApplicationContext readyContext) {
+			try {
+				List<@Nullable Collection<PropertySource<?>>> sources = locate(this.applicationContext);
+				if (!this.closed && saveSnapshot(this.snapshotStore, this.snapshotKey, sources)) {
+					logger.info("Located property sources differ from the snapshot, refreshing");
+					readyContext.publishEvent(new RefreshEvent(this, null, "Property source snapshot changed"));
+				}
+			}
+			catch (RuntimeException ex) {
+				if (this.closed) {
+					logger.debug("Stopped revalidating the property source snapshot as the context was closed", ex);
+				}
+				else {
+					logger.warn("Could not revalidate the property source snapshot", ex);
+				}
+			}
+		}
+
+	}
+
+	private record LocatedPropertySources(@Nullable Collection<PropertySource<?>> sources, long elapsed) {
+	}
+
 }
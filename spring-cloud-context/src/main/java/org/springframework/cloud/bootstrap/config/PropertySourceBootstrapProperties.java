@@ -16,6 +16,10 @@
 
 package org.springframework.cloud.bootstrap.config;
 
+import java.time.Duration;
+
+import org.jspecify.annotations.Nullable;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -52,6 +56,34 @@ public class PropertySourceBootstrapProperties {
 	 */
 	private boolean initializeOnContextRefresh = false;
 
+	/**
+	 * Flag to indicate that the property source locators should be invoked concurrently.
+	 * The located property sources keep the order of the locators. Default false.
+	 */
+	private boolean parallelLocators = false;
+
+	/**
+	 * Maximum time to wait for the property source locators when they are invoked
+	 * concurrently. Only applies when parallel-locators is enabled, the locators being
+	 * waited for indefinitely otherwise. Waits indefinitely if not set.
+	 */
+	private @Nullable Duration locatorTimeout;
+
+	/**
+	 * Flag to indicate that the bootstrap should fail when a property source locator does
+	 * not complete within the locator-timeout. If false, the locators that time out are
+	 * skipped. Default true.
+	 */
+	private boolean failOnLocatorTimeout = true;
+
+	/**
+	 * Directory where a snapshot of the located property sources is stored. When set,
+	 * the application starts from the snapshot, if any, and then invokes the property
+	 * source locators in the background, refreshing the application if the located
+	 * property sources changed.
+	 */
+	private @Nullable String snapshotLocation;
+
 	public boolean isInitializeOnContextRefresh() {
 		return initializeOnContextRefresh;
 	}
@@ -60,6 +92,38 @@ public class PropertySourceBootstrapProperties {
 		this.initializeOnContextRefresh = initializeOnContextRefresh;
 	}
 
+	public boolean isParallelLocators() {
+		return this.parallelLocators;
+	}
+
+	public void setParallelLocators(boolean parallelLocators) {
+		this.parallelLocators = parallelLocators;
+	}
+
+	public @Nullable Duration getLocatorTimeout() {
+		return this.locatorTimeout;
+	}
+
+	public void setLocatorTimeout(@Nullable Duration locatorTimeout) {
+		this.locatorTimeout = locatorTimeout;
+	}
+
+	public boolean isFailOnLocatorTimeout() {
+		return this.failOnLocatorTimeout;
+	}
+
+	public void setFailOnLocatorTimeout(boolean failOnLocatorTimeout) {
+		this.failOnLocatorTimeout = failOnLocatorTimeout;
+	}
+
+	public @Nullable String getSnapshotLocation() {
+		return this.snapshotLocation;
+	}
+
+	public void setSnapshotLocation(@Nullable String snapshotLocation) {
+		this.snapshotLocation = snapshotLocation;
+	}
+
 	public boolean isOverrideNone() {
 		return this.overrideNone;
 	}
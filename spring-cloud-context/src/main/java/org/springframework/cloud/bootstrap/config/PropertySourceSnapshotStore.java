@@ -0,0 +1,196 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.bootstrap.config;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+/**
+ * Stores the property sources located by the {@link PropertySourceLocator
+ * PropertySourceLocators} in a local file, so that an application can start from them
+ * without waiting for the locators. The whole snapshot is encrypted with the given
+ * {@link TextEncryptor}, as located property sources may contain plain text secrets, and
+ * encrypted values are only decrypted once loaded in the {@code Environment}. Each
+ * snapshot is stored in its own file, keyed by the application name, active profiles,
+ * label and config server.
+ *
+ * @since 5.0.3
+ */
+class PropertySourceSnapshotStore {
+
+	private static final Log logger = LogFactory.getLog(PropertySourceSnapshotStore.class);
+
+	/**
+	 * Version of the snapshot format. Snapshots with a different version are ignored.
+	 */
+	static final String VERSION = "1";
+
+	private static final String VERSION_PROPERTY = "version";
+
+	private static final String KEY_PROPERTY = "key";
+
+	private static final String NAME_SUFFIX = ".name";
+
+	private static final String PROPERTY_INFIX = ".property.";
+
+	private final Path directory;
+
+	private final TextEncryptor encryptor;
+
+	PropertySourceSnapshotStore(Path directory, TextEncryptor encryptor) {
+		this.directory = directory;
+		this.encryptor = encryptor;
+	}
+
+	/**
+	 * Loads the property sources stored for the given key.
+	 * @param key the snapshot key
+	 * @return the stored property sources, in the order they were located, or
+	 * {@code null} if there is no valid snapshot for the key
+	 */
+	@Nullable List<PropertySource<?>> load(String key) {
+		Properties snapshot = read(key);
+		if (snapshot == null || !VERSION.equals(snapshot.getProperty(VERSION_PROPERTY))
+				|| !key.equals(snapshot.getProperty(KEY_PROPERTY))) {
+			return null;
+		}
+		List<PropertySource<?>> sources = new ArrayList<>();
+		for (int i = 0; snapshot.containsKey(i + NAME_SUFFIX); i++) {
+			String prefix = i + PROPERTY_INFIX;
+			Map<String, Object> properties = new TreeMap<>();
+			for (String name : snapshot.stringPropertyNames()) {
+				if (name.startsWith(prefix)) {
+					properties.put(name.substring(prefix.length()), snapshot.getProperty(name));
+				}
+			}
+			sources.add(new MapPropertySource(snapshot.getProperty(i + NAME_SUFFIX), new LinkedHashMap<>(properties)));
+		}
+		return sources;
+	}
+
+	/**
+	 * Stores the given property sources for the given key, unless they are the ones
+	 * already stored.
+	 * @param key the snapshot key
+	 * @param sources the located property sources
+	 * @return whether the stored snapshot changed
+	 */
+	boolean save(String key, List<PropertySource<?>> sources) {
+		Properties snapshot = new Properties();
+		snapshot.setProperty(VERSION_PROPERTY, VERSION);
+		snapshot.setProperty(KEY_PROPERTY, key);
+		for (int i = 0; i < sources.size(); i++) {
+			if (!(sources.get(i) instanceof EnumerablePropertySource<?> source)) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Not storing a snapshot of non-enumerable property source " + sources.get(i));
+				}
+				return false;
+			}
+			snapshot.setProperty(i + NAME_SUFFIX, source.getName());
+			for (String name : source.getPropertyNames()) {
+				Object value = source.getProperty(name);
+				if (value != null) {
+					snapshot.setProperty(i + PROPERTY_INFIX + name, value.toString());
+				}
+			}
+		}
+		if (snapshot.equals(read(key))) {
+			return false;
+		}
+		try {
+			Files.createDirectories(this.directory);
+			// temporary files are only readable by their owner
+			Path temp = Files.createTempFile(this.directory, "snapshot", ".tmp");
+			try {
+				StringWriter writer = new StringWriter();
+				snapshot.store(writer, null);
+				Files.writeString(temp, this.encryptor.encrypt(writer.toString()), StandardCharsets.UTF_8);
+				move(temp, file(key));
+			}
+			finally {
+				Files.deleteIfExists(temp);
+			}
+			return true;
+		}
+		catch (IOException | RuntimeException ex) {
+			logger.warn("Could not store the property source snapshot in " + this.directory, ex);
+			return false;
+		}
+	}
+
+	private void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException ex) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private @Nullable Properties read(String key) {
+		Path file = file(key);
+		if (!Files.isReadable(file)) {
+			return null;
+		}
+		try {
+			String content = this.encryptor.decrypt(Files.readString(file, StandardCharsets.UTF_8));
+			Properties snapshot = new Properties();
+			snapshot.load(new StringReader(content));
+			return snapshot;
+		}
+		catch (IOException | RuntimeException ex) {
+			// also thrown if the snapshot was encrypted with another key
+			logger.warn("Could not read the property source snapshot " + file, ex);
+			return null;
+		}
+	}
+
+	private Path file(String key) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+			return this.directory.resolve("bootstrap-" + HexFormat.of().formatHex(hash, 0, 8) + ".snapshot");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -19,7 +19,14 @@ package org.springframework.cloud.bootstrap.encrypt;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 
 import org.apache.commons.logging.Log;
@@ -38,6 +45,8 @@ public abstract class AbstractEnvironmentDecrypt {
 
 	private static final Pattern COLLECTION_PROPERTY = Pattern.compile("(\\S+)?\\[(\\d+)\\](\\.\\S+)?");
 
+	private static final int MIN_VALUES_PER_THREAD = 8;
+
 	/**
 	 * Name of the decrypted property source.
 	 */
@@ -52,6 +61,10 @@ public abstract class AbstractEnvironmentDecrypt {
 
 	private boolean failOnError = true;
 
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	private final LongAdder scannedPropertyCount = new LongAdder();
+
 	/**
 	 * Strategy to determine how to handle exceptions during decryption.
 	 * @param failOnError the flag value (default true)
@@ -64,12 +77,37 @@ public abstract class AbstractEnvironmentDecrypt {
 		return this.failOnError;
 	}
 
+	/**
+	 * The maximum number of threads used to decrypt the values, if there are enough of
+	 * them. Values are decrypted on the calling thread if set to 1.
+	 * @param parallelism the number of threads (default the number of processors)
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * Returns the total number of properties scanned for encrypted values.
+	 * @return the number of scanned properties
+	 * @since 5.0.3
+	 */
+	public long getScannedPropertyCount() {
+		return this.scannedPropertyCount.sum();
+	}
+
 	protected Map<String, Object> decrypt(TextEncryptor encryptor, PropertySources propertySources) {
 		Map<String, Object> decryptedProperties = new LinkedHashMap<>();
+		// encrypted value -> name of the first property it was found in
+		Map<String, String> encryptedValues = new LinkedHashMap<>();
 		var visitor = new PropertyVisitor();
 
 		for (PropertySource<?> propertySource : propertySources) {
 			if (propertySource instanceof EnumerablePropertySource<?> enumerable) {
+				NavigableSet<String> indexedNames = null;
 				for (String propertyName : enumerable.getPropertyNames()) {
 					if (propertyName == null || visitor.isVisited(propertyName)) {
 						continue;
@@ -82,28 +120,83 @@ public abstract class AbstractEnvironmentDecrypt {
 						if (name == null) {
 							name = "";
 						}
-						var indexed = getPropertyValues(enumerable, encryptor, name);
+						if (indexedNames == null) {
+							indexedNames = getIndexedPropertyNames(enumerable);
+						}
+						var indexed = getPropertyValues(enumerable, indexedNames, name, encryptedValues);
 						// Include only if contains decrypted values
 						if (indexed.containsDecrypted) {
 							decryptedProperties.putAll(indexed.values);
 						}
 						visitor.visited(indexed.values.keySet());
+						this.scannedPropertyCount.add(indexed.values.size());
 					}
 					else {
-						var single = getPropertyValue(enumerable, encryptor, propertyName);
+						var single = getPropertyValue(enumerable, propertyName, encryptedValues);
 						// Include only if decrypted
 						if (single.isDecrypted) {
 							decryptedProperties.put(propertyName, single.value);
 						}
 						visitor.visited(propertyName);
+						this.scannedPropertyCount.increment();
 					}
 				}
 			}
 		}
 
+		if (!encryptedValues.isEmpty()) {
+			Map<String, String> decryptedValues = decrypt(encryptor, encryptedValues);
+			decryptedProperties.replaceAll((name, value) -> (value instanceof EncryptedValue encrypted)
+					? decryptedValues.get(encrypted.value()) : value);
+		}
 		return decryptedProperties;
 	}
 
+	private Map<String, String> decrypt(TextEncryptor encryptor, Map<String, String> encryptedValues) {
+		Map<String, String> decryptedValues = new HashMap<>();
+		int threads = Math.min(this.parallelism, encryptedValues.size() / MIN_VALUES_PER_THREAD);
+		if (threads <= 1) {
+			encryptedValues.forEach((value, name) -> decryptedValues.put(value, decrypt(encryptor, name, value)));
+			return decryptedValues;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "decrypt-environment");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			Map<String, Future<String>> futures = new LinkedHashMap<>();
+			encryptedValues
+				.forEach((value, name) -> futures.put(value, executor.submit(() -> decrypt(encryptor, name, value))));
+			for (Map.Entry<String, Future<String>> future : futures.entrySet()) {
+				decryptedValues.put(future.getKey(), getDecryptedValue(future.getValue()));
+			}
+			return decryptedValues;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private String getDecryptedValue(Future<String> future) {
+		try {
+			return future.get();
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while decrypting properties", e);
+		}
+	}
+
 	protected String decrypt(TextEncryptor encryptor, String key, String original) {
 		String value = original.substring(ENCRYPTED_PROPERTY_PREFIX.length());
 		try {
@@ -128,37 +221,50 @@ public abstract class AbstractEnvironmentDecrypt {
 		}
 	}
 
-	private IndexedValue getPropertyValues(EnumerablePropertySource<?> source, TextEncryptor encryptor,
-			String matchingName) {
+	private static NavigableSet<String> getIndexedPropertyNames(EnumerablePropertySource<?> source) {
+		NavigableSet<String> names = new TreeSet<>();
+		for (String name : source.getPropertyNames()) {
+			if (name != null && COLLECTION_PROPERTY.matcher(name).matches()) {
+				names.add(name);
+			}
+		}
+		return names;
+	}
+
+	private IndexedValue getPropertyValues(EnumerablePropertySource<?> source, NavigableSet<String> indexedNames,
+			String matchingName, Map<String, String> encryptedValues) {
 		// Adding '[' to search for exact names (foo[0] vs fooBar[0]).
 		String prefix = matchingName + "[";
 
 		boolean containsDecrypted = false;
 		Map<String, Object> elements = new HashMap<>();
-		for (String name : source.getPropertyNames()) {
-			if (name != null && COLLECTION_PROPERTY.matcher(name).matches() && name.startsWith(prefix)) {
-				var value = getPropertyValue(source, encryptor, name);
-				elements.put(name, value.value);
-				if (value.isDecrypted) {
-					containsDecrypted = true;
-				}
+		for (String name : indexedNames.subSet(prefix, true, prefix + Character.MAX_VALUE, false)) {
+			var value = getPropertyValue(source, name, encryptedValues);
+			elements.put(name, value.value);
+			if (value.isDecrypted) {
+				containsDecrypted = true;
 			}
 		}
 
 		return new IndexedValue(elements, containsDecrypted);
 	}
 
-	private SingleValue getPropertyValue(PropertySource<?> source, TextEncryptor encryptor, String name) {
+	private SingleValue getPropertyValue(PropertySource<?> source, String name, Map<String, String> encryptedValues) {
 		var value = source.getProperty(name);
 		if (value != null) {
 			var valueString = value.toString();
 			if (valueString.startsWith(ENCRYPTED_PROPERTY_PREFIX)) {
-				return new SingleValue(this.decrypt(encryptor, name, valueString), true);
+				// decrypted once all the properties are collected
+				encryptedValues.putIfAbsent(valueString, name);
+				return new SingleValue(new EncryptedValue(valueString), true);
 			}
 		}
 		return new SingleValue(value, false);
 	}
 
+	private record EncryptedValue(String value) {
+	}
+
 	private record SingleValue(Object value, boolean isDecrypted) {
 	}
 
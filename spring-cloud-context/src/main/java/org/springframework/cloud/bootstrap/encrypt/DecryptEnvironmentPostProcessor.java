@@ -18,12 +18,18 @@ package org.springframework.cloud.bootstrap.encrypt;
 
 import java.util.Map;
 
+import org.jspecify.annotations.Nullable;
+
 import org.springframework.boot.EnvironmentPostProcessor;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.bootstrap.ConfigurableBootstrapContext;
+import org.springframework.cloud.bootstrap.encrypt.MemoizingTextEncryptor.DecryptedValues;
 import org.springframework.core.Ordered;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.SystemEnvironmentPropertySource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.ClassUtils;
 
 import static org.springframework.cloud.util.PropertyUtils.bootstrapEnabled;
@@ -41,6 +47,22 @@ public class DecryptEnvironmentPostProcessor extends AbstractEnvironmentDecrypt
 
 	private int order = Ordered.LOWEST_PRECEDENCE;
 
+	private final @Nullable ConfigurableBootstrapContext bootstrapContext;
+
+	public DecryptEnvironmentPostProcessor() {
+		this.bootstrapContext = null;
+	}
+
+	/**
+	 * Creates a post processor that keeps the decrypted values in the given bootstrap
+	 * context, so that they do not have to be decrypted again on refresh.
+	 * @param bootstrapContext the bootstrap context of the application
+	 * @since 5.0.3
+	 */
+	public DecryptEnvironmentPostProcessor(ConfigurableBootstrapContext bootstrapContext) {
+		this.bootstrapContext = bootstrapContext;
+	}
+
 	@Override
 	public int getOrder() {
 		return this.order;
@@ -61,7 +83,26 @@ public class DecryptEnvironmentPostProcessor extends AbstractEnvironmentDecrypt
 
 		MutablePropertySources propertySources = environment.getPropertySources();
 
-		Map<String, Object> map = TextEncryptorUtils.decrypt(this, environment);
+		Integer parallelism = environment.getProperty("spring.cloud.decrypt-environment-post-processor.parallelism",
+				Integer.class);
+		if (parallelism != null) {
+			setParallelism(parallelism);
+		}
+		// the application is not available when refreshing before it is ready
+		ApplicationStartup applicationStartup = application != null ? application.getApplicationStartup()
+				: ApplicationStartup.DEFAULT;
+		StartupStep step = applicationStartup.start("spring.cloud.decrypt");
+		long scannedPropertyCount = getScannedPropertyCount();
+		Map<String, Object> map;
+		try {
+			DecryptedValues decryptedValues = (this.bootstrapContext != null)
+					? DecryptedValues.from(this.bootstrapContext) : null;
+			map = TextEncryptorUtils.decrypt(this, environment, decryptedValues);
+			step.tag("properties", String.valueOf(map.size()));
+		}
+		finally {
+			step.tag("scanned", String.valueOf(getScannedPropertyCount() - scannedPropertyCount)).end();
+		}
 		if (!map.isEmpty()) {
 			// We have some decrypted properties
 			propertySources.addFirst(new SystemEnvironmentPropertySource(DECRYPTED_PROPERTY_SOURCE_NAME, map));
@@ -30,6 +30,7 @@ import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.SystemEnvironmentPropertySource;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.security.crypto.encrypt.TextEncryptor;
 
 import static org.springframework.cloud.util.PropertyUtils.bootstrapEnabled;
@@ -76,27 +77,35 @@ public class EnvironmentDecryptApplicationInitializer extends AbstractEnvironmen
 
 		MutablePropertySources propertySources = environment.getPropertySources();
 
+		StartupStep step = applicationContext.getApplicationStartup().start("spring.cloud.decrypt");
+		long scannedPropertyCount = getScannedPropertyCount();
 		Set<String> found = new LinkedHashSet<>();
-		if (!propertySources.contains(DECRYPTED_BOOTSTRAP_PROPERTY_SOURCE_NAME)) {
-			// No reason to decrypt bootstrap twice
-			var bootstrap = propertySources.get(BootstrapApplicationListener.BOOTSTRAP_PROPERTY_SOURCE_NAME);
-			if (bootstrap != null) {
-				var bootstrapSources = new MutablePropertySources();
-				bootstrapSources.addFirst(bootstrap);
-				Map<String, Object> map = decrypt(this.encryptor, bootstrapSources);
-				if (!map.isEmpty()) {
-					found.addAll(map.keySet());
-					insert(applicationContext,
-							new SystemEnvironmentPropertySource(DECRYPTED_BOOTSTRAP_PROPERTY_SOURCE_NAME, map));
+		try {
+			if (!propertySources.contains(DECRYPTED_BOOTSTRAP_PROPERTY_SOURCE_NAME)) {
+				// No reason to decrypt bootstrap twice
+				var bootstrap = propertySources.get(BootstrapApplicationListener.BOOTSTRAP_PROPERTY_SOURCE_NAME);
+				if (bootstrap != null) {
+					var bootstrapSources = new MutablePropertySources();
+					bootstrapSources.addFirst(bootstrap);
+					Map<String, Object> map = decrypt(this.encryptor, bootstrapSources);
+					if (!map.isEmpty()) {
+						found.addAll(map.keySet());
+						insert(applicationContext,
+								new SystemEnvironmentPropertySource(DECRYPTED_BOOTSTRAP_PROPERTY_SOURCE_NAME, map));
+					}
 				}
 			}
+			removeDecryptedProperties(applicationContext);
+			Map<String, Object> map = decrypt(this.encryptor, propertySources);
+			if (!map.isEmpty()) {
+				// We have some decrypted properties
+				found.addAll(map.keySet());
+				insert(applicationContext, new SystemEnvironmentPropertySource(DECRYPTED_PROPERTY_SOURCE_NAME, map));
+			}
+			step.tag("properties", String.valueOf(found.size()));
 		}
-		removeDecryptedProperties(applicationContext);
-		Map<String, Object> map = decrypt(this.encryptor, propertySources);
-		if (!map.isEmpty()) {
-			// We have some decrypted properties
-			found.addAll(map.keySet());
-			insert(applicationContext, new SystemEnvironmentPropertySource(DECRYPTED_PROPERTY_SOURCE_NAME, map));
+		finally {
+			step.tag("scanned", String.valueOf(getScannedPropertyCount() - scannedPropertyCount)).end();
 		}
 		if (!found.isEmpty()) {
 			ApplicationContext parent = applicationContext.getParent();
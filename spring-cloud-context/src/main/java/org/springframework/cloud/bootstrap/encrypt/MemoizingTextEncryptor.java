@@ -0,0 +1,160 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.bootstrap.encrypt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.boot.bootstrap.BootstrapRegistry.InstanceSupplier;
+import org.springframework.boot.bootstrap.ConfigurableBootstrapContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+/**
+ * {@link TextEncryptor} that memoizes the decrypted values, keyed by a hash of the
+ * encrypted value and of the key configuration. The memoized values are held by the
+ * {@link ConfigurableBootstrapContext} of the application, so that the environment can be
+ * decrypted again on refresh without repeating the decryption of the values that did not
+ * change, and are cleared when the application context is closed.
+ *
+ * @since 5.0.3
+ */
+final class MemoizingTextEncryptor implements TextEncryptor {
+
+	private final TextEncryptor delegate;
+
+	private final String keyId;
+
+	private final DecryptedValues decryptedValues;
+
+	private MemoizingTextEncryptor(TextEncryptor delegate, String keyId, DecryptedValues decryptedValues) {
+		this.delegate = delegate;
+		this.keyId = keyId;
+		this.decryptedValues = decryptedValues;
+	}
+
+	static TextEncryptor create(TextEncryptor delegate, KeyProperties keyProperties, RsaProperties rsaProperties,
+			DecryptedValues decryptedValues) {
+		KeyProperties.KeyStore keyStore = keyProperties.getKeyStore();
+		String keyId = hash(String.join("\n", keyProperties.getKey(), keyProperties.getSalt(),
+				String.valueOf(keyStore.getLocation()), keyStore.getPassword(), keyStore.getAlias(),
+				keyStore.getSecret(), keyStore.getType(), String.valueOf(rsaProperties.getAlgorithm()),
+				rsaProperties.getSalt(), String.valueOf(rsaProperties.isStrong())));
+		return new MemoizingTextEncryptor(delegate, keyId, decryptedValues);
+	}
+
+	@Override
+	public String encrypt(String text) {
+		return this.delegate.encrypt(text);
+	}
+
+	@Override
+	public String decrypt(String encryptedText) {
+		String key = this.keyId + ":" + hash(encryptedText);
+		String value = this.decryptedValues.get(key);
+		if (value == null) {
+			value = this.delegate.decrypt(encryptedText);
+			this.decryptedValues.put(key, value);
+		}
+		return value;
+	}
+
+	private static String hash(String value) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * The decrypted values of an application, evicting the least recently used ones once
+	 * the maximum size is reached.
+	 */
+	static final class DecryptedValues {
+
+		private static final int MAX_SIZE = 10_000;
+
+		private final Map<String, String> values;
+
+		DecryptedValues() {
+			this(MAX_SIZE);
+		}
+
+		DecryptedValues(int maxSize) {
+			this.values = new LinkedHashMap<>(16, 0.75f, true) {
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+					return size() > maxSize;
+				}
+
+			};
+		}
+
+		/**
+		 * Returns the decrypted values registered in the given bootstrap context,
+		 * registering them first if needed. The values are cleared when the application
+		 * context the bootstrap context is closed for is closed.
+		 * @param bootstrapContext the bootstrap context of the application
+		 * @return the decrypted values
+		 */
+		static DecryptedValues from(ConfigurableBootstrapContext bootstrapContext) {
+			if (!bootstrapContext.isRegistered(DecryptedValues.class)) {
+				bootstrapContext.registerIfAbsent(DecryptedValues.class, InstanceSupplier.of(new DecryptedValues()));
+				bootstrapContext.addCloseListener(event -> {
+					DecryptedValues decryptedValues = event.getBootstrapContext().get(DecryptedValues.class);
+					ConfigurableApplicationContext context = event.getApplicationContext();
+					context.addApplicationListener(applicationEvent -> {
+						if (applicationEvent instanceof ContextClosedEvent closedEvent
+								&& closedEvent.getApplicationContext() == context) {
+							decryptedValues.clear();
+						}
+					});
+				});
+			}
+			return bootstrapContext.get(DecryptedValues.class);
+		}
+
+		synchronized @Nullable String get(String key) {
+			return this.values.get(key);
+		}
+
+		synchronized void put(String key, String value) {
+			this.values.put(key, value);
+		}
+
+		synchronized void clear() {
+			this.values.clear();
+		}
+
+		synchronized int size() {
+			return this.values.size();
+		}
+
+	}
+
+}
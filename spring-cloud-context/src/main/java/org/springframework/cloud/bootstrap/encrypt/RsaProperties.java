@@ -16,8 +16,11 @@
 
 package org.springframework.cloud.bootstrap.encrypt;
 
+import java.time.Duration;
+
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.context.encrypt.EnvelopeTextEncryptor;
 import org.springframework.security.crypto.encrypt.RsaAlgorithm;
 
 /**
@@ -52,6 +55,32 @@ public class RsaProperties {
 	 */
 	private String salt = "deadbeef";
 
+	/**
+	 * Flag to indicate that envelope encryption should be used. If true, values are
+	 * encrypted with AES-GCM using a random data key, which is encrypted once with the RSA
+	 * key and embedded in each value. Values encrypted without envelope encryption can
+	 * still be decrypted. Default is false.
+	 */
+	private boolean envelope = false;
+
+	/**
+	 * The maximum number of decrypted data keys to cache when envelope encryption is
+	 * used.
+	 */
+	private int dataKeyCacheSize = 100;
+
+	/**
+	 * The maximum number of values encrypted with the same data key when envelope
+	 * encryption is used. A new data key is generated once it is reached.
+	 */
+	private long dataKeyMaxEncryptions = EnvelopeTextEncryptor.DEFAULT_DATA_KEY_MAX_ENCRYPTIONS;
+
+	/**
+	 * The maximum time during which values are encrypted with the same data key when
+	 * envelope encryption is used. A new data key is generated once it has elapsed.
+	 */
+	private Duration dataKeyMaxAge = EnvelopeTextEncryptor.DEFAULT_DATA_KEY_MAX_AGE;
+
 	public RsaAlgorithm getAlgorithm() {
 		return this.algorithm;
 	}
@@ -76,4 +105,36 @@ public class RsaProperties {
 		this.salt = salt;
 	}
 
+	public boolean isEnvelope() {
+		return this.envelope;
+	}
+
+	public void setEnvelope(boolean envelope) {
+		this.envelope = envelope;
+	}
+
+	public int getDataKeyCacheSize() {
+		return this.dataKeyCacheSize;
+	}
+
+	public void setDataKeyCacheSize(int dataKeyCacheSize) {
+		this.dataKeyCacheSize = dataKeyCacheSize;
+	}
+
+	public long getDataKeyMaxEncryptions() {
+		return this.dataKeyMaxEncryptions;
+	}
+
+	public void setDataKeyMaxEncryptions(long dataKeyMaxEncryptions) {
+		this.dataKeyMaxEncryptions = dataKeyMaxEncryptions;
+	}
+
+	public Duration getDataKeyMaxAge() {
+		return this.dataKeyMaxAge;
+	}
+
+	public void setDataKeyMaxAge(Duration dataKeyMaxAge) {
+		this.dataKeyMaxAge = dataKeyMaxAge;
+	}
+
 }
@@ -16,8 +16,11 @@
 
 package org.springframework.cloud.bootstrap.encrypt;
 
+import java.security.KeyPair;
 import java.util.Map;
 
+import org.jspecify.annotations.Nullable;
+
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.bootstrap.BootstrapContext;
 import org.springframework.boot.bootstrap.BootstrapRegistry;
@@ -25,12 +28,15 @@ import org.springframework.boot.context.properties.bind.BindHandler;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cloud.bootstrap.TextEncryptorBindHandler;
 import org.springframework.cloud.bootstrap.TextEncryptorConfigBootstrapper;
+import org.springframework.cloud.bootstrap.encrypt.MemoizingTextEncryptor.DecryptedValues;
 import org.springframework.cloud.context.encrypt.EncryptorFactory;
+import org.springframework.cloud.context.encrypt.EnvelopeTextEncryptor;
 import org.springframework.cloud.util.PropertyUtils;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.security.crypto.encrypt.KeyStoreKeyFactory;
+import org.springframework.security.crypto.encrypt.RsaRawEncryptor;
 import org.springframework.security.crypto.encrypt.RsaSecretEncryptor;
 import org.springframework.security.crypto.encrypt.TextEncryptor;
 import org.springframework.util.ClassUtils;
@@ -44,26 +50,38 @@ public abstract class TextEncryptorUtils {
 	 * Decrypt environment. See {@link DecryptEnvironmentPostProcessor}.
 	 * @param decryptor the {@link AbstractEnvironmentDecrypt}
 	 * @param environment the environment to get key properties from.
+	 * @param decryptedValues the previously decrypted values of the application, if any
 	 * @return the decrypted properties.
 	 */
-	static Map<String, Object> decrypt(AbstractEnvironmentDecrypt decryptor, ConfigurableEnvironment environment) {
-		TextEncryptor encryptor = getTextEncryptor(decryptor, environment);
+	static Map<String, Object> decrypt(AbstractEnvironmentDecrypt decryptor, ConfigurableEnvironment environment,
+			@Nullable DecryptedValues decryptedValues) {
+		TextEncryptor encryptor = getTextEncryptor(decryptor, environment, decryptedValues);
 
 		return decryptor.decrypt(encryptor, environment.getPropertySources());
 	}
 
-	static TextEncryptor getTextEncryptor(AbstractEnvironmentDecrypt decryptor, ConfigurableEnvironment environment) {
+	static TextEncryptor getTextEncryptor(AbstractEnvironmentDecrypt decryptor, ConfigurableEnvironment environment,
+			@Nullable DecryptedValues decryptedValues) {
 		Binder binder = Binder.get(environment);
 		KeyProperties keyProperties = binder.bind(KeyProperties.PREFIX, KeyProperties.class)
 			.orElseGet(KeyProperties::new);
 		if (TextEncryptorUtils.keysConfigured(keyProperties)) {
 			decryptor.setFailOnError(keyProperties.isFailOnError());
+			TextEncryptor encryptor;
+			RsaProperties rsaProperties;
 			if (ClassUtils.isPresent("org.springframework.security.crypto.encrypt.RsaSecretEncryptor", null)) {
-				RsaProperties rsaProperties = binder.bind(RsaProperties.PREFIX, RsaProperties.class)
+				rsaProperties = binder.bind(RsaProperties.PREFIX, RsaProperties.class)
 					.orElseGet(RsaProperties::new);
-				return TextEncryptorUtils.createTextEncryptor(keyProperties, rsaProperties);
+				encryptor = TextEncryptorUtils.createTextEncryptor(keyProperties, rsaProperties);
+			}
+			else {
+				rsaProperties = new RsaProperties();
+				encryptor = new EncryptorFactory(keyProperties.getSalt()).create(keyProperties.getKey());
 			}
-			return new EncryptorFactory(keyProperties.getSalt()).create(keyProperties.getKey());
+			// memoized so that the values do not have to be decrypted again on refresh
+			return (decryptedValues != null)
+					? MemoizingTextEncryptor.create(encryptor, keyProperties, rsaProperties, decryptedValues)
+					: encryptor;
 		}
 		// no keys configured
 		return new TextEncryptorUtils.FailsafeTextEncryptor();
@@ -119,17 +137,26 @@ public abstract class TextEncryptorUtils {
 		KeyProperties.KeyStore keyStore = keyProperties.getKeyStore();
 		if (keyStore.getLocation() != null) {
 			if (keyStore.getLocation().exists()) {
-				return new RsaSecretEncryptor(
-						new KeyStoreKeyFactory(keyStore.getLocation(), keyStore.getPassword().toCharArray(),
-								keyStore.getType())
-							.getKeyPair(keyStore.getAlias(), keyStore.getSecret().toCharArray()),
-						rsaProperties.getAlgorithm(), rsaProperties.getSalt(), rsaProperties.isStrong());
+				KeyPair keyPair = new KeyStoreKeyFactory(keyStore.getLocation(), keyStore.getPassword().toCharArray(),
+						keyStore.getType())
+					.getKeyPair(keyStore.getAlias(), keyStore.getSecret().toCharArray());
+				TextEncryptor encryptor = new RsaSecretEncryptor(keyPair, rsaProperties.getAlgorithm(),
+						rsaProperties.getSalt(), rsaProperties.isStrong());
+				if (rsaProperties.isEnvelope()) {
+					return new EnvelopeTextEncryptor(new RsaRawEncryptor(keyPair, rsaProperties.getAlgorithm()),
+							encryptor, rsaProperties.getDataKeyCacheSize(), rsaProperties.getDataKeyMaxEncryptions(),
+							rsaProperties.getDataKeyMaxAge());
+				}
+				return encryptor;
 			}
 
 			throw new IllegalStateException("Invalid keystore location");
 		}
 
-		return new EncryptorFactory(keyProperties.getSalt()).create(keyProperties.getKey());
+		return new EncryptorFactory(keyProperties.getSalt(), rsaProperties.isEnvelope(),
+				rsaProperties.getDataKeyCacheSize(), rsaProperties.getDataKeyMaxEncryptions(),
+				rsaProperties.getDataKeyMaxAge())
+			.create(keyProperties.getKey());
 	}
 
 	/**
@@ -16,7 +16,10 @@
 
 package org.springframework.cloud.context.encrypt;
 
+import java.time.Duration;
+
 import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.security.crypto.encrypt.RsaRawEncryptor;
 import org.springframework.security.crypto.encrypt.RsaSecretEncryptor;
 import org.springframework.security.crypto.encrypt.TextEncryptor;
 
@@ -28,6 +31,14 @@ public class EncryptorFactory {
 
 	private String salt = "deadbeef";
 
+	private boolean envelope;
+
+	private int dataKeyCacheSize = 100;
+
+	private long dataKeyMaxEncryptions = EnvelopeTextEncryptor.DEFAULT_DATA_KEY_MAX_ENCRYPTIONS;
+
+	private Duration dataKeyMaxAge = EnvelopeTextEncryptor.DEFAULT_DATA_KEY_MAX_AGE;
+
 	public EncryptorFactory() {
 	}
 
@@ -35,11 +46,38 @@ public class EncryptorFactory {
 		this.salt = salt;
 	}
 
+	/**
+	 * Creates an instance.
+	 * @param salt the salt used by the symmetric encryptors
+	 * @param envelope whether RSA keys should use {@link EnvelopeTextEncryptor envelope
+	 * encryption}
+	 * @param dataKeyCacheSize the maximum number of decrypted data keys to cache with
+	 * envelope encryption
+	 * @param dataKeyMaxEncryptions the maximum number of values to encrypt with the same
+	 * data key with envelope encryption
+	 * @param dataKeyMaxAge the maximum time during which values are encrypted with the
+	 * same data key with envelope encryption
+	 * @since 5.0.3
+	 */
+	public EncryptorFactory(String salt, boolean envelope, int dataKeyCacheSize, long dataKeyMaxEncryptions,
+			Duration dataKeyMaxAge) {
+		this.salt = salt;
+		this.envelope = envelope;
+		this.dataKeyCacheSize = dataKeyCacheSize;
+		this.dataKeyMaxEncryptions = dataKeyMaxEncryptions;
+		this.dataKeyMaxAge = dataKeyMaxAge;
+	}
+
 	public TextEncryptor create(String data) {
 
 		TextEncryptor encryptor;
 		if (data.contains("RSA PRIVATE KEY")) {
-			encryptor = new RsaSecretEncryptor(data.replaceAll("\\n *", ""));
+			String pemData = data.replaceAll("\\n *", "");
+			encryptor = new RsaSecretEncryptor(pemData);
+			if (this.envelope) {
+				encryptor = new EnvelopeTextEncryptor(new RsaRawEncryptor(pemData), encryptor, this.dataKeyCacheSize,
+						this.dataKeyMaxEncryptions, this.dataKeyMaxAge);
+			}
 		}
 		else if (data.startsWith("ssh-rsa") || data.contains("RSA PUBLIC KEY")) {
 			throw new KeyFormatException();
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.context.encrypt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.crypto.encrypt.BytesEncryptor;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+/**
+ * {@link TextEncryptor} that uses envelope encryption. Values are encrypted with AES-GCM
+ * using a random data key, which is encrypted (wrapped) once with the key encryptor,
+ * typically an RSA one, and shared by the values encrypted by this instance until it is
+ * rotated, after a maximum number of encryptions or a maximum age. The encrypted values
+ * have the form {@code <wrapped data key>:<iv and payload>}, both parts being Base64
+ * encoded.
+ * <p>
+ * The unwrapped data keys are held in a bounded LRU cache, so that decrypting many values
+ * only requires one operation of the key encryptor per data key. Values that were not
+ * encrypted with envelope encryption can be decrypted with a fallback encryptor.
+ *
+ * @since 5.0.3
+ */
+public class EnvelopeTextEncryptor implements TextEncryptor {
+
+	/**
+	 * Default maximum number of values encrypted with the same data key.
+	 */
+	public static final long DEFAULT_DATA_KEY_MAX_ENCRYPTIONS = 1_000_000;
+
+	/**
+	 * Default maximum time during which values are encrypted with the same data key.
+	 */
+	public static final Duration DEFAULT_DATA_KEY_MAX_AGE = Duration.ofHours(1);
+
+	private static final String SEPARATOR = ":";
+
+	private static final String ALGORITHM = "AES";
+
+	private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+	private static final int DATA_KEY_LENGTH = 32;
+
+	private static final int IV_LENGTH = 12;
+
+	private static final int TAG_LENGTH = 128;
+
+	private final SecureRandom random = new SecureRandom();
+
+	private final BytesEncryptor keyEncryptor;
+
+	private final @Nullable TextEncryptor fallback;
+
+	private final long dataKeyMaxEncryptions;
+
+	private final long dataKeyMaxAge;
+
+	private final Map<String, SecretKey> dataKeys;
+
+	private volatile @Nullable DataKey encryptionKey;
+
+	/**
+	 * Creates an instance.
+	 * @param keyEncryptor the encryptor used to wrap and unwrap the data keys
+	 * @param fallback the encryptor used to decrypt the values that were not encrypted
+	 * with envelope encryption, if any
+	 * @param dataKeyCacheSize the maximum number of unwrapped data keys to cache
+	 */
+	public EnvelopeTextEncryptor(BytesEncryptor keyEncryptor, @Nullable TextEncryptor fallback,
+			int dataKeyCacheSize) {
+		this(keyEncryptor, fallback, dataKeyCacheSize, DEFAULT_DATA_KEY_MAX_ENCRYPTIONS, DEFAULT_DATA_KEY_MAX_AGE);
+	}
+
+	/**
+	 * Creates an instance.
+	 * @param keyEncryptor the encryptor used to wrap and unwrap the data keys
+	 * @param fallback the encryptor used to decrypt the values that were not encrypted
+	 * with envelope encryption, if any
+	 * @param dataKeyCacheSize the maximum number of unwrapped data keys to cache
+	 * @param dataKeyMaxEncryptions the maximum number of values to encrypt with the same
+	 * data key
+	 * @param dataKeyMaxAge the maximum time during which values are encrypted with the
+	 * same data key
+	 */
+	public EnvelopeTextEncryptor(BytesEncryptor keyEncryptor, @Nullable TextEncryptor fallback,
+			int dataKeyCacheSize, long dataKeyMaxEncryptions, Duration dataKeyMaxAge) {
+		this.keyEncryptor = keyEncryptor;
+		this.fallback = fallback;
+		this.dataKeys = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, SecretKey> eldest) {
+				return size() > dataKeyCacheSize;
+			}
+
+		};
+		this.dataKeyMaxEncryptions = dataKeyMaxEncryptions;
+		this.dataKeyMaxAge = dataKeyMaxAge.toNanos();
+	}
+
+	@Override
+	public String encrypt(String text) {
+		DataKey dataKey = getEncryptionKey();
+		byte[] iv = new byte[IV_LENGTH];
+		this.random.nextBytes(iv);
+		try {
+			Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+			cipher.init(Cipher.ENCRYPT_MODE, dataKey.key(), new GCMParameterSpec(TAG_LENGTH, iv));
+			byte[] encrypted = cipher.doFinal(text.getBytes(StandardCharsets.UTF_8));
+			byte[] payload = ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array();
+			return dataKey.wrapped() + SEPARATOR + Base64.getEncoder().encodeToString(payload);
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Cannot encrypt", e);
+		}
+	}
+
+	@Override
+	public String decrypt(String encryptedText) {
+		int index = encryptedText.indexOf(SEPARATOR);
+		if (index < 0) {
+			if (this.fallback == null) {
+				throw new IllegalArgumentException("Not an envelope encrypted value");
+			}
+			return this.fallback.decrypt(encryptedText);
+		}
+		SecretKey dataKey = getDataKey(encryptedText.substring(0, index));
+		byte[] payload = Base64.getDecoder().decode(encryptedText.substring(index + SEPARATOR.length()));
+		try {
+			Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+			cipher.init(Cipher.DECRYPT_MODE, dataKey, new GCMParameterSpec(TAG_LENGTH, payload, 0, IV_LENGTH));
+			byte[] decrypted = cipher.doFinal(payload, IV_LENGTH, payload.length - IV_LENGTH);
+			return new String(decrypted, StandardCharsets.UTF_8);
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Cannot decrypt", e);
+		}
+	}
+
+	private DataKey getEncryptionKey() {
+		DataKey encryptionKey = this.encryptionKey;
+		if (encryptionKey != null && encryptionKey.use(this.dataKeyMaxEncryptions, this.dataKeyMaxAge)) {
+			return encryptionKey;
+		}
+		synchronized (this) {
+			encryptionKey = this.encryptionKey;
+			if (encryptionKey == null || !encryptionKey.use(this.dataKeyMaxEncryptions, this.dataKeyMaxAge)) {
+				byte[] key = new byte[DATA_KEY_LENGTH];
+				this.random.nextBytes(key);
+				String wrapped = Base64.getEncoder().encodeToString(this.keyEncryptor.encrypt(key));
+				encryptionKey = new DataKey(wrapped, new SecretKeySpec(key, ALGORITHM), System.nanoTime(),
+						new AtomicLong(1));
+				this.encryptionKey = encryptionKey;
+			}
+			return encryptionKey;
+		}
+	}
+
+	private SecretKey getDataKey(String wrapped) {
+		// the least recently used data keys are evicted first, and concurrent requests
+		// for the same data key only unwrap it once
+		synchronized (this.dataKeys) {
+			return this.dataKeys.computeIfAbsent(wrapped, key -> new SecretKeySpec(
+					this.keyEncryptor.decrypt(Base64.getDecoder().decode(key)), ALGORITHM));
+		}
+	}
+
+	private record DataKey(String wrapped, SecretKey key, long createdAt, AtomicLong encryptions) {
+
+		/**
+		 * Registers an encryption with this key, unless it has to be rotated.
+		 * @return true if the key can be used
+		 */
+		boolean use(long maxEncryptions, long maxAge) {
+			if (System.nanoTime() - this.createdAt >= maxAge) {
+				return false;
+			}
+			return this.encryptions.incrementAndGet() <= maxEncryptions;
+		}
+
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.context.properties;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -29,6 +30,8 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.stereotype.Component;
 
+import static org.springframework.cloud.util.PropertyUtils.toUniformName;
+
 /**
  * Collects references to <code>@ConfigurationProperties</code> beans in the context and
  * its parent.
@@ -40,6 +43,13 @@ public class ConfigurationPropertiesBeans implements BeanPostProcessor, Applicat
 
 	private Map<String, ConfigurationPropertiesBean> beans = new HashMap<>();
 
+	/**
+	 * The uniform form of the prefix of each bean by bean name, indexed when the beans
+	 * are registered, so that the beans affected by changed keys can be found without
+	 * looking up the annotations again.
+	 */
+	private Map<String, String> prefixes = new HashMap<>();
+
 	private ApplicationContext applicationContext;
 
 	private ConfigurableListableBeanFactory beanFactory;
@@ -62,6 +72,7 @@ public class ConfigurationPropertiesBeans implements BeanPostProcessor, Applicat
 			if (names.length == 1) {
 				this.parent = (ConfigurationPropertiesBeans) listable.getBean(names[0]);
 				this.beans.putAll(this.parent.beans);
+				this.prefixes.putAll(this.parent.prefixes);
 			}
 		}
 	}
@@ -75,6 +86,7 @@ public class ConfigurationPropertiesBeans implements BeanPostProcessor, Applicat
 				beanName);
 		if (propertiesBean != null) {
 			this.beans.put(beanName, propertiesBean);
+			this.prefixes.put(beanName, toUniformName(propertiesBean.getAnnotation().prefix()));
 		}
 		return bean;
 	}
@@ -106,4 +118,31 @@ public class ConfigurationPropertiesBeans implements BeanPostProcessor, Applicat
 		return new HashSet<>(this.beans.keySet());
 	}
 
+	/**
+	 * Returns the names of the beans that may be bound to any of the given keys, that is,
+	 * the beans whose prefix is equal to, an ancestor of, or a descendant of one of the
+	 * keys. Names are compared in their uniform form, ignoring the separators, so that
+	 * keys in the system environment form (for example {@code MY_SERVICE_URL} for
+	 * {@code my-service.url}) also match. This may select more beans than strictly
+	 * necessary, but never fewer.
+	 * @param keys the changed keys
+	 * @return the names of the beans that may be bound to the keys
+	 */
+	public Set<String> getBeanNames(Collection<String> keys) {
+		Set<String> names = new HashSet<>();
+		for (String key : keys) {
+			String uniformKey = toUniformName(key);
+			if (uniformKey.isEmpty()) {
+				return getBeanNames();
+			}
+			for (Map.Entry<String, String> entry : this.prefixes.entrySet()) {
+				String uniformPrefix = entry.getValue();
+				if (uniformKey.startsWith(uniformPrefix) || uniformPrefix.startsWith(uniformKey)) {
+					names.add(entry.getKey());
+				}
+			}
+		}
+		return names;
+	}
+
 }
@@ -26,6 +26,7 @@ import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -43,11 +44,15 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration.RefreshProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.refresh.RefreshPhaseTimer;
 import org.springframework.cloud.util.ProxyUtils;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.jmx.export.annotation.ManagedOperation;
 import org.springframework.jmx.export.annotation.ManagedResource;
@@ -81,17 +86,25 @@ public class ConfigurationPropertiesRebinder
 
 	private final Set<String> neverResetNestedTypes;
 
+	private final boolean rebindChangedOnly;
+
+	private final RefreshPhaseTimer rebindTimer = new RefreshPhaseTimer();
+
+	private final LongAdder reboundBeanCount = new LongAdder();
+
 	public ConfigurationPropertiesRebinder(ConfigurationPropertiesBeans beans) {
-		this(beans, Collections.emptySet());
+		this(beans, Collections.emptySet(), false);
 	}
 
 	public ConfigurationPropertiesRebinder(ConfigurationPropertiesBeans beans, RefreshProperties refreshProperties) {
-		this(beans, refreshProperties.getNeverResetNestedTypes());
+		this(beans, refreshProperties.getNeverResetNestedTypes(), refreshProperties.isRebindChangedOnly());
 	}
 
-	private ConfigurationPropertiesRebinder(ConfigurationPropertiesBeans beans, Set<String> neverResetNestedTypes) {
+	private ConfigurationPropertiesRebinder(ConfigurationPropertiesBeans beans, Set<String> neverResetNestedTypes,
+			boolean rebindChangedOnly) {
 		this.beans = beans;
 		this.neverResetNestedTypes = neverResetNestedTypes;
+		this.rebindChangedOnly = rebindChangedOnly;
 	}
 
 	@Override
@@ -107,6 +120,25 @@ public class ConfigurationPropertiesRebinder
 		return this.errors;
 	}
 
+	/**
+	 * Returns the timer of the rebinds triggered by {@link EnvironmentChangeEvent
+	 * EnvironmentChangeEvents}.
+	 * @return the rebind timer
+	 * @since 5.0.3
+	 */
+	public RefreshPhaseTimer getRebindTimer() {
+		return this.rebindTimer;
+	}
+
+	/**
+	 * Returns the total number of beans rebound.
+	 * @return the number of rebound beans
+	 * @since 5.0.3
+	 */
+	public long getReboundBeanCount() {
+		return this.reboundBeanCount.sum();
+	}
+
 	@ManagedOperation
 	public void rebind() {
 		this.errors.clear();
@@ -115,6 +147,24 @@ public class ConfigurationPropertiesRebinder
 		}
 	}
 
+	/**
+	 * Rebinds the beans whose prefix matches any of the given keys, leaving the other
+	 * beans untouched.
+	 * @param keys the changed keys
+	 * @see ConfigurationPropertiesBeans#getBeanNames(Collection)
+	 */
+	public void rebind(Collection<String> keys) {
+		this.errors.clear();
+		Set<String> names = this.beans.getBeanNames(keys);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Rebinding " + names.size() + " of " + this.beans.getBeanNames().size()
+					+ " configuration properties beans for changed keys " + keys);
+		}
+		for (String name : names) {
+			rebind(name);
+		}
+	}
+
 	@ManagedOperation
 	public boolean rebind(String name) {
 		if (!this.beans.getBeanNames().contains(name)) {
@@ -182,6 +232,7 @@ public class ConfigurationPropertiesRebinder
 					resetBeanToDefaults(bean);
 					appContext.getAutowireCapableBeanFactory().initializeBean(bean, name);
 				}
+				this.reboundBeanCount.increment();
 				return true;
 			}
 		}
@@ -348,8 +399,29 @@ public class ConfigurationPropertiesRebinder
 		if (this.applicationContext.equals(event.getSource())
 				// Backwards compatible
 				|| event.getKeys().equals(event.getSource())) {
-			rebind();
+			StartupStep step = getApplicationStartup().start("spring.cloud.refresh.rebind");
+			long start = System.nanoTime();
+			long reboundBeanCount = getReboundBeanCount();
+			try {
+				if (this.rebindChangedOnly) {
+					rebind(event.getKeys());
+				}
+				else {
+					rebind();
+				}
+				this.rebindTimer.record(start);
+			}
+			finally {
+				step.tag("beans", String.valueOf(getReboundBeanCount() - reboundBeanCount)).end();
+			}
+		}
+	}
+
+	private ApplicationStartup getApplicationStartup() {
+		if (this.applicationContext instanceof ConfigurableApplicationContext configurableContext) {
+			return configurableContext.getApplicationStartup();
 		}
+		return ApplicationStartup.DEFAULT;
 	}
 
 }
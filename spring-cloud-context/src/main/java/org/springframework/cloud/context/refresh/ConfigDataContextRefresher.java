@@ -39,6 +39,8 @@ import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 
 /**
  * @author Dave Syer
@@ -88,8 +90,17 @@ public class ConfigDataContextRefresher extends ContextRefresher
 					parameters.add(BootstrapRegistry.class, bootstrapContext);
 				});
 		List<EnvironmentPostProcessor> postProcessors = instantiator.instantiate(classNames);
+		ApplicationStartup applicationStartup = getContext().getApplicationStartup();
 		for (EnvironmentPostProcessor postProcessor : postProcessors) {
-			postProcessor.postProcessEnvironment(environment, application);
+			StartupStep step = applicationStartup.start("spring.cloud.refresh.environment-post-processor")
+				.tag("postProcessor", postProcessor.getClass().getName());
+			try {
+				postProcessor.postProcessEnvironment(environment, application);
+				step.tag("propertySources", String.valueOf(environment.getPropertySources().size()));
+			}
+			finally {
+				step.end();
+			}
 		}
 
 		MutablePropertySources target = getContext().getEnvironment().getPropertySources();
@@ -24,9 +24,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
@@ -37,9 +39,11 @@ import org.springframework.core.env.CommandLinePropertySource;
 import org.springframework.core.env.CompositePropertySource;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.context.support.StandardServletEnvironment;
 
@@ -69,6 +73,19 @@ public abstract class ContextRefresher {
 
 	private final RefreshScope scope;
 
+	private final RefreshPhaseTimer refreshTimer = new RefreshPhaseTimer();
+
+	private final RefreshPhaseTimer environmentTimer = new RefreshPhaseTimer();
+
+	private final RefreshPhaseTimer scopeTimer = new RefreshPhaseTimer();
+
+	private final LongAdder changedKeyCount = new LongAdder();
+
+	private final LongAdder comparedPropertySourceCount = new LongAdder();
+
+	// Marks the absence of a key, as opposed to a key with a null value
+	private static final Object NONE = new Object();
+
 	@Deprecated
 	protected ContextRefresher(ConfigurableApplicationContext context, RefreshScope scope) {
 		this(context, scope, new RefreshAutoConfiguration.RefreshProperties());
@@ -90,24 +107,138 @@ public abstract class ContextRefresher {
 		return this.scope;
 	}
 
+	/**
+	 * Returns the timer of the complete refreshes, see {@link #refresh()}.
+	 * @return the refresh timer
+	 * @since 5.0.3
+	 */
+	public RefreshPhaseTimer getRefreshTimer() {
+		return this.refreshTimer;
+	}
+
+	/**
+	 * Returns the timer of the environment updates, from the update of the property
+	 * sources to the computation of the changed keys.
+	 * @return the environment timer
+	 * @since 5.0.3
+	 */
+	public RefreshPhaseTimer getEnvironmentTimer() {
+		return this.environmentTimer;
+	}
+
+	/**
+	 * Returns the timer of the refreshes of the refresh scope.
+	 * @return the refresh scope timer
+	 * @since 5.0.3
+	 */
+	public RefreshPhaseTimer getScopeTimer() {
+		return this.scopeTimer;
+	}
+
+	/**
+	 * Returns the total number of changed keys found by the environment updates.
+	 * @return the number of changed keys
+	 * @since 5.0.3
+	 */
+	public long getChangedKeyCount() {
+		return this.changedKeyCount.sum();
+	}
+
+	/**
+	 * Returns the total number of replaced property sources that the environment updates
+	 * had to compare key by key, because their content differed from the source they
+	 * replaced or could not be compared as a whole.
+	 * @return the number of property sources compared key by key
+	 * @since 5.0.3
+	 */
+	public long getComparedPropertySourceCount() {
+		return this.comparedPropertySourceCount.sum();
+	}
+
 	public synchronized Set<String> refresh() {
-		Set<String> keys = refreshEnvironment();
-		this.scope.refreshAll();
-		return keys;
+		StartupStep step = this.context.getApplicationStartup().start("spring.cloud.refresh");
+		try {
+			long start = System.nanoTime();
+			Set<String> keys = refreshEnvironment();
+			refreshScope(keys);
+			this.refreshTimer.record(start);
+			step.tag("keys", String.valueOf(keys.size()));
+			return keys;
+		}
+		finally {
+			step.end();
+		}
+	}
+
+	private void refreshScope(Set<String> keys) {
+		StartupStep step = this.context.getApplicationStartup().start("spring.cloud.refresh.scope");
+		try {
+			long start = System.nanoTime();
+			Set<String> refreshedBeanNames = this.scope.refreshChanged(keys);
+			this.scopeTimer.record(start);
+			step.tag("beans", refreshedBeanNames != null ? String.valueOf(refreshedBeanNames.size()) : "all");
+			if (refreshedBeanNames != null && this.logger.isInfoEnabled()) {
+				this.logger.info("Refreshed beans in refresh scope : " + refreshedBeanNames);
+			}
+		}
+		finally {
+			step.end();
+		}
 	}
 
 	public synchronized Set<String> refreshEnvironment() {
-		Map<String, Object> before = getCurrentEnvironmentProperties();
-		updateEnvironment();
-		Set<String> keys = changes(before, getCurrentEnvironmentProperties()).keySet();
+		StartupStep step = this.context.getApplicationStartup().start("spring.cloud.refresh.environment");
+		Set<String> keys;
+		try {
+			long start = System.nanoTime();
+			List<PropertySource<?>> before = snapshotPropertySources();
+			updateEnvironment();
+			keys = changes(before, getCurrentPropertySources());
+			this.environmentTimer.record(start);
+			this.changedKeyCount.add(keys.size());
+			step.tag("keys", String.valueOf(keys.size()));
+		}
+		finally {
+			step.end();
+		}
 		this.context.publishEvent(new EnvironmentChangeEvent(this.context, keys));
 		return keys;
 	}
 
-	private Map<String, Object> getCurrentEnvironmentProperties() {
-		return extract(this.context.getEnvironment().getPropertySources());
+	private List<PropertySource<?>> getCurrentPropertySources() {
+		List<PropertySource<?>> sources = new ArrayList<>();
+		for (PropertySource<?> source : this.context.getEnvironment().getPropertySources()) {
+			if (!this.standardSources.contains(source.getName())) {
+				sources.add(source);
+			}
+		}
+		return sources;
+	}
+
+	private List<PropertySource<?>> snapshotPropertySources() {
+		List<PropertySource<?>> sources = getCurrentPropertySources();
+		// The retained property sources are shared with the environment copied in
+		// updateEnvironment() and may be modified in place, so capture their content
+		Set<String> retained = getRetainedPropertySourceNames();
+		sources.replaceAll(source -> retained.contains(source.getName())
+				? new MapPropertySource(source.getName(), extract(source)) : source);
+		return sources;
+	}
+
+	private Set<String> getRetainedPropertySourceNames() {
+		Set<String> retained = new HashSet<>(Arrays.asList(DEFAULT_PROPERTY_SOURCES));
+		if (!CollectionUtils.isEmpty(additionalPropertySourcesToRetain)) {
+			retained.addAll(additionalPropertySourcesToRetain);
+		}
+		return retained;
 	}
 
+	/**
+	 * Updates the property sources of the environment. Implementations should replace,
+	 * add or remove property sources rather than modify them in place, as only those
+	 * sources (and the ones retained in {@link #copyEnvironment(ConfigurableEnvironment)})
+	 * are compared to compute the changed keys.
+	 */
 	protected abstract void updateEnvironment();
 
 	// Don't use ConfigurableEnvironment.merge() in case there are clashes with property
@@ -136,8 +267,55 @@ public abstract class ContextRefresher {
 		return environment;
 	}
 
+	private Set<String> changes(List<PropertySource<?>> before, List<PropertySource<?>> after) {
+		Map<String, PropertySource<?>> previous = new HashMap<>();
+		for (PropertySource<?> source : before) {
+			previous.put(source.getName(), source);
+		}
+		Set<String> retained = getRetainedPropertySourceNames();
+		// Only the replaced, added or removed property sources can contain changed keys
+		Set<String> candidates = new HashSet<>();
+		for (PropertySource<?> source : after) {
+			PropertySource<?> previousSource = previous.remove(source.getName());
+			if (previousSource == null) {
+				candidates.addAll(extract(source).keySet());
+			}
+			else if (previousSource != source && !hasSameContent(previousSource, source)) {
+				if (!retained.contains(source.getName())) {
+					this.comparedPropertySourceCount.increment();
+				}
+				candidates.addAll(changes(extract(previousSource), extract(source)).keySet());
+			}
+		}
+		for (PropertySource<?> source : previous.values()) {
+			candidates.addAll(extract(source).keySet());
+		}
+		// A key only changes if its effective value does, taking the other property
+		// sources into account
+		Set<String> result = new HashSet<>();
+		for (String key : candidates) {
+			if (!Objects.equals(getProperty(before, key), getProperty(after, key))) {
+				result.add(key);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Compares the content of map-based property sources, such as the ones loaded from
+	 * config data, without flattening them. Sources are usually replaced by new instances
+	 * on each refresh, even when their content did not change.
+	 */
+	private boolean hasSameContent(PropertySource<?> before, PropertySource<?> after) {
+		return before instanceof MapPropertySource && after instanceof MapPropertySource
+				&& before.getSource().equals(after.getSource());
+	}
+
 	private Map<String, Object> changes(Map<String, Object> before, Map<String, Object> after) {
 		Map<String, Object> result = new HashMap<>();
+		if (before.equals(after)) {
+			return result;
+		}
 		for (String key : before.keySet()) {
 			if (!after.containsKey(key)) {
 				result.put(key, null);
@@ -154,17 +332,39 @@ public abstract class ContextRefresher {
 		return result;
 	}
 
-	private Map<String, Object> extract(MutablePropertySources propertySources) {
-		Map<String, Object> result = new HashMap<>();
-		List<PropertySource<?>> sources = new ArrayList<>();
-		for (PropertySource<?> source : propertySources) {
-			sources.add(0, source);
-		}
+	private @Nullable Object getProperty(List<PropertySource<?>> sources, String key) {
 		for (PropertySource<?> source : sources) {
-			if (!this.standardSources.contains(source.getName())) {
-				extract(source, result);
+			Object value = getProperty(source, key);
+			if (value != NONE) {
+				return value;
 			}
 		}
+		return NONE;
+	}
+
+	private @Nullable Object getProperty(PropertySource<?> propertySource, String key) {
+		if (propertySource instanceof CompositePropertySource cps) {
+			try {
+				for (PropertySource<?> source : cps.getPropertySources()) {
+					Object value = getProperty(source, key);
+					if (value != NONE) {
+						return value;
+					}
+				}
+			}
+			catch (Exception e) {
+				return NONE;
+			}
+		}
+		else if (propertySource instanceof EnumerablePropertySource<?> eps && eps.containsProperty(key)) {
+			return eps.getProperty(key);
+		}
+		return NONE;
+	}
+
+	private Map<String, Object> extract(PropertySource<?> propertySource) {
+		Map<String, Object> result = new HashMap<>();
+		extract(propertySource, result);
 		return result;
 	}
 
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.context.refresh;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+
+/**
+ * Registers the metrics of the refresh phases: a {@code spring.cloud.refresh.duration}
+ * timer per phase ({@code refresh}, {@code environment}, {@code rebind} and
+ * {@code scope}), and counters of the changed keys, rebound beans and refresh scope beans
+ * destroyed.
+ *
+ * @since 5.0.3
+ */
+public class ContextRefresherMeterBinder implements MeterBinder {
+
+	private static final String DURATION = "spring.cloud.refresh.duration";
+
+	private final ContextRefresher contextRefresher;
+
+	private final RefreshScope refreshScope;
+
+	private final @Nullable ConfigurationPropertiesRebinder rebinder;
+
+	public ContextRefresherMeterBinder(ContextRefresher contextRefresher, RefreshScope refreshScope,
+			@Nullable ConfigurationPropertiesRebinder rebinder) {
+		this.contextRefresher = contextRefresher;
+		this.refreshScope = refreshScope;
+		this.rebinder = rebinder;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		registerTimer(registry, "refresh", contextRefresher.getRefreshTimer());
+		registerTimer(registry, "environment", contextRefresher.getEnvironmentTimer());
+		registerTimer(registry, "scope", contextRefresher.getScopeTimer());
+		FunctionCounter.builder("spring.cloud.refresh.changed.keys", contextRefresher,
+				ContextRefresher::getChangedKeyCount)
+			.description("Keys changed by environment refreshes")
+			.register(registry);
+		FunctionCounter.builder("spring.cloud.refresh.scope.destroyed.beans", refreshScope,
+				RefreshScope::getDestroyedBeanCount)
+			.description("Refresh scope beans destroyed")
+			.register(registry);
+		if (rebinder != null) {
+			registerTimer(registry, "rebind", rebinder.getRebindTimer());
+			FunctionCounter.builder("spring.cloud.refresh.rebound.beans", rebinder,
+					ConfigurationPropertiesRebinder::getReboundBeanCount)
+				.description("Configuration properties beans rebound")
+				.register(registry);
+		}
+	}
+
+	private void registerTimer(MeterRegistry registry, String phase, RefreshPhaseTimer timer) {
+		FunctionTimer
+			.builder(DURATION, timer, RefreshPhaseTimer::getCount,
+					phaseTimer -> phaseTimer.getTotalTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+			.description("Duration of the refresh phases")
+			.tag("phase", phase)
+			.register(registry);
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.context.refresh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the number of executions and the total time of a refresh phase, such as
+ * the update of the environment or the refresh of the refresh scope, so that they can be
+ * exposed as metrics.
+ *
+ * @since 5.0.3
+ */
+public final class RefreshPhaseTimer {
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder totalTime = new LongAdder();
+
+	/**
+	 * Records an execution of the phase.
+	 * @param startNanos the {@link System#nanoTime()} when the phase started
+	 */
+	public void record(long startNanos) {
+		this.totalTime.add(System.nanoTime() - startNanos);
+		this.count.increment();
+	}
+
+	public long getCount() {
+		return this.count.sum();
+	}
+
+	public double getTotalTime(TimeUnit unit) {
+		return (double) this.totalTime.sum() / unit.toNanos(1);
+	}
+
+}
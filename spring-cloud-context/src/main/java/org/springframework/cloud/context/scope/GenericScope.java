@@ -28,7 +28,10 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -87,6 +90,10 @@ public class GenericScope
 
 	private final ConcurrentMap<String, ReadWriteLock> locks = new ConcurrentHashMap<>();
 
+	private boolean lockFreeProxies;
+
+	private final LongAdder destroyedBeanCount = new LongAdder();
+
 	static RuntimeException wrapIfNecessary(Throwable throwable) {
 		if (throwable instanceof RuntimeException) {
 			return (RuntimeException) throwable;
@@ -114,6 +121,28 @@ public class GenericScope
 		this.cache = new BeanLifecycleWrapperCache(cache);
 	}
 
+	/**
+	 * Flag to determine whether the scoped proxies should guard the bean instances
+	 * without locking. Instead of taking the read lock of the bean on each call, the
+	 * proxies count the in-flight calls of the bean instance they use, and calls made
+	 * while the bean is being destroyed use a new instance. The destruction of a bean
+	 * then waits for the calls still using it to complete. Default false.
+	 * @param lockFreeProxies The flag to set.
+	 */
+	public void setLockFreeProxies(boolean lockFreeProxies) {
+		this.lockFreeProxies = lockFreeProxies;
+	}
+
+	/**
+	 * Returns the number of bean instances destroyed by this scope, for example, when
+	 * they are refreshed.
+	 * @return the number of destroyed bean instances
+	 * @since 5.0.3
+	 */
+	public long getDestroyedBeanCount() {
+		return this.destroyedBeanCount.sum();
+	}
+
 	/**
 	 * A map of bean name to errors when instantiating the bean.
 	 * @return The errors accumulated since the latest destroy.
@@ -128,14 +157,7 @@ public class GenericScope
 		Collection<BeanLifecycleWrapper> wrappers = this.cache.clear();
 		for (BeanLifecycleWrapper wrapper : wrappers) {
 			try {
-				Lock lock = this.locks.get(wrapper.getName()).writeLock();
-				lock.lock();
-				try {
-					wrapper.destroy();
-				}
-				finally {
-					lock.unlock();
-				}
+				destroy(wrapper);
 			}
 			catch (RuntimeException e) {
 				errors.add(e);
@@ -155,24 +177,39 @@ public class GenericScope
 	protected boolean destroy(String name) {
 		BeanLifecycleWrapper wrapper = this.cache.remove(name);
 		if (wrapper != null) {
-			Lock lock = this.locks.get(wrapper.getName()).writeLock();
-			lock.lock();
-			try {
-				wrapper.destroy();
-			}
-			finally {
-				lock.unlock();
-			}
+			destroy(wrapper);
 			this.errors.remove(name);
 			return true;
 		}
 		return false;
 	}
 
+	private void destroy(BeanLifecycleWrapper wrapper) {
+		this.destroyedBeanCount.increment();
+		if (this.lockFreeProxies) {
+			// the wrapper is no longer cached, so new calls use a new instance
+			wrapper.retire();
+			wrapper.destroy();
+			return;
+		}
+		Lock lock = this.locks.get(wrapper.getName()).writeLock();
+		lock.lock();
+		try {
+			wrapper.destroy();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
 	@Override
 	public Object get(String name, ObjectFactory<?> objectFactory) {
-		BeanLifecycleWrapper value = this.cache.put(name, new BeanLifecycleWrapper(name, objectFactory));
-		this.locks.putIfAbsent(name, new ReentrantReadWriteLock());
+		// the wrapper and the lock are only allocated when the bean is not cached yet
+		BeanLifecycleWrapper value = this.cache.get(name);
+		if (value == null) {
+			value = this.cache.put(name, new BeanLifecycleWrapper(name, objectFactory));
+		}
+		this.locks.computeIfAbsent(name, lockName -> new ReentrantReadWriteLock());
 		try {
 			return value.getBean();
 		}
@@ -353,6 +390,12 @@ public class GenericScope
 
 		private Runnable callback;
 
+		private final LongAdder acquired = new LongAdder();
+
+		private final LongAdder released = new LongAdder();
+
+		private volatile boolean retired;
+
 		BeanLifecycleWrapper(String name, ObjectFactory<?> objectFactory) {
 			this.name = name;
 			this.objectFactory = objectFactory;
@@ -377,6 +420,49 @@ public class GenericScope
 			return this.bean;
 		}
 
+		/**
+		 * Registers an in-flight call, unless the wrapper has been retired.
+		 * @return true if the call was registered and has to be released
+		 */
+		boolean acquire() {
+			if (this.retired) {
+				return false;
+			}
+			this.acquired.increment();
+			if (this.retired) {
+				this.released.increment();
+				return false;
+			}
+			return true;
+		}
+
+		void release() {
+			this.released.increment();
+		}
+
+		/**
+		 * Prevents new calls from being registered and waits for the in-flight ones to be
+		 * released.
+		 */
+		void retire() {
+			this.retired = true;
+			int spins = 0;
+			while (true) {
+				// the releases are summed first, so that the acquisition of every release
+				// counted is counted as well
+				long released = this.released.sum();
+				if (this.acquired.sum() == released) {
+					return;
+				}
+				if (spins++ < 100) {
+					Thread.onSpinWait();
+				}
+				else {
+					LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+				}
+			}
+		}
+
 		public void destroy() {
 			if (this.callback == null) {
 				return;
@@ -464,6 +550,14 @@ public class GenericScope
 				return invocation.proceed();
 			}
 			Object proxy = getObject();
+			if (((GenericScope) this.scope).lockFreeProxies && proxy instanceof Advised advised) {
+				try {
+					return invokeWithoutLock(method, invocation.getArguments(), advised);
+				}
+				catch (UndeclaredThrowableException e) {
+					throw e.getUndeclaredThrowable();
+				}
+			}
 			ReadWriteLock readWriteLock = this.scope.getLock(this.targetBeanName);
 			if (readWriteLock == null) {
 				if (logger.isDebugEnabled()) {
@@ -492,6 +586,39 @@ public class GenericScope
 			}
 		}
 
+		private Object invokeWithoutLock(Method method, Object[] arguments, Advised advised) throws Exception {
+			BeanLifecycleWrapperCache cache = ((GenericScope) this.scope).cache;
+			while (true) {
+				BeanLifecycleWrapper wrapper = cache.get(this.targetBeanName);
+				if (wrapper == null) {
+					// creates and caches a new instance
+					Object target = advised.getTargetSource().getTarget();
+					if (cache.get(this.targetBeanName) == null) {
+						// not cached by the scope cache, so there is nothing to guard
+						return invokeMethod(method, target, arguments);
+					}
+				}
+				else if (wrapper.acquire()) {
+					try {
+						Object target = advised.getTargetSource().getTarget();
+						// otherwise the bean was destroyed in the meantime and the target
+						// may have been resolved from another instance
+						if (cache.get(this.targetBeanName) == wrapper) {
+							return invokeMethod(method, target, arguments);
+						}
+					}
+					finally {
+						wrapper.release();
+					}
+				}
+			}
+		}
+
+		private Object invokeMethod(Method method, Object target, Object[] arguments) {
+			ReflectionUtils.makeAccessible(method);
+			return ReflectionUtils.invokeMethod(method, target, arguments);
+		}
+
 		private boolean isScopedObjectGetTargetObject(Method method) {
 			return method.getDeclaringClass().equals(ScopedObject.class) && method.getName().equals("getTargetObject")
 					&& method.getParameterTypes().length == 0;
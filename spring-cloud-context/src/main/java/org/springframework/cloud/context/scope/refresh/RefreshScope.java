@@ -17,12 +17,19 @@
 package org.springframework.cloud.context.scope.refresh;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
 
 import org.springframework.aop.scope.ScopedProxyUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.cloud.context.scope.GenericScope;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -77,6 +84,8 @@ public class RefreshScope extends GenericScope
 
 	private int order = Ordered.LOWEST_PRECEDENCE - 100;
 
+	private @Nullable RefreshScopeKeyTracker keyTracker;
+
 	/**
 	 * Creates a scope instance and gives it the default name: "refresh".
 	 */
@@ -102,6 +111,16 @@ public class RefreshScope extends GenericScope
 		this.eager = eager;
 	}
 
+	@Override
+	public Object get(String name, ObjectFactory<?> objectFactory) {
+		RefreshScopeKeyTracker keyTracker = this.keyTracker;
+		if (keyTracker == null) {
+			return super.get(name, objectFactory);
+		}
+		// the factory is only invoked when the bean is not cached
+		return super.get(name, () -> keyTracker.track(name, objectFactory));
+	}
+
 	@Override
 	public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) throws BeansException {
 		this.registry = registry;
@@ -169,9 +188,45 @@ public class RefreshScope extends GenericScope
 		this.context.publishEvent(new RefreshScopeRefreshedEvent());
 	}
 
+	/**
+	 * Disposes of the current instance of the beans that resolved any of the given keys
+	 * when they were created, and forces a refresh on next method execution. The other
+	 * beans are left untouched. All the beans are refreshed, as with
+	 * {@link #refreshAll()}, if the keys resolved by the beans are not tracked, which
+	 * requires {@code spring.cloud.refresh.refresh-changed-only} to be set.
+	 * @param keys the changed keys
+	 * @return the names of the refreshed beans, or {@code null} if all the beans were
+	 * refreshed
+	 * @since 5.0.3
+	 */
+	public @Nullable Set<String> refreshChanged(Collection<String> keys) {
+		Set<String> affectedNames = this.keyTracker != null ? this.keyTracker.getAffectedBeanNames(keys) : null;
+		if (affectedNames == null) {
+			refreshAll();
+			return null;
+		}
+		Set<String> refreshedNames = new LinkedHashSet<>();
+		for (String name : affectedNames) {
+			if (super.destroy(name)) {
+				refreshedNames.add(name);
+			}
+		}
+		this.context.publishEvent(new RefreshScopeRefreshedEvent(refreshedNames, keys));
+		return refreshedNames;
+	}
+
 	@Override
 	public void setApplicationContext(ApplicationContext context) throws BeansException {
 		this.context = context;
+		if (context.getEnvironment()
+			.getProperty(RefreshAutoConfiguration.REFRESH_SCOPE_PREFIX + ".refresh-changed-only", Boolean.class,
+					false)) {
+			this.keyTracker = new RefreshScopeKeyTracker(context);
+		}
+		if (context.getEnvironment()
+			.getProperty(RefreshAutoConfiguration.REFRESH_SCOPE_PREFIX + ".lock-free-proxies", Boolean.class, false)) {
+			setLockFreeProxies(true);
+		}
 	}
 
 }
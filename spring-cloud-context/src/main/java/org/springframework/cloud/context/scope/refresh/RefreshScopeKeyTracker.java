@@ -0,0 +1,213 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.context.scope.refresh;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+
+import static org.springframework.cloud.util.PropertyUtils.toUniformName;
+
+/**
+ * Records the property keys that each bean in the refresh scope resolves from the
+ * {@link org.springframework.core.env.Environment} while it is created, so that only the
+ * beans affected by changed keys need to be refreshed. The keys are recorded by a
+ * property source with the highest precedence that never returns a value, and that is
+ * only added to the environment while a bean is being created. Keys resolved as nested
+ * placeholders are recorded as well, and so is the prefix of
+ * {@code @ConfigurationProperties} beans and of the {@code @ConfigurationProperties}
+ * beans that a bean depends on.
+ *
+ * @since 5.0.3
+ */
+class RefreshScopeKeyTracker {
+
+	static final String PROPERTY_SOURCE_NAME = "refreshScopeKeyTracker";
+
+	private final ApplicationContext context;
+
+	private final @Nullable ConfigurableListableBeanFactory beanFactory;
+
+	private final @Nullable MutablePropertySources propertySources;
+
+	private final RecordingPropertySource propertySource = new RecordingPropertySource();
+
+	private final Map<String, Set<String>> keysByBeanName = new ConcurrentHashMap<>();
+
+	private final Object monitor = new Object();
+
+	private int activeRecordingCount;
+
+	RefreshScopeKeyTracker(ApplicationContext context) {
+		this.context = context;
+		this.beanFactory = (context.getAutowireCapableBeanFactory() instanceof ConfigurableListableBeanFactory factory)
+				? factory : null;
+		this.propertySources = (context.getEnvironment() instanceof ConfigurableEnvironment environment)
+				? environment.getPropertySources() : null;
+	}
+
+	Object track(String name, ObjectFactory<?> objectFactory) {
+		Set<String> keys = new HashSet<>();
+		startRecording();
+		Object bean;
+		try {
+			bean = this.propertySource.record(keys, objectFactory);
+		}
+		finally {
+			stopRecording();
+		}
+		ConfigurationPropertiesBean propertiesBean = ConfigurationPropertiesBean.get(this.context, bean, name);
+		if (propertiesBean != null) {
+			keys.add(propertiesBean.getAnnotation().prefix());
+		}
+		if (this.beanFactory != null) {
+			// the bean may have copied values from the properties beans injected into it
+			for (String dependency : this.beanFactory.getDependenciesForBean(name)) {
+				ConfigurationProperties annotation = this.beanFactory.findAnnotationOnBean(dependency,
+						ConfigurationProperties.class);
+				if (annotation != null) {
+					keys.add(annotation.prefix());
+				}
+			}
+		}
+		Set<String> uniformKeys = new HashSet<>();
+		for (String key : keys) {
+			uniformKeys.add(toUniformName(key));
+		}
+		this.keysByBeanName.put(name, uniformKeys);
+		return bean;
+	}
+
+	/**
+	 * Returns the names of the tracked beans that resolved any of the given keys, or any
+	 * key that is an ancestor or a descendant of them.
+	 * @param changedKeys the changed keys
+	 * @return the names of the affected beans, or {@code null} if a key cannot be
+	 * compared, in which case all the beans have to be refreshed
+	 */
+	@Nullable Set<String> getAffectedBeanNames(Collection<String> changedKeys) {
+		Set<String> names = new HashSet<>();
+		for (String changedKey : changedKeys) {
+			String uniformKey = toUniformName(changedKey);
+			if (uniformKey.isEmpty()) {
+				return null;
+			}
+			this.keysByBeanName.forEach((name, keys) -> {
+				if (!names.contains(name) && matches(keys, uniformKey)) {
+					names.add(name);
+				}
+			});
+		}
+		return names;
+	}
+
+	/**
+	 * Adds the recording property source when the first recording starts, so that it is
+	 * not looked up while no bean is being created.
+	 */
+	private void startRecording() {
+		if (this.propertySources == null) {
+			return;
+		}
+		synchronized (this.monitor) {
+			if (this.activeRecordingCount++ == 0) {
+				this.propertySources.addFirst(this.propertySource);
+			}
+		}
+	}
+
+	/**
+	 * Removes the recording property source when the last recording stops.
+	 */
+	private void stopRecording() {
+		if (this.propertySources == null) {
+			return;
+		}
+		synchronized (this.monitor) {
+			if (--this.activeRecordingCount == 0) {
+				this.propertySources.remove(PROPERTY_SOURCE_NAME);
+			}
+		}
+	}
+
+	private static boolean matches(Set<String> keys, String uniformKey) {
+		for (String key : keys) {
+			if (uniformKey.startsWith(key) || key.startsWith(uniformKey)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static final class RecordingPropertySource extends PropertySource<Object> {
+
+		private final ThreadLocal<Deque<Set<String>>> recordings = new ThreadLocal<>();
+
+		RecordingPropertySource() {
+			super(PROPERTY_SOURCE_NAME, new Object());
+		}
+
+		Object record(Set<String> keys, ObjectFactory<?> objectFactory) {
+			Deque<Set<String>> activeRecordings = this.recordings.get();
+			if (activeRecordings == null) {
+				activeRecordings = new ArrayDeque<>();
+				this.recordings.set(activeRecordings);
+			}
+			activeRecordings.push(keys);
+			try {
+				return objectFactory.getObject();
+			}
+			finally {
+				activeRecordings.pop();
+				if (activeRecordings.isEmpty()) {
+					this.recordings.remove();
+				}
+			}
+		}
+
+		@Override
+		public @Nullable Object getProperty(String name) {
+			// other threads may resolve properties while a bean is being created
+			Deque<Set<String>> activeRecordings = this.recordings.get();
+			if (activeRecordings != null) {
+				// beans created while creating another bean may be used by it, so the keys
+				// are recorded for all of them
+				for (Set<String> keys : activeRecordings) {
+					keys.add(name);
+				}
+			}
+			return null;
+		}
+
+	}
+
+}
@@ -16,6 +16,9 @@
 
 package org.springframework.cloud.context.scope.refresh;
 
+import java.util.Collection;
+import java.util.Set;
+
 import org.springframework.context.ApplicationEvent;
 
 /**
@@ -29,8 +32,17 @@ public class RefreshScopeRefreshedEvent extends ApplicationEvent {
 	 */
 	public static final String DEFAULT_NAME = "__refreshAll__";
 
+	/**
+	 * Name of the refresh scope refreshed event for the beans affected by changed keys.
+	 */
+	public static final String CHANGED_NAME = "__refreshChanged__";
+
 	private String name;
 
+	private Set<String> beanNames;
+
+	private Set<String> keys;
+
 	public RefreshScopeRefreshedEvent() {
 		this(DEFAULT_NAME);
 	}
@@ -38,10 +50,43 @@ public class RefreshScopeRefreshedEvent extends ApplicationEvent {
 	public RefreshScopeRefreshedEvent(String name) {
 		super(name);
 		this.name = name;
+		this.beanNames = DEFAULT_NAME.equals(name) ? Set.of() : Set.of(name);
+		this.keys = Set.of();
+	}
+
+	/**
+	 * Creates an event for the beans that were refreshed because of changed keys.
+	 * @param beanNames the names of the refreshed beans
+	 * @param keys the changed keys
+	 * @since 5.0.3
+	 */
+	public RefreshScopeRefreshedEvent(Collection<String> beanNames, Collection<String> keys) {
+		super(CHANGED_NAME);
+		this.name = CHANGED_NAME;
+		this.beanNames = Set.copyOf(beanNames);
+		this.keys = Set.copyOf(keys);
 	}
 
 	public String getName() {
 		return this.name;
 	}
 
+	/**
+	 * Returns the names of the refreshed beans. Empty if all the beans were refreshed.
+	 * @return the names of the refreshed beans
+	 * @since 5.0.3
+	 */
+	public Set<String> getBeanNames() {
+		return this.beanNames;
+	}
+
+	/**
+	 * Returns the changed keys that caused the refresh, if known.
+	 * @return the changed keys
+	 * @since 5.0.3
+	 */
+	public Set<String> getKeys() {
+		return this.keys;
+	}
+
 }
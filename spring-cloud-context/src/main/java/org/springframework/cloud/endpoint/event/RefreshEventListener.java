@@ -16,12 +16,19 @@
 
 package org.springframework.cloud.endpoint.event;
 
+import java.time.Duration;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cloud.context.refresh.ContextRefresher;
 import org.springframework.context.ApplicationEvent;
@@ -31,10 +38,15 @@ import org.springframework.context.event.SmartApplicationListener;
  * Calls {@link ContextRefresher#refresh} when a {@link RefreshEvent} is received. Only
  * responds to {@link RefreshEvent} after receiving an {@link ApplicationReadyEvent}, as
  * the RefreshEvents might come too early in the application lifecycle.
+ * <p>
+ * If a debounce window is set, the refresh runs asynchronously on a dedicated thread
+ * once the window has elapsed, and the events received in the meantime are coalesced
+ * into that refresh. The events received while a refresh is in progress are coalesced
+ * into at most one follow-up refresh.
  *
  * @author Spencer Gibb
  */
-public class RefreshEventListener implements SmartApplicationListener {
+public class RefreshEventListener implements SmartApplicationListener, DisposableBean {
 
 	private static Log log = LogFactory.getLog(RefreshEventListener.class);
 
@@ -42,8 +54,38 @@ public class RefreshEventListener implements SmartApplicationListener {
 
 	private AtomicBoolean ready = new AtomicBoolean(false);
 
+	private final @Nullable Duration debounce;
+
+	private final @Nullable ScheduledExecutorService executor;
+
+	private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+	private final LongAdder eventCount = new LongAdder();
+
+	private final LongAdder coalescedEventCount = new LongAdder();
+
+	private final LongAdder refreshCount = new LongAdder();
+
 	public RefreshEventListener(ContextRefresher refresh) {
+		this(refresh, null);
+	}
+
+	/**
+	 * Creates a listener that coalesces the refresh events received within the given
+	 * debounce window.
+	 * @param refresh the context refresher
+	 * @param debounce the debounce window, or {@code null} to refresh synchronously on
+	 * each event
+	 * @since 5.0.3
+	 */
+	public RefreshEventListener(ContextRefresher refresh, @Nullable Duration debounce) {
 		this.refresh = refresh;
+		this.debounce = debounce;
+		this.executor = (debounce != null) ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "refresh-event-listener");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
 	}
 
 	@Override
@@ -69,8 +111,69 @@ public class RefreshEventListener implements SmartApplicationListener {
 	public void handle(RefreshEvent event) {
 		if (this.ready.get()) { // don't handle events before app is ready
 			log.debug("Event received " + event.getEventDesc());
-			Set<String> keys = this.refresh.refresh();
-			log.info("Refresh keys changed: " + keys);
+			this.eventCount.increment();
+			if (this.executor == null || this.debounce == null) {
+				refresh();
+			}
+			else if (this.scheduled.compareAndSet(false, true)) {
+				this.executor.schedule(this::refreshScheduled, this.debounce.toNanos(), TimeUnit.NANOSECONDS);
+			}
+			else {
+				this.coalescedEventCount.increment();
+				log.debug("Event coalesced into the scheduled refresh");
+			}
+		}
+	}
+
+	private void refreshScheduled() {
+		// events received from now on schedule a follow-up refresh
+		this.scheduled.set(false);
+		try {
+			refresh();
+		}
+		catch (RuntimeException e) {
+			log.error("Failed to refresh the context", e);
+		}
+	}
+
+	private void refresh() {
+		Set<String> keys = this.refresh.refresh();
+		this.refreshCount.increment();
+		log.info("Refresh keys changed: " + keys);
+	}
+
+	/**
+	 * Returns the number of refresh events handled since the application is ready.
+	 * @return the number of events
+	 * @since 5.0.3
+	 */
+	public long getEventCount() {
+		return this.eventCount.sum();
+	}
+
+	/**
+	 * Returns the number of refresh events that were coalesced into a refresh triggered
+	 * by another event.
+	 * @return the number of coalesced events
+	 * @since 5.0.3
+	 */
+	public long getCoalescedEventCount() {
+		return this.coalescedEventCount.sum();
+	}
+
+	/**
+	 * Returns the number of refreshes that completed successfully.
+	 * @return the number of refreshes
+	 * @since 5.0.3
+	 */
+	public long getRefreshCount() {
+		return this.refreshCount.sum();
+	}
+
+	@Override
+	public void destroy() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
 		}
 	}
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.endpoint.event;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Registers the counters of the {@link RefreshEventListener}: the
+ * {@code spring.cloud.refresh.events} received, tagged with whether they were coalesced
+ * into a refresh triggered by another event, and the {@code spring.cloud.refresh.count}
+ * of completed refreshes.
+ *
+ * @since 5.0.3
+ */
+public class RefreshEventMeterBinder implements MeterBinder {
+
+	private final RefreshEventListener listener;
+
+	public RefreshEventMeterBinder(RefreshEventListener listener) {
+		this.listener = listener;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter
+			.builder("spring.cloud.refresh.events", listener,
+					eventListener -> eventListener.getEventCount() - eventListener.getCoalescedEventCount())
+			.description("Refresh events received")
+			.tag("coalesced", "false")
+			.register(registry);
+		FunctionCounter.builder("spring.cloud.refresh.events", listener, RefreshEventListener::getCoalescedEventCount)
+			.description("Refresh events received")
+			.tag("coalesced", "true")
+			.register(registry);
+		FunctionCounter.builder("spring.cloud.refresh.count", listener, RefreshEventListener::getRefreshCount)
+			.description("Refreshes triggered by refresh events")
+			.register(registry);
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.util;
 
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName.Form;
 import org.springframework.core.env.Environment;
 import org.springframework.util.ClassUtils;
 
@@ -53,4 +55,22 @@ public abstract class PropertyUtils {
 		return environment.getProperty(USE_LEGACY_PROCESSING_PROPERTY, Boolean.class, false);
 	}
 
+	/**
+	 * Returns the uniform form of a property name, that is, its elements without
+	 * separators, dashes or case, so that names in any relaxed form can be compared. For
+	 * example, {@code MY_SERVICE_URL} and {@code my-service.url} both become
+	 * {@code myserviceurl}.
+	 * @param name the property name
+	 * @return the uniform form of the name, empty if the name has no elements
+	 * @since 5.0.3
+	 */
+	public static String toUniformName(String name) {
+		ConfigurationPropertyName propertyName = ConfigurationPropertyName.adapt(name, '.');
+		StringBuilder uniform = new StringBuilder();
+		for (int i = 0; i < propertyName.getNumberOfElements(); i++) {
+			uniform.append(propertyName.getElement(i, Form.UNIFORM));
+		}
+		return uniform.toString();
+	}
+
 }
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.bootstrap.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.context.encrypt.EncryptorFactory;
+import org.springframework.cloud.endpoint.event.RefreshEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link PropertySourceBootstrapConfiguration}.
+ */
+class PropertySourceBootstrapConfigurationTests {
+
+	private final PropertySourceBootstrapProperties properties = new PropertySourceBootstrapProperties();
+
+	private StaticApplicationContext context = new StaticApplicationContext();
+
+	private TextEncryptor textEncryptor = new EncryptorFactory().create("snapshot-key");
+
+	private final CountDownLatch slowLocatorRelease = new CountDownLatch(1);
+
+	@TempDir
+	private Path snapshotLocation;
+
+	@AfterEach
+	void releaseSlowLocators() {
+		slowLocatorRelease.countDown();
+	}
+
+	@Test
+	void parallelLocatorsAreInvokedConcurrentlyAndKeepTheirOrder() {
+		properties.setParallelLocators(true);
+		CountDownLatch latch = new CountDownLatch(2);
+		PropertySourceLocator first = new AwaitingLocator("first", latch);
+		PropertySourceLocator second = new AwaitingLocator("second", latch);
+
+		initialize(first, second);
+
+		assertThat(context.getEnvironment().getProperty("foo")).isEqualTo("first");
+		assertThat(context.getEnvironment().getProperty("concurrent.first")).isEqualTo("true");
+		assertThat(context.getEnvironment().getProperty("concurrent.second")).isEqualTo("true");
+		assertThat(bootstrapPropertySourceNames()).containsExactly("bootstrapProperties-first",
+				"bootstrapProperties-second");
+	}
+
+	@Test
+	void parallelLocatorsFailWhenLocatorTimesOut() {
+		properties.setParallelLocators(true);
+		properties.setLocatorTimeout(Duration.ofMillis(100));
+		PropertySourceLocator fast = environment -> new MapPropertySource("fast", Map.of("foo", "fast"));
+
+		assertThatIllegalStateException().isThrownBy(() -> initialize(slowLocator(), fast))
+			.withMessageContaining("did not complete within PT0.1S");
+	}
+
+	@Test
+	void parallelLocatorsSkipLocatorsThatTimeOut() {
+		properties.setParallelLocators(true);
+		properties.setLocatorTimeout(Duration.ofMillis(100));
+		properties.setFailOnLocatorTimeout(false);
+		PropertySourceLocator fast = environment -> new MapPropertySource("fast", Map.of("foo", "fast"));
+
+		long start = System.nanoTime();
+		initialize(slowLocator(), fast);
+
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5000);
+		assertThat(context.getEnvironment().getProperty("foo")).isEqualTo("fast");
+		assertThat(bootstrapPropertySourceNames()).containsExactly("bootstrapProperties-fast");
+	}
+
+	@Test
+	void locatorsAreInstrumented() {
+		ApplicationStartup applicationStartup = mock(ApplicationStartup.class);
+		StartupStep step = mock(StartupStep.class, RETURNS_SELF);
+		when(applicationStartup.start(anyString())).thenReturn(step);
+		context.setApplicationStartup(applicationStartup);
+		PropertySourceLocator first = environment -> new MapPropertySource("first", Map.of("foo", "first"));
+		PropertySourceLocator second = environment -> new MapPropertySource("second", Map.of("foo", "second"));
+
+		initialize(first, second);
+
+		verify(applicationStartup, times(2)).start("spring.cloud.bootstrap.property-source-locator");
+		verify(step).tag("locator", first.getClass().getName());
+		verify(step).tag("locator", second.getClass().getName());
+		verify(step, times(2)).tag("sources", "1");
+		verify(step, times(2)).end();
+	}
+
+	@Test
+	void parallelLocatorsAreInstrumentedEvenIfTheyTimeOut() {
+		ApplicationStartup applicationStartup = mock(ApplicationStartup.class);
+		StartupStep step = mock(StartupStep.class, RETURNS_SELF);
+		when(applicationStartup.start(anyString())).thenReturn(step);
+		context.setApplicationStartup(applicationStartup);
+		properties.setParallelLocators(true);
+		properties.setLocatorTimeout(Duration.ofMillis(100));
+		PropertySourceLocator fast = environment -> new MapPropertySource("fast", Map.of("foo", "fast"));
+
+		assertThatIllegalStateException().isThrownBy(() -> initialize(fast, slowLocator()));
+
+		verify(applicationStartup).start("spring.cloud.bootstrap.property-source-locators");
+		verify(step).tag("locators", "2");
+		verify(step).end();
+	}
+
+	@Test
+	void snapshotIsUsedOnNextStartWithoutDecryptingValues() {
+		properties.setSnapshotLocation(snapshotLocation.toString());
+		initialize(environment -> new MapPropertySource("remote", Map.of("foo", "bar", "secret", "{cipher}abc")));
+
+		context = new StaticApplicationContext();
+		initialize(environment -> {
+			throw new IllegalStateException("Should start from the snapshot");
+		});
+
+		assertThat(context.getEnvironment().getProperty("foo")).isEqualTo("bar");
+		assertThat(context.getEnvironment().getProperty("secret")).isEqualTo("{cipher}abc");
+		assertThat(bootstrapPropertySourceNames()).containsExactly("bootstrapProperties-remote");
+	}
+
+	@Test
+	void snapshotIsRevalidatedWhenApplicationIsReady() {
+		properties.setSnapshotLocation(snapshotLocation.toString());
+		initialize(environment -> new MapPropertySource("remote", Map.of("foo", "bar")));
+
+		context = new StaticApplicationContext();
+		initialize(environment -> new MapPropertySource("remote", Map.of("foo", "baz")));
+		assertThat(context.getEnvironment().getProperty("foo")).isEqualTo("bar");
+		ConfigurableApplicationContext readyContext = publishApplicationReadyEvent();
+
+		verify(readyContext, timeout(5000)).publishEvent(any(RefreshEvent.class));
+		context = new StaticApplicationContext();
+		initialize(environment -> {
+			throw new IllegalStateException("Should start from the snapshot");
+		});
+		assertThat(context.getEnvironment().getProperty("foo")).isEqualTo("baz");
+	}
+
+	@Test
+	void snapshotDoesNotContainPlainTextSecrets() throws IOException {
+		properties.setSnapshotLocation(snapshotLocation.toString());
+		initialize(environment -> new MapPropertySource("remote", Map.of("password", "plain-text-secret")));
+
+		try (var files = Files.list(snapshotLocation)) {
+			assertThat(files.toList()).singleElement()
+				.satisfies(file -> assertThat(Files.readString(file)).doesNotContain("plain-text-secret", "password"));
+		}
+	}
+
+	@Test
+	void snapshotIsNotStoredWithoutEncryptionKey() throws IOException {
+		properties.setSnapshotLocation(snapshotLocation.toString());
+		textEncryptor = null;
+		initialize(environment -> new MapPropertySource("remote", Map.of("foo", "bar")));
+
+		assertThat(context.getEnvironment().getProperty("foo")).isEqualTo("bar");
+		try (var files = Files.list(snapshotLocation)) {
+			assertThat(files).isEmpty();
+		}
+	}
+
+	@Test
+	void snapshotIsNotUsedWithAnotherEncryptionKey() {
+		properties.setSnapshotLocation(snapshotLocation.toString());
+		initialize(environment -> new MapPropertySource("remote", Map.of("foo", "bar")));
+
+		context = new StaticApplicationContext();
+		textEncryptor = new EncryptorFactory().create("another-key");
+		initialize(environment -> new MapPropertySource("remote", Map.of("foo", "baz")));
+
+		assertThat(context.getEnvironment().getProperty("foo")).isEqualTo("baz");
+	}
+
+	@Test
+	void snapshotIsNotUsedForAnotherLabel() {
+		properties.setSnapshotLocation(snapshotLocation.toString());
+		initialize(environment -> new MapPropertySource("remote", Map.of("foo", "bar")));
+
+		context = new StaticApplicationContext();
+		context.getEnvironment()
+			.getPropertySources()
+			.addFirst(new MapPropertySource("test", Map.of("spring.cloud.config.label", "feature")));
+		initialize(environment -> new MapPropertySource("remote", Map.of("foo", "baz")));
+
+		assertThat(context.getEnvironment().getProperty("foo")).isEqualTo("baz");
+	}
+
+	@Test
+	void snapshotIsNotRefreshedWhenUnchanged() {
+		properties.setSnapshotLocation(snapshotLocation.toString());
+		PropertySourceLocator locator = environment -> new MapPropertySource("remote", Map.of("foo", "bar"));
+		initialize(locator);
+
+		context = new StaticApplicationContext();
+		CountDownLatch located = new CountDownLatch(1);
+		initialize(environment -> {
+			located.countDown();
+			return locator.locate(environment);
+		});
+		ConfigurableApplicationContext readyContext = publishApplicationReadyEvent();
+
+		verify(readyContext, after(500).never()).publishEvent(any(RefreshEvent.class));
+		assertThat(located.getCount()).isZero();
+	}
+
+	@Test
+	void snapshotRevalidationIsInterruptedWhenContextIsClosed() throws InterruptedException {
+		properties.setSnapshotLocation(snapshotLocation.toString());
+		PropertySourceLocator locator = environment -> new MapPropertySource("remote", Map.of("foo", "bar"));
+		initialize(locator);
+
+		context = new StaticApplicationContext();
+		CountDownLatch located = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		initialize(environment -> {
+			located.countDown();
+			try {
+				slowLocatorRelease.await();
+			}
+			catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return new MapPropertySource("remote", Map.of("foo", "baz"));
+		});
+		ConfigurableApplicationContext readyContext = publishApplicationReadyEvent();
+		assertThat(located.await(5, TimeUnit.SECONDS)).isTrue();
+		context.close();
+
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		verify(readyContext, after(500).never()).publishEvent(any(RefreshEvent.class));
+	}
+
+	@Test
+	void snapshotIsNotUsedOnRefresh() {
+		properties.setSnapshotLocation(snapshotLocation.toString());
+		initialize(environment -> new MapPropertySource("remote", Map.of("foo", "bar")));
+
+		context = new StaticApplicationContext();
+		context.getEnvironment()
+			.getPropertySources()
+			.addFirst(new MapPropertySource("refreshArgs", Map.of("spring.main.web-application-type", "NONE")));
+		initialize(environment -> new MapPropertySource("remote", Map.of("foo", "baz")));
+
+		assertThat(context.getEnvironment().getProperty("foo")).isEqualTo("baz");
+	}
+
+	private ConfigurableApplicationContext publishApplicationReadyEvent() {
+		context.refresh();
+		ConfigurableApplicationContext readyContext = mock(ConfigurableApplicationContext.class);
+		ApplicationReadyEvent event = mock(ApplicationReadyEvent.class);
+		when(event.getApplicationContext()).thenReturn(readyContext);
+		context.publishEvent(event);
+		return readyContext;
+	}
+
+	private PropertySourceLocator slowLocator() {
+		return environment -> {
+			try {
+				slowLocatorRelease.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new MapPropertySource("slow", Map.of("foo", "slow"));
+		};
+	}
+
+	private void initialize(PropertySourceLocator... locators) {
+		PropertySourceBootstrapConfiguration configuration = new PropertySourceBootstrapConfiguration();
+		ReflectionTestUtils.setField(configuration, "bootstrapProperties", properties);
+		ReflectionTestUtils.setField(configuration, "textEncryptor", textEncryptor);
+		configuration.setPropertySourceLocators(List.of(locators));
+		configuration.initialize(context);
+	}
+
+	private List<String> bootstrapPropertySourceNames() {
+		return context.getEnvironment()
+			.getPropertySources()
+			.stream()
+			.map(PropertySource::getName)
+			.filter(name -> name.startsWith(PropertySourceBootstrapConfiguration.BOOTSTRAP_PROPERTY_SOURCE_NAME))
+			.toList();
+	}
+
+	private static final class AwaitingLocator implements PropertySourceLocator {
+
+		private final String name;
+
+		private final CountDownLatch latch;
+
+		private AwaitingLocator(String name, CountDownLatch latch) {
+			this.name = name;
+			this.latch = latch;
+		}
+
+		@Override
+		public PropertySource<?> locate(Environment environment) {
+			latch.countDown();
+			boolean concurrent;
+			try {
+				// only completes in time if the other locator runs concurrently
+				concurrent = latch.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				concurrent = false;
+			}
+			return new MapPropertySource(name, Map.of("foo", name, "concurrent." + name, String.valueOf(concurrent)));
+		}
+
+	}
+
+}
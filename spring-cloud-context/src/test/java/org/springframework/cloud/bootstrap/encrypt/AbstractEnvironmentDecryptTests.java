@@ -18,6 +18,7 @@ package org.springframework.cloud.bootstrap.encrypt;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -245,6 +246,55 @@ public class AbstractEnvironmentDecryptTests {
 		then(environment.getProperty("foo")).isEqualTo("bar");
 	}
 
+	@Test
+	void identicalEncryptedValuesAreDecryptedOnce() {
+		environment.getPropertySources()
+			.addFirst(new MapPropertySource("source-1",
+					Map.of("foo", "{cipher}secret", "bar", "{cipher}secret", "baz[0]", "{cipher}secret")));
+		CountingTextEncryptor encryptor = new CountingTextEncryptor();
+
+		decrypt(encryptor);
+
+		then(environment.getProperty("foo")).isEqualTo("secret");
+		then(environment.getProperty("bar")).isEqualTo("secret");
+		then(environment.getProperty("baz[0]")).isEqualTo("secret");
+		then(encryptor.count.get()).isEqualTo(1);
+	}
+
+	@Test
+	void encryptedValuesAreDecryptedInParallel() {
+		Map<String, Object> properties = new HashMap<>();
+		for (int i = 0; i < 100; i++) {
+			properties.put("foo" + i, "{cipher}value" + i);
+			properties.put("bar[" + i + "]", "{cipher}item" + i);
+		}
+		environment.getPropertySources().addFirst(new MapPropertySource("source-1", properties));
+		CountingTextEncryptor encryptor = new CountingTextEncryptor();
+		decryptor.setParallelism(4);
+
+		decrypt(encryptor);
+
+		for (int i = 0; i < 100; i++) {
+			then(environment.getProperty("foo" + i)).isEqualTo("value" + i);
+			then(environment.getProperty("bar[" + i + "]")).isEqualTo("item" + i);
+		}
+		then(encryptor.count.get()).isEqualTo(200);
+	}
+
+	@Test
+	void errorOnParallelDecrypt() {
+		Map<String, Object> properties = new HashMap<>();
+		for (int i = 0; i < 100; i++) {
+			properties.put("foo" + i, "{cipher}value" + i);
+		}
+		environment.getPropertySources().addFirst(new MapPropertySource("source-1", properties));
+		decryptor.setParallelism(4);
+
+		assertThatThrownBy(() -> decrypt(Encryptors.text("deadbeef", "AFFE37")))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageStartingWith("Cannot decrypt: key=foo");
+	}
+
 	private void decrypt() {
 		decrypt(Encryptors.noOpText());
 	}
@@ -255,4 +305,21 @@ public class AbstractEnvironmentDecryptTests {
 			.addFirst(new SystemEnvironmentPropertySource(DECRYPTED_PROPERTY_SOURCE_NAME, decrypted));
 	}
 
+	private static final class CountingTextEncryptor implements TextEncryptor {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public String encrypt(String text) {
+			return text;
+		}
+
+		@Override
+		public String decrypt(String encryptedText) {
+			this.count.incrementAndGet();
+			return encryptedText;
+		}
+
+	}
+
 }
@@ -16,15 +16,22 @@
 
 package org.springframework.cloud.bootstrap.encrypt;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.cloud.context.encrypt.EncryptorFactory;
+import org.springframework.cloud.context.encrypt.EnvelopeTextEncryptor;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.crypto.encrypt.BytesEncryptor;
+import org.springframework.security.crypto.encrypt.RsaRawEncryptor;
 import org.springframework.security.crypto.encrypt.TextEncryptor;
 import org.springframework.util.StreamUtils;
 
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.Assertions.assertThatRuntimeException;
 import static org.assertj.core.api.BDDAssertions.then;
 
@@ -55,4 +62,142 @@ public class EncryptorFactoryTests {
 		assertThatRuntimeException().isThrownBy(() -> new EncryptorFactory().create(key));
 	}
 
+	@Test
+	public void testWithRsaPrivateKeyAndEnvelope() throws Exception {
+		TextEncryptor encryptor = envelopeEncryptorFactory().create(rsaPrivateKey());
+		String toEncrypt = "sample text to encrypt";
+		String encrypted = encryptor.encrypt(toEncrypt);
+
+		then(encrypted).contains(":");
+		then(encryptor.decrypt(encrypted)).isEqualTo(toEncrypt);
+		then(encryptor.decrypt(encryptor.encrypt("other text"))).isEqualTo("other text");
+	}
+
+	@Test
+	public void testEnvelopeDecryptsValuesEncryptedWithoutEnvelope() throws Exception {
+		String key = rsaPrivateKey();
+		String encrypted = new EncryptorFactory().create(key).encrypt("sample text to encrypt");
+
+		TextEncryptor encryptor = envelopeEncryptorFactory().create(key);
+
+		then(encryptor.decrypt(encrypted)).isEqualTo("sample text to encrypt");
+	}
+
+	@Test
+	public void testEnvelopeDecryptsDataKeyOnce() throws Exception {
+		CountingBytesEncryptor keyEncryptor = new CountingBytesEncryptor(
+				new RsaRawEncryptor(rsaPrivateKey().replaceAll("\\n *", "")));
+		TextEncryptor encryptor = new EnvelopeTextEncryptor(keyEncryptor, null, 10);
+		String first = encryptor.encrypt("first");
+		String second = encryptor.encrypt("second");
+
+		TextEncryptor decryptor = new EnvelopeTextEncryptor(keyEncryptor, null, 10);
+		for (int i = 0; i < 3; i++) {
+			then(decryptor.decrypt(first)).isEqualTo("first");
+			then(decryptor.decrypt(second)).isEqualTo("second");
+		}
+
+		then(keyEncryptor.encryptions.get()).isEqualTo(1);
+		then(keyEncryptor.decryptions.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testEnvelopeEvictsLeastRecentlyUsedDataKey() throws Exception {
+		CountingBytesEncryptor keyEncryptor = new CountingBytesEncryptor(
+				new RsaRawEncryptor(rsaPrivateKey().replaceAll("\\n *", "")));
+		TextEncryptor encryptor = new EnvelopeTextEncryptor(keyEncryptor, null, 10, 1, Duration.ofHours(1));
+		String first = encryptor.encrypt("first");
+		String second = encryptor.encrypt("second");
+		String third = encryptor.encrypt("third");
+
+		TextEncryptor decryptor = new EnvelopeTextEncryptor(keyEncryptor, null, 2);
+		decryptor.decrypt(first);
+		decryptor.decrypt(second);
+		decryptor.decrypt(first);
+		decryptor.decrypt(third);
+
+		then(decryptor.decrypt(first)).isEqualTo("first");
+		then(keyEncryptor.decryptions.get()).isEqualTo(3);
+		then(decryptor.decrypt(second)).isEqualTo("second");
+		then(keyEncryptor.decryptions.get()).isEqualTo(4);
+	}
+
+	@Test
+	public void testEnvelopeRotatesDataKeyAfterMaxEncryptions() throws Exception {
+		CountingBytesEncryptor keyEncryptor = new CountingBytesEncryptor(
+				new RsaRawEncryptor(rsaPrivateKey().replaceAll("\\n *", "")));
+		TextEncryptor encryptor = new EnvelopeTextEncryptor(keyEncryptor, null, 10, 2, Duration.ofHours(1));
+
+		String first = encryptor.encrypt("first");
+		String second = encryptor.encrypt("second");
+		String third = encryptor.encrypt("third");
+
+		then(keyEncryptor.encryptions.get()).isEqualTo(2);
+		then(dataKey(first)).isEqualTo(dataKey(second)).isNotEqualTo(dataKey(third));
+		then(encryptor.decrypt(first)).isEqualTo("first");
+		then(encryptor.decrypt(third)).isEqualTo("third");
+	}
+
+	@Test
+	public void testEnvelopeRotatesDataKeyAfterMaxAge() throws Exception {
+		CountingBytesEncryptor keyEncryptor = new CountingBytesEncryptor(
+				new RsaRawEncryptor(rsaPrivateKey().replaceAll("\\n *", "")));
+		TextEncryptor encryptor = new EnvelopeTextEncryptor(keyEncryptor, null, 10, 100, Duration.ZERO);
+
+		String first = encryptor.encrypt("first");
+		String second = encryptor.encrypt("second");
+
+		then(keyEncryptor.encryptions.get()).isEqualTo(2);
+		then(dataKey(first)).isNotEqualTo(dataKey(second));
+	}
+
+	@Test
+	public void testEnvelopeFailsOnTamperedValue() throws Exception {
+		TextEncryptor encryptor = envelopeEncryptorFactory().create(rsaPrivateKey());
+		String encrypted = encryptor.encrypt("sample text to encrypt");
+		String tampered = encrypted.substring(0, encrypted.length() - 4) + "AAAA";
+
+		assertThatIllegalStateException().isThrownBy(() -> encryptor.decrypt(tampered));
+	}
+
+	private static EncryptorFactory envelopeEncryptorFactory() {
+		return new EncryptorFactory("deadbeef", true, 10, EnvelopeTextEncryptor.DEFAULT_DATA_KEY_MAX_ENCRYPTIONS,
+				EnvelopeTextEncryptor.DEFAULT_DATA_KEY_MAX_AGE);
+	}
+
+	private static String dataKey(String encrypted) {
+		return encrypted.substring(0, encrypted.indexOf(':'));
+	}
+
+	private static String rsaPrivateKey() throws IOException {
+		return StreamUtils.copyToString(new ClassPathResource("/example-test-rsa-private-key").getInputStream(),
+				StandardCharsets.US_ASCII);
+	}
+
+	private static final class CountingBytesEncryptor implements BytesEncryptor {
+
+		private final BytesEncryptor delegate;
+
+		private final AtomicInteger encryptions = new AtomicInteger();
+
+		private final AtomicInteger decryptions = new AtomicInteger();
+
+		private CountingBytesEncryptor(BytesEncryptor delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public byte[] encrypt(byte[] byteArray) {
+			this.encryptions.incrementAndGet();
+			return this.delegate.encrypt(byteArray);
+		}
+
+		@Override
+		public byte[] decrypt(byte[] encryptedByteArray) {
+			this.decryptions.incrementAndGet();
+			return this.delegate.decrypt(encryptedByteArray);
+		}
+
+	}
+
 }
@@ -33,10 +33,14 @@ import org.springframework.core.env.CompositePropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertySource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.security.crypto.encrypt.Encryptors;
 import org.springframework.security.crypto.encrypt.TextEncryptor;
 
 import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -65,6 +69,21 @@ public class EnvironmentDecryptApplicationInitializerTests {
 		then(context.getEnvironment().getProperty("foo")).isEqualTo("bar");
 	}
 
+	@Test
+	public void decryptStepIsTaggedWithScannedProperties() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		ApplicationStartup applicationStartup = mock(ApplicationStartup.class);
+		StartupStep step = mock(StartupStep.class, RETURNS_SELF);
+		when(applicationStartup.start(anyString())).thenReturn(step);
+		context.setApplicationStartup(applicationStartup);
+		TestPropertyValues.of("spring.cloud.bootstrap.enabled=true", "foo: {cipher}bar", "baz: qux").applyTo(context);
+		this.listener.initialize(context);
+		then(this.listener.getScannedPropertyCount()).isGreaterThanOrEqualTo(3);
+		verify(step).tag("properties", "1");
+		verify(step).tag("scanned", String.valueOf(this.listener.getScannedPropertyCount()));
+		verify(step).end();
+	}
+
 	@Test
 	public void relaxedBinding() {
 		ConfigurableApplicationContext context = new AnnotationConfigApplicationContext();
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.bootstrap.encrypt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.bootstrap.DefaultBootstrapContext;
+import org.springframework.cloud.bootstrap.encrypt.MemoizingTextEncryptor.DecryptedValues;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link MemoizingTextEncryptor}.
+ */
+class MemoizingTextEncryptorTests {
+
+	private final TextEncryptor delegate = mock(TextEncryptor.class);
+
+	private final DecryptedValues decryptedValues = new DecryptedValues();
+
+	@BeforeEach
+	void setUp() {
+		when(delegate.decrypt("cipher")).thenReturn("plain");
+	}
+
+	@Test
+	void shouldDecryptOnceAcrossInstancesWithSameKey() {
+		TextEncryptor first = MemoizingTextEncryptor.create(delegate, keyProperties("key"), new RsaProperties(),
+				decryptedValues);
+		TextEncryptor second = MemoizingTextEncryptor.create(delegate, keyProperties("key"), new RsaProperties(),
+				decryptedValues);
+
+		assertThat(first.decrypt("cipher")).isEqualTo("plain");
+		assertThat(second.decrypt("cipher")).isEqualTo("plain");
+
+		verify(delegate).decrypt("cipher");
+	}
+
+	@Test
+	void shouldDecryptAgainWithAnotherKey() {
+		MemoizingTextEncryptor.create(delegate, keyProperties("key"), new RsaProperties(), decryptedValues)
+			.decrypt("cipher");
+		MemoizingTextEncryptor.create(delegate, keyProperties("other"), new RsaProperties(), decryptedValues)
+			.decrypt("cipher");
+
+		verify(delegate, times(2)).decrypt("cipher");
+	}
+
+	@Test
+	void shouldNotMemoizeFailures() {
+		when(delegate.decrypt("invalid")).thenThrow(new IllegalStateException("invalid"));
+		TextEncryptor encryptor = MemoizingTextEncryptor.create(delegate, keyProperties("key"), new RsaProperties(),
+				decryptedValues);
+
+		assertThatIllegalStateException().isThrownBy(() -> encryptor.decrypt("invalid"));
+		assertThatIllegalStateException().isThrownBy(() -> encryptor.decrypt("invalid"));
+
+		verify(delegate, times(2)).decrypt(anyString());
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedValues() {
+		when(delegate.decrypt("other")).thenReturn("plain");
+		when(delegate.decrypt("third")).thenReturn("plain");
+		TextEncryptor encryptor = MemoizingTextEncryptor.create(delegate, keyProperties("key"), new RsaProperties(),
+				new DecryptedValues(2));
+
+		encryptor.decrypt("cipher");
+		encryptor.decrypt("other");
+		encryptor.decrypt("cipher");
+		encryptor.decrypt("third");
+		encryptor.decrypt("cipher");
+		encryptor.decrypt("other");
+
+		verify(delegate).decrypt("cipher");
+		verify(delegate, times(2)).decrypt("other");
+	}
+
+	@Test
+	void shouldKeepDecryptedValuesPerBootstrapContext() {
+		DefaultBootstrapContext bootstrapContext = new DefaultBootstrapContext();
+
+		assertThat(DecryptedValues.from(bootstrapContext)).isSameAs(DecryptedValues.from(bootstrapContext));
+		assertThat(DecryptedValues.from(bootstrapContext))
+			.isNotSameAs(DecryptedValues.from(new DefaultBootstrapContext()));
+	}
+
+	@Test
+	void shouldClearDecryptedValuesWhenApplicationContextIsClosed() {
+		DefaultBootstrapContext bootstrapContext = new DefaultBootstrapContext();
+		DecryptedValues values = DecryptedValues.from(bootstrapContext);
+		MemoizingTextEncryptor.create(delegate, keyProperties("key"), new RsaProperties(), values).decrypt("cipher");
+		GenericApplicationContext context = new GenericApplicationContext();
+		bootstrapContext.close(context);
+		context.refresh();
+
+		assertThat(values.size()).isEqualTo(1);
+		context.close();
+
+		assertThat(values.size()).isZero();
+	}
+
+	private static KeyProperties keyProperties(String key) {
+		KeyProperties keyProperties = new KeyProperties();
+		keyProperties.setKey(key);
+		return keyProperties;
+	}
+
+}
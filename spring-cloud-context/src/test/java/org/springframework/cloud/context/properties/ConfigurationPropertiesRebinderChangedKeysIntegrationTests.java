@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.context.properties;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.cloud.autoconfigure.ConfigurationPropertiesRebinderAutoConfiguration;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration.RefreshProperties;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinderChangedKeysIntegrationTests.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+@SpringBootTest(classes = TestConfiguration.class,
+		properties = { "first.message=Hello", "second-service.message=Hello",
+				"spring.cloud.refresh.rebind-changed-only=true" })
+public class ConfigurationPropertiesRebinderChangedKeysIntegrationTests {
+
+	@Autowired
+	private FirstProperties firstProperties;
+
+	@Autowired
+	private SecondProperties secondProperties;
+
+	@Autowired
+	private ConfigurationPropertiesBeans beans;
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private ConfigurableEnvironment environment;
+
+	@Test
+	@DirtiesContext
+	public void onlyBeansMatchingChangedKeysAreRebound() {
+		TestPropertyValues.of("first.message=World", "second-service.message=World").applyTo(this.environment);
+
+		this.context.publishEvent(new EnvironmentChangeEvent(this.context, Set.of("first.message")));
+
+		then(this.firstProperties.getMessage()).isEqualTo("World");
+		then(this.secondProperties.getMessage()).isEqualTo("Hello");
+	}
+
+	@Test
+	@DirtiesContext
+	public void noBeansAreReboundWithoutChangedKeys() {
+		TestPropertyValues.of("first.message=World").applyTo(this.environment);
+
+		this.context.publishEvent(new EnvironmentChangeEvent(this.context, Set.of()));
+
+		then(this.firstProperties.getMessage()).isEqualTo("Hello");
+	}
+
+	@Test
+	public void beansAreMatchedByPrefix() {
+		then(this.beans.getBeanNames(Set.of("second-service.message"))).containsExactly("secondProperties");
+		then(this.beans.getBeanNames(Set.of("secondService.message"))).containsExactly("secondProperties");
+		then(this.beans.getBeanNames(Set.of("SECOND_SERVICE_MESSAGE"))).containsExactly("secondProperties");
+		then(this.beans.getBeanNames(Set.of("first"))).containsExactly("firstProperties");
+		then(this.beans.getBeanNames(Set.of("other.message"))).isEmpty();
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableConfigurationProperties(RefreshProperties.class)
+	@Import({ RefreshConfiguration.RebinderConfiguration.class, PropertyPlaceholderAutoConfiguration.class })
+	protected static class TestConfiguration {
+
+		@Bean
+		protected FirstProperties firstProperties() {
+			return new FirstProperties();
+		}
+
+		@Bean
+		protected SecondProperties secondProperties() {
+			return new SecondProperties();
+		}
+
+	}
+
+	// Hack out a protected inner class for testing
+	protected static class RefreshConfiguration extends RefreshAutoConfiguration {
+
+		@Configuration(proxyBeanMethods = false)
+		protected static class RebinderConfiguration extends ConfigurationPropertiesRebinderAutoConfiguration {
+
+			public RebinderConfiguration(ApplicationContext context) {
+				super(context);
+			}
+
+		}
+
+	}
+
+	@ConfigurationProperties("first")
+	protected static class FirstProperties {
+
+		private String message;
+
+		public String getMessage() {
+			return this.message;
+		}
+
+		public void setMessage(String message) {
+			this.message = message;
+		}
+
+	}
+
+	@ConfigurationProperties("second-service")
+	protected static class SecondProperties {
+
+		private String message;
+
+		public String getMessage() {
+			return this.message;
+		}
+
+		public void setMessage(String message) {
+			this.message = message;
+		}
+
+	}
+
+}
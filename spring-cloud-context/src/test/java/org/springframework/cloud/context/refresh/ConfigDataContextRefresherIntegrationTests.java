@@ -86,6 +86,16 @@ public class ConfigDataContextRefresherIntegrationTests {
 		then(environment.getProperty(TestEnvPostProcessor.EPP_VALUE)).isEqualTo("10");
 	}
 
+	@Test
+	public void unchangedPropertySourcesAreNotComparedKeyByKey() {
+		then(this.refresher.refresh()).isEmpty();
+		then(this.refresher.getComparedPropertySourceCount()).isZero();
+
+		TestConfigDataLocationResolver.count.set(10);
+		then(this.refresher.refresh()).contains(TestEnvPostProcessor.EPP_VALUE);
+		then(this.refresher.getComparedPropertySourceCount()).isPositive();
+	}
+
 	@Test
 	public void testRefreshBean() {
 		then(this.properties.getMessage()).isEqualTo("Hello scope!");
@@ -21,10 +21,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 
 import org.springframework.boot.SpringApplication;
@@ -40,12 +43,16 @@ import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
 import org.springframework.cloud.context.scope.refresh.RefreshScope;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.BDDAssertions.then;
 
 public class ContextRefresherTests {
@@ -180,6 +187,101 @@ public class ContextRefresherTests {
 			});
 	}
 
+	@Test
+	public void onlyReplacedPropertySourcesAreCompared() {
+		try (StaticApplicationContext context = new StaticApplicationContext()) {
+			MutablePropertySources propertySources = context.getEnvironment().getPropertySources();
+			propertySources.addFirst(new MapPropertySource("low", Map.of("shadowed", "low", "changed", "low")));
+			propertySources.addFirst(new MapPropertySource("high", Map.of("shadowed", "high")));
+			propertySources.addFirst(new MapPropertySource("unchanged", Map.of("unchanged", "value")));
+			context.refresh();
+			ContextRefresher refresher = new TestContextRefresher(context, this.scope, sources -> {
+				sources.replace("unchanged", new MapPropertySource("unchanged", Map.of("unchanged", "value")));
+				sources.replace("low",
+						new MapPropertySource("low", Map.of("shadowed", "other", "changed", "other", "added", "new")));
+			});
+
+			then(refresher.refreshEnvironment()).containsExactlyInAnyOrder("changed", "added");
+		}
+	}
+
+	@Test
+	public void addedAndRemovedPropertySourcesAreCompared() {
+		try (StaticApplicationContext context = new StaticApplicationContext()) {
+			MutablePropertySources propertySources = context.getEnvironment().getPropertySources();
+			propertySources.addFirst(new MapPropertySource("removed", Map.of("removed", "value", "same", "value")));
+			propertySources.addLast(new MapPropertySource("base", Map.of("same", "value")));
+			context.refresh();
+			ContextRefresher refresher = new TestContextRefresher(context, this.scope, sources -> {
+				sources.remove("removed");
+				sources.addFirst(new MapPropertySource("added", Map.of("added", "value")));
+			});
+
+			then(refresher.refreshEnvironment()).containsExactlyInAnyOrder("removed", "added");
+		}
+	}
+
+	@Test
+	public void retainedPropertySourcesModifiedInPlaceAreCompared() {
+		try (StaticApplicationContext context = new StaticApplicationContext()) {
+			Map<String, Object> defaultProperties = new HashMap<>(Map.of("default", "value"));
+			context.getEnvironment()
+				.getPropertySources()
+				.addLast(new MapPropertySource("defaultProperties", defaultProperties));
+			context.refresh();
+			ContextRefresher refresher = new TestContextRefresher(context, this.scope,
+					sources -> defaultProperties.put("default", "other"));
+
+			then(refresher.refreshEnvironment()).containsExactly("default");
+		}
+	}
+
+	@Test
+	public void refreshPhasesAreInstrumented() {
+		try (StaticApplicationContext context = new StaticApplicationContext()) {
+			ApplicationStartup applicationStartup = Mockito.mock(ApplicationStartup.class);
+			StartupStep step = Mockito.mock(StartupStep.class, Mockito.RETURNS_SELF);
+			Mockito.when(applicationStartup.start(ArgumentMatchers.anyString())).thenReturn(step);
+			context.setApplicationStartup(applicationStartup);
+			context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of("foo", "bar")));
+			context.refresh();
+			Mockito.when(this.scope.refreshChanged(ArgumentMatchers.any())).thenReturn(Set.of("bean"));
+			ContextRefresher refresher = new TestContextRefresher(context, this.scope,
+					sources -> sources.replace("test", new MapPropertySource("test", Map.of("foo", "baz"))));
+
+			refresher.refresh();
+
+			then(refresher.getRefreshTimer().getCount()).isEqualTo(1);
+			then(refresher.getEnvironmentTimer().getCount()).isEqualTo(1);
+			then(refresher.getScopeTimer().getCount()).isEqualTo(1);
+			then(refresher.getChangedKeyCount()).isEqualTo(1);
+			Mockito.verify(applicationStartup).start("spring.cloud.refresh");
+			Mockito.verify(applicationStartup).start("spring.cloud.refresh.environment");
+			Mockito.verify(applicationStartup).start("spring.cloud.refresh.scope");
+			Mockito.verify(step, Mockito.times(2)).tag("keys", "1");
+			Mockito.verify(step).tag("beans", "1");
+		}
+	}
+
+	@Test
+	public void refreshStepsAreEndedWhenRefreshFails() {
+		try (StaticApplicationContext context = new StaticApplicationContext()) {
+			ApplicationStartup applicationStartup = Mockito.mock(ApplicationStartup.class);
+			StartupStep step = Mockito.mock(StartupStep.class, Mockito.RETURNS_SELF);
+			Mockito.when(applicationStartup.start(ArgumentMatchers.anyString())).thenReturn(step);
+			context.setApplicationStartup(applicationStartup);
+			context.refresh();
+			Mockito.when(this.scope.refreshChanged(ArgumentMatchers.any()))
+				.thenThrow(new IllegalStateException("Refresh failed"));
+			ContextRefresher refresher = new TestContextRefresher(context, this.scope, sources -> {
+			});
+
+			assertThatIllegalStateException().isThrownBy(refresher::refresh);
+
+			Mockito.verify(step, Mockito.times(3)).end();
+		}
+	}
+
 	private List<String> names(MutablePropertySources propertySources) {
 		List<String> list = new ArrayList<>();
 		for (PropertySource<?> p : propertySources) {
@@ -207,6 +309,23 @@ public class ContextRefresherTests {
 
 	}
 
+	static class TestContextRefresher extends ContextRefresher {
+
+		private final Consumer<MutablePropertySources> update;
+
+		TestContextRefresher(ConfigurableApplicationContext context, RefreshScope scope,
+				Consumer<MutablePropertySources> update) {
+			super(context, scope, new RefreshAutoConfiguration.RefreshProperties());
+			this.update = update;
+		}
+
+		@Override
+		protected void updateEnvironment() {
+			this.update.accept(getContext().getEnvironment().getPropertySources());
+		}
+
+	}
+
 	public static class TestLoggingSystem extends LoggingSystem {
 
 		private static int count;
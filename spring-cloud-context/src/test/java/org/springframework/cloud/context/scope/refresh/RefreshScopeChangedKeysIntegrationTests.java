@@ -0,0 +1,221 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.context.scope.refresh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeChangedKeysIntegrationTests.TestConfiguration;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+@SpringBootTest(classes = TestConfiguration.class,
+		properties = { "first.message=Hello", "second.message=${nested.message}", "nested.message=Hello",
+				"third.message=Hello", "fourth.message=Hello", "spring.cloud.refresh.refresh-changed-only=true" })
+public class RefreshScopeChangedKeysIntegrationTests {
+
+	@Autowired
+	private MessageService first;
+
+	@Autowired
+	private MessageService second;
+
+	@Autowired
+	private ThirdProperties third;
+
+	@Autowired
+	private MessageService fourth;
+
+	@Autowired
+	private RefreshEventRecorder recorder;
+
+	@Autowired
+	private org.springframework.cloud.context.scope.refresh.RefreshScope scope;
+
+	@Autowired
+	private ConfigurableEnvironment environment;
+
+	@Test
+	@DirtiesContext
+	public void onlyBeansThatResolvedChangedKeysAreRefreshed() {
+		then(this.first.getMessage()).isEqualTo("Hello");
+		then(this.second.getMessage()).isEqualTo("Hello");
+		TestPropertyValues.of("first.message=World", "nested.message=World", "third.message=World")
+			.applyTo(this.environment);
+
+		Set<String> refreshed = this.scope.refreshChanged(Set.of("first.message"));
+
+		then(refreshed).containsExactly("scopedTarget.first");
+		then(this.first.getMessage()).isEqualTo("World");
+		then(this.second.getMessage()).isEqualTo("Hello");
+		then(this.third.getMessage()).isEqualTo("Hello");
+		then(this.recorder.events).hasSize(1);
+		then(this.recorder.events.get(0).getName()).isEqualTo(RefreshScopeRefreshedEvent.CHANGED_NAME);
+		then(this.recorder.events.get(0).getBeanNames()).containsExactly("scopedTarget.first");
+		then(this.recorder.events.get(0).getKeys()).containsExactly("first.message");
+	}
+
+	@Test
+	public void keysAreNotRecordedOutsideBeanCreation() {
+		then(this.first.getMessage()).isEqualTo("Hello");
+
+		then(this.environment.getPropertySources().contains(RefreshScopeKeyTracker.PROPERTY_SOURCE_NAME)).isFalse();
+	}
+
+	@Test
+	@DirtiesContext
+	public void beansThatResolvedNestedPlaceholdersAreRefreshed() {
+		then(this.second.getMessage()).isEqualTo("Hello");
+		TestPropertyValues.of("nested.message=World").applyTo(this.environment);
+
+		this.scope.refreshChanged(Set.of("nested.message"));
+
+		then(this.second.getMessage()).isEqualTo("World");
+	}
+
+	@Test
+	@DirtiesContext
+	public void configurationPropertiesBeansAreRefreshedByPrefix() {
+		then(this.third.getMessage()).isEqualTo("Hello");
+		TestPropertyValues.of("third.message=World").applyTo(this.environment);
+
+		Set<String> refreshed = this.scope.refreshChanged(Set.of("third.message"));
+
+		then(refreshed).containsExactly("scopedTarget.third");
+		then(this.third.getMessage()).isEqualTo("World");
+	}
+
+	@Test
+	@DirtiesContext
+	public void beansThatDependOnConfigurationPropertiesAreRefreshedByPrefix() {
+		then(this.fourth.getMessage()).isEqualTo("Hello");
+
+		Set<String> refreshed = this.scope.refreshChanged(Set.of("fourth.message"));
+
+		then(refreshed).containsExactly("scopedTarget.fourth");
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableConfigurationProperties(FourthProperties.class)
+	@Import({ RefreshAutoConfiguration.class, PropertyPlaceholderAutoConfiguration.class })
+	protected static class TestConfiguration {
+
+		@Bean
+		@RefreshScope
+		public MessageService first(@Value("${first.message}") String message) {
+			return new MessageService(message);
+		}
+
+		@Bean
+		@RefreshScope
+		public MessageService second(@Value("${second.message}") String message) {
+			return new MessageService(message);
+		}
+
+		@Bean
+		@RefreshScope
+		public ThirdProperties third() {
+			return new ThirdProperties();
+		}
+
+		@Bean
+		@RefreshScope
+		public MessageService fourth(FourthProperties properties) {
+			return new MessageService(properties.getMessage());
+		}
+
+		@Bean
+		public RefreshEventRecorder refreshEventRecorder() {
+			return new RefreshEventRecorder();
+		}
+
+	}
+
+	public static class MessageService {
+
+		private final String message;
+
+		public MessageService(String message) {
+			this.message = message;
+		}
+
+		public String getMessage() {
+			return this.message;
+		}
+
+	}
+
+	@ConfigurationProperties("third")
+	public static class ThirdProperties {
+
+		private String message;
+
+		public String getMessage() {
+			return this.message;
+		}
+
+		public void setMessage(String message) {
+			this.message = message;
+		}
+
+	}
+
+	@ConfigurationProperties("fourth")
+	public static class FourthProperties {
+
+		private String message;
+
+		public String getMessage() {
+			return this.message;
+		}
+
+		public void setMessage(String message) {
+			this.message = message;
+		}
+
+	}
+
+	protected static class RefreshEventRecorder implements ApplicationListener<RefreshScopeRefreshedEvent> {
+
+		private final List<RefreshScopeRefreshedEvent> events = new ArrayList<>();
+
+		@Override
+		public void onApplicationEvent(RefreshScopeRefreshedEvent event) {
+			this.events.add(event);
+		}
+
+	}
+
+}
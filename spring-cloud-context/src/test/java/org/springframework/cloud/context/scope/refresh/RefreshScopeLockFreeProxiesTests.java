@@ -0,0 +1,161 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.context.scope.refresh;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeLockFreeProxiesTests.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+@SpringBootTest(classes = TestConfiguration.class, properties = "spring.cloud.refresh.lock-free-proxies=true")
+class RefreshScopeLockFreeProxiesTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	@Autowired
+	private Service service;
+
+	@Autowired
+	private TestProperties properties;
+
+	@Autowired
+	private org.springframework.cloud.context.scope.refresh.RefreshScope scope;
+
+	@AfterEach
+	void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	@DirtiesContext
+	void destroyWaitsForInFlightCallsWithoutBlockingNewCalls() throws Exception {
+		assertThat(this.service.getMessage()).isEqualTo("Hello scope!");
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		Future<String> inFlight = this.executor.submit(() -> this.service.getMessage(entered, proceed));
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+		this.properties.setMessage("Foo");
+		Future<?> refresh = this.executor.submit(() -> this.scope.refreshAll());
+
+		assertThatExceptionOfType(TimeoutException.class)
+			.isThrownBy(() -> refresh.get(200, TimeUnit.MILLISECONDS));
+		assertThat(this.service.getMessage()).isEqualTo("Foo");
+		proceed.countDown();
+		// the in-flight call completed before its instance was destroyed
+		assertThat(inFlight.get(5, TimeUnit.SECONDS)).isEqualTo("Hello scope!");
+		refresh.get(5, TimeUnit.SECONDS);
+		assertThat(this.service.getMessage()).isEqualTo("Foo");
+	}
+
+	@Test
+	@DirtiesContext
+	void refreshWithoutInFlightCalls() {
+		assertThat(this.service.getMessage()).isEqualTo("Hello scope!");
+		this.properties.setMessage("Foo");
+
+		this.scope.refreshAll();
+
+		assertThat(this.service.getMessage()).isEqualTo("Foo");
+	}
+
+	public interface Service {
+
+		String getMessage();
+
+		String getMessage(CountDownLatch entered, CountDownLatch proceed) throws InterruptedException;
+
+	}
+
+	public static class ExampleService implements Service, DisposableBean {
+
+		private volatile String message;
+
+		ExampleService(String message) {
+			this.message = message;
+		}
+
+		@Override
+		public String getMessage() {
+			return this.message;
+		}
+
+		@Override
+		public String getMessage(CountDownLatch entered, CountDownLatch proceed) throws InterruptedException {
+			entered.countDown();
+			proceed.await();
+			return this.message;
+		}
+
+		@Override
+		public void destroy() {
+			this.message = null;
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableConfigurationProperties(TestProperties.class)
+	@Import({ RefreshAutoConfiguration.class, PropertyPlaceholderAutoConfiguration.class })
+	protected static class TestConfiguration {
+
+		@Bean
+		@RefreshScope
+		public ExampleService service(TestProperties properties) {
+			return new ExampleService(properties.getMessage());
+		}
+
+	}
+
+	@ConfigurationProperties
+	protected static class TestProperties {
+
+		private String message = "Hello scope!";
+
+		public String getMessage() {
+			return this.message;
+		}
+
+		public void setMessage(String message) {
+			this.message = message;
+		}
+
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.endpoint.event;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link RefreshEventListener}.
+ */
+class RefreshEventListenerTests {
+
+	private final ContextRefresher refresher = mock(ContextRefresher.class);
+
+	private RefreshEventListener listener;
+
+	@AfterEach
+	void destroy() {
+		if (this.listener != null) {
+			this.listener.destroy();
+		}
+	}
+
+	@Test
+	void shouldIgnoreEventsBeforeApplicationIsReady() {
+		listener = new RefreshEventListener(refresher);
+
+		listener.onApplicationEvent(new RefreshEvent(this, null, "test"));
+
+		verify(refresher, never()).refresh();
+		assertThat(listener.getEventCount()).isZero();
+	}
+
+	@Test
+	void shouldRefreshSynchronouslyWithoutDebounce() {
+		listener = ready(new RefreshEventListener(refresher));
+
+		listener.onApplicationEvent(new RefreshEvent(this, null, "test"));
+		listener.onApplicationEvent(new RefreshEvent(this, null, "test"));
+
+		verify(refresher, times(2)).refresh();
+		assertThat(listener.getRefreshCount()).isEqualTo(2);
+		assertThat(listener.getCoalescedEventCount()).isZero();
+	}
+
+	@Test
+	void shouldCoalesceEventsWithinDebounceWindow() {
+		listener = ready(new RefreshEventListener(refresher, Duration.ofMillis(100)));
+
+		for (int i = 0; i < 5; i++) {
+			listener.onApplicationEvent(new RefreshEvent(this, null, "test"));
+		}
+
+		verify(refresher, after(500).times(1)).refresh();
+		assertThat(listener.getEventCount()).isEqualTo(5);
+		assertThat(listener.getCoalescedEventCount()).isEqualTo(4);
+		assertThat(listener.getRefreshCount()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldCoalesceEventsDuringRefreshIntoOneFollowUpRefresh() throws InterruptedException {
+		CountDownLatch refreshing = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		when(refresher.refresh()).then(invocation -> {
+			refreshing.countDown();
+			proceed.await();
+			return Set.of();
+		});
+		listener = ready(new RefreshEventListener(refresher, Duration.ZERO));
+
+		listener.onApplicationEvent(new RefreshEvent(this, null, "test"));
+		assertThat(refreshing.await(5, TimeUnit.SECONDS)).isTrue();
+		for (int i = 0; i < 3; i++) {
+			listener.onApplicationEvent(new RefreshEvent(this, null, "test"));
+		}
+		proceed.countDown();
+
+		verify(refresher, timeout(5000).times(2)).refresh();
+		verify(refresher, after(200).times(2)).refresh();
+		assertThat(listener.getCoalescedEventCount()).isEqualTo(2);
+	}
+
+	private RefreshEventListener ready(RefreshEventListener listener) {
+		listener.onApplicationEvent(mock(ApplicationReadyEvent.class));
+		return listener;
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.benchmark;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.core.ReactiveApiVersionServiceInstanceListSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Creates the service instances and requests shared by the benchmarks.
+ *
+ * @since 5.0.3
+ */
+final class BenchmarkServiceInstances {
+
+	static final String SERVICE_ID = "benchmark-service";
+
+	static final String ZONE = "zone-a";
+
+	static final String HINT = "hint-a";
+
+	static final String API_VERSION_HEADER = "X-API-Version";
+
+	private BenchmarkServiceInstances() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	/**
+	 * Creates instances spread across two zones, hints and API versions, with weights
+	 * from 1 to 3.
+	 * @param count the number of instances
+	 * @return the service instances
+	 */
+	static List<ServiceInstance> create(int count) {
+		List<ServiceInstance> instances = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Map<String, String> metadata = new HashMap<>();
+			metadata.put("zone", i % 2 == 0 ? ZONE : "zone-b");
+			metadata.put("hint", i % 2 == 0 ? HINT : "hint-b");
+			metadata.put(ReactiveApiVersionServiceInstanceListSupplier.API_VERSION, i % 2 == 0 ? "1.0" : "2.0");
+			metadata.put("weight", String.valueOf(i % 3 + 1));
+			instances.add(new DefaultServiceInstance(SERVICE_ID + "-" + i, SERVICE_ID, "host-" + i, 8080, false,
+					metadata));
+		}
+		return instances;
+	}
+
+	/**
+	 * Creates a request carrying a hint header, an API version header and a sticky
+	 * session cookie pointing to the given instance.
+	 * @param stickyInstance the instance referenced by the sticky session cookie
+	 * @return the load-balancer request
+	 */
+	static Request<RequestDataContext> request(ServiceInstance stickyInstance) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.add(new LoadBalancerProperties().getHintHeaderName(), HINT);
+		headers.add(API_VERSION_HEADER, "1.0");
+		MultiValueMap<String, String> cookies = new LinkedMultiValueMap<>();
+		cookies.add(LoadBalancerProperties.StickySession.DEFAULT_INSTANCE_ID_COOKIE_NAME,
+				stickyInstance.getInstanceId());
+		RequestData requestData = new RequestData(HttpMethod.GET, URI.create("http://" + SERVICE_ID + "/path"),
+				headers, cookies, new HashMap<>());
+		return new DefaultRequest<>(new RequestDataContext(requestData, HINT));
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.benchmark;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerMetadataCache;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerRequest;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.loadbalancer.blocking.client.BlockingLoadBalancerClient;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.SimpleObjectProvider;
+
+/**
+ * Measures {@link BlockingLoadBalancerClient#execute(String, LoadBalancerRequest)} end to
+ * end, including the {@link LoadBalancerLifecycle} callbacks.
+ *
+ * @since 5.0.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockingLoadBalancerClientBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	int instanceCount;
+
+	@Param({ "0", "2" })
+	int lifecycleProcessorCount;
+
+	private BlockingLoadBalancerClient client;
+
+	private final LoadBalancerRequest<ServiceInstance> loadBalancerRequest = instance -> instance;
+
+	@Setup
+	public void setUp() {
+		List<ServiceInstance> instances = BenchmarkServiceInstances.create(instanceCount);
+		RoundRobinLoadBalancer loadBalancer = new RoundRobinLoadBalancer(
+				new SimpleObjectProvider<>(new StaticServiceInstanceListSupplier(instances)),
+				BenchmarkServiceInstances.SERVICE_ID);
+		Map<String, LoadBalancerLifecycle> lifecycleProcessors = new HashMap<>();
+		for (int i = 0; i < lifecycleProcessorCount; i++) {
+			lifecycleProcessors.put("lifecycle-" + i, new NoOpLoadBalancerLifecycle());
+		}
+		LoadBalancerFactory factory = new LoadBalancerFactory(loadBalancer, lifecycleProcessors);
+		client = new BlockingLoadBalancerClient(factory, new LoadBalancerMetadataCache(factory));
+	}
+
+	@Benchmark
+	public ServiceInstance execute() throws IOException {
+		return client.execute(BenchmarkServiceInstances.SERVICE_ID, loadBalancerRequest);
+	}
+
+	private static final class LoadBalancerFactory implements ReactiveLoadBalancer.Factory<ServiceInstance> {
+
+		private final LoadBalancerProperties properties = new LoadBalancerProperties();
+
+		private final ReactiveLoadBalancer<ServiceInstance> loadBalancer;
+
+		private final Map<String, LoadBalancerLifecycle> lifecycleProcessors;
+
+		private LoadBalancerFactory(ReactiveLoadBalancer<ServiceInstance> loadBalancer,
+				Map<String, LoadBalancerLifecycle> lifecycleProcessors) {
+			this.loadBalancer = loadBalancer;
+			this.lifecycleProcessors = lifecycleProcessors;
+		}
+
+		@Override
+		public LoadBalancerProperties getProperties(String serviceId) {
+			return properties;
+		}
+
+		@Override
+		public ReactiveLoadBalancer<ServiceInstance> getInstance(String serviceId) {
+			return loadBalancer;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <X> Map<String, X> getInstances(String name, Class<X> type) {
+			return LoadBalancerLifecycle.class.equals(type) ? (Map<String, X>) lifecycleProcessors : Map.of();
+		}
+
+		@Override
+		public <X> X getInstance(String name, Class<?> clazz, Class<?>... generics) {
+			return null;
+		}
+
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static final class NoOpLoadBalancerLifecycle
+			implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+		@Override
+		public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+			return true;
+		}
+
+		@Override
+		public void onStart(Request<Object> request) {
+		}
+
+		@Override
+		public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+		}
+
+		@Override
+		public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		}
+
+	}
+
+}
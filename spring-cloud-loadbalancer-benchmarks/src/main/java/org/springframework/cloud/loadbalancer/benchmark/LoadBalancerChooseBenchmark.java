@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.RandomLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.SimpleObjectProvider;
+
+/**
+ * Measures selecting an instance with the {@link RoundRobinLoadBalancer} and the
+ * {@link RandomLoadBalancer}, both through the reactive {@code choose} and the
+ * synchronous {@code chooseFromSnapshot} paths.
+ *
+ * @since 5.0.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadBalancerChooseBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	int instanceCount;
+
+	@Param({ "roundRobin", "random" })
+	String algorithm;
+
+	private ReactorServiceInstanceLoadBalancer loadBalancer;
+
+	private Request<RequestDataContext> request;
+
+	@Setup
+	public void setUp() {
+		List<ServiceInstance> instances = BenchmarkServiceInstances.create(instanceCount);
+		ServiceInstanceListSupplier supplier = new StaticServiceInstanceListSupplier(instances);
+		SimpleObjectProvider<ServiceInstanceListSupplier> provider = new SimpleObjectProvider<>(supplier);
+		loadBalancer = switch (algorithm) {
+			case "roundRobin" -> new RoundRobinLoadBalancer(provider, BenchmarkServiceInstances.SERVICE_ID);
+			case "random" -> new RandomLoadBalancer(provider, BenchmarkServiceInstances.SERVICE_ID);
+			default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+		};
+		request = BenchmarkServiceInstances.request(instances.get(0));
+	}
+
+	@Benchmark
+	public Response<ServiceInstance> choose() {
+		return loadBalancer.choose(request).block();
+	}
+
+	@Benchmark
+	public Response<ServiceInstance> chooseFromSnapshot() {
+		return loadBalancer.chooseFromSnapshot(request);
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClientsProperties;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.cache.DefaultLoadBalancerCacheManager;
+import org.springframework.cloud.loadbalancer.cache.LoadBalancerCacheManager;
+import org.springframework.cloud.loadbalancer.cache.LoadBalancerCacheProperties;
+import org.springframework.cloud.loadbalancer.config.LoadBalancerZoneConfig;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplierBuilder;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Measures retrieving instances through a single {@link ServiceInstanceListSupplier}
+ * stage created by the {@link ServiceInstanceListSupplierBuilder}, on top of a supplier
+ * that always returns the same instances.
+ *
+ * @since 5.0.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceInstanceListSupplierBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	int instanceCount;
+
+	@Param({ "zone", "hints", "weighted", "subset", "sticky", "apiVersion", "caching" })
+	String stage;
+
+	private AnnotationConfigApplicationContext context;
+
+	private ServiceInstanceListSupplier supplier;
+
+	private Request<RequestDataContext> request;
+
+	@Setup
+	public void setUp() {
+		List<ServiceInstance> instances = BenchmarkServiceInstances.create(instanceCount);
+		LoadBalancerClientsProperties properties = new LoadBalancerClientsProperties();
+		properties.getApiVersion().setHeader(BenchmarkServiceInstances.API_VERSION_HEADER);
+		properties.getSubset().setInstanceId("benchmark-client");
+		context = new AnnotationConfigApplicationContext();
+		context.registerBean(LoadBalancerClientFactory.class, () -> new LoadBalancerClientFactory(properties));
+		context.registerBean(LoadBalancerZoneConfig.class,
+				() -> new LoadBalancerZoneConfig(BenchmarkServiceInstances.ZONE));
+		context.registerBean(LoadBalancerCacheManager.class,
+				() -> new DefaultLoadBalancerCacheManager(new LoadBalancerCacheProperties()));
+		context.refresh();
+		ServiceInstanceListSupplierBuilder builder = ServiceInstanceListSupplier.builder()
+			.withBase(new StaticServiceInstanceListSupplier(instances));
+		switch (stage) {
+			case "zone" -> builder.withZonePreference();
+			case "hints" -> builder.withHints();
+			case "weighted" -> builder.withWeighted();
+			case "subset" -> builder.withSubset();
+			case "sticky" -> builder.withRequestBasedStickySession();
+			case "apiVersion" -> builder.withReactiveApiVersioning();
+			case "caching" -> builder.withCaching();
+			default -> throw new IllegalArgumentException("Unknown stage: " + stage);
+		}
+		supplier = builder.build(context);
+		request = BenchmarkServiceInstances.request(instances.get(instances.size() / 2));
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<ServiceInstance> get() {
+		return supplier.get(request).blockFirst();
+	}
+
+}
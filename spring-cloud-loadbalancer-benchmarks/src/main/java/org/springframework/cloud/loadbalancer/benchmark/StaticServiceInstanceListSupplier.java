@@ -0,0 +1,60 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.benchmark;
+
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+/**
+ * A {@link ServiceInstanceListSupplier} that always returns the same instances, so that
+ * the benchmarks do not measure instance retrieval.
+ *
+ * @since 5.0.3
+ */
+class StaticServiceInstanceListSupplier implements ServiceInstanceListSupplier {
+
+	private final List<ServiceInstance> instances;
+
+	private final Flux<List<ServiceInstance>> serviceInstances;
+
+	StaticServiceInstanceListSupplier(List<ServiceInstance> instances) {
+		this.instances = instances;
+		this.serviceInstances = Flux.just(instances);
+	}
+
+	@Override
+	public String getServiceId() {
+		return BenchmarkServiceInstances.SERVICE_ID;
+	}
+
+	@Override
+	public Flux<List<ServiceInstance>> get() {
+		return serviceInstances;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public List<ServiceInstance> getSnapshot(Request request) {
+		return instances;
+	}
+
+}
@@ -30,6 +30,11 @@ import org.springframework.cloud.client.ConditionalOnReactiveDiscoveryEnabled;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.loadbalancer.core.ConsistentHashLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.PeakEwmaLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.PowerOfTwoChoicesLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RandomLoadBalancer;
 import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
 import org.springframework.cloud.loadbalancer.core.RetryAwareServiceInstanceListSupplier;
 import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
@@ -70,6 +75,7 @@ public class LoadBalancerClientConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
+	@Conditional(RoundRobinAlgorithmCondition.class)
 	public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(Environment environment,
 			LoadBalancerClientFactory loadBalancerClientFactory) {
 		String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
@@ -77,6 +83,48 @@ public class LoadBalancerClientConfiguration {
 				loadBalancerClientFactory.getLazyProvider(name, ServiceInstanceListSupplier.class), name);
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	@Conditional(RandomAlgorithmCondition.class)
+	public ReactorLoadBalancer<ServiceInstance> randomReactorServiceInstanceLoadBalancer(Environment environment,
+			LoadBalancerClientFactory loadBalancerClientFactory) {
+		String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		return new RandomLoadBalancer(
+				loadBalancerClientFactory.getLazyProvider(name, ServiceInstanceListSupplier.class), name);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@Conditional(PowerOfTwoChoicesAlgorithmCondition.class)
+	public ReactorLoadBalancer<ServiceInstance> powerOfTwoChoicesReactorServiceInstanceLoadBalancer(
+			Environment environment, LoadBalancerClientFactory loadBalancerClientFactory) {
+		String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		return new PowerOfTwoChoicesLoadBalancer(
+				loadBalancerClientFactory.getLazyProvider(name, ServiceInstanceListSupplier.class), name);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@Conditional(PeakEwmaAlgorithmCondition.class)
+	public ReactorLoadBalancer<ServiceInstance> peakEwmaReactorServiceInstanceLoadBalancer(Environment environment,
+			LoadBalancerClientFactory loadBalancerClientFactory) {
+		String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		return new PeakEwmaLoadBalancer(
+				loadBalancerClientFactory.getLazyProvider(name, ServiceInstanceListSupplier.class), name);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@Conditional(ConsistentHashAlgorithmCondition.class)
+	public ReactorLoadBalancer<ServiceInstance> consistentHashReactorServiceInstanceLoadBalancer(
+			Environment environment, LoadBalancerClientFactory loadBalancerClientFactory) {
+		String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		LoadBalancerProperties properties = loadBalancerClientFactory.getProperties(name);
+		return new ConsistentHashLoadBalancer(
+				loadBalancerClientFactory.getLazyProvider(name, ServiceInstanceListSupplier.class), name,
+				properties != null ? properties.getConsistentHash() : new LoadBalancerProperties.ConsistentHash());
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	public ApiVersionParser<?> loadBalancerApiVersionParser() {
@@ -390,6 +438,56 @@ public class LoadBalancerClientConfiguration {
 
 	}
 
+	static class RoundRobinAlgorithmCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			return LoadBalancerEnvironmentPropertyUtils.equalToOrMissingForClientOrDefault(context.getEnvironment(),
+					"algorithm", "round-robin");
+		}
+
+	}
+
+	static class RandomAlgorithmCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			return LoadBalancerEnvironmentPropertyUtils.equalToForClientOrDefault(context.getEnvironment(),
+					"algorithm", "random");
+		}
+
+	}
+
+	static class PowerOfTwoChoicesAlgorithmCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			return LoadBalancerEnvironmentPropertyUtils.equalToForClientOrDefault(context.getEnvironment(),
+					"algorithm", "power-of-two-choices");
+		}
+
+	}
+
+	static class PeakEwmaAlgorithmCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			return LoadBalancerEnvironmentPropertyUtils.equalToForClientOrDefault(context.getEnvironment(),
+					"algorithm", "peak-ewma");
+		}
+
+	}
+
+	static class ConsistentHashAlgorithmCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			return LoadBalancerEnvironmentPropertyUtils.equalToForClientOrDefault(context.getEnvironment(),
+					"algorithm", "consistent-hash");
+		}
+
+	}
+
 	static class DefaultConfigurationCondition implements Condition {
 
 		@Override
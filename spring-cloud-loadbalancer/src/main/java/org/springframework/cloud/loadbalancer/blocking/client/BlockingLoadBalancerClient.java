@@ -31,8 +31,8 @@ import org.springframework.cloud.client.loadbalancer.EmptyResponse;
 import org.springframework.cloud.client.loadbalancer.HttpRequestLoadBalancerRequest;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
-import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycleValidator;
-import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerMetadataCache;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerMetadataCache.LifecycleTypes;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerRequest;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerRequestAdapter;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
@@ -43,6 +43,7 @@ import org.springframework.cloud.client.loadbalancer.Response;
 import org.springframework.cloud.client.loadbalancer.ResponseData;
 import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
 import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.util.ReflectionUtils;
@@ -58,15 +59,32 @@ import static org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoa
 @SuppressWarnings({ "unchecked", "rawtypes" })
 public class BlockingLoadBalancerClient implements LoadBalancerClient {
 
+	private static final LifecycleTypes LIFECYCLE_TYPES = new LifecycleTypes(DefaultRequestContext.class,
+			Object.class, ServiceInstance.class);
+
 	private final ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerClientFactory;
 
+	private final LoadBalancerMetadataCache metadataCache;
+
 	public BlockingLoadBalancerClient(ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerClientFactory) {
+		this(loadBalancerClientFactory, LoadBalancerMetadataCache.nonCaching(loadBalancerClientFactory));
+	}
+
+	/**
+	 * @param loadBalancerClientFactory the factory used to access the load balancers
+	 * @param metadataCache the cache used to resolve per-service properties, hints and
+	 * lifecycle beans
+	 * @since 5.0.3
+	 */
+	public BlockingLoadBalancerClient(ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerClientFactory,
+			LoadBalancerMetadataCache metadataCache) {
 		this.loadBalancerClientFactory = loadBalancerClientFactory;
+		this.metadataCache = metadataCache;
 	}
 
 	@Override
 	public <T> T execute(String serviceId, LoadBalancerRequest<T> request) throws IOException {
-		String hint = getHint(serviceId);
+		String hint = metadataCache.getHint(serviceId);
 		LoadBalancerRequestAdapter<T, TimedRequestContext> lbRequest = new LoadBalancerRequestAdapter<>(request,
 				buildRequestContext(request, hint));
 		Set<LoadBalancerLifecycle> supportedLifecycleProcessors = getSupportedLifecycleProcessors(serviceId);
@@ -139,9 +157,7 @@ public class BlockingLoadBalancerClient implements LoadBalancerClient {
 	}
 
 	private Set<LoadBalancerLifecycle> getSupportedLifecycleProcessors(String serviceId) {
-		return LoadBalancerLifecycleValidator.getSupportedLifecycleProcessors(
-				loadBalancerClientFactory.getInstances(serviceId, LoadBalancerLifecycle.class),
-				DefaultRequestContext.class, Object.class, ServiceInstance.class);
+		return metadataCache.getSupportedLifecycleProcessors(serviceId, LIFECYCLE_TYPES);
 	}
 
 	@Override
@@ -160,18 +176,19 @@ public class BlockingLoadBalancerClient implements LoadBalancerClient {
 		if (loadBalancer == null) {
 			return null;
 		}
-		Response<ServiceInstance> loadBalancerResponse = Mono.from(loadBalancer.choose(request)).block();
+		Response<ServiceInstance> loadBalancerResponse = null;
+		if (loadBalancer instanceof ReactorServiceInstanceLoadBalancer reactorLoadBalancer) {
+			// avoid assembling and blocking on a Reactor pipeline if the instances are
+			// already available
+			loadBalancerResponse = reactorLoadBalancer.chooseFromSnapshot(request);
+		}
+		if (loadBalancerResponse == null) {
+			loadBalancerResponse = Mono.from(loadBalancer.choose(request)).block();
+		}
 		if (loadBalancerResponse == null) {
 			return null;
 		}
 		return loadBalancerResponse.getServer();
 	}
 
-	private String getHint(String serviceId) {
-		LoadBalancerProperties properties = loadBalancerClientFactory.getProperties(serviceId);
-		String defaultHint = properties.getHint().getOrDefault("default", "default");
-		String hintPropertyValue = properties.getHint().get(serviceId);
-		return hintPropertyValue != null ? hintPropertyValue : defaultHint;
-	}
-
 }
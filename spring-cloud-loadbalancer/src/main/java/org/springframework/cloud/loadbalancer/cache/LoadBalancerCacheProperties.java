@@ -18,6 +18,8 @@ package org.springframework.cloud.loadbalancer.cache;
 
 import java.time.Duration;
 
+import org.jspecify.annotations.Nullable;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -46,6 +48,27 @@ public class LoadBalancerCacheProperties {
 	 */
 	private int capacity = 256;
 
+	/**
+	 * Whether the previously retrieved instances should be returned after the cache
+	 * entry has expired, while the instances are being refreshed in the background.
+	 */
+	private boolean staleWhileRevalidate;
+
+	/**
+	 * Time counted from writing of the record, after which the cached instances are
+	 * refreshed in the background on the next access, expressed as a {@link Duration}.
+	 * Should be shorter than the TTL. Not set by default, in which case the instances are
+	 * only retrieved once the cache entry has expired.
+	 */
+	private @Nullable Duration refreshAfterWrite;
+
+	/**
+	 * Maximum time to wait for the delegate to retrieve the instances, expressed as a
+	 * {@link Duration}. A retrieval that takes longer fails, so that the next cache miss
+	 * starts a new one instead of waiting for a stuck one.
+	 */
+	private Duration retrievalTimeout = Duration.ofSeconds(30);
+
 	public Caffeine getCaffeine() {
 		return caffeine;
 	}
@@ -70,6 +93,30 @@ public class LoadBalancerCacheProperties {
 		this.capacity = capacity;
 	}
 
+	public boolean isStaleWhileRevalidate() {
+		return staleWhileRevalidate;
+	}
+
+	public void setStaleWhileRevalidate(boolean staleWhileRevalidate) {
+		this.staleWhileRevalidate = staleWhileRevalidate;
+	}
+
+	public @Nullable Duration getRefreshAfterWrite() {
+		return refreshAfterWrite;
+	}
+
+	public void setRefreshAfterWrite(@Nullable Duration refreshAfterWrite) {
+		this.refreshAfterWrite = refreshAfterWrite;
+	}
+
+	public Duration getRetrievalTimeout() {
+		return retrievalTimeout;
+	}
+
+	public void setRetrievalTimeout(Duration retrievalTimeout) {
+		this.retrievalTimeout = retrievalTimeout;
+	}
+
 	/**
 	 * Caffeine-specific LoadBalancer cache properties. NOTE: Passing your own Caffeine
 	 * specification will override any other LoadBalancerCache settings, including TTL.
@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.loadbalancer.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -28,6 +29,7 @@ import org.springframework.cloud.client.loadbalancer.BlockingRestClassesPresentC
 import org.springframework.cloud.client.loadbalancer.LoadBalancedRetryFactory;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerClientsProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerMetadataCache;
 import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
 import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.cloud.loadbalancer.blocking.XForwardedHeadersTransformer;
@@ -58,8 +60,10 @@ public class BlockingLoadBalancerClientAutoConfiguration {
 	@Bean
 	@ConditionalOnBean(LoadBalancerClientFactory.class)
 	@ConditionalOnMissingBean
-	public LoadBalancerClient blockingLoadBalancerClient(LoadBalancerClientFactory loadBalancerClientFactory) {
-		return new BlockingLoadBalancerClient(loadBalancerClientFactory);
+	public LoadBalancerClient blockingLoadBalancerClient(LoadBalancerClientFactory loadBalancerClientFactory,
+			ObjectProvider<LoadBalancerMetadataCache> metadataCache) {
+		return new BlockingLoadBalancerClient(loadBalancerClientFactory,
+				metadataCache.getIfAvailable(() -> LoadBalancerMetadataCache.nonCaching(loadBalancerClientFactory)));
 	}
 
 	@Bean
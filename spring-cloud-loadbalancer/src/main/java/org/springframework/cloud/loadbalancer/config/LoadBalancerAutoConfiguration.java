@@ -26,6 +26,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerClientsProperties;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerEagerLoadProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerMetadataCache;
 import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancerBeanPostProcessorAutoConfiguration;
 import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerClientAutoConfiguration;
 import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClientSpecification;
@@ -33,6 +34,7 @@ import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.cloud.loadbalancer.aot.LoadBalancerChildContextInitializer;
 import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
 import org.springframework.cloud.loadbalancer.support.LoadBalancerEagerContextInitializer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerMetadataCacheInvalidator;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -65,6 +67,18 @@ public class LoadBalancerAutoConfiguration {
 		return clientFactory;
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	public LoadBalancerMetadataCache loadBalancerMetadataCache(LoadBalancerClientFactory clientFactory) {
+		return new LoadBalancerMetadataCache(clientFactory);
+	}
+
+	@Bean
+	public LoadBalancerMetadataCacheInvalidator loadBalancerMetadataCacheInvalidator(
+			LoadBalancerMetadataCache metadataCache) {
+		return new LoadBalancerMetadataCacheInvalidator(metadataCache);
+	}
+
 	@Bean
 	public LoadBalancerEagerContextInitializer loadBalancerEagerContextInitializer(
 			LoadBalancerClientFactory clientFactory, LoadBalancerEagerLoadProperties properties) {
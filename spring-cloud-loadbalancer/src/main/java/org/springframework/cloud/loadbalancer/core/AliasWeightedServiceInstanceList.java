@@ -0,0 +1,138 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.util.AbstractList;
+import java.util.List;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * A {@link WeightedServiceInstances} implementation that samples weighted
+ * {@link ServiceInstance} objects using Vose's alias method. The list holds each instance
+ * once, and only a probability threshold and an alias are kept per instance, so that
+ * memory use does not depend on the weights and each {@link #pick(int) pick} is
+ * {@code O(1)}.
+ * <p>
+ * A position is split into a column, which selects an instance, and a round, which is
+ * turned into a coin toss deciding between that instance and its alias. Rounds are
+ * bit-reversed, so that consecutive positions, as used by round-robin selection, spread
+ * the coin tosses evenly instead of exhausting each column sequentially.
+ *
+ * @see WeightedServiceInstanceListSupplier
+ */
+class AliasWeightedServiceInstanceList extends AbstractList<ServiceInstance> implements WeightedServiceInstances {
+
+	private static final int ROUND_BITS = 16;
+
+	private static final int ROUNDS = 1 << ROUND_BITS;
+
+	private final ServiceInstance[] instances;
+
+	private final int[] weights;
+
+	/* for testing */ final int[] thresholds;
+
+	/* for testing */ final int[] aliases;
+
+	AliasWeightedServiceInstanceList(List<ServiceInstance> instances, int[] weights) {
+		int count = instances.size();
+		this.instances = instances.toArray(new ServiceInstance[0]);
+		this.weights = weights.clone();
+		this.thresholds = new int[count];
+		this.aliases = new int[count];
+		buildAliasTable(weights);
+	}
+
+	private void buildAliasTable(int[] weights) {
+		int count = weights.length;
+		long total = 0;
+		for (int weight : weights) {
+			total += weight;
+		}
+		// probabilities are scaled by count * total, so that the average column holds
+		// exactly `total`, which keeps the partitioning in exact integer arithmetic
+		long[] scaled = new long[count];
+		int[] small = new int[count];
+		int[] large = new int[count];
+		int smallSize = 0;
+		int largeSize = 0;
+		for (int i = 0; i < count; i++) {
+			scaled[i] = (long) weights[i] * count;
+			if (scaled[i] < total) {
+				small[smallSize++] = i;
+			}
+			else {
+				large[largeSize++] = i;
+			}
+		}
+		while (smallSize > 0 && largeSize > 0) {
+			int less = small[--smallSize];
+			int more = large[--largeSize];
+			thresholds[less] = (int) Math.round((double) scaled[less] / total * ROUNDS);
+			aliases[less] = more;
+			scaled[more] -= total - scaled[less];
+			if (scaled[more] < total) {
+				small[smallSize++] = more;
+			}
+			else {
+				large[largeSize++] = more;
+			}
+		}
+		while (largeSize > 0) {
+			int column = large[--largeSize];
+			thresholds[column] = ROUNDS;
+			aliases[column] = column;
+		}
+		while (smallSize > 0) {
+			// only reachable through rounding, the column is effectively full
+			int column = small[--smallSize];
+			thresholds[column] = ROUNDS;
+			aliases[column] = column;
+		}
+	}
+
+	@Override
+	public ServiceInstance pick(int position) {
+		if (position < 0) {
+			throw new IllegalArgumentException("Position must not be negative: " + position);
+		}
+		int column = position % instances.length;
+		int round = (position / instances.length) & (ROUNDS - 1);
+		int coin = Integer.reverse(round) >>> (Integer.SIZE - ROUND_BITS);
+		return coin < thresholds[column] ? instances[column] : instances[aliases[column]];
+	}
+
+	@Override
+	public ServiceInstance get(int index) {
+		return instances[index];
+	}
+
+	@Override
+	public int size() {
+		return instances.length;
+	}
+
+	/**
+	 * @param index the index of an instance
+	 * @return the weight of the instance the list has been built with
+	 */
+	int getWeight(int index) {
+		return weights[index];
+	}
+
+}
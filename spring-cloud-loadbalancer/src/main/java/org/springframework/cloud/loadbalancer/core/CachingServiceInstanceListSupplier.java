@@ -16,22 +16,36 @@
 
 package org.springframework.cloud.loadbalancer.core;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import reactor.cache.CacheFlux;
+import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.cache.LoadBalancerCacheProperties;
 
 /**
  * A {@link ServiceInstanceListSupplier} implementation that tries retrieving
  * {@link ServiceInstance} objects from cache; if none found, retrieves instances using
- * {@link DiscoveryClientServiceInstanceListSupplier}.
+ * {@link DiscoveryClientServiceInstanceListSupplier}. Concurrent cache misses share a
+ * single subscription to the delegate, which fails if the delegate does not emit within
+ * the configured retrieval timeout. If stale-while-revalidate is enabled, once the
+ * cached instances have expired, the previously retrieved instances are returned while
+ * they are being refreshed in the background. If refresh-after-write is set, the
+ * instances are refreshed in the background on the first access after that time has
+ * passed since they were cached, so that requests do not wait for the retrieval once the
+ * cache entry expires.
  *
  * @author Spencer Gibb
  * @author Olga Maciaszek-Sharma
@@ -47,38 +61,43 @@ public class CachingServiceInstanceListSupplier extends DelegatingServiceInstanc
 	public static final String SERVICE_INSTANCE_CACHE_NAME = CachingServiceInstanceListSupplier.class.getSimpleName()
 			+ "Cache";
 
+	private final CacheManager cacheManager;
+
+	private final boolean staleWhileRevalidate;
+
+	private final long refreshAfterWriteMillis;
+
+	private final Duration retrievalTimeout;
+
+	private final Clock clock;
+
 	private final Flux<List<ServiceInstance>> serviceInstances;
 
-	@SuppressWarnings("unchecked")
+	private final AtomicReference<@Nullable Mono<List<ServiceInstance>>> inFlightRetrieval = new AtomicReference<>();
+
+	private volatile @Nullable List<ServiceInstance> lastInstances;
+
+	private volatile long lastWriteTime;
+
 	public CachingServiceInstanceListSupplier(ServiceInstanceListSupplier delegate, CacheManager cacheManager) {
+		this(delegate, cacheManager, new LoadBalancerCacheProperties());
+	}
+
+	public CachingServiceInstanceListSupplier(ServiceInstanceListSupplier delegate, CacheManager cacheManager,
+			LoadBalancerCacheProperties cacheProperties) {
+		this(delegate, cacheManager, cacheProperties, Clock.systemUTC());
+	}
+
+	CachingServiceInstanceListSupplier(ServiceInstanceListSupplier delegate, CacheManager cacheManager,
+			LoadBalancerCacheProperties cacheProperties, Clock clock) {
 		super(delegate);
-		this.serviceInstances = CacheFlux.lookup(key -> {
-			// TODO: configurable cache name
-			Cache cache = cacheManager.getCache(SERVICE_INSTANCE_CACHE_NAME);
-			if (cache == null) {
-				if (log.isErrorEnabled()) {
-					log.error("Unable to find cache: " + SERVICE_INSTANCE_CACHE_NAME);
-				}
-				return Mono.empty();
-			}
-			List<ServiceInstance> list = cache.get(key, List.class);
-			if (list == null || list.isEmpty()) {
-				return Mono.empty();
-			}
-			return Flux.just(list).materialize().collectList();
-		}, delegate.getServiceId())
-			.onCacheMissResume(delegate.get().take(1))
-			.andWriteWith((key, signals) -> Flux.fromIterable(signals).dematerialize().doOnNext(instances -> {
-				Cache cache = cacheManager.getCache(SERVICE_INSTANCE_CACHE_NAME);
-				if (cache == null) {
-					if (log.isErrorEnabled()) {
-						log.error("Unable to find cache for writing: " + SERVICE_INSTANCE_CACHE_NAME);
-					}
-				}
-				else {
-					cache.put(key, instances);
-				}
-			}).then());
+		this.cacheManager = cacheManager;
+		this.staleWhileRevalidate = cacheProperties.isStaleWhileRevalidate();
+		Duration refreshAfterWrite = cacheProperties.getRefreshAfterWrite();
+		this.refreshAfterWriteMillis = refreshAfterWrite != null ? refreshAfterWrite.toMillis() : -1;
+		this.retrievalTimeout = cacheProperties.getRetrievalTimeout();
+		this.clock = clock;
+		this.serviceInstances = Flux.defer(this::lookup);
 	}
 
 	@Override
@@ -86,4 +105,110 @@ public class CachingServiceInstanceListSupplier extends DelegatingServiceInstanc
 		return serviceInstances;
 	}
 
+	@SuppressWarnings("rawtypes")
+	@Override
+	public @Nullable List<ServiceInstance> getSnapshot(Request request) {
+		List<ServiceInstance> cachedInstances = getCachedInstances(false);
+		if (cachedInstances != null) {
+			refreshAheadIfDue();
+		}
+		return cachedInstances;
+	}
+
+	private Flux<List<ServiceInstance>> lookup() {
+		List<ServiceInstance> cachedInstances = getCachedInstances(true);
+		if (cachedInstances != null) {
+			refreshAheadIfDue();
+			return Flux.just(cachedInstances);
+		}
+		List<ServiceInstance> staleInstances = lastInstances;
+		if (staleWhileRevalidate && staleInstances != null) {
+			refreshInBackground();
+			return Flux.just(staleInstances);
+		}
+		return retrieveInstances(false).flux();
+	}
+
+	private void refreshAheadIfDue() {
+		if (refreshAfterWriteMillis >= 0 && clock.millis() - lastWriteTime >= refreshAfterWriteMillis
+				&& inFlightRetrieval.get() == null) {
+			refreshInBackground();
+		}
+	}
+
+	private void refreshInBackground() {
+		retrieveInstances(true).subscribe(instances -> {
+		}, error -> {
+			if (log.isWarnEnabled()) {
+				log.warn("Unable to refresh instances for service " + getServiceId(), error);
+			}
+		});
+	}
+
+	/**
+	 * Subscribes to the delegate, unless a retrieval is already in progress, in which
+	 * case the in-flight one is shared. The retrieval is not cancelled when the callers
+	 * cancel, so that its result can still be cached, but it is cancelled and released
+	 * once the retrieval timeout has passed.
+	 */
+	private Mono<List<ServiceInstance>> retrieveInstances(boolean inBackground) {
+		while (true) {
+			Mono<List<ServiceInstance>> inFlight = inFlightRetrieval.get();
+			if (inFlight != null) {
+				return inFlight;
+			}
+			Sinks.One<List<ServiceInstance>> sink = Sinks.one();
+			Mono<List<ServiceInstance>> retrieval = sink.asMono();
+			if (inFlightRetrieval.compareAndSet(null, retrieval)) {
+				// background refreshes do not run on the request thread, even if the
+				// delegate retrieves instances synchronously
+				Flux<List<ServiceInstance>> source = inBackground
+						? delegate.get().subscribeOn(Schedulers.boundedElastic()) : delegate.get();
+				source.next().timeout(retrievalTimeout).subscribe(instances -> {
+					putInCache(instances);
+					inFlightRetrieval.compareAndSet(retrieval, null);
+					sink.tryEmitValue(instances);
+				}, error -> {
+					inFlightRetrieval.compareAndSet(retrieval, null);
+					sink.tryEmitError(error);
+				}, () -> {
+					inFlightRetrieval.compareAndSet(retrieval, null);
+					sink.tryEmitEmpty();
+				});
+				return retrieval;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private @Nullable List<ServiceInstance> getCachedInstances(boolean logMissingCache) {
+		// TODO: configurable cache name
+		Cache cache = cacheManager.getCache(SERVICE_INSTANCE_CACHE_NAME);
+		if (cache == null) {
+			if (logMissingCache && log.isErrorEnabled()) {
+				log.error("Unable to find cache: " + SERVICE_INSTANCE_CACHE_NAME);
+			}
+			return null;
+		}
+		List<ServiceInstance> list = cache.get(getServiceId(), List.class);
+		if (list == null || list.isEmpty()) {
+			return null;
+		}
+		return list;
+	}
+
+	private void putInCache(List<ServiceInstance> instances) {
+		lastInstances = instances;
+		lastWriteTime = clock.millis();
+		Cache cache = cacheManager.getCache(SERVICE_INSTANCE_CACHE_NAME);
+		if (cache == null) {
+			if (log.isErrorEnabled()) {
+				log.error("Unable to find cache for writing: " + SERVICE_INSTANCE_CACHE_NAME);
+			}
+		}
+		else {
+			cache.put(getServiceId(), instances);
+		}
+	}
+
 }
@@ -0,0 +1,498 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Mono;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.HintRequestContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * A consistent-hash-based implementation of {@link ReactorServiceInstanceLoadBalancer}.
+ * A hash key is read from the request (a header, a cookie, a path segment or the hint,
+ * in that order, as configured in {@link LoadBalancerProperties.ConsistentHash}) and
+ * mapped onto either a hash ring or a Maglev lookup table built from the available
+ * instances, so that requests with the same key are routed to the same instance and
+ * only a minimal share of keys is remapped when instances are added or removed.
+ * <p>
+ * The lookup structure is keyed by instance id (falling back to {@code host:port}) and
+ * is only updated when the set of instances changes; a reordered list or refreshed
+ * instance objects only remap table entries onto the new list. When instances join or
+ * leave, the hash ring only adds or removes the points of those instances, whereas the
+ * Maglev table is repopulated. Requests without a hash key are routed to a random
+ * instance.
+ *
+ * @since 5.0.3
+ */
+public class ConsistentHashLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+	private static final Log log = LogFactory.getLog(ConsistentHashLoadBalancer.class);
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	private final String serviceId;
+
+	private final SingletonSupplier<ServiceInstanceListSupplier> serviceInstanceListSingletonSupplier;
+
+	private final LoadBalancerProperties.ConsistentHash properties;
+
+	private volatile @Nullable Binding binding;
+
+	/**
+	 * @param serviceInstanceListSupplierProvider a provider of
+	 * {@link ServiceInstanceListSupplier} that will be used to get available instances
+	 * @param serviceId id of the service for which to choose an instance
+	 * @param properties consistent-hash configuration
+	 */
+	public ConsistentHashLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+			String serviceId, LoadBalancerProperties.ConsistentHash properties) {
+		this.serviceId = serviceId;
+		this.properties = properties;
+		this.serviceInstanceListSingletonSupplier = SingletonSupplier
+			.of(() -> serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Mono<Response<ServiceInstance>> choose(Request request) {
+		ServiceInstanceListSupplier supplier = serviceInstanceListSingletonSupplier.obtain();
+		String hashKey = getHashKey(request);
+		return supplier.get(request)
+			.next()
+			.map(serviceInstances -> processInstanceResponse(supplier, serviceInstances, hashKey));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public @Nullable Response<ServiceInstance> chooseFromSnapshot(Request request) {
+		ServiceInstanceListSupplier supplier = serviceInstanceListSingletonSupplier.obtain();
+		List<ServiceInstance> serviceInstances = supplier.getSnapshot(request);
+		return serviceInstances != null
+				? processInstanceResponse(supplier, serviceInstances, getHashKey(request)) : null;
+	}
+
+	@SuppressWarnings("NullAway") // guarded by hasServer()
+	private Response<ServiceInstance> processInstanceResponse(ServiceInstanceListSupplier supplier,
+			List<ServiceInstance> serviceInstances, @Nullable String hashKey) {
+		Response<ServiceInstance> serviceInstanceResponse = getInstanceResponse(serviceInstances, hashKey);
+		if (supplier instanceof SelectedInstanceCallback && serviceInstanceResponse.hasServer()) {
+			((SelectedInstanceCallback) supplier).selectedServiceInstance(serviceInstanceResponse.getServer());
+		}
+		return serviceInstanceResponse;
+	}
+
+	private Response<ServiceInstance> getInstanceResponse(List<ServiceInstance> instances, @Nullable String hashKey) {
+		if (instances.isEmpty()) {
+			if (log.isWarnEnabled()) {
+				log.warn("No servers available for service: " + serviceId);
+			}
+			return new EmptyResponse();
+		}
+		if (instances.size() == 1) {
+			return new DefaultResponse(instances.get(0));
+		}
+		if (hashKey == null) {
+			if (log.isDebugEnabled()) {
+				log.debug("No hash key found in request. Choosing a random instance for service: " + serviceId);
+			}
+			return new DefaultResponse(instances.get(ThreadLocalRandom.current().nextInt(instances.size())));
+		}
+		Binding current = getBinding(instances);
+		return new DefaultResponse(instances.get(current.positions()[current.table().lookup(hash(hashKey))]));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Nullable String getHashKey(Request request) {
+		Object context = request.getContext();
+		if (context instanceof RequestDataContext) {
+			RequestData clientRequest = ((RequestDataContext) context).getClientRequest();
+			if (clientRequest != null) {
+				String hashKey = getHashKey(clientRequest);
+				if (hashKey != null) {
+					return hashKey;
+				}
+			}
+		}
+		if (properties.isUseHint() && context instanceof HintRequestContext) {
+			String hint = ((HintRequestContext) context).getHint();
+			if (!hint.isEmpty() && !"default".equals(hint)) {
+				return hint;
+			}
+		}
+		return null;
+	}
+
+	private @Nullable String getHashKey(RequestData clientRequest) {
+		String header = properties.getHeader();
+		HttpHeaders headers = clientRequest.getHeaders();
+		if (header != null && headers != null) {
+			String value = headers.getFirst(header);
+			if (value != null) {
+				return value;
+			}
+		}
+		String cookie = properties.getCookie();
+		MultiValueMap<String, String> cookies = clientRequest.getCookies();
+		if (cookie != null && cookies != null) {
+			String value = cookies.getFirst(cookie);
+			if (value != null) {
+				return value;
+			}
+		}
+		Integer pathSegment = properties.getPathSegment();
+		if (pathSegment != null) {
+			return getPathSegment(clientRequest.getUrl().getRawPath(), pathSegment);
+		}
+		return null;
+	}
+
+	private static @Nullable String getPathSegment(@Nullable String path, int index) {
+		if (path == null) {
+			return null;
+		}
+		int segment = -1;
+		int start = 0;
+		for (int i = 0; i <= path.length(); i++) {
+			if (i == path.length() || path.charAt(i) == '/') {
+				if (i > start) {
+					segment++;
+					if (segment == index) {
+						return path.substring(start, i);
+					}
+				}
+				start = i + 1;
+			}
+		}
+		return null;
+	}
+
+	private Binding getBinding(List<ServiceInstance> instances) {
+		Binding current = binding;
+		if (current != null && current.instances() == instances) {
+			return current;
+		}
+		// distinct node keys, mapped to the position of their first occurrence
+		Map<String, Integer> positionsByKey = new LinkedHashMap<>();
+		for (int i = 0; i < instances.size(); i++) {
+			positionsByKey.putIfAbsent(nodeKey(instances.get(i)), i);
+		}
+		HashTable table = current != null ? current.table() : null;
+		if (table == null || !table.hasSameMembers(positionsByKey.keySet())) {
+			String[] nodeKeys = positionsByKey.keySet().toArray(new String[0]);
+			table = properties.getTable() == LoadBalancerProperties.ConsistentHash.Table.MAGLEV
+					? MaglevTable.build(nodeKeys, properties.getMaglevTableSize())
+					: RingTable.build(nodeKeys, properties.getVirtualNodes(),
+							table instanceof RingTable ringTable ? ringTable : null);
+			if (log.isDebugEnabled()) {
+				log.debug("Updated consistent-hash table for service: " + serviceId + " with " + nodeKeys.length
+						+ " instances.");
+			}
+		}
+		int[] positions = new int[table.size()];
+		for (Map.Entry<String, Integer> entry : positionsByKey.entrySet()) {
+			positions[table.indexOf(entry.getKey())] = entry.getValue();
+		}
+		Binding updated = new Binding(table, instances, positions);
+		binding = updated;
+		return updated;
+	}
+
+	static String nodeKey(ServiceInstance instance) {
+		String instanceId = instance.getInstanceId();
+		return instanceId != null ? instanceId : instance.getHost() + ":" + instance.getPort();
+	}
+
+	/**
+	 * 64-bit FNV-1a over the UTF-16 code units, followed by the MurmurHash3 finalizer to
+	 * improve avalanche behaviour.
+	 */
+	static long hash(String value) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return mix(hash);
+	}
+
+	static long mix(long value) {
+		long hash = value;
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	/**
+	 * A lookup table bound to the instance list it is used with.
+	 *
+	 * @param table the lookup table
+	 * @param instances the instance list
+	 * @param positions the position in {@code instances} of every node of the table
+	 */
+	private record Binding(HashTable table, List<ServiceInstance> instances, int[] positions) {
+
+	}
+
+	/**
+	 * An immutable lookup structure mapping hashes onto the nodes it has been built
+	 * from, identified by their node keys.
+	 */
+	private abstract static class HashTable {
+
+		private final String[] nodeKeys;
+
+		private final Map<String, Integer> nodeIndexes;
+
+		HashTable(String[] nodeKeys) {
+			this.nodeKeys = nodeKeys;
+			this.nodeIndexes = new HashMap<>(nodeKeys.length * 2);
+			for (int i = 0; i < nodeKeys.length; i++) {
+				nodeIndexes.put(nodeKeys[i], i);
+			}
+		}
+
+		int size() {
+			return nodeKeys.length;
+		}
+
+		int indexOf(String nodeKey) {
+			Integer index = nodeIndexes.get(nodeKey);
+			return index != null ? index : -1;
+		}
+
+		boolean hasSameMembers(Set<String> keys) {
+			return keys.size() == nodeKeys.length && nodeIndexes.keySet().containsAll(keys);
+		}
+
+		/**
+		 * @param hash the hash to look up
+		 * @return the index of the node owning the hash
+		 */
+		abstract int lookup(long hash);
+
+	}
+
+	private static final class RingTable extends HashTable {
+
+		private final int replicas;
+
+		private final long[] points;
+
+		private final int[] owners;
+
+		private RingTable(String[] nodeKeys, int replicas, long[] points, int[] owners) {
+			super(nodeKeys);
+			this.replicas = replicas;
+			this.points = points;
+			this.owners = owners;
+		}
+
+		/**
+		 * Builds a ring for the given nodes, keeping the points of the nodes that are
+		 * also part of {@code previous} and only hashing and sorting the points of new
+		 * nodes.
+		 */
+		static RingTable build(String[] nodeKeys, int virtualNodes, @Nullable RingTable previous) {
+			int replicas = Math.max(virtualNodes, 1);
+			RingTable retained = previous != null && previous.replicas == replicas ? previous : null;
+			int[] remapped = new int[retained != null ? retained.size() : 0];
+			Arrays.fill(remapped, -1);
+			boolean[] known = new boolean[nodeKeys.length];
+			int retainedNodes = 0;
+			for (int i = 0; i < nodeKeys.length; i++) {
+				int previousIndex = retained != null ? retained.indexOf(nodeKeys[i]) : -1;
+				if (previousIndex >= 0) {
+					remapped[previousIndex] = i;
+					known[i] = true;
+					retainedNodes++;
+				}
+			}
+			// points of retained nodes are already sorted
+			int keptSize = retainedNodes * replicas;
+			long[] keptPoints = new long[keptSize];
+			int[] keptOwners = new int[keptSize];
+			if (retained != null) {
+				int kept = 0;
+				for (int i = 0; i < retained.points.length; i++) {
+					int owner = remapped[retained.owners[i]];
+					if (owner >= 0) {
+						keptPoints[kept] = retained.points[i];
+						keptOwners[kept] = owner;
+						kept++;
+					}
+				}
+			}
+			// hash and sort the points of added nodes only
+			int addedSize = (nodeKeys.length - retainedNodes) * replicas;
+			long[] hashes = new long[addedSize];
+			int[] hashOwners = new int[addedSize];
+			int added = 0;
+			for (int i = 0; i < nodeKeys.length; i++) {
+				if (!known[i]) {
+					long base = hash(nodeKeys[i]);
+					for (int replica = 0; replica < replicas; replica++) {
+						hashes[added] = mix(base + replica * GOLDEN_GAMMA);
+						hashOwners[added] = i;
+						added++;
+					}
+				}
+			}
+			Integer[] order = new Integer[addedSize];
+			for (int i = 0; i < addedSize; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (first, second) -> Long.compareUnsigned(hashes[first], hashes[second]));
+			// merge both sorted runs
+			long[] points = new long[keptSize + addedSize];
+			int[] owners = new int[points.length];
+			int keptIndex = 0;
+			int addedIndex = 0;
+			for (int i = 0; i < points.length; i++) {
+				if (addedIndex == addedSize || (keptIndex < keptSize
+						&& Long.compareUnsigned(keptPoints[keptIndex], hashes[order[addedIndex]]) <= 0)) {
+					points[i] = keptPoints[keptIndex];
+					owners[i] = keptOwners[keptIndex++];
+				}
+				else {
+					points[i] = hashes[order[addedIndex]];
+					owners[i] = hashOwners[order[addedIndex++]];
+				}
+			}
+			return new RingTable(nodeKeys, replicas, points, owners);
+		}
+
+		@Override
+		int lookup(long hash) {
+			int low = 0;
+			int high = points.length - 1;
+			if (Long.compareUnsigned(hash, points[high]) > 0) {
+				return owners[0];
+			}
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (Long.compareUnsigned(points[middle], hash) < 0) {
+					low = middle + 1;
+				}
+				else {
+					high = middle;
+				}
+			}
+			return owners[low];
+		}
+
+	}
+
+	private static final class MaglevTable extends HashTable {
+
+		private final int[] entries;
+
+		private MaglevTable(String[] nodeKeys, int[] entries) {
+			super(nodeKeys);
+			this.entries = entries;
+		}
+
+		static MaglevTable build(String[] nodeKeys, int configuredSize) {
+			int nodeCount = nodeKeys.length;
+			// the table size has to be prime for every permutation to cover the whole table
+			int tableSize = nextPrime(configuredSize > nodeCount ? configuredSize : nodeCount * 100);
+			// populate in a deterministic order, independent of the order of the list
+			Integer[] order = new Integer[nodeCount];
+			for (int i = 0; i < nodeCount; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (first, second) -> nodeKeys[first].compareTo(nodeKeys[second]));
+			long[] offsets = new long[nodeCount];
+			long[] skips = new long[nodeCount];
+			for (int i = 0; i < nodeCount; i++) {
+				long keyHash = hash(nodeKeys[order[i]]);
+				offsets[i] = Long.remainderUnsigned(keyHash, tableSize);
+				skips[i] = Long.remainderUnsigned(mix(keyHash ^ GOLDEN_GAMMA), tableSize - 1) + 1;
+			}
+			long[] next = new long[nodeCount];
+			int[] entries = new int[tableSize];
+			Arrays.fill(entries, -1);
+			int filled = 0;
+			while (true) {
+				for (int i = 0; i < nodeCount; i++) {
+					int candidate = (int) ((offsets[i] + next[i] * skips[i]) % tableSize);
+					while (entries[candidate] >= 0) {
+						next[i]++;
+						candidate = (int) ((offsets[i] + next[i] * skips[i]) % tableSize);
+					}
+					entries[candidate] = order[i];
+					next[i]++;
+					filled++;
+					if (filled == tableSize) {
+						return new MaglevTable(nodeKeys, entries);
+					}
+				}
+			}
+		}
+
+		private static int nextPrime(int value) {
+			int candidate = Math.max(value, 2);
+			while (!isPrime(candidate)) {
+				candidate++;
+			}
+			return candidate;
+		}
+
+		private static boolean isPrime(int value) {
+			if (value % 2 == 0) {
+				return value == 2;
+			}
+			for (int divisor = 3; (long) divisor * divisor <= value; divisor += 2) {
+				if (value % divisor == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		int lookup(long hash) {
+			return entries[(int) Long.remainderUnsigned(hash, entries.length)];
+		}
+
+	}
+
+}
@@ -16,7 +16,6 @@
 
 package org.springframework.cloud.loadbalancer.core;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.jspecify.annotations.Nullable;
@@ -40,8 +39,12 @@ import org.springframework.util.StringUtils;
  */
 public class HintBasedServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
 
+	private static final String HINT_KEY = "hint";
+
 	private final LoadBalancerProperties properties;
 
+	private volatile @Nullable ServiceInstanceSnapshot lastSnapshot;
+
 	@SuppressWarnings("NullAway")
 	public HintBasedServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
 			ReactiveLoadBalancer.Factory<ServiceInstance> factory) {
@@ -88,13 +91,9 @@ public class HintBasedServiceInstanceListSupplier extends DelegatingServiceInsta
 		if (!StringUtils.hasText(hint)) {
 			return instances;
 		}
-		List<ServiceInstance> filteredInstances = new ArrayList<>();
-		for (ServiceInstance serviceInstance : instances) {
-			if (serviceInstance.getMetadata() != null
-					&& serviceInstance.getMetadata().getOrDefault("hint", "").equals(hint)) {
-				filteredInstances.add(serviceInstance);
-			}
-		}
+		ServiceInstanceSnapshot snapshot = ServiceInstanceSnapshot.of(instances, lastSnapshot);
+		lastSnapshot = snapshot;
+		List<ServiceInstance> filteredInstances = snapshot.getByMetadata(HINT_KEY, hint);
 		if (!filteredInstances.isEmpty()) {
 			return filteredInstances;
 		}
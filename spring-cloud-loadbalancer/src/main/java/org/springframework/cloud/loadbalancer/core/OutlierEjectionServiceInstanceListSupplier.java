@@ -0,0 +1,383 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * A {@link ServiceInstanceListSupplier} implementation that passively detects unhealthy
+ * instances based on the outcomes of the requests sent to them and temporarily removes
+ * them from the returned list. An instance is ejected when it has failed a configured
+ * number of consecutive requests, when its failure rate within a sliding window exceeds
+ * a configured threshold, or when its average latency within the window exceeds the
+ * median latency of all instances by a configured factor. Requests that fail with an
+ * exception or end with a 5xx status are considered failed.
+ * <p>
+ * Each subsequent ejection of an instance that has been ejected recently doubles the
+ * ejection time, up to a configured maximum. At most a configured percentage of the
+ * available instances is ejected at the same time.
+ * <p>
+ * Request outcomes are collected via the {@link LoadBalancerLifecycle} callbacks, so this
+ * supplier has to be the {@link ServiceInstanceListSupplier} bean registered in the
+ * LoadBalancer child context, that is, the last stage added with
+ * {@link ServiceInstanceListSupplierBuilder}, in order to receive them. The statistics are
+ * kept in lock-free per-instance sliding windows, so recording an outcome does not
+ * introduce contention between requests.
+ *
+ * @since 5.0.3
+ * @see HealthCheckServiceInstanceListSupplier
+ */
+public class OutlierEjectionServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier
+		implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+	private static final Log LOG = LogFactory.getLog(OutlierEjectionServiceInstanceListSupplier.class);
+
+	private static final int BUCKETS = 10;
+
+	// caps the exponential back-off so that shifting the base ejection time cannot
+	// overflow
+	private static final int MAX_BACKOFF_EXPONENT = 20;
+
+	// slots of a sliding window bucket
+	private static final int EPOCH = 0;
+
+	private static final int REQUESTS = 1;
+
+	private static final int FAILURES = 2;
+
+	private static final int LATENCY_COUNT = 3;
+
+	private static final int LATENCY_SUM = 4;
+
+	private static final int SLOTS = 5;
+
+	private final int consecutiveFailures;
+
+	private final double failureRateThreshold;
+
+	private final double latencyFactor;
+
+	private final int minimumRequests;
+
+	private final long bucketMillis;
+
+	private final long baseEjectionMillis;
+
+	private final long maxEjectionMillis;
+
+	private final int maxEjectionPercent;
+
+	private final boolean callGetWithRequestOnDelegates;
+
+	private final Clock clock;
+
+	private final ConcurrentHashMap<ServiceInstance, InstanceStats> stats = new ConcurrentHashMap<>();
+
+	private final AtomicLong nextLatencyCheck = new AtomicLong();
+
+	private volatile @Nullable List<ServiceInstance> lastInstances;
+
+	public OutlierEjectionServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerClientFactory) {
+		this(delegate, loadBalancerClientFactory, Clock.systemUTC());
+	}
+
+	OutlierEjectionServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerClientFactory, Clock clock) {
+		super(delegate);
+		LoadBalancerProperties properties = loadBalancerClientFactory.getProperties(getServiceId());
+		if (properties == null) {
+			properties = new LoadBalancerProperties();
+		}
+		LoadBalancerProperties.OutlierEjection outlierEjection = properties.getOutlierEjection();
+		this.consecutiveFailures = outlierEjection.getConsecutiveFailures();
+		this.failureRateThreshold = outlierEjection.getFailureRateThreshold();
+		this.latencyFactor = outlierEjection.getLatencyFactor();
+		this.minimumRequests = Math.max(outlierEjection.getMinimumRequests(), 1);
+		this.bucketMillis = Math.max(outlierEjection.getWindow().toMillis() / BUCKETS, 1);
+		this.baseEjectionMillis = outlierEjection.getBaseEjectionTime().toMillis();
+		this.maxEjectionMillis = Math.max(outlierEjection.getMaxEjectionTime().toMillis(), baseEjectionMillis);
+		this.maxEjectionPercent = Math.min(Math.max(outlierEjection.getMaxEjectionPercent(), 0), 100);
+		this.callGetWithRequestOnDelegates = properties.isCallGetWithRequestOnDelegates();
+		this.clock = clock;
+	}
+
+	@Override
+	public Flux<List<ServiceInstance>> get() {
+		return delegate.get().map(this::filterEjected);
+	}
+
+	@Override
+	public Flux<List<ServiceInstance>> get(Request request) {
+		if (callGetWithRequestOnDelegates) {
+			return delegate.get(request).map(this::filterEjected);
+		}
+		return get();
+	}
+
+	@Override
+	public @Nullable List<ServiceInstance> getSnapshot(Request request) {
+		List<ServiceInstance> instances = callGetWithRequestOnDelegates ? delegate.getSnapshot(request)
+				: delegate.getSnapshot(ReactiveLoadBalancer.REQUEST);
+		return instances != null ? filterEjected(instances) : null;
+	}
+
+	private List<ServiceInstance> filterEjected(List<ServiceInstance> instances) {
+		if (instances != lastInstances) {
+			// forget instances that are no longer available
+			stats.keySet().retainAll(new HashSet<>(instances));
+			lastInstances = instances;
+		}
+		long now = clock.millis();
+		ejectLatencyOutliers(instances, now);
+		int maxEjected = instances.size() * maxEjectionPercent / 100;
+		List<ServiceInstance> filteredInstances = null;
+		int ejected = 0;
+		for (int i = 0; i < instances.size(); i++) {
+			ServiceInstance instance = instances.get(i);
+			if (ejected < maxEjected && isEjected(instance, now)) {
+				if (filteredInstances == null) {
+					filteredInstances = new ArrayList<>(instances.subList(0, i));
+				}
+				ejected++;
+			}
+			else if (filteredInstances != null) {
+				filteredInstances.add(instance);
+			}
+		}
+		return filteredInstances != null ? filteredInstances : instances;
+	}
+
+	boolean isEjected(ServiceInstance instance, long now) {
+		InstanceStats instanceStats = stats.get(instance);
+		return instanceStats != null && instanceStats.ejectedUntil.get() > now;
+	}
+
+	private void ejectLatencyOutliers(List<ServiceInstance> instances, long now) {
+		if (latencyFactor <= 1 || instances.size() < 2) {
+			return;
+		}
+		// evaluate latencies at most once per bucket and only on a single thread
+		long next = nextLatencyCheck.get();
+		if (now < next || !nextLatencyCheck.compareAndSet(next, now + bucketMillis)) {
+			return;
+		}
+		List<InstanceStats> candidates = new ArrayList<>(instances.size());
+		List<Double> averages = new ArrayList<>(instances.size());
+		for (ServiceInstance instance : instances) {
+			InstanceStats instanceStats = stats.get(instance);
+			if (instanceStats == null || instanceStats.ejectedUntil.get() > now) {
+				continue;
+			}
+			long[] totals = instanceStats.window.totals(now / bucketMillis);
+			if (totals[LATENCY_COUNT] >= minimumRequests) {
+				candidates.add(instanceStats);
+				averages.add((double) totals[LATENCY_SUM] / totals[LATENCY_COUNT]);
+			}
+		}
+		if (candidates.size() < 2) {
+			return;
+		}
+		double[] sorted = averages.stream().mapToDouble(Double::doubleValue).toArray();
+		Arrays.sort(sorted);
+		double median = sorted[(sorted.length - 1) / 2];
+		for (int i = 0; i < candidates.size(); i++) {
+			if (averages.get(i) > median * latencyFactor) {
+				eject(candidates.get(i), now, "latency outlier");
+			}
+		}
+	}
+
+	private void eject(InstanceStats instanceStats, long now, String reason) {
+		long previousEjectionEnd = instanceStats.ejectedUntil.get();
+		if (previousEjectionEnd > now) {
+			return;
+		}
+		// back off exponentially if the instance keeps getting ejected
+		boolean recent = previousEjectionEnd != 0 && now - previousEjectionEnd < maxEjectionMillis;
+		int ejections = recent ? Math.min(instanceStats.ejections + 1, MAX_BACKOFF_EXPONENT) : 1;
+		long ejectionMillis = Math.min(baseEjectionMillis << (ejections - 1), maxEjectionMillis);
+		if (!instanceStats.ejectedUntil.compareAndSet(previousEjectionEnd, now + ejectionMillis)) {
+			return;
+		}
+		instanceStats.ejections = ejections;
+		instanceStats.consecutiveFailures.set(0);
+		instanceStats.window.reset();
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Ejecting instance " + instanceStats.instance + " of service " + getServiceId() + " for "
+					+ ejectionMillis + " ms: " + reason);
+		}
+	}
+
+	@Override
+	public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+		return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+	}
+
+	@Override
+	public void onStart(Request<Object> request) {
+		// do nothing
+	}
+
+	@Override
+	public void onStartRequest(Request<Object> request, @Nullable Response<ServiceInstance> lbResponse) {
+		if (request != null && request.getContext() instanceof TimedRequestContext) {
+			((TimedRequestContext) request.getContext()).setRequestStartTime(System.nanoTime());
+		}
+	}
+
+	@Override
+	public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		if (CompletionContext.Status.DISCARD.equals(completionContext.status())) {
+			return;
+		}
+		Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		ServiceInstance serviceInstance = lbResponse != null ? lbResponse.getServer() : null;
+		if (serviceInstance == null) {
+			return;
+		}
+		long latency = -1;
+		Request<Object> lbRequest = completionContext.getLoadBalancerRequest();
+		if (lbRequest != null && lbRequest.getContext() instanceof TimedRequestContext timedRequestContext
+				&& timedRequestContext.getRequestStartTime() != 0L) {
+			latency = System.nanoTime() - timedRequestContext.getRequestStartTime();
+		}
+		boolean failed = isFailed(completionContext);
+		long now = clock.millis();
+		InstanceStats instanceStats = stats.computeIfAbsent(serviceInstance, InstanceStats::new);
+		instanceStats.window.record(now / bucketMillis, failed, latency);
+		if (!failed) {
+			instanceStats.consecutiveFailures.set(0);
+			return;
+		}
+		if (consecutiveFailures > 0 && instanceStats.consecutiveFailures.incrementAndGet() >= consecutiveFailures) {
+			eject(instanceStats, now, "consecutive failures");
+			return;
+		}
+		if (failureRateThreshold <= 1) {
+			long[] totals = instanceStats.window.totals(now / bucketMillis);
+			if (totals[REQUESTS] >= minimumRequests
+					&& (double) totals[FAILURES] / totals[REQUESTS] >= failureRateThreshold) {
+				eject(instanceStats, now, "failure rate");
+			}
+		}
+	}
+
+	private static boolean isFailed(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		if (CompletionContext.Status.FAILED.equals(completionContext.status())) {
+			return true;
+		}
+		if (completionContext.getClientResponse() instanceof ResponseData responseData) {
+			HttpStatusCode httpStatus = responseData.getHttpStatus();
+			return httpStatus != null && httpStatus.is5xxServerError();
+		}
+		return false;
+	}
+
+	private static final class InstanceStats {
+
+		private final ServiceInstance instance;
+
+		private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+		private final SlidingWindow window = new SlidingWindow();
+
+		private final AtomicLong ejectedUntil = new AtomicLong();
+
+		private volatile int ejections;
+
+		private InstanceStats(ServiceInstance instance) {
+			this.instance = instance;
+		}
+
+	}
+
+	/**
+	 * A ring of time buckets kept in a single {@link AtomicLongArray}. A bucket is
+	 * claimed for a new epoch with a CAS on its epoch slot, so counts recorded
+	 * concurrently with a bucket rollover may be lost, which is acceptable for outlier
+	 * detection and keeps the request path free of locks.
+	 */
+	private static final class SlidingWindow {
+
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS * SLOTS);
+
+		void record(long epoch, boolean failed, long latency) {
+			int offset = (int) (epoch % BUCKETS) * SLOTS;
+			long bucketEpoch = buckets.get(offset + EPOCH);
+			if (bucketEpoch != epoch && buckets.compareAndSet(offset + EPOCH, bucketEpoch, epoch)) {
+				for (int slot = 1; slot < SLOTS; slot++) {
+					buckets.set(offset + slot, 0);
+				}
+			}
+			buckets.incrementAndGet(offset + REQUESTS);
+			if (failed) {
+				buckets.incrementAndGet(offset + FAILURES);
+			}
+			if (latency >= 0) {
+				buckets.incrementAndGet(offset + LATENCY_COUNT);
+				buckets.addAndGet(offset + LATENCY_SUM, latency);
+			}
+		}
+
+		long[] totals(long epoch) {
+			long[] totals = new long[SLOTS];
+			for (int bucket = 0; bucket < BUCKETS; bucket++) {
+				int offset = bucket * SLOTS;
+				long bucketEpoch = buckets.get(offset + EPOCH);
+				if (bucketEpoch > epoch - BUCKETS && bucketEpoch <= epoch) {
+					for (int slot = 1; slot < SLOTS; slot++) {
+						totals[slot] += buckets.get(offset + slot);
+					}
+				}
+			}
+			return totals;
+		}
+
+		void reset() {
+			for (int bucket = 0; bucket < BUCKETS; bucket++) {
+				buckets.set(bucket * SLOTS + EPOCH, Long.MIN_VALUE);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Mono;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.util.Assert;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * A latency-aware implementation of {@link ReactorServiceInstanceLoadBalancer} based on
+ * the peak-EWMA algorithm. For each instance, an exponentially weighted moving average
+ * of response latency is kept, which jumps to the observed value whenever a slower
+ * response is recorded and decays over time otherwise. The cost of an instance is its
+ * average latency multiplied by the number of its outstanding requests. For each
+ * request, two distinct instances are picked at random and the one with the lower cost
+ * is selected.
+ * <p>
+ * Latency samples and outstanding request counts are collected via the
+ * {@link LoadBalancerLifecycle} callbacks, so this load balancer has to be registered as
+ * a bean in the LoadBalancer child context in order to receive them. Latency can only be
+ * measured for requests whose context implements {@link TimedRequestContext}. Statistics
+ * are keyed by instance id (falling back to {@code host:port}) and are dropped once the
+ * instance has left the list and has no requests in flight. The statistics of the current
+ * instances are resolved once per membership change and held in slots indexed by
+ * position, so that choosing an instance and recording its requests does not allocate.
+ *
+ * @since 5.0.3
+ */
+public class PeakEwmaLoadBalancer
+		implements ReactorServiceInstanceLoadBalancer, LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+	private static final Log log = LogFactory.getLog(PeakEwmaLoadBalancer.class);
+
+	/**
+	 * Default time after which the weight of a latency sample has decayed to
+	 * {@code 1/e}.
+	 */
+	public static final Duration DEFAULT_DECAY_TIME = Duration.ofSeconds(10);
+
+	// cost assigned to instances with requests in flight but no latency samples yet
+	private static final double PENALTY = Integer.MAX_VALUE;
+
+	private final String serviceId;
+
+	private final SingletonSupplier<ServiceInstanceListSupplier> serviceInstanceListSingletonSupplier;
+
+	private final double decayTimeNanos;
+
+	private static final Object MEMBERS_INDEX = new Object();
+
+	private final ConcurrentHashMap<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+	private volatile Slots slots = new Slots(null, Map.of(), new InstanceStats[0], new IdentityHashMap<>());
+
+	/**
+	 * @param serviceInstanceListSupplierProvider a provider of
+	 * {@link ServiceInstanceListSupplier} that will be used to get available instances
+	 * @param serviceId id of the service for which to choose an instance
+	 */
+	public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+			String serviceId) {
+		this(serviceInstanceListSupplierProvider, serviceId, DEFAULT_DECAY_TIME);
+	}
+
+	/**
+	 * @param serviceInstanceListSupplierProvider a provider of
+	 * {@link ServiceInstanceListSupplier} that will be used to get available instances
+	 * @param serviceId id of the service for which to choose an instance
+	 * @param decayTime the time after which the weight of a latency sample has decayed
+	 * to {@code 1/e}
+	 */
+	public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+			String serviceId, Duration decayTime) {
+		Assert.isTrue(!decayTime.isNegative() && !decayTime.isZero(), "decayTime must be positive");
+		this.serviceId = serviceId;
+		this.decayTimeNanos = decayTime.toNanos();
+		this.serviceInstanceListSingletonSupplier = SingletonSupplier
+			.of(() -> serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Mono<Response<ServiceInstance>> choose(Request request) {
+		ServiceInstanceListSupplier supplier = serviceInstanceListSingletonSupplier.obtain();
+		return supplier.get(request)
+			.next()
+			.map(serviceInstances -> processInstanceResponse(supplier, serviceInstances));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public @Nullable Response<ServiceInstance> chooseFromSnapshot(Request request) {
+		ServiceInstanceListSupplier supplier = serviceInstanceListSingletonSupplier.obtain();
+		List<ServiceInstance> serviceInstances = supplier.getSnapshot(request);
+		return serviceInstances != null ? processInstanceResponse(supplier, serviceInstances) : null;
+	}
+
+	@SuppressWarnings("NullAway") // guarded by hasServer()
+	private Response<ServiceInstance> processInstanceResponse(ServiceInstanceListSupplier supplier,
+			List<ServiceInstance> serviceInstances) {
+		Response<ServiceInstance> serviceInstanceResponse = getInstanceResponse(serviceInstances);
+		if (supplier instanceof SelectedInstanceCallback && serviceInstanceResponse.hasServer()) {
+			((SelectedInstanceCallback) supplier).selectedServiceInstance(serviceInstanceResponse.getServer());
+		}
+		return serviceInstanceResponse;
+	}
+
+	private Response<ServiceInstance> getInstanceResponse(List<ServiceInstance> instances) {
+		if (instances.isEmpty()) {
+			if (log.isWarnEnabled()) {
+				log.warn("No servers available for service: " + serviceId);
+			}
+			return new EmptyResponse();
+		}
+		Slots currentSlots = updateSlots(instances);
+		if (instances.size() == 1) {
+			return new DefaultResponse(instances.get(0));
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int firstIndex = random.nextInt(instances.size());
+		int secondIndex = random.nextInt(instances.size() - 1);
+		if (secondIndex >= firstIndex) {
+			secondIndex++;
+		}
+		ServiceInstance first = instances.get(firstIndex);
+		ServiceInstance second = instances.get(secondIndex);
+		long now = System.nanoTime();
+		double firstCost = currentSlots.stats[firstIndex].cost(now, decayTimeNanos);
+		double secondCost = currentSlots.stats[secondIndex].cost(now, decayTimeNanos);
+		return new DefaultResponse(firstCost <= secondCost ? first : second);
+	}
+
+	private Slots updateSlots(List<ServiceInstance> instances) {
+		Slots currentSlots = slots;
+		ServiceInstanceSnapshot snapshot = ServiceInstanceSnapshot.of(instances, currentSlots.snapshot);
+		if (snapshot == currentSlots.snapshot) {
+			return currentSlots;
+		}
+		// the index is carried over to snapshots of equal instances in the same order, so
+		// the slots still match the positions of the instances
+		Map<String, List<ServiceInstance>> members = snapshot.index(MEMBERS_INDEX, PeakEwmaLoadBalancer::key);
+		if (members == currentSlots.members) {
+			Slots updatedSlots = new Slots(snapshot, members, currentSlots.stats, currentSlots.byInstance);
+			slots = updatedSlots;
+			return updatedSlots;
+		}
+		InstanceStats[] instanceStats = new InstanceStats[instances.size()];
+		Map<ServiceInstance, InstanceStats> byInstance = new IdentityHashMap<>(instances.size());
+		for (int i = 0; i < instanceStats.length; i++) {
+			ServiceInstance instance = instances.get(i);
+			instanceStats[i] = stats.computeIfAbsent(key(instance), instanceKey -> new InstanceStats());
+			byInstance.put(instance, instanceStats[i]);
+		}
+		Slots updatedSlots = new Slots(snapshot, members, instanceStats, byInstance);
+		slots = updatedSlots;
+		for (String instanceKey : stats.keySet()) {
+			pruneIfRemoved(instanceKey);
+		}
+		return updatedSlots;
+	}
+
+	/**
+	 * Drops the stats of an instance that has left the list, unless it still has
+	 * requests in flight, in which case they are dropped once they complete.
+	 */
+	private void pruneIfRemoved(String instanceKey) {
+		Slots currentSlots = slots;
+		if (currentSlots.snapshot != null && !currentSlots.members.containsKey(instanceKey)) {
+			// atomic with the increment in onStartRequest
+			stats.computeIfPresent(instanceKey,
+					(k, instanceStats) -> instanceStats.pending.get() == 0 ? null : instanceStats);
+		}
+	}
+
+	private @Nullable InstanceStats getStats(ServiceInstance serviceInstance) {
+		// the chosen instances are usually the ones held in the slots
+		InstanceStats instanceStats = slots.byInstance.get(serviceInstance);
+		return instanceStats != null ? instanceStats : stats.get(key(serviceInstance));
+	}
+
+	double getCost(ServiceInstance serviceInstance, long now) {
+		InstanceStats instanceStats = getStats(serviceInstance);
+		return instanceStats != null ? instanceStats.cost(now, decayTimeNanos) : 0;
+	}
+
+	int getTrackedInstanceCount() {
+		return stats.size();
+	}
+
+	@Override
+	public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+		return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+	}
+
+	@Override
+	public void onStart(Request<Object> request) {
+		// do nothing
+	}
+
+	@Override
+	public void onStartRequest(Request<Object> request, @Nullable Response<ServiceInstance> lbResponse) {
+		if (request != null && request.getContext() instanceof TimedRequestContext) {
+			((TimedRequestContext) request.getContext()).setRequestStartTime(System.nanoTime());
+		}
+		ServiceInstance serviceInstance = lbResponse != null ? lbResponse.getServer() : null;
+		if (serviceInstance == null) {
+			return;
+		}
+		InstanceStats instanceStats = slots.byInstance.get(serviceInstance);
+		if (instanceStats != null) {
+			instanceStats.pending.incrementAndGet();
+			return;
+		}
+		stats.compute(key(serviceInstance), (instanceKey, current) -> {
+			InstanceStats updated = current != null ? current : new InstanceStats();
+			updated.pending.incrementAndGet();
+			return updated;
+		});
+	}
+
+	@Override
+	public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		if (CompletionContext.Status.DISCARD.equals(completionContext.status())) {
+			return;
+		}
+		Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		ServiceInstance serviceInstance = lbResponse != null ? lbResponse.getServer() : null;
+		if (serviceInstance == null) {
+			return;
+		}
+		InstanceStats instanceStats = getStats(serviceInstance);
+		if (instanceStats == null) {
+			return;
+		}
+		int pendingRequests = instanceStats.pending.updateAndGet(count -> count > 0 ? count - 1 : 0);
+		Request<Object> lbRequest = completionContext.getLoadBalancerRequest();
+		if (lbRequest != null && lbRequest.getContext() instanceof TimedRequestContext timedRequestContext
+				&& timedRequestContext.getRequestStartTime() != 0L) {
+			long now = System.nanoTime();
+			instanceStats.observe(now - timedRequestContext.getRequestStartTime(), now, decayTimeNanos);
+		}
+		if (pendingRequests == 0 && !slots.byInstance.containsKey(serviceInstance)) {
+			pruneIfRemoved(key(serviceInstance));
+		}
+	}
+
+	private static String key(ServiceInstance instance) {
+		String instanceId = instance.getInstanceId();
+		return instanceId != null ? instanceId : instance.getHost() + ":" + instance.getPort();
+	}
+
+	/**
+	 * The stats of the current instances, by position and by instance.
+	 */
+	private static final class Slots {
+
+		private final @Nullable ServiceInstanceSnapshot snapshot;
+
+		private final Map<String, List<ServiceInstance>> members;
+
+		private final InstanceStats[] stats;
+
+		private final Map<ServiceInstance, InstanceStats> byInstance;
+
+		private Slots(@Nullable ServiceInstanceSnapshot snapshot, Map<String, List<ServiceInstance>> members,
+				InstanceStats[] stats, Map<ServiceInstance, InstanceStats> byInstance) {
+			this.snapshot = snapshot;
+			this.members = members;
+			this.stats = stats;
+			this.byInstance = byInstance;
+		}
+
+	}
+
+	/**
+	 * Per-instance state. The latency average and the time it was last updated are kept
+	 * in primitive fields guarded by a sequence lock, so that concurrent samples never
+	 * decay against a stale timestamp and recording a sample does not allocate.
+	 */
+	private static final class InstanceStats {
+
+		private final AtomicInteger pending = new AtomicInteger();
+
+		// odd while a sample is being recorded
+		private final AtomicLong sequence = new AtomicLong();
+
+		private final AtomicLong ewmaBits = new AtomicLong(Double.doubleToRawLongBits(0));
+
+		private final AtomicLong timestamp = new AtomicLong(System.nanoTime());
+
+		void observe(long latency, long now, double decayTimeNanos) {
+			double value = Math.max(latency, 0);
+			long seq = sequence.get();
+			while ((seq & 1) != 0 || !sequence.compareAndSet(seq, seq + 1)) {
+				Thread.onSpinWait();
+				seq = sequence.get();
+			}
+			try {
+				double ewma = Double.longBitsToDouble(ewmaBits.get());
+				if (value > ewma) {
+					// peak sensitivity: a slower response is taken into account at once
+					ewma = value;
+				}
+				else {
+					double weight = weight(timestamp.get(), now, decayTimeNanos);
+					ewma = ewma * weight + value * (1 - weight);
+				}
+				ewmaBits.set(Double.doubleToRawLongBits(ewma));
+				timestamp.set(now);
+			}
+			finally {
+				sequence.set(seq + 2);
+			}
+		}
+
+		double cost(long now, double decayTimeNanos) {
+			long seq;
+			double ewma;
+			long lastUpdate;
+			do {
+				seq = sequence.get();
+				ewma = Double.longBitsToDouble(ewmaBits.get());
+				lastUpdate = timestamp.get();
+			}
+			while ((seq & 1) != 0 || seq != sequence.get());
+			int pendingRequests = pending.get();
+			if (ewma == 0 && pendingRequests != 0) {
+				return PENALTY + pendingRequests;
+			}
+			// let the latency decay towards zero while the instance is not being sampled
+			return ewma * weight(lastUpdate, now, decayTimeNanos) * (pendingRequests + 1);
+		}
+
+		private static double weight(long timestamp, long now, double decayTimeNanos) {
+			return Math.exp(-Math.max(now - timestamp, 0) / decayTimeNanos);
+		}
+
+	}
+
+}
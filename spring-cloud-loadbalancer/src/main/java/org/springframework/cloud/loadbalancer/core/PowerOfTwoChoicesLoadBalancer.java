@@ -0,0 +1,218 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Mono;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * A power-of-two-choices implementation of {@link ReactorServiceInstanceLoadBalancer}.
+ * For each request, two distinct instances are picked at random and the one with fewer
+ * outstanding requests is selected. The number of outstanding requests per instance is
+ * tracked via the {@link LoadBalancerLifecycle} callbacks, so this load balancer has to
+ * be registered as a bean in the LoadBalancer child context in order to receive them.
+ * Counters are keyed by instance id (falling back to {@code host:port}) and are dropped
+ * once the instance has left the list and has no requests in flight. The instances are
+ * only compared with the counters when the membership of the list changes.
+ *
+ * @since 5.0.3
+ */
+public class PowerOfTwoChoicesLoadBalancer
+		implements ReactorServiceInstanceLoadBalancer, LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+	private static final Log log = LogFactory.getLog(PowerOfTwoChoicesLoadBalancer.class);
+
+	private final String serviceId;
+
+	private final SingletonSupplier<ServiceInstanceListSupplier> serviceInstanceListSingletonSupplier;
+
+	private static final Object MEMBERS_INDEX = new Object();
+
+	private final ConcurrentHashMap<String, AtomicInteger> outstandingRequests = new ConcurrentHashMap<>();
+
+	private volatile @Nullable ServiceInstanceSnapshot lastSnapshot;
+
+	private volatile Map<String, List<ServiceInstance>> members = Map.of();
+
+	/**
+	 * @param serviceInstanceListSupplierProvider a provider of
+	 * {@link ServiceInstanceListSupplier} that will be used to get available instances
+	 * @param serviceId id of the service for which to choose an instance
+	 */
+	public PowerOfTwoChoicesLoadBalancer(
+			ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider, String serviceId) {
+		this.serviceId = serviceId;
+		this.serviceInstanceListSingletonSupplier = SingletonSupplier
+			.of(() -> serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Mono<Response<ServiceInstance>> choose(Request request) {
+		ServiceInstanceListSupplier supplier = serviceInstanceListSingletonSupplier.obtain();
+		return supplier.get(request)
+			.next()
+			.map(serviceInstances -> processInstanceResponse(supplier, serviceInstances));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public @Nullable Response<ServiceInstance> chooseFromSnapshot(Request request) {
+		ServiceInstanceListSupplier supplier = serviceInstanceListSingletonSupplier.obtain();
+		List<ServiceInstance> serviceInstances = supplier.getSnapshot(request);
+		return serviceInstances != null ? processInstanceResponse(supplier, serviceInstances) : null;
+	}
+
+	@SuppressWarnings("NullAway") // guarded by hasServer()
+	private Response<ServiceInstance> processInstanceResponse(ServiceInstanceListSupplier supplier,
+			List<ServiceInstance> serviceInstances) {
+		Response<ServiceInstance> serviceInstanceResponse = getInstanceResponse(serviceInstances);
+		if (supplier instanceof SelectedInstanceCallback && serviceInstanceResponse.hasServer()) {
+			((SelectedInstanceCallback) supplier).selectedServiceInstance(serviceInstanceResponse.getServer());
+		}
+		return serviceInstanceResponse;
+	}
+
+	private Response<ServiceInstance> getInstanceResponse(List<ServiceInstance> instances) {
+		if (instances.isEmpty()) {
+			if (log.isWarnEnabled()) {
+				log.warn("No servers available for service: " + serviceId);
+			}
+			return new EmptyResponse();
+		}
+		updateMembers(instances);
+		if (instances.size() == 1) {
+			return new DefaultResponse(instances.get(0));
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int firstIndex = random.nextInt(instances.size());
+		// pick the second index from the remaining positions to guarantee two distinct
+		// candidates
+		int secondIndex = random.nextInt(instances.size() - 1);
+		if (secondIndex >= firstIndex) {
+			secondIndex++;
+		}
+		ServiceInstance first = instances.get(firstIndex);
+		ServiceInstance second = instances.get(secondIndex);
+		return new DefaultResponse(
+				getOutstandingRequests(first) <= getOutstandingRequests(second) ? first : second);
+	}
+
+	private void updateMembers(List<ServiceInstance> instances) {
+		ServiceInstanceSnapshot previous = lastSnapshot;
+		ServiceInstanceSnapshot snapshot = ServiceInstanceSnapshot.of(instances, previous);
+		if (snapshot == previous) {
+			return;
+		}
+		lastSnapshot = snapshot;
+		// the index is carried over to snapshots of equal instances
+		Map<String, List<ServiceInstance>> currentMembers = snapshot.index(MEMBERS_INDEX,
+				PowerOfTwoChoicesLoadBalancer::key);
+		if (currentMembers == members) {
+			return;
+		}
+		members = currentMembers;
+		for (String instanceKey : outstandingRequests.keySet()) {
+			pruneIfRemoved(instanceKey);
+		}
+	}
+
+	/**
+	 * Drops the counter of an instance that has left the list, unless it still has
+	 * requests in flight, in which case it is dropped once they complete.
+	 */
+	private void pruneIfRemoved(String instanceKey) {
+		if (lastSnapshot != null && !members.containsKey(instanceKey)) {
+			// atomic with the increment in onStartRequest
+			outstandingRequests.computeIfPresent(instanceKey, (k, counter) -> counter.get() == 0 ? null : counter);
+		}
+	}
+
+	int getOutstandingRequests(ServiceInstance serviceInstance) {
+		AtomicInteger counter = outstandingRequests.get(key(serviceInstance));
+		return counter != null ? counter.get() : 0;
+	}
+
+	int getTrackedInstanceCount() {
+		return outstandingRequests.size();
+	}
+
+	@Override
+	public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+		return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+	}
+
+	@Override
+	public void onStart(Request<Object> request) {
+		// do nothing
+	}
+
+	@Override
+	public void onStartRequest(Request<Object> request, @Nullable Response<ServiceInstance> lbResponse) {
+		ServiceInstance serviceInstance = lbResponse != null ? lbResponse.getServer() : null;
+		if (serviceInstance == null) {
+			return;
+		}
+		outstandingRequests.compute(key(serviceInstance), (instanceKey, counter) -> {
+			AtomicInteger current = counter != null ? counter : new AtomicInteger();
+			current.incrementAndGet();
+			return current;
+		});
+	}
+
+	@Override
+	public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		if (CompletionContext.Status.DISCARD.equals(completionContext.status())) {
+			return;
+		}
+		Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		ServiceInstance serviceInstance = lbResponse != null ? lbResponse.getServer() : null;
+		if (serviceInstance == null) {
+			return;
+		}
+		String instanceKey = key(serviceInstance);
+		AtomicInteger counter = outstandingRequests.get(instanceKey);
+		// never go below zero if a request started before this bean was registered
+		if (counter != null && counter.updateAndGet(count -> count > 0 ? count - 1 : 0) == 0) {
+			pruneIfRemoved(instanceKey);
+		}
+	}
+
+	private static String key(ServiceInstance instance) {
+		String instanceId = instance.getInstanceId();
+		return instanceId != null ? instanceId : instance.getHost() + ":" + instance.getPort();
+	}
+
+}
@@ -21,6 +21,7 @@ import java.util.concurrent.ThreadLocalRandom;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
 
 import org.springframework.beans.factory.ObjectProvider;
@@ -67,6 +68,14 @@ public class RandomLoadBalancer implements ReactorServiceInstanceLoadBalancer {
 			.map(serviceInstances -> processInstanceResponse(supplier, serviceInstances));
 	}
 
+	@SuppressWarnings("rawtypes")
+	@Override
+	public @Nullable Response<ServiceInstance> chooseFromSnapshot(Request request) {
+		ServiceInstanceListSupplier supplier = serviceInstanceListSingletonSupplier.obtain();
+		List<ServiceInstance> serviceInstances = supplier.getSnapshot(request);
+		return serviceInstances != null ? processInstanceResponse(supplier, serviceInstances) : null;
+	}
+
 	@SuppressWarnings("NullAway") // guarded by hasServer()
 	private Response<ServiceInstance> processInstanceResponse(ServiceInstanceListSupplier supplier,
 			List<ServiceInstance> serviceInstances) {
@@ -84,9 +93,13 @@ public class RandomLoadBalancer implements ReactorServiceInstanceLoadBalancer {
 			}
 			return new EmptyResponse();
 		}
-		int index = ThreadLocalRandom.current().nextInt(instances.size());
-
-		ServiceInstance instance = instances.get(index);
+		ServiceInstance instance;
+		if (instances instanceof WeightedServiceInstances weighted) {
+			instance = weighted.pick(ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE));
+		}
+		else {
+			instance = instances.get(ThreadLocalRandom.current().nextInt(instances.size()));
+		}
 
 		return new DefaultResponse(instance);
 	}
@@ -75,6 +75,8 @@ public class ReactiveApiVersionServiceInstanceListSupplier extends DelegatingSer
 
 	private @Nullable ApiVersionStrategy apiVersionStrategy;
 
+	private volatile @Nullable ServiceInstanceSnapshot lastSnapshot;
+
 	public ReactiveApiVersionServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
 			LoadBalancerClientFactory loadBalancerClientFactory) {
 		super(delegate);
@@ -115,9 +117,7 @@ public class ReactiveApiVersionServiceInstanceListSupplier extends DelegatingSer
 		}
 
 		if (requestedVersion != null) {
-			List<ServiceInstance> filteredInstances = serviceInstances.parallelStream()
-				.filter(instance -> requestedVersion.equals(getVersion(instance)))
-				.toList();
+			List<ServiceInstance> filteredInstances = getInstancesWithVersion(serviceInstances, requestedVersion);
 
 			if (!filteredInstances.isEmpty()) {
 				if (LOG.isDebugEnabled()) {
@@ -139,6 +139,21 @@ public class ReactiveApiVersionServiceInstanceListSupplier extends DelegatingSer
 		return List.of();
 	}
 
+	private List<ServiceInstance> getInstancesWithVersion(List<ServiceInstance> serviceInstances,
+			Comparable<?> requestedVersion) {
+		ServiceInstanceSnapshot snapshot = ServiceInstanceSnapshot.of(serviceInstances, lastSnapshot);
+		lastSnapshot = snapshot;
+		// instance versions are only parsed once per snapshot; the parsed versions are
+		// compared with equals(), as they are not required to implement hashCode()
+		Map<Comparable<?>, List<ServiceInstance>> instancesByVersion = snapshot.index(API_VERSION, this::getVersion);
+		for (Map.Entry<Comparable<?>, List<ServiceInstance>> entry : instancesByVersion.entrySet()) {
+			if (requestedVersion.equals(entry.getKey())) {
+				return entry.getValue();
+			}
+		}
+		return List.of();
+	}
+
 	// Visible for tests
 	void setApiVersionParser(ApiVersionParser<?> apiVersionParser) {
 		this.apiVersionParser = apiVersionParser;
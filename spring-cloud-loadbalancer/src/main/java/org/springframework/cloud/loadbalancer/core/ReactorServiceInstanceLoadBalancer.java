@@ -16,7 +16,11 @@
 
 package org.springframework.cloud.loadbalancer.core;
 
+import org.jspecify.annotations.Nullable;
+
 import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
 
 /**
  * A marker interface for {@link ReactorLoadBalancer} that allows selecting
@@ -27,4 +31,18 @@ import org.springframework.cloud.client.ServiceInstance;
  */
 public interface ReactorServiceInstanceLoadBalancer extends ReactorLoadBalancer<ServiceInstance> {
 
+	/**
+	 * Chooses an instance synchronously from the instances currently available in
+	 * {@link ServiceInstanceListSupplier#getSnapshot(Request)}, without subscribing to
+	 * the supplier.
+	 * @param request the load-balancing request
+	 * @return the load balancer response, or {@code null} if no snapshot is available, in
+	 * which case {@link #choose(Request)} should be used instead
+	 * @since 5.0.3
+	 */
+	@SuppressWarnings("rawtypes")
+	default @Nullable Response<ServiceInstance> chooseFromSnapshot(Request request) {
+		return null;
+	}
+
 }
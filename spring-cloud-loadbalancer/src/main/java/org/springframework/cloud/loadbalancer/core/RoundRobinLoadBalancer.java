@@ -22,6 +22,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
 
 import org.springframework.beans.factory.ObjectProvider;
@@ -86,6 +87,14 @@ public class RoundRobinLoadBalancer implements ReactorServiceInstanceLoadBalance
 			.map(serviceInstances -> processInstanceResponse(supplier, serviceInstances));
 	}
 
+	@SuppressWarnings("rawtypes")
+	@Override
+	public @Nullable Response<ServiceInstance> chooseFromSnapshot(Request request) {
+		ServiceInstanceListSupplier supplier = serviceInstanceListSingletonSupplier.obtain();
+		List<ServiceInstance> serviceInstances = supplier.getSnapshot(request);
+		return serviceInstances != null ? processInstanceResponse(supplier, serviceInstances) : null;
+	}
+
 	@SuppressWarnings("NullAway") // guarded by hasServer()
 	private Response<ServiceInstance> processInstanceResponse(ServiceInstanceListSupplier supplier,
 			List<ServiceInstance> serviceInstances) {
@@ -114,7 +123,8 @@ public class RoundRobinLoadBalancer implements ReactorServiceInstanceLoadBalance
 		// Integer.MAX_VALUE
 		int pos = this.position.incrementAndGet() & Integer.MAX_VALUE;
 
-		ServiceInstance instance = instances.get(pos % instances.size());
+		ServiceInstance instance = instances instanceof WeightedServiceInstances weighted ? weighted.pick(pos)
+				: instances.get(pos % instances.size());
 
 		return new DefaultResponse(instance);
 	}
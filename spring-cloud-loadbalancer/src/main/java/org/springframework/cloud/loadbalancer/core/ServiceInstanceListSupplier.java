@@ -19,6 +19,7 @@ package org.springframework.cloud.loadbalancer.core;
 import java.util.List;
 import java.util.function.Supplier;
 
+import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Flux;
 
 import org.springframework.cloud.client.ServiceInstance;
@@ -38,6 +39,20 @@ public interface ServiceInstanceListSupplier extends Supplier<Flux<List<ServiceI
 		return get();
 	}
 
+	/**
+	 * Returns the instances that {@link #get(Request)} would emit first, if they are
+	 * already available, for example, from a cache, and can be returned without
+	 * subscribing to the supplier. Used by blocking clients to select an instance
+	 * without assembling a Reactor pipeline.
+	 * @param request the load-balancing request
+	 * @return the currently available instances, or {@code null} if they can only be
+	 * obtained via {@link #get(Request)}
+	 * @since 5.0.3
+	 */
+	default @Nullable List<ServiceInstance> getSnapshot(Request request) {
+		return null;
+	}
+
 	static ServiceInstanceListSupplierBuilder builder() {
 		return new ServiceInstanceListSupplierBuilder();
 	}
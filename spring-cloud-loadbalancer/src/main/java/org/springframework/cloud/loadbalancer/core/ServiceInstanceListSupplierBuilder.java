@@ -33,6 +33,7 @@ import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
 import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
 import org.springframework.cloud.loadbalancer.cache.LoadBalancerCacheManager;
+import org.springframework.cloud.loadbalancer.cache.LoadBalancerCacheProperties;
 import org.springframework.cloud.loadbalancer.config.LoadBalancerZoneConfig;
 import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -102,6 +103,26 @@ public final class ServiceInstanceListSupplierBuilder {
 		return this;
 	}
 
+	/**
+	 * Sets a {@link ReactiveDiscoveryClient}-based
+	 * {@link WatchingServiceInstanceListSupplier} as a base
+	 * {@link ServiceInstanceListSupplier} in the hierarchy. The instances are updated as
+	 * soon as the discovery client reports changes, so it should not be combined with
+	 * {@link #withCaching()}.
+	 * @return the {@link ServiceInstanceListSupplierBuilder} object
+	 */
+	public ServiceInstanceListSupplierBuilder withDiscoveryClientWatch() {
+		if (baseCreator != null && LOG.isWarnEnabled()) {
+			LOG.warn("Overriding a previously set baseCreator with a ReactiveDiscoveryClient watch baseCreator.");
+		}
+		this.baseCreator = context -> {
+			ReactiveDiscoveryClient discoveryClient = context.getBean(ReactiveDiscoveryClient.class);
+
+			return new WatchingServiceInstanceListSupplier(discoveryClient, context.getEnvironment());
+		};
+		return this;
+	}
+
 	/**
 	 * Sets a user-provided {@link ServiceInstanceListSupplier} as a base
 	 * {@link ServiceInstanceListSupplier} in the hierarchy.
@@ -145,6 +166,39 @@ public final class ServiceInstanceListSupplierBuilder {
 		return this;
 	}
 
+	/**
+	 * Adds a {@link SlowStartServiceInstanceListSupplier} to the
+	 * {@link ServiceInstanceListSupplier} hierarchy.
+	 * @return the {@link ServiceInstanceListSupplierBuilder} object
+	 */
+	public ServiceInstanceListSupplierBuilder withSlowStart() {
+		DelegateCreator creator = (context, delegate) -> {
+			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerClientFactory = context
+				.getBean(LoadBalancerClientFactory.class);
+			return new SlowStartServiceInstanceListSupplier(delegate, loadBalancerClientFactory);
+		};
+		this.creators.add(creator);
+		return this;
+	}
+
+	/**
+	 * Adds an {@link OutlierEjectionServiceInstanceListSupplier} to the
+	 * {@link ServiceInstanceListSupplier} hierarchy. Since it relies on
+	 * {@link org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle}
+	 * callbacks, it should be the last stage added before calling
+	 * {@link #build(ConfigurableApplicationContext)}.
+	 * @return the {@link ServiceInstanceListSupplierBuilder} object
+	 */
+	public ServiceInstanceListSupplierBuilder withOutlierEjection() {
+		DelegateCreator creator = (context, delegate) -> {
+			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerClientFactory = context
+				.getBean(LoadBalancerClientFactory.class);
+			return new OutlierEjectionServiceInstanceListSupplier(delegate, loadBalancerClientFactory);
+		};
+		this.creators.add(creator);
+		return this;
+	}
+
 	/**
 	 * Adds a {@link HealthCheckServiceInstanceListSupplier} to the
 	 * {@link ServiceInstanceListSupplier} hierarchy.
@@ -307,8 +361,12 @@ public final class ServiceInstanceListSupplierBuilder {
 		DelegateCreator creator = (context, delegate) -> {
 			ObjectProvider<LoadBalancerCacheManager> cacheManagerProvider = context
 				.getBeanProvider(LoadBalancerCacheManager.class);
-			if (cacheManagerProvider.getIfAvailable() != null) {
-				return new CachingServiceInstanceListSupplier(delegate, cacheManagerProvider.getIfAvailable());
+			LoadBalancerCacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+			if (cacheManager != null) {
+				LoadBalancerCacheProperties cacheProperties = context
+					.getBeanProvider(LoadBalancerCacheProperties.class)
+					.getIfAvailable(LoadBalancerCacheProperties::new);
+				return new CachingServiceInstanceListSupplier(delegate, cacheManager, cacheProperties);
 			}
 			if (LOG.isWarnEnabled()) {
 				LOG.warn("LoadBalancerCacheManager not available, returning delegate without caching.");
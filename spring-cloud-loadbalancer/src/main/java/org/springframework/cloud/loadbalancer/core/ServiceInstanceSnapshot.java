@@ -0,0 +1,153 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * An immutable snapshot of the instances emitted by a {@link ServiceInstanceListSupplier}
+ * that lazily builds and memoizes indexes of these instances, for example, by metadata
+ * value. It allows filtering suppliers to look up the matching instances instead of
+ * scanning all the instances on each request. A snapshot is bound to a specific instance
+ * list, so the indexes are only rebuilt once the delegate emits a different list. When a
+ * new list holds instances equal to the previous ones, in the same order, the indexes of
+ * the previous snapshot are carried over instead of being rebuilt.
+ * <p>
+ * The lists returned from the indexes are shared between lookups and cannot be modified.
+ * Since the same list is returned for as long as the underlying instances do not change,
+ * suppliers further down the hierarchy can memoize their own results as well.
+ *
+ * @since 5.0.3
+ */
+public final class ServiceInstanceSnapshot {
+
+	private final List<ServiceInstance> instances;
+
+	private final Map<Object, Map<?, List<ServiceInstance>>> indexes;
+
+	// computed lazily, only needed once a different list is emitted
+	private volatile @Nullable Integer membershipHash;
+
+	private ServiceInstanceSnapshot(List<ServiceInstance> instances,
+			Map<Object, Map<?, List<ServiceInstance>>> indexes, @Nullable Integer membershipHash) {
+		this.instances = instances;
+		this.indexes = indexes;
+		this.membershipHash = membershipHash;
+	}
+
+	/**
+	 * Returns a snapshot of the given instances, reusing the previous snapshot if it was
+	 * created for the same list, or its indexes if it was created for a list of equal
+	 * instances.
+	 * @param instances the instances emitted by the delegate
+	 * @param previous the previously created snapshot, if any
+	 * @return a snapshot of the given instances
+	 */
+	public static ServiceInstanceSnapshot of(List<ServiceInstance> instances,
+			@Nullable ServiceInstanceSnapshot previous) {
+		if (previous != null) {
+			if (previous.instances == instances) {
+				return previous;
+			}
+			if (previous.instances.size() == instances.size()) {
+				int membershipHash = instances.hashCode();
+				if (previous.getMembershipHash() == membershipHash && previous.instances.equals(instances)) {
+					return new ServiceInstanceSnapshot(instances, previous.indexes, membershipHash);
+				}
+			}
+		}
+		return new ServiceInstanceSnapshot(instances, new ConcurrentHashMap<>(), null);
+	}
+
+	private int getMembershipHash() {
+		Integer hash = membershipHash;
+		if (hash == null) {
+			hash = instances.hashCode();
+			membershipHash = hash;
+		}
+		return hash;
+	}
+
+	public List<ServiceInstance> getInstances() {
+		return instances;
+	}
+
+	/**
+	 * Returns the instances with the given metadata value.
+	 * @param metadataKey the metadata key
+	 * @param value the expected metadata value
+	 * @return the matching instances, or an empty list if there are none
+	 */
+	public List<ServiceInstance> getByMetadata(String metadataKey, String value) {
+		List<ServiceInstance> matchingInstances = index(metadataKey,
+				instance -> getMetadataValue(instance, metadataKey))
+			.get(value);
+		return matchingInstances != null ? matchingInstances : List.of();
+	}
+
+	/**
+	 * Returns the instances grouped by the key computed with the classifier. The index is
+	 * built on the first call for a given index key and reused afterwards, so the same
+	 * index key must always be used with the same classifier. Instances for which the
+	 * classifier returns {@code null} are not indexed.
+	 * @param indexKey the key identifying the index
+	 * @param classifier the function computing the key of each instance
+	 * @param <K> the type of the keys
+	 * @return an unmodifiable map of the instances by key
+	 */
+	@SuppressWarnings("unchecked")
+	public <K> Map<K, List<ServiceInstance>> index(Object indexKey,
+			Function<ServiceInstance, @Nullable K> classifier) {
+		Map<?, List<ServiceInstance>> index = indexes.get(indexKey);
+		if (index == null) {
+			index = buildIndex(classifier);
+			Map<?, List<ServiceInstance>> existing = indexes.putIfAbsent(indexKey, index);
+			if (existing != null) {
+				index = existing;
+			}
+		}
+		return (Map<K, List<ServiceInstance>>) index;
+	}
+
+	private <K> Map<K, List<ServiceInstance>> buildIndex(Function<ServiceInstance, @Nullable K> classifier) {
+		Map<K, List<ServiceInstance>> index = new LinkedHashMap<>();
+		for (ServiceInstance instance : instances) {
+			K key = classifier.apply(instance);
+			if (key != null) {
+				index.computeIfAbsent(key, k -> new ArrayList<>()).add(instance);
+			}
+		}
+		index.replaceAll((key, indexedInstances) -> Collections.unmodifiableList(indexedInstances));
+		return Collections.unmodifiableMap(index);
+	}
+
+	private static @Nullable String getMetadataValue(ServiceInstance instance, String metadataKey) {
+		Map<String, String> metadata = instance.getMetadata();
+		return metadata != null ? metadata.get(metadataKey) : null;
+	}
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.time.Clock;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+
+/**
+ * A {@link ServiceInstanceListSupplier} implementation that gradually ramps up the share
+ * of traffic sent to newly discovered instances. The time each instance has first been
+ * seen is tracked and, during the configured slow-start window, the weight of the
+ * instance grows linearly from the configured minimal weight factor to {@code 1}. While
+ * instances are warming up, the returned list holds all the instances and implements
+ * {@link WeightedServiceInstances}, so that load balancers that support weighted
+ * sampling apply the weights on every selection. The weights are updated for every
+ * hundredth of the window. When placed before it in the hierarchy, the weights also
+ * scale the ones computed by {@link WeightedServiceInstanceListSupplier}.
+ * <p>
+ * Instances returned by the first non-empty emission are considered warmed up, so that
+ * slow start only applies to instances added later. Once no instance is warming up
+ * anymore, the lists provided by the delegate are returned as they are.
+ *
+ * @since 5.0.3
+ */
+public class SlowStartServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+	private static final Log LOG = LogFactory.getLog(SlowStartServiceInstanceListSupplier.class);
+
+	/**
+	 * Weight of a warmed-up instance, the weights of warming-up instances are scaled down
+	 * from it.
+	 */
+	static final int WEIGHT_SCALE = 100;
+
+	private final long windowMillis;
+
+	private final double minWeightFactor;
+
+	private final boolean callGetWithRequestOnDelegates;
+
+	private final Clock clock;
+
+	private final Map<String, Long> firstSeen = new ConcurrentHashMap<>();
+
+	private volatile @Nullable List<ServiceInstance> lastInstances;
+
+	private volatile long warmUpDeadline;
+
+	private volatile @Nullable WarmUpWeights lastWeights;
+
+	private boolean instancesSeen;
+
+	public SlowStartServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerClientFactory) {
+		this(delegate, loadBalancerClientFactory, Clock.systemUTC());
+	}
+
+	SlowStartServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerClientFactory, Clock clock) {
+		super(delegate);
+		LoadBalancerProperties properties = loadBalancerClientFactory.getProperties(getServiceId());
+		if (properties == null) {
+			properties = new LoadBalancerProperties();
+		}
+		this.windowMillis = properties.getSlowStart().getWindow().toMillis();
+		this.minWeightFactor = Math.min(Math.max(properties.getSlowStart().getMinWeightFactor(), 0), 1);
+		this.callGetWithRequestOnDelegates = properties.isCallGetWithRequestOnDelegates();
+		this.clock = clock;
+	}
+
+	@Override
+	public Flux<List<ServiceInstance>> get() {
+		return delegate.get().map(this::applySlowStart);
+	}
+
+	@Override
+	public Flux<List<ServiceInstance>> get(Request request) {
+		if (callGetWithRequestOnDelegates) {
+			return delegate.get(request).map(this::applySlowStart);
+		}
+		return get();
+	}
+
+	@Override
+	public @Nullable List<ServiceInstance> getSnapshot(Request request) {
+		List<ServiceInstance> instances = callGetWithRequestOnDelegates ? delegate.getSnapshot(request)
+				: delegate.getSnapshot(ReactiveLoadBalancer.REQUEST);
+		return instances != null ? applySlowStart(instances) : null;
+	}
+
+	private List<ServiceInstance> applySlowStart(List<ServiceInstance> instances) {
+		long now = clock.millis();
+		if (instances != lastInstances) {
+			trackInstances(instances, now);
+		}
+		if (now >= warmUpDeadline || instances.size() < 2) {
+			return instances;
+		}
+		long step = now / Math.max(windowMillis / 100, 1);
+		WarmUpWeights last = lastWeights;
+		if (last != null && last.instances() == instances && last.step() == step) {
+			return last.weighted();
+		}
+		int[] weights = new int[instances.size()];
+		for (int i = 0; i < weights.length; i++) {
+			double weightFactor = getWeightFactor(instances.get(i), now);
+			weights[i] = Math.max((int) Math.round(weightFactor * WEIGHT_SCALE), 1);
+		}
+		List<ServiceInstance> weighted = new AliasWeightedServiceInstanceList(instances, weights);
+		lastWeights = new WarmUpWeights(instances, step, weighted);
+		return weighted;
+	}
+
+	double getWeightFactor(ServiceInstance instance, long now) {
+		Long seen = firstSeen.get(key(instance));
+		if (seen == null || windowMillis <= 0) {
+			return 1;
+		}
+		long elapsed = now - seen;
+		if (elapsed >= windowMillis) {
+			return 1;
+		}
+		return Math.max(minWeightFactor, (double) elapsed / windowMillis);
+	}
+
+	private synchronized void trackInstances(List<ServiceInstance> instances, long now) {
+		if (instances == lastInstances) {
+			return;
+		}
+		// instances present from the start are not slowed down
+		boolean initial = !instancesSeen;
+		long deadline = warmUpDeadline;
+		Set<String> currentKeys = new HashSet<>();
+		for (ServiceInstance instance : instances) {
+			String key = key(instance);
+			currentKeys.add(key);
+			if (firstSeen.putIfAbsent(key, initial ? now - windowMillis : now) == null && !initial) {
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Starting slow start for new instance: " + key + " of service: " + getServiceId());
+				}
+				deadline = Math.max(deadline, now + windowMillis);
+			}
+		}
+		// forget removed instances, so that they get warmed up again if they return
+		firstSeen.keySet().retainAll(currentKeys);
+		warmUpDeadline = deadline;
+		lastInstances = instances;
+		instancesSeen = instancesSeen || !instances.isEmpty();
+	}
+
+	private static String key(ServiceInstance instance) {
+		String instanceId = instance.getInstanceId();
+		return instanceId != null ? instanceId : instance.getHost() + ":" + instance.getPort();
+	}
+
+	private record WarmUpWeights(List<ServiceInstance> instances, long step, List<ServiceInstance> weighted) {
+
+	}
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.InstanceDelta;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.core.env.Environment;
+import org.springframework.util.Assert;
+
+import static org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory.PROPERTY_NAME;
+
+/**
+ * A discovery-client-based {@link ServiceInstanceListSupplier} implementation that
+ * retrieves the instances once and then maintains them incrementally from the changes
+ * emitted by {@link ReactiveDiscoveryClient#watchInstances(String, Duration)}. A new list
+ * is only emitted when the instances have changed, and the latest list is replayed to new
+ * subscribers, so no caching is required on top of this supplier.
+ * <p>
+ * For discovery clients that do not support watches, the instances are polled with the
+ * interval set in {@link #SERVICE_DISCOVERY_POLL_INTERVAL}, starting one interval after
+ * the initial retrieval, and the instances the first poll reports as added are only
+ * applied if they differ from the retrieved ones.
+ *
+ * @since 5.0.3
+ */
+public class WatchingServiceInstanceListSupplier
+		implements ServiceInstanceListSupplier, InitializingBean, DisposableBean {
+
+	/**
+	 * Property that establishes the interval between polls for discovery clients that do
+	 * not support watches.
+	 */
+	public static final String SERVICE_DISCOVERY_POLL_INTERVAL = "spring.cloud.loadbalancer.service-discovery"
+			+ ".poll-interval";
+
+	private static final Log LOG = LogFactory.getLog(WatchingServiceInstanceListSupplier.class);
+
+	/**
+	 * Changes received within this time are applied together, so that a burst of
+	 * changes, such as the initial instances, results in a single list.
+	 */
+	static final Duration DELTA_BATCH_TIMEOUT = Duration.ofMillis(10);
+
+	static final int MAX_DELTA_BATCH_SIZE = 1024;
+
+	private final String serviceId;
+
+	private final Flux<List<ServiceInstance>> serviceInstances;
+
+	private @Nullable Disposable watchDisposable;
+
+	public WatchingServiceInstanceListSupplier(ReactiveDiscoveryClient delegate, Environment environment) {
+		String property = environment.getProperty(PROPERTY_NAME);
+		Assert.hasText(property, "'serviceId' must not be empty");
+		this.serviceId = property;
+		String providedPollInterval = environment.getProperty(SERVICE_DISCOVERY_POLL_INTERVAL);
+		Duration pollInterval = providedPollInterval != null ? DurationStyle.detectAndParse(providedPollInterval)
+				: Duration.ofSeconds(30);
+		this.serviceInstances = Flux.defer(() -> watch(delegate, pollInterval))
+			.doOnError(this::logException)
+			.retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(pollInterval))
+			.replay(1)
+			.refCount(1);
+	}
+
+	/**
+	 * Retrieves the current instances and then applies the changes emitted by the
+	 * discovery client. The instances are tracked per subscription, so that they are
+	 * retrieved again whenever the watch is restarted after an error.
+	 */
+	private Flux<List<ServiceInstance>> watch(ReactiveDiscoveryClient delegate, Duration pollInterval) {
+		Map<String, ServiceInstance> instances = new LinkedHashMap<>();
+		Mono<List<ServiceInstance>> initialInstances = delegate.getInstances(serviceId)
+			.collectList()
+			.map(retrievedInstances -> {
+				InstanceDelta.diff(instances, retrievedInstances);
+				return List.copyOf(instances.values());
+			})
+			.onErrorResume(error -> {
+				logException(error);
+				return Mono.just(List.of());
+			});
+		Flux<List<ServiceInstance>> changedInstances = delegate.watchInstances(serviceId, pollInterval)
+			.bufferTimeout(MAX_DELTA_BATCH_SIZE, DELTA_BATCH_TIMEOUT)
+			.mapNotNull(deltas -> applyDeltas(instances, deltas));
+		return initialInstances.concatWith(changedInstances);
+	}
+
+	private static @Nullable List<ServiceInstance> applyDeltas(Map<String, ServiceInstance> instances,
+			List<InstanceDelta> deltas) {
+		boolean changed = false;
+		for (InstanceDelta delta : deltas) {
+			ServiceInstance instance = delta.getInstance();
+			String key = InstanceDelta.key(instance);
+			if (delta.getType() == InstanceDelta.Type.REMOVED) {
+				changed |= instances.remove(key) != null;
+			}
+			else {
+				changed |= !instance.equals(instances.put(key, instance));
+			}
+		}
+		return changed ? List.copyOf(instances.values()) : null;
+	}
+
+	@Override
+	public String getServiceId() {
+		return serviceId;
+	}
+
+	@Override
+	public Flux<List<ServiceInstance>> get() {
+		return serviceInstances;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		Disposable watchDisposable = this.watchDisposable;
+		if (watchDisposable != null) {
+			watchDisposable.dispose();
+		}
+		this.watchDisposable = serviceInstances.subscribe();
+	}
+
+	@Override
+	public void destroy() {
+		Disposable watchDisposable = this.watchDisposable;
+		if (watchDisposable != null) {
+			watchDisposable.dispose();
+		}
+	}
+
+	private void logException(Throwable error) {
+		if (LOG.isErrorEnabled()) {
+			LOG.error(String.format("Exception occurred while watching instances for service %s", serviceId), error);
+		}
+	}
+
+}
@@ -21,16 +21,22 @@ import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Flux;
 
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties.Weighted.SelectionMode;
 import org.springframework.cloud.client.loadbalancer.Request;
 import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
 
 /**
  * A {@link ServiceInstanceListSupplier} implementation that uses weights to expand the
- * instances provided by delegate.
+ * instances provided by delegate. Depending on the configured {@link SelectionMode}, the
+ * instances are either repeated proportionally to their weights or sampled through an
+ * alias table by the load balancers that support {@link WeightedServiceInstances}. In
+ * alias mode, the table is reused for as long as the delegate keeps emitting the same
+ * instance list; expanded lists are lazy and cheap to create, so they are not memoized.
  *
  * @author Zhuozhi Ji
  * @author Olga Maciaszek-Sharma
@@ -47,6 +53,10 @@ public class WeightedServiceInstanceListSupplier extends DelegatingServiceInstan
 
 	private boolean callGetWithRequestOnDelegates;
 
+	private SelectionMode selectionMode = SelectionMode.EXPANDED;
+
+	private volatile @Nullable WeightedInstances lastWeightedInstances;
+
 	public WeightedServiceInstanceListSupplier(ServiceInstanceListSupplier delegate) {
 		this(delegate, WeightedServiceInstanceListSupplier::metadataWeightFunction);
 	}
@@ -68,6 +78,7 @@ public class WeightedServiceInstanceListSupplier extends DelegatingServiceInstan
 		LoadBalancerProperties properties = loadBalancerClientFactory.getProperties(getServiceId());
 		if (properties != null) {
 			callGetWithRequestOnDelegates = properties.isCallGetWithRequestOnDelegates();
+			selectionMode = properties.getWeighted().getSelectionMode();
 		}
 		else {
 			callGetWithRequestOnDelegates = true;
@@ -87,10 +98,21 @@ public class WeightedServiceInstanceListSupplier extends DelegatingServiceInstan
 		return get();
 	}
 
+	@Override
+	public @Nullable List<ServiceInstance> getSnapshot(Request request) {
+		List<ServiceInstance> instances = callGetWithRequestOnDelegates ? delegate.getSnapshot(request)
+				: delegate.getSnapshot(ReactiveLoadBalancer.REQUEST);
+		return instances != null ? expandByWeight(instances) : null;
+	}
+
 	private List<ServiceInstance> expandByWeight(List<ServiceInstance> instances) {
 		if (instances.size() == 0) {
 			return instances;
 		}
+		WeightedInstances last = lastWeightedInstances;
+		if (selectionMode == SelectionMode.ALIAS && last != null && last.instances() == instances) {
+			return last.weighted();
+		}
 
 		int[] weights = instances.stream().mapToInt(instance -> {
 			try {
@@ -114,8 +136,19 @@ public class WeightedServiceInstanceListSupplier extends DelegatingServiceInstan
 				return DEFAULT_WEIGHT;
 			}
 		}).toArray();
+		if (instances instanceof AliasWeightedServiceInstanceList weightedInstances) {
+			// for example, warm-up weights applied by SlowStartServiceInstanceListSupplier
+			for (int i = 0; i < weights.length; i++) {
+				weights[i] = (int) Math.min((long) weights[i] * weightedInstances.getWeight(i), Integer.MAX_VALUE);
+			}
+		}
 
-		return new LazyWeightedServiceInstanceList(instances, weights);
+		if (selectionMode != SelectionMode.ALIAS) {
+			return new LazyWeightedServiceInstanceList(instances, weights);
+		}
+		List<ServiceInstance> weighted = new AliasWeightedServiceInstanceList(instances, weights);
+		lastWeightedInstances = new WeightedInstances(instances, weighted);
+		return weighted;
 	}
 
 	static int metadataWeightFunction(ServiceInstance serviceInstance) {
@@ -131,4 +164,8 @@ public class WeightedServiceInstanceListSupplier extends DelegatingServiceInstan
 		return DEFAULT_WEIGHT;
 	}
 
+	private record WeightedInstances(List<ServiceInstance> instances, List<ServiceInstance> weighted) {
+
+	}
+
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.util.List;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * A list of distinct {@link ServiceInstance ServiceInstances} that can be sampled
+ * according to their weights. The list itself holds each instance once, so iterating it
+ * does not depend on the weights; load balancers that support weighted selection call
+ * {@link #pick(int)} instead of indexing the list.
+ *
+ * @since 5.0.3
+ * @see WeightedServiceInstanceListSupplier
+ */
+public interface WeightedServiceInstances extends List<ServiceInstance> {
+
+	/**
+	 * Returns an instance for the given position. Both consecutive positions, as used by
+	 * round-robin selection, and uniformly distributed random positions select each
+	 * instance proportionally to its weight.
+	 * @param position a non-negative position
+	 * @return the instance for the position
+	 */
+	ServiceInstance pick(int position);
+
+}
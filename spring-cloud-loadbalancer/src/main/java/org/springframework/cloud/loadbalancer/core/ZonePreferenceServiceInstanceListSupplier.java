@@ -16,8 +16,8 @@
 
 package org.springframework.cloud.loadbalancer.core;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import org.jspecify.annotations.Nullable;
@@ -49,6 +49,8 @@ public class ZonePreferenceServiceInstanceListSupplier extends DelegatingService
 
 	private boolean callGetWithRequestOnDelegates;
 
+	private volatile @Nullable ServiceInstanceSnapshot lastSnapshot;
+
 	public ZonePreferenceServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
 			LoadBalancerZoneConfig zoneConfig) {
 		super(delegate);
@@ -87,14 +89,12 @@ public class ZonePreferenceServiceInstanceListSupplier extends DelegatingService
 			zone = zoneConfig.getZone();
 		}
 		if (zone != null) {
-			List<ServiceInstance> filteredInstances = new ArrayList<>();
-			for (ServiceInstance serviceInstance : serviceInstances) {
-				String instanceZone = getZone(serviceInstance);
-				if (zone.equalsIgnoreCase(instanceZone)) {
-					filteredInstances.add(serviceInstance);
-				}
-			}
-			if (!filteredInstances.isEmpty()) {
+			ServiceInstanceSnapshot snapshot = ServiceInstanceSnapshot.of(serviceInstances, lastSnapshot);
+			lastSnapshot = snapshot;
+			List<ServiceInstance> filteredInstances = snapshot
+				.index(ZONE_KEY, ZonePreferenceServiceInstanceListSupplier::getNormalizedZone)
+				.get(zone.toLowerCase(Locale.ROOT));
+			if (filteredInstances != null) {
 				return filteredInstances;
 			}
 		}
@@ -103,7 +103,12 @@ public class ZonePreferenceServiceInstanceListSupplier extends DelegatingService
 		return serviceInstances;
 	}
 
-	private @Nullable String getZone(ServiceInstance serviceInstance) {
+	private static @Nullable String getNormalizedZone(ServiceInstance serviceInstance) {
+		String instanceZone = getZone(serviceInstance);
+		return instanceZone != null ? instanceZone.toLowerCase(Locale.ROOT) : null;
+	}
+
+	private static @Nullable String getZone(ServiceInstance serviceInstance) {
 		Map<String, String> metadata = serviceInstance.getMetadata();
 		if (metadata != null) {
 			return metadata.get(ZONE_KEY);
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.support;
+
+import org.springframework.cloud.client.loadbalancer.LoadBalancerMetadataCache;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.SmartApplicationListener;
+
+/**
+ * Clears the {@link LoadBalancerMetadataCache} whenever the environment changes or the
+ * refresh scope is refreshed, so that the updated properties and beans are resolved on
+ * the next request.
+ *
+ * @since 5.0.3
+ */
+public class LoadBalancerMetadataCacheInvalidator implements SmartApplicationListener {
+
+	private final LoadBalancerMetadataCache metadataCache;
+
+	public LoadBalancerMetadataCacheInvalidator(LoadBalancerMetadataCache metadataCache) {
+		this.metadataCache = metadataCache;
+	}
+
+	@Override
+	public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+		return EnvironmentChangeEvent.class.isAssignableFrom(eventType)
+				|| RefreshScopeRefreshedEvent.class.isAssignableFrom(eventType);
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationEvent event) {
+		metadataCache.clear();
+	}
+
+}
@@ -29,14 +29,20 @@ import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.cloud.client.discovery.composite.CompositeDiscoveryClientAutoConfiguration;
 import org.springframework.cloud.client.discovery.composite.reactive.ReactiveCompositeDiscoveryClientAutoConfiguration;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
 import org.springframework.cloud.loadbalancer.config.LoadBalancerAutoConfiguration;
 import org.springframework.cloud.loadbalancer.config.LoadBalancerCacheAutoConfiguration;
 import org.springframework.cloud.loadbalancer.core.CachingServiceInstanceListSupplier;
 import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
 import org.springframework.cloud.loadbalancer.core.DiscoveryClientServiceInstanceListSupplier;
 import org.springframework.cloud.loadbalancer.core.HealthCheckServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.PeakEwmaLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.PowerOfTwoChoicesLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RandomLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
 import org.springframework.cloud.loadbalancer.core.RequestBasedStickySessionServiceInstanceListSupplier;
 import org.springframework.cloud.loadbalancer.core.RetryAwareServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
 import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
 import org.springframework.cloud.loadbalancer.core.WeightedServiceInstanceListSupplier;
 import org.springframework.cloud.loadbalancer.core.ZonePreferenceServiceInstanceListSupplier;
@@ -240,6 +246,43 @@ class LoadBalancerClientConfigurationTests {
 			});
 	}
 
+	@Test
+	void shouldInstantiateRoundRobinLoadBalancerWhenAlgorithmPropertyNotSet() {
+		reactiveDiscoveryClientRunner.withPropertyValues(LoadBalancerClientFactory.PROPERTY_NAME + "=myservice")
+			.run(context -> then(context.getBean(ReactorLoadBalancer.class))
+				.isInstanceOf(RoundRobinLoadBalancer.class));
+	}
+
+	@Test
+	void shouldInstantiateRandomLoadBalancer() {
+		reactiveDiscoveryClientRunner
+			.withPropertyValues(LoadBalancerClientFactory.PROPERTY_NAME + "=myservice",
+					"spring.cloud.loadbalancer.algorithm=random")
+			.run(context -> then(context.getBean(ReactorLoadBalancer.class)).isInstanceOf(RandomLoadBalancer.class));
+	}
+
+	@Test
+	void shouldInstantiatePowerOfTwoChoicesLoadBalancerForClient() {
+		reactiveDiscoveryClientRunner
+			.withPropertyValues(LoadBalancerClientFactory.PROPERTY_NAME + "=myservice",
+					"spring.cloud.loadbalancer.algorithm=random",
+					"spring.cloud.loadbalancer.clients.myservice.algorithm=power-of-two-choices")
+			.run(context -> {
+				then(context.getBean(ReactorLoadBalancer.class)).isInstanceOf(PowerOfTwoChoicesLoadBalancer.class);
+				then(context.getBeansOfType(LoadBalancerLifecycle.class).values())
+					.hasAtLeastOneElementOfType(PowerOfTwoChoicesLoadBalancer.class);
+			});
+	}
+
+	@Test
+	void shouldInstantiatePeakEwmaLoadBalancer() {
+		blockingDiscoveryClientRunner
+			.withPropertyValues(LoadBalancerClientFactory.PROPERTY_NAME + "=myservice",
+					"spring.cloud.loadbalancer.algorithm=peak-ewma")
+			.run(context -> then(context.getBean(ReactorLoadBalancer.class))
+				.isInstanceOf(PeakEwmaLoadBalancer.class));
+	}
+
 	private static Stream<Arguments> blockingConfigurations() {
 		return Stream.of(Arguments.of(RestTemplateTestConfig.class), Arguments.of(RestClientTestConfig.class),
 				Arguments.of(RestTemplateAndRestClientConfig.class));
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for {@link AliasWeightedServiceInstanceList}.
+ */
+class AliasWeightedServiceInstanceListTest {
+
+	@Test
+	void shouldKeepConstantMemoryRegardlessOfWeights() {
+		List<ServiceInstance> serviceInstances = serviceInstances(3);
+		AliasWeightedServiceInstanceList list = new AliasWeightedServiceInstanceList(serviceInstances,
+				new int[] { 997, 1000, 1003 });
+
+		assertThat(list.thresholds).hasSize(3);
+		assertThat(list.aliases).hasSize(3);
+		assertThat(list).containsExactlyElementsOf(serviceInstances);
+	}
+
+	@Test
+	void shouldSelectProportionallyToWeightsOverFullCycle() {
+		List<ServiceInstance> serviceInstances = serviceInstances(4);
+		int[] weights = { 1, 2, 3, 4 };
+		AliasWeightedServiceInstanceList list = new AliasWeightedServiceInstanceList(serviceInstances, weights);
+
+		int cycle = list.size() << 16;
+		Map<String, Integer> counter = count(list, cycle);
+
+		for (int i = 0; i < weights.length; i++) {
+			assertThat(counter.get("test-" + i) / (double) cycle).isCloseTo(weights[i] / 10d, within(0.001));
+		}
+	}
+
+	@Test
+	void shouldSpreadSelectionsEvenlyOverShortSequences() {
+		List<ServiceInstance> serviceInstances = serviceInstances(2);
+		AliasWeightedServiceInstanceList list = new AliasWeightedServiceInstanceList(serviceInstances,
+				new int[] { 1, 3 });
+
+		Map<String, Integer> counter = count(list, 400);
+
+		assertThat(counter.get("test-0")).isCloseTo(100, within(5));
+		assertThat(counter.get("test-1")).isCloseTo(300, within(5));
+	}
+
+	@Test
+	void shouldReturnSameInstanceForSingleInstance() {
+		List<ServiceInstance> serviceInstances = serviceInstances(1);
+		AliasWeightedServiceInstanceList list = new AliasWeightedServiceInstanceList(serviceInstances,
+				new int[] { 5 });
+
+		assertThat(list.pick(0)).isEqualTo(serviceInstances.get(0));
+		assertThat(list.pick(Integer.MAX_VALUE)).isEqualTo(serviceInstances.get(0));
+	}
+
+	@Test
+	void shouldThrowExceptionForIndexOutOfBounds() {
+		AliasWeightedServiceInstanceList list = new AliasWeightedServiceInstanceList(serviceInstances(2),
+				new int[] { 1, 1 });
+
+		assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> list.get(list.size()));
+		assertThatIllegalArgumentException().isThrownBy(() -> list.pick(-1));
+	}
+
+	private static Map<String, Integer> count(WeightedServiceInstances list, int limit) {
+		Map<String, Integer> counter = new HashMap<>();
+		for (int i = 0; i < limit; i++) {
+			counter.merge(list.pick(i).getInstanceId(), 1, Integer::sum);
+		}
+		return counter;
+	}
+
+	private static List<ServiceInstance> serviceInstances(int count) {
+		List<ServiceInstance> serviceInstances = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			serviceInstances.add(new DefaultServiceInstance("test-" + i, "test", "localhost", 8080, false));
+		}
+		return serviceInstances;
+	}
+
+}
@@ -16,20 +16,30 @@
 
 package org.springframework.cloud.loadbalancer.core;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.cloud.client.DefaultServiceInstance;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerClientsProperties;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
 import org.springframework.cloud.loadbalancer.blocking.client.BlockingLoadBalancerClient;
 import org.springframework.cloud.loadbalancer.cache.LoadBalancerCacheManager;
+import org.springframework.cloud.loadbalancer.cache.LoadBalancerCacheProperties;
 import org.springframework.cloud.loadbalancer.config.LoadBalancerCacheAutoConfiguration;
 import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -39,7 +49,14 @@ import org.springframework.context.annotation.Import;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import static java.time.Duration.ofMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.cloud.loadbalancer.core.LoadBalancerTestUtils.buildLoadBalancerClientFactory;
 import static org.springframework.cloud.loadbalancer.core.ServiceInstanceListSuppliersTestUtils.healthCheckFunction;
 
@@ -69,6 +86,112 @@ class CachingServiceInstanceListSupplierTests {
 
 	}
 
+	@Test
+	void shouldReturnSnapshotOnlyOnceInstancesCached() {
+		ServiceInstanceListSupplier delegate = mock(ServiceInstanceListSupplier.class);
+		List<ServiceInstance> instances = List.of(instance("1host", false));
+		when(delegate.getServiceId()).thenReturn(SERVICE_ID);
+		when(delegate.get()).thenReturn(Flux.just(instances));
+		CachingServiceInstanceListSupplier supplier = new CachingServiceInstanceListSupplier(delegate,
+				new ConcurrentMapCacheManager(CachingServiceInstanceListSupplier.SERVICE_INSTANCE_CACHE_NAME));
+
+		assertThat(supplier.getSnapshot(new DefaultRequest<>())).isNull();
+
+		supplier.get().blockFirst();
+
+		assertThat(supplier.getSnapshot(new DefaultRequest<>())).isEqualTo(instances);
+	}
+
+	@Test
+	void shouldShareInFlightRetrievalBetweenConcurrentCacheMisses() throws Exception {
+		ServiceInstanceListSupplier delegate = mock(ServiceInstanceListSupplier.class);
+		Sinks.One<List<ServiceInstance>> discovery = Sinks.one();
+		List<ServiceInstance> instances = List.of(instance("1host", false));
+		when(delegate.getServiceId()).thenReturn(SERVICE_ID);
+		when(delegate.get()).thenReturn(discovery.asMono().flux());
+		CachingServiceInstanceListSupplier supplier = new CachingServiceInstanceListSupplier(delegate,
+				new ConcurrentMapCacheManager(CachingServiceInstanceListSupplier.SERVICE_INSTANCE_CACHE_NAME));
+
+		CompletableFuture<List<ServiceInstance>> first = supplier.get().next().toFuture();
+		CompletableFuture<List<ServiceInstance>> second = supplier.get().next().toFuture();
+		discovery.tryEmitValue(instances);
+
+		assertThat(first.get()).isEqualTo(instances);
+		assertThat(second.get()).isEqualTo(instances);
+		assertThat(supplier.get().blockFirst()).isEqualTo(instances);
+		verify(delegate, times(1)).get();
+	}
+
+	@Test
+	void shouldReleaseInFlightRetrievalWhenDelegateNeverEmits() {
+		ServiceInstanceListSupplier delegate = mock(ServiceInstanceListSupplier.class);
+		List<ServiceInstance> instances = List.of(instance("1host", false));
+		when(delegate.getServiceId()).thenReturn(SERVICE_ID);
+		when(delegate.get()).thenReturn(Flux.never(), Flux.just(instances));
+		LoadBalancerCacheProperties cacheProperties = new LoadBalancerCacheProperties();
+		cacheProperties.setRetrievalTimeout(ofMillis(100));
+		CachingServiceInstanceListSupplier supplier = new CachingServiceInstanceListSupplier(delegate,
+				new ConcurrentMapCacheManager(CachingServiceInstanceListSupplier.SERVICE_INSTANCE_CACHE_NAME),
+				cacheProperties);
+
+		assertThatExceptionOfType(RuntimeException.class).isThrownBy(() -> supplier.get().blockFirst())
+			.withCauseInstanceOf(TimeoutException.class);
+
+		assertThat(supplier.get().blockFirst()).isEqualTo(instances);
+		verify(delegate, times(2)).get();
+	}
+
+	@Test
+	void shouldReturnStaleInstancesWhileRevalidating() {
+		ServiceInstanceListSupplier delegate = mock(ServiceInstanceListSupplier.class);
+		Sinks.One<List<ServiceInstance>> discovery = Sinks.one();
+		List<ServiceInstance> staleInstances = List.of(instance("1host", false));
+		List<ServiceInstance> refreshedInstances = List.of(instance("2host", false));
+		when(delegate.getServiceId()).thenReturn(SERVICE_ID);
+		when(delegate.get()).thenReturn(Flux.just(staleInstances), discovery.asMono().flux());
+		ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+				CachingServiceInstanceListSupplier.SERVICE_INSTANCE_CACHE_NAME);
+		LoadBalancerCacheProperties cacheProperties = new LoadBalancerCacheProperties();
+		cacheProperties.setStaleWhileRevalidate(true);
+		CachingServiceInstanceListSupplier supplier = new CachingServiceInstanceListSupplier(delegate, cacheManager,
+				cacheProperties);
+		supplier.get().blockFirst();
+
+		cacheManager.getCache(CachingServiceInstanceListSupplier.SERVICE_INSTANCE_CACHE_NAME).clear();
+
+		assertThat(supplier.get().blockFirst()).isEqualTo(staleInstances);
+		assertThat(supplier.get().blockFirst()).isEqualTo(staleInstances);
+		discovery.tryEmitValue(refreshedInstances);
+		await().untilAsserted(() -> assertThat(supplier.get().blockFirst()).isEqualTo(refreshedInstances));
+		verify(delegate, times(2)).get();
+	}
+
+	@Test
+	void shouldRefreshInstancesAheadOfExpiry() {
+		ServiceInstanceListSupplier delegate = mock(ServiceInstanceListSupplier.class);
+		List<ServiceInstance> instances = List.of(instance("1host", false));
+		List<ServiceInstance> refreshedInstances = List.of(instance("2host", false));
+		when(delegate.getServiceId()).thenReturn(SERVICE_ID);
+		when(delegate.get()).thenReturn(Flux.just(instances), Flux.just(refreshedInstances));
+		Clock clock = mock(Clock.class);
+		when(clock.millis()).thenReturn(1000L);
+		LoadBalancerCacheProperties cacheProperties = new LoadBalancerCacheProperties();
+		cacheProperties.setRefreshAfterWrite(Duration.ofSeconds(30));
+		CachingServiceInstanceListSupplier supplier = new CachingServiceInstanceListSupplier(delegate,
+				new ConcurrentMapCacheManager(CachingServiceInstanceListSupplier.SERVICE_INSTANCE_CACHE_NAME),
+				cacheProperties, clock);
+		supplier.get().blockFirst();
+
+		when(clock.millis()).thenReturn(20000L);
+		assertThat(supplier.get().blockFirst()).isEqualTo(instances);
+		verify(delegate, times(1)).get();
+
+		when(clock.millis()).thenReturn(31000L);
+		assertThat(supplier.get().blockFirst()).isEqualTo(instances);
+		await().untilAsserted(() -> assertThat(supplier.get().blockFirst()).isEqualTo(refreshedInstances));
+		verify(delegate, times(2)).get();
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	@Import(LoadBalancerCacheAutoConfiguration.class)
 	static class TestConfig {
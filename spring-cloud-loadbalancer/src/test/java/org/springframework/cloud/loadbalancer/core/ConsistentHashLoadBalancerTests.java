@@ -0,0 +1,192 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.support.SimpleObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ConsistentHashLoadBalancer}.
+ */
+class ConsistentHashLoadBalancerTests {
+
+	private final AtomicReference<List<ServiceInstance>> instances = new AtomicReference<>(instances(10));
+
+	private final LoadBalancerProperties.ConsistentHash properties = new LoadBalancerProperties.ConsistentHash();
+
+	@ParameterizedTest
+	@EnumSource(LoadBalancerProperties.ConsistentHash.Table.class)
+	void shouldRouteSameKeyToSameInstance(LoadBalancerProperties.ConsistentHash.Table table) {
+		properties.setTable(table);
+		ConsistentHashLoadBalancer loadBalancer = loadBalancer();
+
+		ServiceInstance first = chooseForHeader(loadBalancer, "key-1");
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(chooseForHeader(loadBalancer, "key-1")).isEqualTo(first);
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(LoadBalancerProperties.ConsistentHash.Table.class)
+	void shouldSpreadKeysAcrossInstances(LoadBalancerProperties.ConsistentHash.Table table) {
+		properties.setTable(table);
+		ConsistentHashLoadBalancer loadBalancer = loadBalancer();
+		Set<ServiceInstance> chosen = new HashSet<>();
+
+		for (int i = 0; i < 1000; i++) {
+			chosen.add(chooseForHeader(loadBalancer, "key-" + i));
+		}
+
+		assertThat(chosen).hasSize(10);
+	}
+
+	@ParameterizedTest
+	@EnumSource(LoadBalancerProperties.ConsistentHash.Table.class)
+	void shouldNotDependOnInstanceOrder(LoadBalancerProperties.ConsistentHash.Table table) {
+		properties.setTable(table);
+		ConsistentHashLoadBalancer loadBalancer = loadBalancer();
+		ServiceInstance before = chooseForHeader(loadBalancer, "key-1");
+
+		List<ServiceInstance> reversed = new ArrayList<>(instances.get());
+		Collections.reverse(reversed);
+		instances.set(reversed);
+
+		assertThat(chooseForHeader(loadBalancer, "key-1")).isEqualTo(before);
+	}
+
+	@ParameterizedTest
+	@EnumSource(LoadBalancerProperties.ConsistentHash.Table.class)
+	void shouldOnlyRemapKeysOfRemovedInstance(LoadBalancerProperties.ConsistentHash.Table table) {
+		properties.setTable(table);
+		ConsistentHashLoadBalancer loadBalancer = loadBalancer();
+		List<ServiceInstance> before = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			before.add(chooseForHeader(loadBalancer, "key-" + i));
+		}
+
+		ServiceInstance removed = instances.get().get(3);
+		List<ServiceInstance> remaining = new ArrayList<>(instances.get());
+		remaining.remove(removed);
+		instances.set(remaining);
+
+		int moved = 0;
+		for (int i = 0; i < 1000; i++) {
+			ServiceInstance after = chooseForHeader(loadBalancer, "key-" + i);
+			if (!before.get(i).equals(removed)) {
+				if (!after.equals(before.get(i))) {
+					moved++;
+				}
+			}
+			assertThat(after).isNotEqualTo(removed);
+		}
+		// Maglev allows for a small amount of disruption, a ring allows for none
+		assertThat(moved).isLessThan(50);
+	}
+
+	@ParameterizedTest
+	@EnumSource(LoadBalancerProperties.ConsistentHash.Table.class)
+	void shouldMatchFreshTableAfterMembershipChange(LoadBalancerProperties.ConsistentHash.Table table) {
+		properties.setTable(table);
+		ConsistentHashLoadBalancer updated = loadBalancer();
+		chooseForHeader(updated, "key-0");
+		List<ServiceInstance> changed = new ArrayList<>(instances.get());
+		changed.remove(3);
+		changed.remove(7);
+		changed.add(new DefaultServiceInstance("instance-10", "test", "host10", 8080, false));
+		changed.add(0, new DefaultServiceInstance("instance-11", "test", "host11", 8080, false));
+		instances.set(changed);
+		ConsistentHashLoadBalancer fresh = loadBalancer();
+
+		for (int i = 0; i < 1000; i++) {
+			assertThat(chooseForHeader(updated, "key-" + i)).isEqualTo(chooseForHeader(fresh, "key-" + i));
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(LoadBalancerProperties.ConsistentHash.Table.class)
+	void shouldUsePathSegmentAsKey(LoadBalancerProperties.ConsistentHash.Table table) {
+		properties.setTable(table);
+		properties.setPathSegment(1);
+		ConsistentHashLoadBalancer loadBalancer = loadBalancer();
+
+		ServiceInstance first = choose(loadBalancer, URI.create("http://test/carts/42/items"), new HttpHeaders());
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(choose(loadBalancer, URI.create("http://test/carts/42/other/" + i), new HttpHeaders()))
+				.isEqualTo(first);
+		}
+		assertThat(loadBalancer.getHashKey(new DefaultRequest<>(
+				new RequestDataContext(new RequestData(HttpMethod.GET, URI.create("http://test/carts/42"),
+						new HttpHeaders(), new LinkedMultiValueMap<>(), new HashMap<>())))))
+			.isEqualTo("42");
+	}
+
+	private ServiceInstance chooseForHeader(ConsistentHashLoadBalancer loadBalancer, String key) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.add(LoadBalancerProperties.ConsistentHash.DEFAULT_HEADER_NAME, key);
+		return choose(loadBalancer, URI.create("http://test"), headers);
+	}
+
+	private ServiceInstance choose(ConsistentHashLoadBalancer loadBalancer, URI uri, HttpHeaders headers) {
+		MultiValueMap<String, String> cookies = new LinkedMultiValueMap<>();
+		RequestData requestData = new RequestData(HttpMethod.GET, uri, headers, cookies, new HashMap<>());
+		return loadBalancer.choose(new DefaultRequest<>(new RequestDataContext(requestData))).block().getServer();
+	}
+
+	private ConsistentHashLoadBalancer loadBalancer() {
+		DiscoveryClientServiceInstanceListSupplier supplier = mock(DiscoveryClientServiceInstanceListSupplier.class);
+		when(supplier.get(any())).thenAnswer(invocation -> Flux.just(instances.get()));
+		return new ConsistentHashLoadBalancer(new SimpleObjectProvider<>(supplier), "test", properties);
+	}
+
+	private static List<ServiceInstance> instances(int count) {
+		List<ServiceInstance> instances = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			instances.add(new DefaultServiceInstance("instance-" + i, "test", "host" + i, 8080, false));
+		}
+		return instances;
+	}
+
+}
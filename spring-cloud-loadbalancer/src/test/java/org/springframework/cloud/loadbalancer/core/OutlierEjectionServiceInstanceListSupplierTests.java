@@ -0,0 +1,231 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.HintRequestContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.LinkedMultiValueMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link OutlierEjectionServiceInstanceListSupplier}.
+ */
+class OutlierEjectionServiceInstanceListSupplierTests {
+
+	private final ServiceInstanceListSupplier delegate = mock(ServiceInstanceListSupplier.class);
+
+	private final LoadBalancerClientFactory loadBalancerClientFactory = mock(LoadBalancerClientFactory.class);
+
+	private final Clock clock = mock(Clock.class);
+
+	private final LoadBalancerProperties properties = new LoadBalancerProperties();
+
+	private final ServiceInstance first = new DefaultServiceInstance("test-1", "test", "host1", 8080, false);
+
+	private final ServiceInstance second = new DefaultServiceInstance("test-2", "test", "host2", 8080, false);
+
+	private final ServiceInstance third = new DefaultServiceInstance("test-3", "test", "host3", 8080, false);
+
+	private final List<ServiceInstance> instances = List.of(first, second, third);
+
+	@BeforeEach
+	void setUp() {
+		properties.getOutlierEjection().setConsecutiveFailures(3);
+		properties.getOutlierEjection().setBaseEjectionTime(Duration.ofSeconds(10));
+		properties.getOutlierEjection().setMaxEjectionTime(Duration.ofSeconds(30));
+		properties.getOutlierEjection().setMaxEjectionPercent(50);
+		when(delegate.getServiceId()).thenReturn("test");
+		when(delegate.get()).thenReturn(Flux.just(instances));
+		when(loadBalancerClientFactory.getProperties(any())).thenReturn(properties);
+		when(clock.millis()).thenReturn(1000L);
+	}
+
+	@Test
+	void shouldReturnDelegateListWhenNoInstanceEjected() {
+		OutlierEjectionServiceInstanceListSupplier supplier = supplier();
+
+		supplier.onComplete(completion(first, CompletionContext.Status.SUCCESS));
+
+		assertThat(supplier.get().blockFirst()).isSameAs(instances);
+	}
+
+	@Test
+	void shouldEjectInstanceAfterConsecutiveFailures() {
+		OutlierEjectionServiceInstanceListSupplier supplier = supplier();
+
+		for (int i = 0; i < 3; i++) {
+			supplier.onComplete(completion(second, CompletionContext.Status.FAILED));
+		}
+
+		assertThat(supplier.get().blockFirst()).containsExactly(first, third);
+	}
+
+	@Test
+	void shouldResetConsecutiveFailuresOnSuccess() {
+		properties.getOutlierEjection().setFailureRateThreshold(2);
+		OutlierEjectionServiceInstanceListSupplier supplier = supplier();
+
+		supplier.onComplete(completion(second, CompletionContext.Status.FAILED));
+		supplier.onComplete(completion(second, CompletionContext.Status.FAILED));
+		supplier.onComplete(completion(second, CompletionContext.Status.SUCCESS));
+		supplier.onComplete(completion(second, CompletionContext.Status.FAILED));
+
+		assertThat(supplier.get().blockFirst()).isSameAs(instances);
+	}
+
+	@Test
+	void shouldTreatServerErrorsAsFailures() {
+		OutlierEjectionServiceInstanceListSupplier supplier = supplier();
+
+		for (int i = 0; i < 3; i++) {
+			supplier.onComplete(completion(third, HttpStatus.SERVICE_UNAVAILABLE));
+		}
+		supplier.onComplete(completion(first, HttpStatus.NOT_FOUND));
+
+		assertThat(supplier.get().blockFirst()).containsExactly(first, second);
+	}
+
+	@Test
+	void shouldEjectInstanceWithHighFailureRate() {
+		properties.getOutlierEjection().setConsecutiveFailures(0);
+		properties.getOutlierEjection().setMinimumRequests(4);
+		OutlierEjectionServiceInstanceListSupplier supplier = supplier();
+
+		supplier.onComplete(completion(first, CompletionContext.Status.FAILED));
+		supplier.onComplete(completion(first, CompletionContext.Status.SUCCESS));
+		supplier.onComplete(completion(first, CompletionContext.Status.FAILED));
+		assertThat(supplier.isEjected(first, 1000L)).isFalse();
+		supplier.onComplete(completion(first, CompletionContext.Status.FAILED));
+
+		assertThat(supplier.isEjected(first, 1000L)).isTrue();
+	}
+
+	@Test
+	void shouldEjectLatencyOutlier() {
+		properties.getOutlierEjection().setMinimumRequests(2);
+		OutlierEjectionServiceInstanceListSupplier supplier = supplier();
+
+		for (int i = 0; i < 2; i++) {
+			supplier.onComplete(timedCompletion(first, 10));
+			supplier.onComplete(timedCompletion(second, 12));
+			supplier.onComplete(timedCompletion(third, 500));
+		}
+		// latencies are evaluated at most once per window bucket
+		when(clock.millis()).thenReturn(2000L);
+
+		assertThat(supplier.get().blockFirst()).containsExactly(first, second);
+	}
+
+	@Test
+	void shouldNotEjectMoreThanMaxEjectionPercent() {
+		OutlierEjectionServiceInstanceListSupplier supplier = supplier();
+
+		for (ServiceInstance instance : instances) {
+			for (int i = 0; i < 3; i++) {
+				supplier.onComplete(completion(instance, CompletionContext.Status.FAILED));
+			}
+		}
+
+		assertThat(supplier.get().blockFirst()).containsExactly(second, third);
+	}
+
+	@Test
+	void shouldReturnInstanceAfterEjectionTime() {
+		OutlierEjectionServiceInstanceListSupplier supplier = supplier();
+		for (int i = 0; i < 3; i++) {
+			supplier.onComplete(completion(second, CompletionContext.Status.FAILED));
+		}
+
+		when(clock.millis()).thenReturn(11000L);
+
+		assertThat(supplier.get().blockFirst()).isSameAs(instances);
+	}
+
+	@Test
+	void shouldBackOffExponentially() {
+		OutlierEjectionServiceInstanceListSupplier supplier = supplier();
+		for (int i = 0; i < 3; i++) {
+			supplier.onComplete(completion(second, CompletionContext.Status.FAILED));
+		}
+
+		when(clock.millis()).thenReturn(12000L);
+		for (int i = 0; i < 3; i++) {
+			supplier.onComplete(completion(second, CompletionContext.Status.FAILED));
+		}
+
+		assertThat(supplier.isEjected(second, 31000L)).isTrue();
+		assertThat(supplier.isEjected(second, 32000L)).isFalse();
+	}
+
+	private OutlierEjectionServiceInstanceListSupplier supplier() {
+		OutlierEjectionServiceInstanceListSupplier supplier = new OutlierEjectionServiceInstanceListSupplier(delegate,
+				loadBalancerClientFactory, clock);
+		supplier.get().blockFirst();
+		return supplier;
+	}
+
+	private static CompletionContext<Object, ServiceInstance, Object> completion(ServiceInstance instance,
+			CompletionContext.Status status) {
+		return new CompletionContext<>(status, new DefaultRequest<>(), new DefaultResponse(instance));
+	}
+
+	private static CompletionContext<Object, ServiceInstance, Object> completion(ServiceInstance instance,
+			HttpStatus httpStatus) {
+		RequestData requestData = new RequestData(HttpMethod.GET, URI.create("http://test/path"), new HttpHeaders(),
+				new LinkedMultiValueMap<>(), new HashMap<>());
+		ResponseData responseData = new ResponseData(httpStatus, new HttpHeaders(), new LinkedMultiValueMap<>(),
+				requestData);
+		return new CompletionContext<>(CompletionContext.Status.SUCCESS, new DefaultRequest<>(),
+				new DefaultResponse(instance), responseData);
+	}
+
+	private static CompletionContext<Object, ServiceInstance, Object> timedCompletion(ServiceInstance instance,
+			long latencyMillis) {
+		HintRequestContext context = new HintRequestContext();
+		context.setRequestStartTime(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+		Request<Object> request = new DefaultRequest<>(context);
+		return new CompletionContext<>(CompletionContext.Status.SUCCESS, request, new DefaultResponse(instance));
+	}
+
+}
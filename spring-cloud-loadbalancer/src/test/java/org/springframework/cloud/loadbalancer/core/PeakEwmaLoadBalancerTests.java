@@ -0,0 +1,155 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultRequestContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.support.SimpleObjectProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link PeakEwmaLoadBalancer}.
+ */
+class PeakEwmaLoadBalancerTests {
+
+	private final ServiceInstance fast = new DefaultServiceInstance("fast", "service", "host1", 0, false);
+
+	private final ServiceInstance slow = new DefaultServiceInstance("slow", "service", "host2", 0, false);
+
+	private final PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(supplierOf(Arrays.asList(fast, slow)),
+			"test");
+
+	@Test
+	void shouldReturnEmptyResponseWhenNoInstancesAvailable() {
+		PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(supplierOf(Collections.emptyList()), "test");
+
+		Response<ServiceInstance> response = loadBalancer.choose().block();
+
+		assertThat(response.hasServer()).isFalse();
+	}
+
+	@Test
+	void shouldPreferInstanceWithLowerLatency() {
+		complete(fast, 1);
+		complete(slow, 100);
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(loadBalancer.choose().block().getServer()).isEqualTo(fast);
+		}
+	}
+
+	@Test
+	void shouldTakeOutstandingRequestsIntoAccount() {
+		complete(fast, 10);
+		complete(slow, 15);
+		for (int i = 0; i < 3; i++) {
+			loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(fast));
+		}
+
+		assertThat(loadBalancer.choose().block().getServer()).isEqualTo(slow);
+	}
+
+	@Test
+	void shouldPenaliseInstanceWithPendingRequestsAndNoSamples() {
+		loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(slow));
+
+		assertThat(loadBalancer.choose().block().getServer()).isEqualTo(fast);
+	}
+
+	@Test
+	void shouldReactToLatencyPeaksImmediately() {
+		complete(fast, 1);
+		complete(slow, 5);
+		complete(fast, 50);
+
+		assertThat(loadBalancer.choose().block().getServer()).isEqualTo(slow);
+	}
+
+	@Test
+	void shouldTrackStatsByInstanceId() {
+		ServiceInstance updatedSlow = new DefaultServiceInstance("slow", "service", "host2", 0, false,
+				Collections.singletonMap("zone", "a"));
+		complete(slow, 100);
+
+		assertThat(loadBalancer.getCost(updatedSlow, System.nanoTime())).isPositive();
+	}
+
+	@Test
+	void shouldForgetRemovedInstancesWithoutRequestsInFlight() {
+		DiscoveryClientServiceInstanceListSupplier supplier = mock(DiscoveryClientServiceInstanceListSupplier.class);
+		when(supplier.get(any())).thenReturn(Flux.just(Arrays.asList(fast, slow)),
+				Flux.just(Collections.singletonList(fast)));
+		PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(new SimpleObjectProvider<>(supplier), "test");
+		loadBalancer.choose().block();
+		loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(fast));
+		loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(slow));
+		loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, new DefaultRequest<>(),
+				new DefaultResponse(slow)));
+
+		loadBalancer.choose().block();
+
+		assertThat(loadBalancer.getTrackedInstanceCount()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldKeepStatsOfEqualInstanceLists() {
+		DiscoveryClientServiceInstanceListSupplier supplier = mock(DiscoveryClientServiceInstanceListSupplier.class);
+		ServiceInstance equalSlow = new DefaultServiceInstance("slow", "service", "host2", 0, false);
+		when(supplier.get(any())).thenReturn(Flux.just(Arrays.asList(fast, slow)),
+				Flux.just(Arrays.asList(fast, equalSlow)));
+		PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(new SimpleObjectProvider<>(supplier), "test");
+		loadBalancer.choose().block();
+		loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(slow));
+
+		assertThat(loadBalancer.choose().block().getServer()).isEqualTo(fast);
+		assertThat(loadBalancer.getTrackedInstanceCount()).isEqualTo(2);
+	}
+
+	private void complete(ServiceInstance serviceInstance, long latencyMillis) {
+		DefaultRequestContext context = new DefaultRequestContext();
+		Request<Object> request = new DefaultRequest<>(context);
+		DefaultResponse response = new DefaultResponse(serviceInstance);
+		loadBalancer.onStartRequest(request, response);
+		context.setRequestStartTime(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+		loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+	}
+
+	private static SimpleObjectProvider<ServiceInstanceListSupplier> supplierOf(List<ServiceInstance> instances) {
+		DiscoveryClientServiceInstanceListSupplier supplier = mock(DiscoveryClientServiceInstanceListSupplier.class);
+		when(supplier.get(any())).thenReturn(Flux.just(instances));
+		return new SimpleObjectProvider<>(supplier);
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.support.SimpleObjectProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link PowerOfTwoChoicesLoadBalancer}.
+ */
+class PowerOfTwoChoicesLoadBalancerTests {
+
+	private final ServiceInstance first = new DefaultServiceInstance("first", "service", "host1", 0, false);
+
+	private final ServiceInstance second = new DefaultServiceInstance("second", "service", "host2", 0, false);
+
+	private PowerOfTwoChoicesLoadBalancer loadBalancer;
+
+	@Test
+	void shouldReturnEmptyResponseWhenSupplierNotAvailable() {
+		loadBalancer = new PowerOfTwoChoicesLoadBalancer(new SimpleObjectProvider<>(null), "test");
+
+		Response<ServiceInstance> response = loadBalancer.choose().block();
+
+		assertThat(response.hasServer()).isFalse();
+	}
+
+	@Test
+	void shouldReturnEmptyResponseWhenNoInstancesAvailable() {
+		loadBalancer = new PowerOfTwoChoicesLoadBalancer(supplierOf(Collections.emptyList()), "test");
+
+		Response<ServiceInstance> response = loadBalancer.choose().block();
+
+		assertThat(response.hasServer()).isFalse();
+	}
+
+	@Test
+	void shouldReturnSingleInstance() {
+		loadBalancer = new PowerOfTwoChoicesLoadBalancer(supplierOf(Collections.singletonList(first)), "test");
+
+		Response<ServiceInstance> response = loadBalancer.choose().block();
+
+		assertThat(response.getServer()).isEqualTo(first);
+	}
+
+	@Test
+	void shouldPreferInstanceWithFewerOutstandingRequests() {
+		loadBalancer = new PowerOfTwoChoicesLoadBalancer(supplierOf(Arrays.asList(first, second)), "test");
+		loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(first));
+		loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(first));
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(loadBalancer.choose().block().getServer()).isEqualTo(second);
+		}
+	}
+
+	@Test
+	void shouldTrackOutstandingRequests() {
+		loadBalancer = new PowerOfTwoChoicesLoadBalancer(supplierOf(Arrays.asList(first, second)), "test");
+
+		loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(first));
+		loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(first));
+		assertThat(loadBalancer.getOutstandingRequests(first)).isEqualTo(2);
+
+		loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, new DefaultRequest<>(),
+				new DefaultResponse(first)));
+		loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.FAILED, new RuntimeException(),
+				new DefaultRequest<>(), new DefaultResponse(first)));
+		loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, new DefaultRequest<>(),
+				new DefaultResponse(first)));
+
+		assertThat(loadBalancer.getOutstandingRequests(first)).isZero();
+		assertThat(loadBalancer.getOutstandingRequests(second)).isZero();
+	}
+
+	@Test
+	void shouldTrackOutstandingRequestsByInstanceId() {
+		loadBalancer = new PowerOfTwoChoicesLoadBalancer(supplierOf(Arrays.asList(first, second)), "test");
+		ServiceInstance updatedFirst = new DefaultServiceInstance("first", "service", "host1", 0, false,
+				Collections.singletonMap("zone", "a"));
+
+		loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(first));
+
+		assertThat(loadBalancer.getOutstandingRequests(updatedFirst)).isEqualTo(1);
+	}
+
+	@Test
+	void shouldForgetRemovedInstancesWithoutRequestsInFlight() {
+		ServiceInstance third = new DefaultServiceInstance("third", "service", "host3", 0, false);
+		DiscoveryClientServiceInstanceListSupplier supplier = mock(DiscoveryClientServiceInstanceListSupplier.class);
+		when(supplier.get(any())).thenReturn(Flux.just(Arrays.asList(first, second, third)),
+				Flux.just(Arrays.asList(first, second)));
+		loadBalancer = new PowerOfTwoChoicesLoadBalancer(new SimpleObjectProvider<>(supplier), "test");
+		loadBalancer.choose().block();
+		loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(first));
+		loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(third));
+		loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, new DefaultRequest<>(),
+				new DefaultResponse(third)));
+
+		loadBalancer.choose().block();
+
+		assertThat(loadBalancer.getTrackedInstanceCount()).isEqualTo(1);
+		assertThat(loadBalancer.getOutstandingRequests(first)).isEqualTo(1);
+	}
+
+	@Test
+	void shouldForgetRemovedInstancesOnceTheirRequestsComplete() {
+		ServiceInstance third = new DefaultServiceInstance("third", "service", "host3", 0, false);
+		DiscoveryClientServiceInstanceListSupplier supplier = mock(DiscoveryClientServiceInstanceListSupplier.class);
+		when(supplier.get(any())).thenReturn(Flux.just(Arrays.asList(first, second, third)),
+				Flux.just(Arrays.asList(first, second)));
+		loadBalancer = new PowerOfTwoChoicesLoadBalancer(new SimpleObjectProvider<>(supplier), "test");
+		loadBalancer.choose().block();
+		loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(third));
+
+		loadBalancer.choose().block();
+		assertThat(loadBalancer.getTrackedInstanceCount()).isEqualTo(1);
+		loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, new DefaultRequest<>(),
+				new DefaultResponse(third)));
+
+		assertThat(loadBalancer.getTrackedInstanceCount()).isZero();
+	}
+
+	@Test
+	void shouldTriggerSelectedInstanceCallback() {
+		SameInstancePreferenceServiceInstanceListSupplier supplier = mock(
+				SameInstancePreferenceServiceInstanceListSupplier.class);
+		when(supplier.get(any())).thenReturn(Flux.just(Collections.singletonList(first)));
+		loadBalancer = new PowerOfTwoChoicesLoadBalancer(new SimpleObjectProvider<>(supplier), "test");
+
+		Response<ServiceInstance> response = loadBalancer.choose().block();
+
+		assertThat(response.getServer()).isEqualTo(first);
+		verify((SelectedInstanceCallback) supplier).selectedServiceInstance(first);
+	}
+
+	private SimpleObjectProvider<ServiceInstanceListSupplier> supplierOf(List<ServiceInstance> instances) {
+		DiscoveryClientServiceInstanceListSupplier supplier = mock(DiscoveryClientServiceInstanceListSupplier.class);
+		when(supplier.get(any())).thenReturn(Flux.just(instances));
+		return new SimpleObjectProvider<>(supplier);
+	}
+
+}
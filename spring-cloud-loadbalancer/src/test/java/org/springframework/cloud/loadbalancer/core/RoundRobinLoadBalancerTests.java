@@ -25,6 +25,8 @@ import reactor.core.publisher.Flux;
 
 import org.springframework.cloud.client.DefaultServiceInstance;
 import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
 import org.springframework.cloud.loadbalancer.support.SimpleObjectProvider;
 
 import static java.lang.Integer.MAX_VALUE;
@@ -32,6 +34,7 @@ import static java.lang.Integer.MIN_VALUE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -72,6 +75,27 @@ class RoundRobinLoadBalancerTests {
 		assertThat(loadBalancer.position).hasValue(0);
 	}
 
+	@Test
+	void shouldPickWeightedInstancesProportionallyToTheirWeights() {
+		ServiceInstance light = new DefaultServiceInstance("light", "service", "host1", 0, false);
+		ServiceInstance heavy = new DefaultServiceInstance("heavy", "service", "host2", 0, false);
+		List<ServiceInstance> instances = new AliasWeightedServiceInstanceList(List.of(light, heavy),
+				new int[] { 1, 3 });
+		ServiceInstanceListSupplier supplier = mock(ServiceInstanceListSupplier.class);
+		when(supplier.get(any())).thenReturn(Flux.just(instances));
+		RoundRobinLoadBalancer loadBalancer = new RoundRobinLoadBalancer(new SimpleObjectProvider<>(supplier),
+				"shouldPickWeightedInstancesProportionallyToTheirWeights", -1);
+
+		int heavyCount = 0;
+		for (int i = 0; i < 400; i++) {
+			if (heavy.equals(loadBalancer.choose().block().getServer())) {
+				heavyCount++;
+			}
+		}
+
+		assertThat(heavyCount).isBetween(295, 305);
+	}
+
 	@Test
 	void shouldCallSelectedServiceInstanceIfSupplierOrItsDelegateIsInstanceOf() {
 		TestSelectedServiceInstanceSupplier delegate = mock(TestSelectedServiceInstanceSupplier.class);
@@ -85,6 +109,30 @@ class RoundRobinLoadBalancerTests {
 		verify(delegate, times(1)).selectedServiceInstance(any(ServiceInstance.class));
 	}
 
+	@Test
+	void shouldChooseFromSnapshotWithoutSubscribing() {
+		ServiceInstanceListSupplier supplier = mock(ServiceInstanceListSupplier.class);
+		ServiceInstance instance = new DefaultServiceInstance("test-1", "service", "host", 0, false);
+		when(supplier.getSnapshot(any())).thenReturn(Collections.singletonList(instance));
+		RoundRobinLoadBalancer loadBalancer = new RoundRobinLoadBalancer(new SimpleObjectProvider<>(supplier),
+				"shouldChooseFromSnapshotWithoutSubscribing", 0);
+
+		Response<ServiceInstance> response = loadBalancer.chooseFromSnapshot(new DefaultRequest<>());
+
+		assertThat(response).isNotNull();
+		assertThat(response.getServer()).isSameAs(instance);
+		verify(supplier, never()).get(any());
+	}
+
+	@Test
+	void shouldReturnNullFromSnapshotIfNotAvailable() {
+		ServiceInstanceListSupplier supplier = mock(ServiceInstanceListSupplier.class);
+		RoundRobinLoadBalancer loadBalancer = new RoundRobinLoadBalancer(new SimpleObjectProvider<>(supplier),
+				"shouldReturnNullFromSnapshotIfNotAvailable", 0);
+
+		assertThat(loadBalancer.chooseFromSnapshot(new DefaultRequest<>())).isNull();
+	}
+
 	@SuppressWarnings("all")
 	void assertOrderEnforced(int seed) {
 		List<ServiceInstance> instances = new ArrayList<>();
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link ServiceInstanceSnapshot}.
+ */
+class ServiceInstanceSnapshotTests {
+
+	private final ServiceInstance first = instance("test-1", "zone-a");
+
+	private final ServiceInstance second = instance("test-2", "zone-b");
+
+	private final ServiceInstance third = instance("test-3", "zone-a");
+
+	private final ServiceInstance noMetadata = new DefaultServiceInstance("test-4", "test", "host", 8080, false);
+
+	private final List<ServiceInstance> instances = List.of(first, second, third, noMetadata);
+
+	@Test
+	void shouldReturnInstancesByMetadata() {
+		ServiceInstanceSnapshot snapshot = ServiceInstanceSnapshot.of(instances, null);
+
+		assertThat(snapshot.getByMetadata("zone", "zone-a")).containsExactly(first, third);
+		assertThat(snapshot.getByMetadata("zone", "zone-b")).containsExactly(second);
+		assertThat(snapshot.getByMetadata("zone", "zone-c")).isEmpty();
+	}
+
+	@Test
+	void shouldReturnSharedUnmodifiableLists() {
+		ServiceInstanceSnapshot snapshot = ServiceInstanceSnapshot.of(instances, null);
+
+		List<ServiceInstance> zoneA = snapshot.getByMetadata("zone", "zone-a");
+
+		assertThat(snapshot.getByMetadata("zone", "zone-a")).isSameAs(zoneA);
+		assertThatThrownBy(() -> zoneA.add(second)).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	void shouldReuseIndexesForListOfEqualInstances() {
+		ServiceInstanceSnapshot previous = ServiceInstanceSnapshot.of(instances, null);
+		List<ServiceInstance> zoneA = previous.getByMetadata("zone", "zone-a");
+		List<ServiceInstance> equalInstances = List.of(instance("test-1", "zone-a"), instance("test-2", "zone-b"),
+				instance("test-3", "zone-a"), new DefaultServiceInstance("test-4", "test", "host", 8080, false));
+
+		ServiceInstanceSnapshot snapshot = ServiceInstanceSnapshot.of(equalInstances, previous);
+
+		assertThat(snapshot).isNotSameAs(previous);
+		assertThat(snapshot.getInstances()).isSameAs(equalInstances);
+		assertThat(snapshot.getByMetadata("zone", "zone-a")).isSameAs(zoneA);
+	}
+
+	@Test
+	void shouldRebuildIndexesForListOfDifferentInstances() {
+		ServiceInstanceSnapshot previous = ServiceInstanceSnapshot.of(instances, null);
+		previous.getByMetadata("zone", "zone-a");
+		List<ServiceInstance> changedInstances = List.of(first, second, instance("test-3", "zone-b"), noMetadata);
+
+		ServiceInstanceSnapshot snapshot = ServiceInstanceSnapshot.of(changedInstances, previous);
+
+		assertThat(snapshot.getByMetadata("zone", "zone-a")).containsExactly(first);
+	}
+
+	@Test
+	void shouldBuildIndexOnce() {
+		ServiceInstanceSnapshot snapshot = ServiceInstanceSnapshot.of(instances, null);
+		AtomicInteger classifications = new AtomicInteger();
+
+		for (int i = 0; i < 3; i++) {
+			Map<Integer, List<ServiceInstance>> index = snapshot.index("length", instance -> {
+				classifications.incrementAndGet();
+				return instance.getInstanceId().length();
+			});
+			assertThat(index.get(6)).containsExactlyElementsOf(instances);
+		}
+
+		assertThat(classifications).hasValue(instances.size());
+	}
+
+	@Test
+	void shouldReusePreviousSnapshotForSameList() {
+		ServiceInstanceSnapshot snapshot = ServiceInstanceSnapshot.of(instances, null);
+
+		assertThat(ServiceInstanceSnapshot.of(instances, snapshot)).isSameAs(snapshot);
+		assertThat(ServiceInstanceSnapshot.of(new ArrayList<>(instances), snapshot)).isNotSameAs(snapshot);
+	}
+
+	private static ServiceInstance instance(String instanceId, String zone) {
+		return new DefaultServiceInstance(instanceId, "test", "host", 8080, false, Map.of("zone", zone));
+	}
+
+}
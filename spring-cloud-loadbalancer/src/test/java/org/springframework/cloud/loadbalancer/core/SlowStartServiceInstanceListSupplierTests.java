@@ -0,0 +1,200 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link SlowStartServiceInstanceListSupplier}.
+ */
+class SlowStartServiceInstanceListSupplierTests {
+
+	private final ServiceInstanceListSupplier delegate = mock(ServiceInstanceListSupplier.class);
+
+	private final LoadBalancerClientFactory loadBalancerClientFactory = mock(LoadBalancerClientFactory.class);
+
+	private final Clock clock = mock(Clock.class);
+
+	private final ServiceInstance first = new DefaultServiceInstance("test-1", "test", "host1", 8080, false);
+
+	private final ServiceInstance second = new DefaultServiceInstance("test-2", "test", "host2", 8080, false);
+
+	private final ServiceInstance third = new DefaultServiceInstance("test-3", "test", "host3", 8080, false);
+
+	@BeforeEach
+	void setUp() {
+		LoadBalancerProperties properties = new LoadBalancerProperties();
+		properties.getSlowStart().setWindow(Duration.ofSeconds(10));
+		properties.getSlowStart().setMinWeightFactor(0.1d);
+		when(delegate.getServiceId()).thenReturn("test");
+		when(loadBalancerClientFactory.getProperties(any())).thenReturn(properties);
+		when(clock.millis()).thenReturn(1000L);
+	}
+
+	@Test
+	void shouldNotSlowDownInitialInstances() {
+		List<ServiceInstance> instances = List.of(first, second);
+		when(delegate.get()).thenReturn(Flux.just(instances));
+		SlowStartServiceInstanceListSupplier supplier = new SlowStartServiceInstanceListSupplier(delegate,
+				loadBalancerClientFactory, clock);
+
+		List<ServiceInstance> result = supplier.get().blockFirst();
+
+		assertThat(result).isSameAs(instances);
+		assertThat(supplier.getWeightFactor(first, 1000L)).isEqualTo(1);
+	}
+
+	@Test
+	void shouldRampUpWeightOfNewInstance() {
+		SlowStartServiceInstanceListSupplier supplier = new SlowStartServiceInstanceListSupplier(delegate,
+				loadBalancerClientFactory, clock);
+		when(delegate.get()).thenReturn(Flux.just(List.of(first, second)));
+		supplier.get().blockFirst();
+
+		when(delegate.get()).thenReturn(Flux.just(List.of(first, second, third)));
+		supplier.get().blockFirst();
+
+		assertThat(supplier.getWeightFactor(first, 1000L)).isEqualTo(1);
+		assertThat(supplier.getWeightFactor(third, 1000L)).isEqualTo(0.1d);
+		assertThat(supplier.getWeightFactor(third, 6000L)).isCloseTo(0.5d, within(0.0001d));
+		assertThat(supplier.getWeightFactor(third, 11000L)).isEqualTo(1);
+	}
+
+	@Test
+	void shouldReduceShareOfWarmingUpInstance() {
+		SlowStartServiceInstanceListSupplier supplier = new SlowStartServiceInstanceListSupplier(delegate,
+				loadBalancerClientFactory, clock);
+		when(delegate.get()).thenReturn(Flux.just(List.of(first, second)));
+		supplier.get().blockFirst();
+		when(delegate.get()).thenReturn(Flux.just(List.of(first, second, third)));
+
+		List<ServiceInstance> result = Objects.requireNonNull(supplier.get().blockFirst());
+
+		assertThat(result).containsExactly(first, second, third).isInstanceOf(WeightedServiceInstances.class);
+		int thirdCount = 0;
+		for (int i = 0; i < 2100; i++) {
+			if (third.equals(((WeightedServiceInstances) result).pick(i))) {
+				thirdCount++;
+			}
+		}
+		// weights of 1, 1 and 0.1
+		assertThat(thirdCount).isBetween(90, 110);
+	}
+
+	@Test
+	void shouldReuseWarmUpWeightsUntilNextStep() {
+		SlowStartServiceInstanceListSupplier supplier = new SlowStartServiceInstanceListSupplier(delegate,
+				loadBalancerClientFactory, clock);
+		when(delegate.get()).thenReturn(Flux.just(List.of(first, second)));
+		supplier.get().blockFirst();
+		List<ServiceInstance> instances = List.of(first, second, third);
+		when(delegate.get()).thenReturn(Flux.just(instances));
+
+		List<ServiceInstance> result = supplier.get().blockFirst();
+		assertThat(supplier.get().blockFirst()).isSameAs(result);
+
+		when(clock.millis()).thenReturn(6000L);
+		List<ServiceInstance> rampedUp = supplier.get().blockFirst();
+		assertThat(rampedUp).isNotSameAs(result);
+		assertThat(((AliasWeightedServiceInstanceList) rampedUp).getWeight(2)).isEqualTo(50);
+	}
+
+	@Test
+	void shouldScaleWeightsOfWeightedSupplier() {
+		SlowStartServiceInstanceListSupplier slowStartSupplier = new SlowStartServiceInstanceListSupplier(delegate,
+				loadBalancerClientFactory, clock);
+		WeightedServiceInstanceListSupplier supplier = new WeightedServiceInstanceListSupplier(slowStartSupplier);
+		when(delegate.get()).thenReturn(Flux.just(List.of(first, second)));
+		supplier.get().blockFirst();
+		when(delegate.get()).thenReturn(Flux.just(List.of(first, second, third)));
+
+		Map<ServiceInstance, Long> counts = Objects.requireNonNull(supplier.get().blockFirst())
+			.stream()
+			.collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+		assertThat(counts).containsEntry(first, 10L).containsEntry(second, 10L).containsEntry(third, 1L);
+	}
+
+	@Test
+	void shouldSlowDownInstancesAddedAfterEmptyEmission() {
+		SlowStartServiceInstanceListSupplier supplier = new SlowStartServiceInstanceListSupplier(delegate,
+				loadBalancerClientFactory, clock);
+		when(delegate.get()).thenReturn(Flux.just(List.of(first, second)));
+		supplier.get().blockFirst();
+		when(delegate.get()).thenReturn(Flux.just(List.of()));
+		supplier.get().blockFirst();
+
+		when(delegate.get()).thenReturn(Flux.just(List.of(first, second, third)));
+		supplier.get().blockFirst();
+
+		assertThat(supplier.getWeightFactor(third, 1000L)).isEqualTo(0.1d);
+	}
+
+	@Test
+	void shouldReturnDelegateListOnceWindowHasPassed() {
+		SlowStartServiceInstanceListSupplier supplier = new SlowStartServiceInstanceListSupplier(delegate,
+				loadBalancerClientFactory, clock);
+		when(delegate.get()).thenReturn(Flux.just(List.of(first, second)));
+		supplier.get().blockFirst();
+		List<ServiceInstance> instances = List.of(first, second, third);
+		when(delegate.get()).thenReturn(Flux.just(instances));
+		supplier.get().blockFirst();
+
+		when(clock.millis()).thenReturn(11000L);
+		List<ServiceInstance> result = supplier.get().blockFirst();
+
+		assertThat(result).isSameAs(instances);
+	}
+
+	@Test
+	void shouldWarmUpAgainInstanceThatHasBeenRemoved() {
+		SlowStartServiceInstanceListSupplier supplier = new SlowStartServiceInstanceListSupplier(delegate,
+				loadBalancerClientFactory, clock);
+		when(delegate.get()).thenReturn(Flux.just(List.of(first, second, third)));
+		supplier.get().blockFirst();
+		when(delegate.get()).thenReturn(Flux.just(List.of(first, second)));
+		supplier.get().blockFirst();
+
+		when(clock.millis()).thenReturn(5000L);
+		when(delegate.get()).thenReturn(Flux.just(List.of(first, second, third)));
+		supplier.get().blockFirst();
+
+		assertThat(supplier.getWeightFactor(third, 5000L)).isEqualTo(0.1d);
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2012-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.loadbalancer.core;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.InstanceDelta;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link WatchingServiceInstanceListSupplier}.
+ */
+class WatchingServiceInstanceListSupplierTests {
+
+	private static final String SERVICE_ID = "test";
+
+	private static final Duration VERIFICATION_TIMEOUT = Duration.ofSeconds(10);
+
+	private final MockEnvironment environment = new MockEnvironment();
+
+	private final ReactiveDiscoveryClient discoveryClient = mock(ReactiveDiscoveryClient.class);
+
+	private final Sinks.Many<InstanceDelta> deltas = Sinks.many().multicast().onBackpressureBuffer();
+
+	private final ServiceInstance first = instance("test-1", "host1");
+
+	private final ServiceInstance second = instance("test-2", "host2");
+
+	private final ServiceInstance third = instance("test-3", "host3");
+
+	@BeforeEach
+	void setUp() {
+		environment.setProperty("loadbalancer.client.name", SERVICE_ID);
+		when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Flux.just(first, second));
+		when(discoveryClient.watchInstances(eq(SERVICE_ID), any())).thenReturn(deltas.asFlux());
+	}
+
+	@Test
+	void shouldApplyChangesToRetrievedInstances() {
+		WatchingServiceInstanceListSupplier supplier = new WatchingServiceInstanceListSupplier(discoveryClient,
+				environment);
+
+		StepVerifier.create(supplier.get())
+			.expectNext(List.of(first, second))
+			.then(() -> deltas.tryEmitNext(InstanceDelta.added(third)))
+			.expectNext(List.of(first, second, third))
+			.then(() -> {
+				deltas.tryEmitNext(InstanceDelta.removed(first));
+				deltas.tryEmitNext(InstanceDelta.modified(instance("test-2", "host4")));
+			})
+			.expectNext(List.of(instance("test-2", "host4"), third))
+			.thenCancel()
+			.verify(VERIFICATION_TIMEOUT);
+	}
+
+	@Test
+	void shouldNotEmitIfInstancesUnchanged() {
+		WatchingServiceInstanceListSupplier supplier = new WatchingServiceInstanceListSupplier(discoveryClient,
+				environment);
+
+		StepVerifier.create(supplier.get())
+			.expectNext(List.of(first, second))
+			.then(() -> {
+				deltas.tryEmitNext(InstanceDelta.added(instance("test-1", "host1")));
+				deltas.tryEmitNext(InstanceDelta.removed(third));
+			})
+			.expectNoEvent(Duration.ofMillis(200))
+			.thenCancel()
+			.verify(VERIFICATION_TIMEOUT);
+	}
+
+	@Test
+	void shouldReplayLatestInstancesToNewSubscribers() {
+		WatchingServiceInstanceListSupplier supplier = new WatchingServiceInstanceListSupplier(discoveryClient,
+				environment);
+		supplier.afterPropertiesSet();
+
+		deltas.tryEmitNext(InstanceDelta.added(third));
+
+		StepVerifier.create(supplier.get())
+			.expectNext(List.of(first, second, third))
+			.thenCancel()
+			.verify(VERIFICATION_TIMEOUT);
+		supplier.destroy();
+	}
+
+	@Test
+	void shouldRetrieveInstancesOnceOnStartWithPollingWatch() {
+		ReactiveDiscoveryClient pollingDiscoveryClient = mock(ReactiveDiscoveryClient.class, CALLS_REAL_METHODS);
+		doReturn(Flux.just(first, second)).when(pollingDiscoveryClient).getInstances(SERVICE_ID);
+		WatchingServiceInstanceListSupplier supplier = new WatchingServiceInstanceListSupplier(pollingDiscoveryClient,
+				environment);
+
+		StepVerifier.create(supplier.get())
+			.expectNext(List.of(first, second))
+			.expectNoEvent(Duration.ofMillis(200))
+			.thenCancel()
+			.verify(VERIFICATION_TIMEOUT);
+		verify(pollingDiscoveryClient, times(1)).getInstances(SERVICE_ID);
+	}
+
+	private static ServiceInstance instance(String instanceId, String host) {
+		return new DefaultServiceInstance(instanceId, SERVICE_ID, host, 80, false);
+	}
+
+}
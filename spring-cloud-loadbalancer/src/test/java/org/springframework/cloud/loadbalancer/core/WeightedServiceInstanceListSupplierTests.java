@@ -207,6 +207,56 @@ class WeightedServiceInstanceListSupplierTests {
 		assertThat(counter).doesNotContainEntry("test-3", 3);
 	}
 
+	@Test
+	void shouldUseAliasTableWhenAliasSelectionModeSet() {
+		LoadBalancerClientFactory loadBalancerClientFactory = mock(LoadBalancerClientFactory.class);
+		LoadBalancerProperties properties = new LoadBalancerProperties();
+		properties.getWeighted().setSelectionMode(LoadBalancerProperties.Weighted.SelectionMode.ALIAS);
+		when(loadBalancerClientFactory.getProperties(any())).thenReturn(properties);
+		ServiceInstance one = serviceInstance("test-1", buildWeightMetadata(997));
+		ServiceInstance two = serviceInstance("test-2", buildWeightMetadata(1000));
+
+		when(delegate.get()).thenReturn(Flux.just(Arrays.asList(one, two)));
+		WeightedServiceInstanceListSupplier supplier = new WeightedServiceInstanceListSupplier(delegate,
+				loadBalancerClientFactory);
+
+		List<ServiceInstance> serviceInstances = Objects.requireNonNull(supplier.get().blockFirst());
+		assertThat(serviceInstances).isInstanceOf(AliasWeightedServiceInstanceList.class);
+		assertThat(((AliasWeightedServiceInstanceList) serviceInstances).thresholds).hasSize(2);
+	}
+
+	@Test
+	void shouldReuseAliasTableWhileDelegateEmitsSameList() {
+		LoadBalancerClientFactory loadBalancerClientFactory = mock(LoadBalancerClientFactory.class);
+		LoadBalancerProperties properties = new LoadBalancerProperties();
+		properties.getWeighted().setSelectionMode(LoadBalancerProperties.Weighted.SelectionMode.ALIAS);
+		when(loadBalancerClientFactory.getProperties(any())).thenReturn(properties);
+		List<ServiceInstance> instances = Arrays.asList(serviceInstance("test-1", buildWeightMetadata(1)),
+				serviceInstance("test-2", buildWeightMetadata(2)));
+		when(delegate.get()).thenReturn(Flux.just(instances, instances, Arrays.asList(instances.get(0))));
+		WeightedServiceInstanceListSupplier supplier = new WeightedServiceInstanceListSupplier(delegate,
+				loadBalancerClientFactory);
+
+		List<List<ServiceInstance>> emitted = supplier.get().collectList().block();
+
+		assertThat(emitted).hasSize(3);
+		assertThat(emitted.get(1)).isSameAs(emitted.get(0));
+		assertThat(emitted.get(2)).isNotSameAs(emitted.get(0));
+		assertThat(emitted.get(0)).hasSize(2);
+	}
+
+	@Test
+	void shouldNotMemoizeExpandedList() {
+		List<ServiceInstance> instances = Arrays.asList(serviceInstance("test-1", buildWeightMetadata(1)),
+				serviceInstance("test-2", buildWeightMetadata(2)));
+		when(delegate.get()).thenReturn(Flux.just(instances, instances));
+		WeightedServiceInstanceListSupplier supplier = new WeightedServiceInstanceListSupplier(delegate);
+
+		List<List<ServiceInstance>> emitted = supplier.get().collectList().block();
+
+		assertThat(emitted.get(1)).isNotSameAs(emitted.get(0)).isEqualTo(emitted.get(0));
+	}
+
 	private ServiceInstance serviceInstance(String instanceId, Map<String, String> metadata) {
 		return new DefaultServiceInstance(instanceId, "test", "localhost", 8080, false, metadata);
 	}